@@ -16,7 +16,7 @@ import java.util.concurrent.TimeUnit;
 public class BenchmarkRunner {
   public static void main(String[] args) throws RunnerException {
     final var opt = new OptionsBuilder()
-        .include(".*XMarkBench.*")
+        .include(args.length > 0 ? args[0] : ".*XMarkBench.*")
         .forks(1)
         .build();
 
@@ -0,0 +1,168 @@
+package io.sirix.benchmark;
+
+import org.brackit.xquery.util.path.PathParser;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexDefs;
+import org.sirix.io.StorageType;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.settings.VersioningType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.brackit.xquery.util.path.Path.parse;
+
+/**
+ * Shared setup of the JSON benchmarks: databases and resources configured with the benchmark
+ * parameters, shredding of the generated catalog, index definitions and random updates.
+ */
+final class JsonBenchmarkSupport {
+
+  /** Root directory of all benchmark databases. */
+  static final Path SIRIX_DATA_LOCATION = Paths.get(System.getProperty("user.home"), "sirix-data");
+
+  /** Name of the resource the catalog is stored in. */
+  static final String RESOURCE = "products";
+
+  /** Path of the categories, which are indexed in the CAS index. */
+  static final String CATEGORY_PATH = "/products/[]/category";
+
+  /** Path of the cities, which are indexed in the path index. */
+  static final String CITY_PATH = "/products/[]/address/city";
+
+  /** ID of the CAS index on the categories. */
+  static final int CAS_INDEX_ID = 0;
+
+  /** ID of the path index on the cities. */
+  static final int PATH_INDEX_ID = 1;
+
+  /** ID of the name index on all object keys. */
+  static final int NAME_INDEX_ID = 2;
+
+  private JsonBenchmarkSupport() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Create a new, empty database, deleting an existing one at the same location.
+   *
+   * @param name the name of the database directory
+   * @return the opened database
+   */
+  static Database<JsonResourceSession> createDatabase(final String name) {
+    final Path databasePath = SIRIX_DATA_LOCATION.resolve(name);
+    if (Files.exists(databasePath)) {
+      Databases.removeDatabase(databasePath);
+    }
+    Databases.createJsonDatabase(new DatabaseConfiguration(databasePath));
+    return Databases.openJsonDatabase(databasePath);
+  }
+
+  /**
+   * Close and remove a database.
+   *
+   * @param database the database
+   */
+  static void removeDatabase(final Database<JsonResourceSession> database) {
+    final Path databasePath = database.getDatabaseConfig().getDatabaseFile();
+    database.close();
+    Databases.removeDatabase(databasePath);
+  }
+
+  /**
+   * Create a resource with the given storage and versioning type.
+   *
+   * @param database       the database
+   * @param resource       the name of the resource
+   * @param storageType    the storage type
+   * @param versioningType the versioning type
+   */
+  static void createResource(final Database<JsonResourceSession> database, final String resource,
+      final StorageType storageType, final VersioningType versioningType) {
+    database.createResource(ResourceConfiguration.newBuilder(resource)
+                                                 .storageType(storageType)
+                                                 .versioningApproach(versioningType)
+                                                 .hashKind(HashType.ROLLING)
+                                                 .buildPathSummary(true)
+                                                 .useTextCompression(false)
+                                                 .build());
+  }
+
+  /**
+   * Create the CAS index on the categories, the path index on the cities and a name index on all
+   * object keys, which are built while shredding afterwards.
+   *
+   * @param session the resource session
+   * @param wtx     the write transaction
+   */
+  static void createIndexes(final JsonResourceSession session, final JsonNodeTrx wtx) {
+    final var indexController = session.getWtxIndexController(wtx.getRevisionNumber());
+    final IndexDef casIndex = IndexDefs.createCASIdxDef(false,
+                                                        Type.STR,
+                                                        Set.of(parse(CATEGORY_PATH, PathParser.Type.JSON)),
+                                                        CAS_INDEX_ID,
+                                                        IndexDef.DbType.JSON);
+    final IndexDef pathIndex =
+        IndexDefs.createPathIdxDef(Set.of(parse(CITY_PATH, PathParser.Type.JSON)), PATH_INDEX_ID, IndexDef.DbType.JSON);
+    final IndexDef nameIndex = IndexDefs.createNameIdxDef(NAME_INDEX_ID, IndexDef.DbType.JSON);
+    indexController.createIndexes(Set.of(casIndex, pathIndex, nameIndex), wtx);
+  }
+
+  /**
+   * Shred a JSON string as the first child of the document root and commit.
+   *
+   * @param wtx  the write transaction
+   * @param json the JSON string
+   */
+  static void shred(final JsonNodeTrx wtx, final String json) {
+    wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(json), JsonNodeTrx.Commit.NO);
+    wtx.commit();
+  }
+
+  /**
+   * Collect the node keys of the number values of all {@code price} object keys.
+   *
+   * @param rtx the read-only transaction
+   * @return the node keys
+   */
+  static long[] collectPriceNodeKeys(final JsonNodeReadOnlyTrx rtx) {
+    rtx.moveToDocumentRoot();
+    final LongStream.Builder priceNodeKeys = LongStream.builder();
+    for (final long ignored : new DescendantAxis(rtx)) {
+      if (rtx.isObjectKey() && "price".equals(rtx.getName().getLocalName())) {
+        priceNodeKeys.add(rtx.getFirstChildKey());
+      }
+    }
+    return priceNodeKeys.build().toArray();
+  }
+
+  /**
+   * Change random prices.
+   *
+   * @param wtx             the write transaction
+   * @param priceNodeKeys   the node keys of the prices
+   * @param random          the random number generator
+   * @param numberOfChanges the number of prices to change
+   */
+  static void updatePrices(final JsonNodeTrx wtx, final long[] priceNodeKeys, final SplittableRandom random,
+      final int numberOfChanges) {
+    for (int i = 0; i < numberOfChanges; i++) {
+      wtx.moveTo(priceNodeKeys[random.nextInt(priceNodeKeys.length)]);
+      wtx.setNumberValue(random.nextInt(1, 100_000) / 100.0);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.sirix.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic JSON product catalog. The output only depends on the seed and the number
+ * of products, thus benchmark runs on different machines and releases work on the same data.
+ *
+ * <pre>
+ * {"products":[{"id":0,"name":"product-0","category":"category-7","price":12.5,"inStock":true,
+ *   "tags":["tag-3","tag-11"],"address":{"city":"city-42","zip":"04711"}},...]}
+ * </pre>
+ */
+public final class JsonDataGenerator {
+
+  /** The default seed. */
+  public static final long DEFAULT_SEED = 42L;
+
+  /** Number of distinct categories. */
+  public static final int NUMBER_OF_CATEGORIES = 50;
+
+  /** Number of distinct cities. */
+  public static final int NUMBER_OF_CITIES = 200;
+
+  /** Number of distinct tags. */
+  private static final int NUMBER_OF_TAGS = 100;
+
+  /** Maximum number of tags of a product. */
+  private static final int MAX_TAGS = 5;
+
+  /** The seed. */
+  private final long seed;
+
+  /** The number of products to generate. */
+  private final int numberOfProducts;
+
+  /**
+   * Constructor.
+   *
+   * @param seed             the seed of the random number generator
+   * @param numberOfProducts the number of products to generate
+   */
+  public JsonDataGenerator(final long seed, final int numberOfProducts) {
+    if (numberOfProducts < 0) {
+      throw new IllegalArgumentException("numberOfProducts must be >= 0!");
+    }
+    this.seed = seed;
+    this.numberOfProducts = numberOfProducts;
+  }
+
+  /**
+   * Generate the catalog as a string.
+   *
+   * @return the JSON string
+   */
+  public String generate() {
+    final var builder = new StringBuilder(numberOfProducts * 160);
+    try {
+      generate(builder);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Write the catalog.
+   *
+   * @param writer the writer to write to
+   * @throws IOException if writing fails
+   */
+  public void writeTo(final Writer writer) throws IOException {
+    generate(writer);
+    writer.flush();
+  }
+
+  private void generate(final Appendable out) throws IOException {
+    final var random = new SplittableRandom(seed);
+
+    out.append("{\"products\":[");
+    for (int id = 0; id < numberOfProducts; id++) {
+      if (id > 0) {
+        out.append(',');
+      }
+      appendProduct(out, random, id);
+    }
+    out.append("]}");
+  }
+
+  private static void appendProduct(final Appendable out, final SplittableRandom random, final int id)
+      throws IOException {
+    out.append("{\"id\":").append(String.valueOf(id));
+    out.append(",\"name\":\"product-").append(String.valueOf(id)).append('"');
+    out.append(",\"category\":\"category-").append(String.valueOf(random.nextInt(NUMBER_OF_CATEGORIES))).append('"');
+    out.append(",\"price\":").append(String.format(Locale.ROOT, "%.2f", random.nextInt(1, 100_000) / 100.0));
+    out.append(",\"inStock\":").append(String.valueOf(random.nextBoolean()));
+
+    out.append(",\"tags\":[");
+    final int numberOfTags = random.nextInt(MAX_TAGS + 1);
+    for (int i = 0; i < numberOfTags; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append("\"tag-").append(String.valueOf(random.nextInt(NUMBER_OF_TAGS))).append('"');
+    }
+    out.append(']');
+
+    out.append(",\"address\":{\"city\":\"city-").append(String.valueOf(random.nextInt(NUMBER_OF_CITIES)));
+    out.append("\",\"zip\":\"").append(String.format(Locale.ROOT, "%05d", random.nextInt(100_000))).append("\"}");
+    out.append('}');
+  }
+}
@@ -0,0 +1,121 @@
+package io.sirix.benchmark;
+
+import org.brackit.xquery.atomic.Str;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sirix.access.trx.node.json.JsonIndexController;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.path.json.JsonPCRCollector;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+import org.sirix.io.StorageType;
+import org.sirix.settings.VersioningType;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index query benchmarks on the generated JSON catalog: a CAS index lookup of a category, a path
+ * index lookup of the cities and a name index lookup of an object key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx4G", "--enable-preview" })
+public class JsonIndexBench {
+
+  @Param({ "FILE", "FILECHANNEL", "MEMORY_MAPPED" })
+  public String storageType;
+
+  @Param({ "FULL", "INCREMENTAL", "DIFFERENTIAL", "SLIDING_SNAPSHOT" })
+  public String versioningType;
+
+  @Param({ "100000" })
+  public int numberOfProducts;
+
+  private Database<JsonResourceSession> database;
+
+  private JsonResourceSession session;
+
+  private JsonNodeReadOnlyTrx rtx;
+
+  private JsonIndexController indexController;
+
+  private IndexDef casIndex;
+
+  private IndexDef pathIndex;
+
+  private IndexDef nameIndex;
+
+  private SplittableRandom random;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    database = JsonBenchmarkSupport.createDatabase("json-index-database");
+    JsonBenchmarkSupport.createResource(database,
+                                        JsonBenchmarkSupport.RESOURCE,
+                                        StorageType.valueOf(storageType),
+                                        VersioningType.valueOf(versioningType));
+    session = database.beginResourceSession(JsonBenchmarkSupport.RESOURCE);
+
+    try (final var wtx = session.beginNodeTrx()) {
+      JsonBenchmarkSupport.createIndexes(session, wtx);
+      JsonBenchmarkSupport.shred(wtx,
+                                 new JsonDataGenerator(JsonDataGenerator.DEFAULT_SEED, numberOfProducts).generate());
+    }
+
+    rtx = session.beginNodeReadOnlyTrx();
+    indexController = session.getRtxIndexController(rtx.getRevisionNumber());
+    casIndex = indexController.getIndexes().getIndexDef(JsonBenchmarkSupport.CAS_INDEX_ID, IndexType.CAS);
+    pathIndex = indexController.getIndexes().getIndexDef(JsonBenchmarkSupport.PATH_INDEX_ID, IndexType.PATH);
+    nameIndex = indexController.getIndexes().getIndexDef(JsonBenchmarkSupport.NAME_INDEX_ID, IndexType.NAME);
+    random = new SplittableRandom(JsonDataGenerator.DEFAULT_SEED);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    rtx.close();
+    session.close();
+    JsonBenchmarkSupport.removeDatabase(database);
+  }
+
+  @Benchmark
+  public void casIndexEquals(final Blackhole blackhole) {
+    final var category = new Str("category-" + random.nextInt(JsonDataGenerator.NUMBER_OF_CATEGORIES));
+    final var filter = indexController.createCASFilter(Set.of(JsonBenchmarkSupport.CATEGORY_PATH),
+                                                       category,
+                                                       SearchMode.EQUAL,
+                                                       new JsonPCRCollector(rtx));
+    consume(indexController.openCASIndex(rtx.getPageTrx(), casIndex, filter), blackhole);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void pathIndex(final Blackhole blackhole) throws Exception {
+    final var filter = indexController.createPathFilter(Set.of(JsonBenchmarkSupport.CITY_PATH), rtx);
+    consume(indexController.openPathIndex(rtx.getPageTrx(), pathIndex, filter), blackhole);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void nameIndex(final Blackhole blackhole) {
+    final var filter = indexController.createNameFilter(Set.of("category"));
+    consume(indexController.openNameIndex(rtx.getPageTrx(), nameIndex, filter), blackhole);
+  }
+
+  private static void consume(final Iterator<NodeReferences> index, final Blackhole blackhole) {
+    while (index.hasNext()) {
+      for (final long nodeKey : index.next().getNodeKeys()) {
+        blackhole.consume(nodeKey);
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package io.sirix.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.io.StorageType;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.json.serialize.Utf8OutputBuffer;
+import org.sirix.settings.VersioningType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read benchmarks on the generated JSON catalog: point lookups with a reused transaction on warm
+ * caches and with a fresh transaction on emptied caches, a full descendant scan and serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx4G", "--enable-preview" })
+public class JsonReadBench {
+
+  @Param({ "FILE", "FILECHANNEL", "MEMORY_MAPPED" })
+  public String storageType;
+
+  @Param({ "FULL", "INCREMENTAL", "DIFFERENTIAL", "SLIDING_SNAPSHOT" })
+  public String versioningType;
+
+  @Param({ "100000" })
+  public int numberOfProducts;
+
+  private Database<JsonResourceSession> database;
+
+  private JsonResourceSession session;
+
+  private long maxNodeKey;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    database = JsonBenchmarkSupport.createDatabase("json-read-database");
+    JsonBenchmarkSupport.createResource(database,
+                                        JsonBenchmarkSupport.RESOURCE,
+                                        StorageType.valueOf(storageType),
+                                        VersioningType.valueOf(versioningType));
+    session = database.beginResourceSession(JsonBenchmarkSupport.RESOURCE);
+
+    try (final var wtx = session.beginNodeTrx()) {
+      JsonBenchmarkSupport.shred(wtx,
+                                 new JsonDataGenerator(JsonDataGenerator.DEFAULT_SEED, numberOfProducts).generate());
+      maxNodeKey = wtx.getMaxNodeKey();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    session.close();
+    JsonBenchmarkSupport.removeDatabase(database);
+  }
+
+  /**
+   * Per-thread state with a reused read-only transaction and a reproducible random number
+   * generator for the node keys.
+   */
+  @State(Scope.Thread)
+  public static class ReaderState {
+    private JsonNodeReadOnlyTrx rtx;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setUp(final JsonReadBench bench) {
+      rtx = bench.session.beginNodeReadOnlyTrx();
+      random = new SplittableRandom(JsonDataGenerator.DEFAULT_SEED);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+      rtx.close();
+    }
+  }
+
+  /**
+   * Per-thread state for the cold point lookups, which empties the caches of the resource before
+   * each invocation, such that all pages on the path to the node are read from storage again. The
+   * operating system's page cache is still warm.
+   */
+  @State(Scope.Thread)
+  public static class ColdReaderState {
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      random = new SplittableRandom(JsonDataGenerator.DEFAULT_SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCaches(final JsonReadBench bench) {
+      bench.session.clearCaches();
+    }
+  }
+
+  @Benchmark
+  public boolean moveToWarm(final ReaderState state) {
+    return state.rtx.moveTo(state.random.nextLong(1, maxNodeKey + 1));
+  }
+
+  @Benchmark
+  public boolean moveToCold(final ColdReaderState state) {
+    try (final var rtx = session.beginNodeReadOnlyTrx()) {
+      return rtx.moveTo(state.random.nextLong(1, maxNodeKey + 1));
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void descendantScan(final Blackhole blackhole) {
+    try (final var rtx = session.beginNodeReadOnlyTrx()) {
+      for (final long nodeKey : new DescendantAxis(rtx)) {
+        blackhole.consume(nodeKey);
+        blackhole.consume(rtx.getKind());
+      }
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void serialize() throws IOException {
+    try (final var out = new Utf8OutputBuffer(OutputStream.nullOutputStream())) {
+      JsonSerializer.newBuilder(session, out).build().call();
+    }
+  }
+}
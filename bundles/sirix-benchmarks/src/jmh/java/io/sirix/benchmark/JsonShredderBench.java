@@ -0,0 +1,79 @@
+package io.sirix.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.io.StorageType;
+import org.sirix.settings.VersioningType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shredding throughput of the generated JSON catalog into a new resource, with and without
+ * indexes, which are built while shredding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx4G", "--enable-preview" })
+public class JsonShredderBench {
+
+  @Param({ "FILE", "FILECHANNEL", "MEMORY_MAPPED" })
+  public String storageType;
+
+  @Param({ "FULL", "INCREMENTAL", "DIFFERENTIAL", "SLIDING_SNAPSHOT" })
+  public String versioningType;
+
+  @Param({ "10000", "100000" })
+  public int numberOfProducts;
+
+  private String json;
+
+  private Database<JsonResourceSession> database;
+
+  private int resourceNumber;
+
+  private String resource;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    json = new JsonDataGenerator(JsonDataGenerator.DEFAULT_SEED, numberOfProducts).generate();
+    database = JsonBenchmarkSupport.createDatabase("json-shredder-database");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    JsonBenchmarkSupport.removeDatabase(database);
+  }
+
+  @Setup(Level.Invocation)
+  public void createResource() {
+    resource = JsonBenchmarkSupport.RESOURCE + resourceNumber++;
+    JsonBenchmarkSupport.createResource(database,
+                                        resource,
+                                        StorageType.valueOf(storageType),
+                                        VersioningType.valueOf(versioningType));
+  }
+
+  @TearDown(Level.Invocation)
+  public void removeResource() {
+    database.removeResource(resource);
+  }
+
+  @Benchmark
+  public void shred() {
+    try (final var session = database.beginResourceSession(resource); final var wtx = session.beginNodeTrx()) {
+      JsonBenchmarkSupport.shred(wtx, json);
+    }
+  }
+
+  @Benchmark
+  public void shredWithIndexes() {
+    try (final var session = database.beginResourceSession(resource); final var wtx = session.beginNodeTrx()) {
+      JsonBenchmarkSupport.createIndexes(session, wtx);
+      JsonBenchmarkSupport.shred(wtx, json);
+    }
+  }
+}
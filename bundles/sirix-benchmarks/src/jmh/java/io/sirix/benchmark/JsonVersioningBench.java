@@ -0,0 +1,152 @@
+package io.sirix.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.io.StorageType;
+import org.sirix.service.json.BasicJsonDiff;
+import org.sirix.settings.VersioningType;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the revision history of the generated JSON catalog: reads of revisions
+ * {@code revisionDepth} revisions in the past, diffs between two consecutive revisions and the
+ * latency of small commits. Each iteration of the commit benchmark starts on a fresh resource with
+ * a single revision, such that the iterations measure the same revision history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx4G", "--enable-preview" })
+public class JsonVersioningBench {
+
+  /** Number of revisions created on top of the initial import. */
+  private static final int NUMBER_OF_REVISIONS = 64;
+
+  /** Number of prices changed per revision. */
+  private static final int CHANGES_PER_REVISION = 100;
+
+  /** Number of prices read per time travel query. */
+  private static final int READS_PER_TIME_TRAVEL = 100;
+
+  /** Name of the resource the commit benchmark writes to. */
+  private static final String COMMIT_RESOURCE = "commits";
+
+  @Param({ "FILE", "FILECHANNEL", "MEMORY_MAPPED" })
+  public String storageType;
+
+  @Param({ "FULL", "INCREMENTAL", "DIFFERENTIAL", "SLIDING_SNAPSHOT" })
+  public String versioningType;
+
+  @Param({ "10000" })
+  public int numberOfProducts;
+
+  @Param({ "1", "16", "63" })
+  public int revisionDepth;
+
+  private Database<JsonResourceSession> database;
+
+  private JsonResourceSession session;
+
+  private String json;
+
+  private long[] priceNodeKeys;
+
+  private SplittableRandom random;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    json = new JsonDataGenerator(JsonDataGenerator.DEFAULT_SEED, numberOfProducts).generate();
+
+    database = JsonBenchmarkSupport.createDatabase("json-versioning-database");
+    JsonBenchmarkSupport.createResource(database,
+                                        JsonBenchmarkSupport.RESOURCE,
+                                        StorageType.valueOf(storageType),
+                                        VersioningType.valueOf(versioningType));
+
+    random = new SplittableRandom(JsonDataGenerator.DEFAULT_SEED);
+
+    session = database.beginResourceSession(JsonBenchmarkSupport.RESOURCE);
+    try (final var wtx = session.beginNodeTrx()) {
+      JsonBenchmarkSupport.shred(wtx, json);
+      priceNodeKeys = JsonBenchmarkSupport.collectPriceNodeKeys(wtx);
+
+      for (int revision = 0; revision < NUMBER_OF_REVISIONS; revision++) {
+        JsonBenchmarkSupport.updatePrices(wtx, priceNodeKeys, random, CHANGES_PER_REVISION);
+        wtx.commit();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    session.close();
+    JsonBenchmarkSupport.removeDatabase(database);
+  }
+
+  /**
+   * State of the commit benchmark: a write transaction on a resource, which is recreated with only
+   * the initial import before each iteration.
+   */
+  @State(Scope.Thread)
+  public static class CommitState {
+    private JsonResourceSession session;
+
+    private JsonNodeTrx wtx;
+
+    private long[] priceNodeKeys;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setUp(final JsonVersioningBench bench) {
+      JsonBenchmarkSupport.createResource(bench.database,
+                                          COMMIT_RESOURCE,
+                                          StorageType.valueOf(bench.storageType),
+                                          VersioningType.valueOf(bench.versioningType));
+      session = bench.database.beginResourceSession(COMMIT_RESOURCE);
+      wtx = session.beginNodeTrx();
+      JsonBenchmarkSupport.shred(wtx, bench.json);
+      priceNodeKeys = JsonBenchmarkSupport.collectPriceNodeKeys(wtx);
+      random = new SplittableRandom(JsonDataGenerator.DEFAULT_SEED);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(final JsonVersioningBench bench) {
+      wtx.close();
+      session.close();
+      bench.database.removeResource(COMMIT_RESOURCE);
+    }
+  }
+
+  @Benchmark
+  public void timeTravelRead(final Blackhole blackhole) {
+    final int revision = session.getMostRecentRevisionNumber() - revisionDepth;
+    try (final var rtx = session.beginNodeReadOnlyTrx(revision)) {
+      for (int i = 0; i < READS_PER_TIME_TRAVEL; i++) {
+        rtx.moveTo(priceNodeKeys[random.nextInt(priceNodeKeys.length)]);
+        blackhole.consume(rtx.getNumberValue());
+      }
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String diff() {
+    final int newRevision = session.getMostRecentRevisionNumber() - revisionDepth + 1;
+    return new BasicJsonDiff(database.getName()).generateDiff(session, newRevision - 1, newRevision);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void commit(final CommitState state) {
+    JsonBenchmarkSupport.updatePrices(state.wtx, state.priceNodeKeys, state.random, CHANGES_PER_REVISION);
+    state.wtx.commit();
+  }
+}
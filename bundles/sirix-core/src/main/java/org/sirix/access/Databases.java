@@ -1,11 +1,14 @@
 package org.sirix.access;
 
 import com.amazon.corretto.crypto.provider.AmazonCorrettoCryptoProvider;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sirix.api.*;
 import org.sirix.api.json.JsonResourceSession;
 import org.sirix.api.xml.XmlResourceSession;
+import org.sirix.cache.GlobalBufferManager;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.Indexes;
 import org.sirix.utils.LogWrapper;
 import org.sirix.utils.SirixFiles;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,28 @@ public final class Databases {
    */
   static final DatabaseManager MANAGER = DaggerDatabaseManager.create();
 
+  /**
+   * Enforce one memory budget on the page, record page, revision root page and index caches of all
+   * resources of all databases, instead of limiting the number of entries in the caches of each
+   * resource. Should be set before any database is opened, as it's only used for resources, which are
+   * opened or created afterwards.
+   *
+   * @param bufferManager the global buffer manager or {@code null} to limit the caches of each
+   *                      resource by entry counts (the default)
+   */
+  public static synchronized void setGlobalBufferManager(final @Nullable GlobalBufferManager bufferManager) {
+    LocalDatabase.setGlobalBufferManager(bufferManager);
+  }
+
+  /**
+   * Get the buffer manager, which enforces one memory budget on the caches of all resources.
+   *
+   * @return the global buffer manager or {@code null}, if none is set
+   */
+  public static @Nullable GlobalBufferManager getGlobalBufferManager() {
+    return LocalDatabase.getGlobalBufferManager();
+  }
+
   /**
    * Get the database type
    *
@@ -150,6 +175,8 @@ public final class Databases {
         // 0) {
         // instantiate the database for deletion
         SirixFiles.recursiveRemove(dbFile);
+        LocalDatabase.removeBufferManagers(dbFile);
+        Indexes.incrementGenerations(dbFile);
       }
     }
   }
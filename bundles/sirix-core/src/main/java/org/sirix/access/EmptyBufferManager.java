@@ -3,7 +3,9 @@ package org.sirix.access;
 import org.sirix.cache.RBIndexKey;
 import org.sirix.cache.Cache;
 import org.sirix.cache.EmptyCache;
+import org.sirix.cache.LeafPageReferenceKey;
 import org.sirix.index.redblacktree.RBNode;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
@@ -18,6 +20,8 @@ public final class EmptyBufferManager implements org.sirix.cache.BufferManager {
 
   private static final EmptyCache<RBIndexKey, RBNode<?, ?>> AVL_NODE_CACHE = new EmptyCache<>();
 
+  private static final EmptyCache<LeafPageReferenceKey, PageReference> LEAF_PAGE_REFERENCE_CACHE = new EmptyCache<>();
+
   EmptyBufferManager() {
   }
 
@@ -41,6 +45,16 @@ public final class EmptyBufferManager implements org.sirix.cache.BufferManager {
     return AVL_NODE_CACHE;
   }
 
+  @Override
+  public Cache<LeafPageReferenceKey, PageReference> getLeafPageReferenceCache() {
+    return LEAF_PAGE_REFERENCE_CACHE;
+  }
+
+  @Override
+  public StorageMetrics getMetrics() {
+    return StorageMetrics.disabled();
+  }
+
   @Override
   public void close() {
   }
@@ -8,22 +8,38 @@ import com.google.crypto.tink.CleartextKeysetHandle;
 import com.google.crypto.tink.JsonKeysetWriter;
 import com.google.crypto.tink.KeysetHandle;
 import com.google.crypto.tink.streamingaead.StreamingAeadKeyTemplates;
+import net.openhft.chronicle.bytes.Bytes;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sirix.access.trx.node.InternalResourceSession;
+import org.sirix.access.trx.page.PageCacheSnapshot;
 import org.sirix.api.*;
 import org.sirix.cache.BufferManager;
 import org.sirix.cache.BufferManagerImpl;
+import org.sirix.cache.GlobalBufferManager;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.Indexes;
+import org.sirix.io.IOStorage;
+import org.sirix.io.Reader;
 import org.sirix.io.StorageType;
+import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.Encryptor;
+import org.sirix.io.filechannel.FileChannelStorage;
+import org.sirix.metrics.MetricsRegistry;
+import org.sirix.metrics.StorageMetrics;
+import org.sirix.page.PageReference;
+import org.sirix.page.UberPage;
 import org.sirix.utils.SirixFiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.time.Instant;
 import java.util.List;
@@ -68,6 +84,12 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     BUFFER_MANAGERS = new ConcurrentHashMap<>();
   }
 
+  /**
+   * Enforces one memory budget on the caches of all resources, or {@code null}, if the caches of each
+   * resource are limited by entry counts.
+   */
+  private static volatile @Nullable GlobalBufferManager globalBufferManager;
+
   /**
    * Central repository of all resource-ID/resource-name tuples.
    */
@@ -99,6 +121,11 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
    */
   private final WriteLocksRegistry writeLocks;
 
+  /**
+   * The registry to which the storage engine records its metrics.
+   */
+  private volatile MetricsRegistry metricsRegistry;
+
   /**
    * Constructor.
    *
@@ -119,18 +146,92 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     this.resourceManagers = resourceManagers;
     this.writeLocks = writeLocks;
     resourceIDsToResourceNames = Maps.synchronizedBiMap(HashBiMap.create());
+    metricsRegistry = MetricsRegistry.noOp();
 
     this.sessions.putObject(dbConfig.getDatabaseFile(), this);
   }
 
+  /**
+   * Set the buffer manager, which enforces one memory budget on the caches of all resources. It's
+   * used for the resources, which are opened or created afterwards.
+   *
+   * @param bufferManager the global buffer manager or {@code null} to limit the caches of each
+   *                      resource by entry counts
+   */
+  static void setGlobalBufferManager(final @Nullable GlobalBufferManager bufferManager) {
+    final GlobalBufferManager previousBufferManager = globalBufferManager;
+    globalBufferManager = bufferManager;
+    BUFFER_MANAGERS.clear();
+
+    if (previousBufferManager != null) {
+      previousBufferManager.clear();
+    }
+  }
+
+  /**
+   * Get the buffer manager, which enforces one memory budget on the caches of all resources.
+   *
+   * @return the global buffer manager or {@code null}, if none is set
+   */
+  static @Nullable GlobalBufferManager getGlobalBufferManager() {
+    return globalBufferManager;
+  }
+
+  /**
+   * Remove the buffer managers of the resources of a database, which has been removed, so that
+   * pages cached for them aren't read by resources created at the same location afterwards.
+   *
+   * @param databaseFile the location of the database
+   */
+  static void removeBufferManagers(final Path databaseFile) {
+    final Path resourcesPath = databaseFile.resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile());
+    BUFFER_MANAGERS.keySet().removeIf(resourcePath -> {
+      if (!resourcePath.startsWith(resourcesPath)) {
+        return false;
+      }
+
+      final GlobalBufferManager bufferManager = globalBufferManager;
+      if (bufferManager != null) {
+        bufferManager.invalidate(resourcePath);
+      }
+      return true;
+    });
+  }
+
   private void addResourceToBufferManagerMapping(Path resourceFile, ResourceConfiguration resourceConfig) {
-    if (resourceConfig.getStorageType() == StorageType.MEMORY_MAPPED) {
-      BUFFER_MANAGERS.put(resourceFile, new BufferManagerImpl(100, 50, 150, 50_000_000));
+    final var metrics = new StorageMetrics(dbConfig.getDatabaseName(),
+                                           resourceFile.getFileName().toString(),
+                                           resourceConfig.getStorageType(),
+                                           resourceConfig.versioningType).bind(metricsRegistry);
+    final GlobalBufferManager bufferManager = globalBufferManager;
+    if (bufferManager != null) {
+      BUFFER_MANAGERS.put(resourceFile, bufferManager.newBufferManager(resourceFile, metrics));
+    } else if (resourceConfig.getStorageType() == StorageType.MEMORY_MAPPED) {
+      BUFFER_MANAGERS.put(resourceFile, new BufferManagerImpl(100, 50, 150, 50_000_000, 10_000, metrics));
     } else {
-      BUFFER_MANAGERS.put(resourceFile, new BufferManagerImpl(5_000, 1_000, 1_000, 50_000_000));
+      BUFFER_MANAGERS.put(resourceFile, new BufferManagerImpl(5_000, 1_000, 1_000, 50_000_000, 100_000, metrics));
     }
   }
 
+  @Override
+  public Database<T> setMetricsRegistry(final MetricsRegistry registry) {
+    metricsRegistry = checkNotNull(registry);
+
+    final Path resourcesPath = dbConfig.getDatabaseFile().resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile());
+    BUFFER_MANAGERS.forEach((resourcePath, bufferManager) -> {
+      if (resourcePath.startsWith(resourcesPath)) {
+        bufferManager.getMetrics().bind(registry);
+      }
+    });
+
+    return this;
+  }
+
+  @Override
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
   @Override
   public T beginResourceSession(final String resourceName) {
     assertNotClosed();
@@ -160,7 +261,17 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
       addResourceToBufferManagerMapping(resourcePath, resourceConfig);
     }
 
-    return resourceStore.beginResourceSession(resourceConfig, BUFFER_MANAGERS.get(resourcePath), resourcePath);
+    final T resourceSession =
+        resourceStore.beginResourceSession(resourceConfig, BUFFER_MANAGERS.get(resourcePath), resourcePath);
+
+    // Warm up the caches in the background, which is only possible if they aren't cleared once a transaction is closed.
+    // The prefetch is only started once per session, not for sessions, which have been opened before.
+    if (globalBufferManager != null
+        && resourceSession instanceof InternalResourceSession<?, ?> internalResourceSession) {
+      internalResourceSession.prefetchPagesInBackground();
+    }
+
+    return resourceSession;
   }
 
   @Override
@@ -181,44 +292,14 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     if (Files.exists(path)) {
       return false;
     } else {
-      try {
-        Files.createDirectory(path);
-      } catch (UnsupportedOperationException | IOException | SecurityException e) {
-        returnVal = false;
-      }
-
-      if (returnVal) {
-        // Creation of the folder structure.
-        for (final ResourceConfiguration.ResourcePaths resourcePath : ResourceConfiguration.ResourcePaths.values()) {
-          final Path toCreate = path.resolve(resourcePath.getPath());
-
-          try {
-            if (resourcePath.isFolder()) {
-              Files.createDirectory(toCreate);
-
-              if (resourcePath == ResourceConfiguration.ResourcePaths.ENCRYPTION_KEY)
-                createAndStoreKeysetIfNeeded(resourceConfig, toCreate);
-            } else {
-              Files.createFile(toCreate);
-            }
-          } catch (UnsupportedOperationException | IOException | SecurityException e) {
-            returnVal = false;
-          }
-
-          if (!returnVal)
-            break;
-        }
-      }
+      returnVal = createFolderStructure(resourceConfig, path);
     }
 
     if (returnVal) {
       // If everything was correct so far, initialize storage.
 
       // Serialization of the config.
-      resourceID.set(dbConfig.getMaxResourceID());
-      ResourceConfiguration.serialize(resourceConfig.setID(resourceID.getAndIncrement()));
-      dbConfig.setMaximumResourceID(resourceID.get());
-      resourceIDsToResourceNames.forcePut(resourceID.get(), resourceConfig.getResource().getFileName().toString());
+      serializeWithNewID(resourceConfig);
 
       returnVal = bootstrapResource(resourceConfig);
     }
@@ -235,6 +316,140 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     return returnVal;
   }
 
+  private boolean createFolderStructure(final ResourceConfiguration resourceConfig, final Path path) {
+    try {
+      Files.createDirectory(path);
+    } catch (UnsupportedOperationException | IOException | SecurityException e) {
+      return false;
+    }
+
+    // Creation of the folder structure.
+    for (final ResourceConfiguration.ResourcePaths resourcePath : ResourceConfiguration.ResourcePaths.values()) {
+      final Path toCreate = path.resolve(resourcePath.getPath());
+
+      try {
+        if (resourcePath.isFolder()) {
+          Files.createDirectory(toCreate);
+
+          if (resourcePath == ResourceConfiguration.ResourcePaths.ENCRYPTION_KEY)
+            createAndStoreKeysetIfNeeded(resourceConfig, toCreate);
+        } else {
+          Files.createFile(toCreate);
+        }
+      } catch (UnsupportedOperationException | IOException | SecurityException e) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void serializeWithNewID(final ResourceConfiguration resourceConfig) {
+    resourceID.set(dbConfig.getMaxResourceID());
+    ResourceConfiguration.serialize(resourceConfig.setID(resourceID.getAndIncrement()));
+    dbConfig.setMaximumResourceID(resourceID.get());
+    resourceIDsToResourceNames.forcePut(resourceID.get(), resourceConfig.getResource().getFileName().toString());
+  }
+
+  @Override
+  public synchronized boolean createBranch(final String resourceName, final @NonNegative int revision,
+      final String branchName) {
+    assertNotClosed();
+    checkNotNull(resourceName);
+    checkNotNull(branchName);
+    checkArgument(revision >= 0, "The revision must be >= 0!");
+
+    final Path resourcesPath = dbConfig.getDatabaseFile().resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile());
+    final Path resourcePath = resourcesPath.resolve(resourceName);
+    final Path branchPath = resourcesPath.resolve(branchName);
+
+    if (!existsResource(resourceName)) {
+      throw new SirixUsageException("Resource could not be branched (since it was not created?) at location",
+                                    resourcePath.toString());
+    }
+
+    if (Files.exists(branchPath)) {
+      return false;
+    }
+
+    final ResourceConfiguration resourceConfig = ResourceConfiguration.deserialize(resourcePath);
+    checkArgument(resourceConfig.getStorageType() == StorageType.FILECHANNEL
+                      || resourceConfig.getStorageType() == StorageType.MEMORY_MAPPED,
+                  "Only resources stored with the file channel or memory mapped storage can be branched.");
+
+    final int mostRecentRevision;
+    final IOStorage storage = StorageType.getStorage(resourceConfig);
+    try (final Reader reader = storage.createReader()) {
+      mostRecentRevision = ((UberPage) reader.readUberPageReference().getPage()).getRevisionNumber();
+    } finally {
+      storage.close();
+    }
+    checkArgument(revision <= mostRecentRevision, "The revision must be <= the most recent revision!");
+
+    final long branchOffset;
+    try (final FileChannel dataFileChannel = FileChannelStorage.openDataFileChannel(resourceConfig,
+                                                                                    StandardOpenOption.READ)) {
+      branchOffset = dataFileChannel.size();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    final ResourceConfiguration branchConfig = resourceConfig.newBranchConfiguration(branchName, revision, branchOffset);
+    branchConfig.setDatabaseConfiguration(dbConfig);
+
+    boolean returnVal = createFolderStructure(branchConfig, branchPath);
+
+    if (returnVal) {
+      serializeWithNewID(branchConfig);
+
+      try {
+        copyRevisions(resourceConfig, branchConfig, revision);
+      } catch (final IOException | SirixIOException e) {
+        logger.error(e.getMessage(), e);
+        returnVal = false;
+      }
+    }
+
+    if (!returnVal) {
+      // If something was not correct, delete the partly created substructure.
+      SirixFiles.recursiveRemove(branchPath);
+      return false;
+    }
+
+    if (!BUFFER_MANAGERS.containsKey(branchPath)) {
+      addResourceToBufferManagerMapping(branchPath, branchConfig);
+    }
+
+    return true;
+  }
+
+  /**
+   * Copy the index definitions and the offsets of the revisions up to and including the given revision
+   * to the branch and write the first uber page of the branch. The pages themselves are shared.
+   */
+  private static void copyRevisions(final ResourceConfiguration resourceConfig,
+      final ResourceConfiguration branchConfig, final int revision) throws IOException {
+    final Path indexes = resourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.INDEXES.getPath());
+    final Path branchIndexes = branchConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.INDEXES.getPath());
+    for (int i = 0; i <= revision; i++) {
+      final Path indexDefinitions = indexes.resolve(i + ".xml");
+      if (Files.exists(indexDefinitions)) {
+        Files.copy(indexDefinitions, branchIndexes.resolve(i + ".xml"));
+      }
+    }
+
+    FileChannelStorage.copyRevisionsFile(resourceConfig, branchConfig, revision);
+
+    final IOStorage storage = StorageType.getStorage(branchConfig);
+    try (final Writer writer = storage.createWriter()) {
+      final var uberPageReference = new PageReference();
+      uberPageReference.setPage(new UberPage(revision + 1));
+      writer.writeUberPageReference(null, uberPageReference, Bytes.elasticByteBuffer());
+    } finally {
+      storage.close();
+    }
+  }
+
   void createAndStoreKeysetIfNeeded(final ResourceConfiguration resConfig, final Path createdPath) {
     final Path encryptionKeyPath = createdPath.resolve("encryptionKey.json");
     if (resConfig.byteHandlePipeline.getComponents().contains(new Encryptor(createdPath.getParent()))) {
@@ -284,17 +499,43 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
 
     // If file is existing and folder is a Sirix-dataplace, delete it.
     if (Files.exists(resourceFile) && ResourceConfiguration.ResourcePaths.compareStructure(resourceFile) == 0) {
+      // Branches read the pages of their parent resource, thus they must be removed first.
+      final List<String> branches = getBranchNames(name);
+      if (!branches.isEmpty()) {
+        throw new IllegalStateException("Branches of the resource found, must be removed first: " + branches);
+      }
+
       // Instantiate the database for deletion.
       SirixFiles.recursiveRemove(resourceFile);
 
       this.writeLocks.removeWriteLock(resourceFile);
 
       BUFFER_MANAGERS.remove(resourceFile);
+      final GlobalBufferManager bufferManager = globalBufferManager;
+      if (bufferManager != null) {
+        bufferManager.invalidate(resourceFile);
+      }
+      Indexes.incrementGeneration(resourceFile);
     }
 
     return this;
   }
 
+  /**
+   * Get the names of the resources, which are branches of a resource.
+   *
+   * @param resourceName the name of the resource
+   * @return the names of the branches
+   */
+  private List<String> getBranchNames(final String resourceName) {
+    return listResources().stream()
+                          .filter(resource -> ResourceConfiguration.ResourcePaths.compareStructure(resource) == 0)
+                          .filter(resource -> resourceName.equals(ResourceConfiguration.deserialize(resource)
+                                                                                       .getParentResourceName()))
+                          .map(resource -> resource.getFileName().toString())
+                          .collect(Collectors.toList());
+  }
+
   @Override
   public synchronized String getResourceName(final @NonNegative long id) {
     assertNotClosed();
@@ -356,6 +597,7 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     isClosed = true;
     resourceStore.close();
     transactionManager.close();
+    writeCacheSnapshots();
 
     // Remove from database mapping.
     this.sessions.removeObject(dbConfig.getDatabaseFile(), this);
@@ -364,6 +606,28 @@ public final class LocalDatabase<T extends ResourceSession<? extends NodeReadOnl
     SirixFiles.recursiveRemove(dbConfig.getDatabaseFile().resolve(DatabaseConfiguration.DatabasePaths.LOCK.getFile()));
   }
 
+  /**
+   * Remember the cached pages of the resources of this database to warm up the caches, once the
+   * resources are opened again. The caches are only kept, once the sessions are closed, with the
+   * global buffer manager.
+   */
+  private void writeCacheSnapshots() {
+    if (globalBufferManager == null) {
+      return;
+    }
+
+    final Path resourcesPath = dbConfig.getDatabaseFile().resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile());
+    BUFFER_MANAGERS.forEach((resourcePath, bufferManager) -> {
+      if (resourcePath.startsWith(resourcesPath) && Files.exists(resourcePath)) {
+        try {
+          PageCacheSnapshot.writeIfOutdated(bufferManager, resourcePath);
+        } catch (final SirixIOException e) {
+          logger.warn("The cache snapshot of " + resourcePath + " couldn't be written.", e);
+        }
+      }
+    });
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("dbConfig", dbConfig).toString();
@@ -26,6 +26,7 @@ import com.google.common.hash.Hashing;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.StorageType;
@@ -35,6 +36,7 @@ import org.sirix.io.bytepipe.ByteHandlerKind;
 import org.sirix.io.bytepipe.SnappyCompressor;
 import org.sirix.node.NodeSerializerImpl;
 import org.sirix.node.interfaces.RecordSerializer;
+import org.sirix.page.SerializationType;
 import org.sirix.settings.VersioningType;
 import org.sirix.utils.OS;
 
@@ -49,6 +51,8 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -179,6 +183,17 @@ public final class ResourceConfiguration {
    */
   private static final int VERSIONS_TO_RESTORE = 3;
 
+  /**
+   * The maximum number of revisions to restore, as a record page references at most
+   * {@link SerializationType#MAX_NUMBER_OF_PAGE_FRAGMENTS} page fragments.
+   */
+  public static final int MAX_VERSIONS_TO_RESTORE = SerializationType.MAX_NUMBER_OF_PAGE_FRAGMENTS + 1;
+
+  /**
+   * Number of pages the transaction intent log keeps in memory, before pages are spilled to disk.
+   */
+  private static final int INTENT_LOG_CAPACITY = 1 << 19;
+
   /**
    * Serializer for records.
    */
@@ -277,6 +292,27 @@ public final class ResourceConfiguration {
    */
   public final boolean storeNodeHistory;
 
+  /**
+   * The name of the resource this resource is a branch of, or {@code null} if it isn't a branch.
+   */
+  private final @Nullable String parentResourceName;
+
+  /**
+   * The revision of the parent resource the branch has been created from.
+   */
+  private final int parentRevision;
+
+  /**
+   * The offset in the data file of the parent resource, from which on pages are stored in the data
+   * file of the branch.
+   */
+  private final long branchOffset;
+
+  /**
+   * Number of pages the transaction intent log keeps in memory, before pages are spilled to disk.
+   */
+  public final int intentLogCapacity;
+
   // END MEMBERS FOR FIXED FIELDS
 
   /**
@@ -311,6 +347,10 @@ public final class ResourceConfiguration {
     storeDiffs = builder.storeDiffs;
     customCommitTimestamps = builder.customCommitTimestamps;
     storeNodeHistory = builder.storeNodeHistory;
+    parentResourceName = builder.parentResourceName;
+    parentRevision = builder.parentRevision;
+    branchOffset = builder.branchOffset;
+    intentLogCapacity = builder.intentLogCapacity;
   }
 
   public boolean customCommitTimestamps() {
@@ -428,13 +468,101 @@ public final class ResourceConfiguration {
     return storeNodeHistory;
   }
 
+  /**
+   * Determines if the resource is a branch of another resource.
+   *
+   * @return {@code true}, if the resource is a branch, {@code false} otherwise
+   */
+  public boolean isBranch() {
+    return parentResourceName != null;
+  }
+
+  /**
+   * Get the name of the resource this resource is a branch of.
+   *
+   * @return the name of the parent resource or {@code null}, if the resource isn't a branch
+   */
+  public @Nullable String getParentResourceName() {
+    return parentResourceName;
+  }
+
+  /**
+   * Get the revision of the parent resource the branch has been created from.
+   *
+   * @return the revision of the parent resource
+   */
+  public int getParentRevision() {
+    return parentRevision;
+  }
+
+  /**
+   * Get the offset in the data file of the parent resource, from which on the pages are stored in the
+   * data file of the branch.
+   *
+   * @return the offset
+   */
+  public long getBranchOffset() {
+    return branchOffset;
+  }
+
+  /**
+   * Get the names of the branches of this resource, which have been created from a revision greater
+   * than the given one, that is, which read pages of the resource stored after the revision.
+   *
+   * @param revision the revision
+   * @return the names of the branches
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public List<String> getBranchNames(final int revision) {
+    final Path resources = resourcePath.getParent();
+    try (final Stream<Path> stream = Files.list(resources)) {
+      return stream.filter(resource -> ResourcePaths.compareStructure(resource) == 0)
+                   .map(ResourceConfiguration::deserialize)
+                   .filter(config -> resourceName.equals(config.getParentResourceName())
+                       && config.getParentRevision() > revision)
+                   .map(ResourceConfiguration::getName)
+                   .collect(Collectors.toList());
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Create the configuration of a branch of this resource, which uses the same settings.
+   *
+   * @param branchName   the name of the branch
+   * @param revision     the revision of this resource the branch is created from
+   * @param branchOffset the size of the data file of this resource
+   * @return the configuration of the branch
+   */
+  ResourceConfiguration newBranchConfiguration(final String branchName, final @NonNegative int revision,
+      final @NonNegative long branchOffset) {
+    return newBuilder(branchName).byteHandlerPipeline(byteHandlePipeline)
+                                 .hashKind(hashType)
+                                 .versioningApproach(versioningType)
+                                 .maxNumberOfRevisionsToRestore(maxNumberOfRevisionsToRestore)
+                                 .storageType(StorageType.FILECHANNEL)
+                                 .persistenter(recordPersister)
+                                 .useTextCompression(useTextCompression)
+                                 .buildPathSummary(withPathSummary)
+                                 .useDeweyIDs(areDeweyIDsStored)
+                                 .storeDiffs(storeDiffs)
+                                 .storeChildCount(storeChildCount)
+                                 .customCommitTimestamps(customCommitTimestamps)
+                                 .storeNodeHistory(storeNodeHistory)
+                                 .intentLogCapacity(intentLogCapacity)
+                                 .branchOf(resourceName, revision, branchOffset)
+                                 .build();
+  }
+
   /**
    * JSON names.
    */
   private static final String[] JSONNAMES =
       { "revisioning", "revisioningClass", "numbersOfRevisiontoRestore", "byteHandlerClasses", "storageKind",
           "hashKind", "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter",
-          "storeDiffs", "customCommitTimestamps", "storeNodeHistory", "storeChildCount" };
+          "storeDiffs", "customCommitTimestamps", "storeNodeHistory", "storeChildCount", "parentResource",
+          "parentRevision", "branchOffset", "intentLogCapacity" };
 
   /**
    * Serialize the configuration.
@@ -484,6 +612,14 @@ public final class ResourceConfiguration {
       jsonWriter.name(JSONNAMES[14]).value(config.storeNodeHistory);
       // Child count.
       jsonWriter.name(JSONNAMES[15]).value(config.storeChildCount);
+      // Branch.
+      if (config.isBranch()) {
+        jsonWriter.name(JSONNAMES[16]).value(config.parentResourceName);
+        jsonWriter.name(JSONNAMES[17]).value(config.parentRevision);
+        jsonWriter.name(JSONNAMES[18]).value(config.branchOffset);
+      }
+      // Intent log capacity.
+      jsonWriter.name(JSONNAMES[19]).value(config.intentLogCapacity);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -517,6 +653,14 @@ public final class ResourceConfiguration {
       name = jsonReader.nextName();
       assert name.equals(JSONNAMES[2]);
       final int revisionToRestore = jsonReader.nextInt();
+      if (revisionToRestore > MAX_VERSIONS_TO_RESTORE) {
+        // Not clamped, as the versioning of the existing revisions depends on it.
+        throw new SirixIOException("The resource " + file + " restores " + revisionToRestore
+                                       + " revisions, but a record page references at most "
+                                       + SerializationType.MAX_NUMBER_OF_PAGE_FRAGMENTS
+                                       + " page fragments, thus at most " + MAX_VERSIONS_TO_RESTORE
+                                       + " revisions to restore are supported!");
+      }
       jsonReader.endObject();
       // ByteHandlers.
       final List<ByteHandler> handlerList = new ArrayList<>();
@@ -580,6 +724,26 @@ public final class ResourceConfiguration {
       name = jsonReader.nextName();
       assert name.equals(JSONNAMES[15]);
       final boolean storeChildCount = jsonReader.nextBoolean();
+      // Optional settings: the branch and the intent log capacity (not stored by older versions).
+      String parentResourceName = null;
+      int parentRevision = 0;
+      long branchOffset = 0;
+      int intentLogCapacity = INTENT_LOG_CAPACITY;
+      while (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        if (name.equals(JSONNAMES[16])) {
+          parentResourceName = jsonReader.nextString();
+          name = jsonReader.nextName();
+          assert name.equals(JSONNAMES[17]);
+          parentRevision = jsonReader.nextInt();
+          name = jsonReader.nextName();
+          assert name.equals(JSONNAMES[18]);
+          branchOffset = jsonReader.nextLong();
+        } else {
+          assert name.equals(JSONNAMES[19]);
+          intentLogCapacity = jsonReader.nextInt();
+        }
+      }
 
       jsonReader.endObject();
       jsonReader.close();
@@ -602,7 +766,12 @@ public final class ResourceConfiguration {
              .storeDiffs(storeDiffs)
              .storeChildCount(storeChildCount)
              .customCommitTimestamps(customCommitTimestamps)
-             .storeNodeHistory(storeNodeHistory);
+             .storeNodeHistory(storeNodeHistory)
+             .intentLogCapacity(intentLogCapacity);
+
+      if (parentResourceName != null) {
+        builder.branchOf(parentResourceName, parentRevision, branchOffset);
+      }
 
       // Deserialized instance.
       final ResourceConfiguration config = new ResourceConfiguration(builder);
@@ -694,6 +863,27 @@ public final class ResourceConfiguration {
      */
     private boolean storeNodeHistory;
 
+    /**
+     * The name of the resource the resource is a branch of, if any.
+     */
+    private String parentResourceName;
+
+    /**
+     * The revision of the parent resource the branch is created from.
+     */
+    private int parentRevision;
+
+    /**
+     * The offset in the data file of the parent resource, from which on pages are stored in the data
+     * file of the branch.
+     */
+    private long branchOffset;
+
+    /**
+     * Number of pages the transaction intent log keeps in memory.
+     */
+    private int intentLogCapacity = INTENT_LOG_CAPACITY;
+
     /**
      * Constructor, setting the mandatory fields.
      *
@@ -774,13 +964,16 @@ public final class ResourceConfiguration {
     }
 
     /**
-     * Set the maximum number of revisions to restore.
+     * Set the maximum number of revisions to restore. At most {@link ResourceConfiguration#MAX_VERSIONS_TO_RESTORE}
+     * revisions can be restored.
      *
      * @param revisionsToRestore number of versions to restore
      * @return reference to the builder object
      */
     public Builder maxNumberOfRevisionsToRestore(final @NonNegative int revisionsToRestore) {
       checkArgument(revisionsToRestore > 0, "revisionsToRestore must be > 0!");
+      checkArgument(revisionsToRestore <= MAX_VERSIONS_TO_RESTORE,
+                    "revisionsToRestore must be <= " + MAX_VERSIONS_TO_RESTORE + "!");
       this.maxNumberOfRevisionsToRestore = revisionsToRestore;
       return this;
     }
@@ -850,6 +1043,39 @@ public final class ResourceConfiguration {
       return this;
     }
 
+    /**
+     * Set the number of pages the transaction intent log of a write transaction keeps in memory. Once
+     * more pages are modified, pages are spilled to a file in the resource directory.
+     *
+     * @param intentLogCapacity the number of pages kept in memory
+     * @return reference to the builder object
+     */
+    public Builder intentLogCapacity(final @NonNegative int intentLogCapacity) {
+      checkArgument(intentLogCapacity > 0, "intentLogCapacity must be > 0!");
+      this.intentLogCapacity = intentLogCapacity;
+      return this;
+    }
+
+    /**
+     * Make the resource a branch of another resource. Branches are created by means of
+     * {@link org.sirix.api.Database#createBranch(String, int, String)}.
+     *
+     * @param parentResourceName the name of the parent resource
+     * @param parentRevision     the revision of the parent resource the branch is created from
+     * @param branchOffset       the offset in the data file of the parent resource, from which on
+     *                           pages are stored in the data file of the branch
+     * @return reference to the builder object
+     */
+    Builder branchOf(final String parentResourceName, final @NonNegative int parentRevision,
+        final @NonNegative long branchOffset) {
+      checkArgument(parentRevision >= 0, "The parent revision must be >= 0!");
+      checkArgument(branchOffset >= 0, "The branch offset must be >= 0!");
+      this.parentResourceName = checkNotNull(parentResourceName);
+      this.parentRevision = parentRevision;
+      this.branchOffset = branchOffset;
+      return this;
+    }
+
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
@@ -864,6 +1090,7 @@ public final class ResourceConfiguration {
                         .add("Store node history", storeNodeHistory)
                         .add("Custom commit timestamps", customCommitTimestamps)
                         .add("Max number of revisions to restore", maxNumberOfRevisionsToRestore)
+                        .add("Intent log capacity", intentLogCapacity)
                         .add("Use deweyIDs", useDeweyIDs)
                         .add("Byte handler pipeline", byteHandler)
                         .toString();
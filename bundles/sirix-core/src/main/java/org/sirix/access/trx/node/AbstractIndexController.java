@@ -14,6 +14,7 @@ import org.sirix.index.redblacktree.keyvalue.NodeReferences;
 import org.sirix.index.cas.CASFilter;
 import org.sirix.index.cas.CASFilterRange;
 import org.sirix.index.cas.CASIndex;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
 import org.sirix.index.name.NameFilter;
 import org.sirix.index.name.NameIndex;
 import org.sirix.index.path.PCRCollector;
@@ -222,4 +223,14 @@ public abstract class AbstractIndexController<R extends NodeReadOnlyTrx & NodeCu
 
     return casIndex.openIndex(pageRtx, indexDef, filter);
   }
+
+  @Override
+  public Iterator<CASValue> openCASIndexKeys(final PageReadOnlyTrx pageRtx, final IndexDef indexDef,
+      final CASFilter filter) {
+    if (casIndex == null) {
+      throw new IllegalStateException("This document does not support CAS indexes.");
+    }
+
+    return casIndex.openIndexKeys(pageRtx, indexDef, filter);
+  }
 }
@@ -1,5 +1,11 @@
 package org.sirix.access.trx.node;
 
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
@@ -43,6 +49,27 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
 
   private boolean autoCommit;
 
+  /**
+   * {@code true} if the hashes and descendant counts of the ancestors of inserted nodes are adapted
+   * once they are needed instead of with each insert, {@code false} otherwise.
+   */
+  private boolean deferAncestorMaintenance;
+
+  /**
+   * The hashes to add to the ancestors, which haven't been adapted, yet.
+   */
+  private final Long2ObjectMap<BigInteger> pendingHashes = new Long2ObjectOpenHashMap<>();
+
+  /**
+   * The descendant counts to add to the ancestors, which haven't been adapted, yet.
+   */
+  private final Long2LongOpenHashMap pendingDescendantCounts = new Long2LongOpenHashMap();
+
+  /**
+   * The levels of the ancestors, which haven't been adapted, yet (the document root has level 0).
+   */
+  private final Long2IntMap pendingLevels = new Long2IntOpenHashMap();
+
   /**
    * Constructor.
    *
@@ -66,6 +93,18 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
     return this;
   }
 
+  public AbstractNodeHashing<N, T> setDeferAncestorMaintenance(final boolean value) {
+    if (!value) {
+      adaptPendingAncestors();
+    }
+    this.deferAncestorMaintenance = value;
+    return this;
+  }
+
+  public boolean isDeferAncestorMaintenance() {
+    return deferAncestorMaintenance;
+  }
+
   /**
    * Adapting the structure with a hash for all ancestors only with insert.
    *
@@ -74,7 +113,13 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
   public void adaptHashesWithAdd() {
     if (!bulkInsert || autoCommit) {
       switch (hashType) {
-        case ROLLING -> rollingAdd();
+        case ROLLING -> {
+          if (deferAncestorMaintenance) {
+            deferredRollingAdd();
+          } else {
+            rollingAdd();
+          }
+        }
         case POSTORDER -> postorderAdd();
         case NONE, default -> {
         }
@@ -192,6 +237,7 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
    * @throws SirixIOException if anything weird happened
    */
   private void rollingUpdate(final BigInteger oldHash) {
+    adaptPendingAncestors();
     final var newNode = getCurrentNode();
     final BigInteger hash = newNode.computeHash();
     BigInteger resultNew;
@@ -216,6 +262,7 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
    * Adapting the structure with a rolling hash for all ancestors only with remove.
    */
   private void rollingRemove() {
+    adaptPendingAncestors();
     final var startNode = getCurrentNode();
     BigInteger hashToRemove = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
         ? startNode.computeHash()
@@ -314,6 +361,120 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
     setCurrentNode(startNode);
   }
 
+  /**
+   * Adapting the hash of an inserted node and recording the hash and descendant count to add to its
+   * parent. The ancestors are adapted in {@link #adaptPendingAncestors()}.
+   */
+  private void deferredRollingAdd() {
+    final var startNode = getCurrentNode();
+    final long oldDescendantCount = getStructuralNode().getDescendantCount();
+    final long descendantCount = oldDescendantCount == 0 ? 1 : oldDescendantCount + 1;
+    final BigInteger hashToAdd = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
+        ? startNode.computeHash()
+        : startNode.getHash();
+
+    if (!isValueNode(startNode)) {
+      final Node node = pageTrx.prepareRecordForModification(startNode.getNodeKey(), IndexType.DOCUMENT, -1);
+      node.setHash(hashToAdd);
+    }
+
+    if (startNode.hasParent()) {
+      final long parentKey = startNode.getParentKey();
+      if (!pendingLevels.containsKey(parentKey)) {
+        pendingLevels.put(parentKey, getLevel(parentKey));
+      }
+      addPendingChange(parentKey, hashToAdd.multiply(PRIME), startNode instanceof StructNode ? descendantCount : 0);
+    }
+
+    setCurrentNode(startNode);
+  }
+
+  /**
+   * Get the level of a node. Stops at the first ancestor, whose level is already known.
+   *
+   * @param nodeKey the key of the node
+   * @return the level of the node
+   */
+  private int getLevel(final long nodeKey) {
+    nodeReadOnlyTrx.moveTo(nodeKey);
+    int distance = 0;
+    while (getCurrentNode().hasParent()) {
+      nodeReadOnlyTrx.moveTo(getCurrentNode().getParentKey());
+      distance++;
+      final long ancestorKey = getCurrentNode().getNodeKey();
+      if (pendingLevels.containsKey(ancestorKey)) {
+        return pendingLevels.get(ancestorKey) + distance;
+      }
+    }
+    return distance;
+  }
+
+  private void addPendingChange(final long nodeKey, final BigInteger hash, final long descendantCount) {
+    final BigInteger pendingHash = pendingHashes.get(nodeKey);
+    pendingHashes.put(nodeKey, pendingHash == null ? hash : pendingHash.add(hash));
+    pendingDescendantCounts.addTo(nodeKey, descendantCount);
+  }
+
+  /**
+   * Adapt the hashes and descendant counts of all ancestors of the nodes, which have been inserted
+   * since the last call, level by level from the deepest level up to the document root, such that
+   * each ancestor is modified only once.
+   */
+  public void adaptPendingAncestors() {
+    if (pendingLevels.isEmpty()) {
+      return;
+    }
+
+    final long startNodeKey = getCurrentNode().getNodeKey();
+
+    int maxLevel = 0;
+    for (final int level : pendingLevels.values()) {
+      maxLevel = Math.max(maxLevel, level);
+    }
+
+    final LongArrayList[] nodeKeysPerLevel = new LongArrayList[maxLevel + 1];
+    for (final var entry : pendingLevels.long2IntEntrySet()) {
+      getNodeKeys(nodeKeysPerLevel, entry.getIntValue()).add(entry.getLongKey());
+    }
+
+    for (int level = maxLevel; level >= 0; level--) {
+      final LongArrayList nodeKeys = nodeKeysPerLevel[level];
+      if (nodeKeys == null) {
+        continue;
+      }
+
+      for (int i = 0, size = nodeKeys.size(); i < size; i++) {
+        final long nodeKey = nodeKeys.getLong(i);
+        final BigInteger hashToAdd = pendingHashes.remove(nodeKey);
+        final long descendantCountToAdd = pendingDescendantCounts.remove(nodeKey);
+
+        final Node node = pageTrx.prepareRecordForModification(nodeKey, IndexType.DOCUMENT, -1);
+        node.setHash(Node.to128BitsAtMaximumBigInteger(node.getHash().add(hashToAdd)));
+        if (node instanceof StructNode structNode) {
+          structNode.setDescendantCount(structNode.getDescendantCount() + descendantCountToAdd);
+        }
+
+        if (node.hasParent()) {
+          final long parentKey = node.getParentKey();
+          if (!pendingHashes.containsKey(parentKey)) {
+            getNodeKeys(nodeKeysPerLevel, level - 1).add(parentKey);
+          }
+          addPendingChange(parentKey, hashToAdd.multiply(PRIME), descendantCountToAdd);
+        }
+      }
+    }
+
+    pendingLevels.clear();
+    nodeReadOnlyTrx.moveTo(startNodeKey);
+  }
+
+  private static LongArrayList getNodeKeys(final LongArrayList[] nodeKeysPerLevel, final int level) {
+    if (nodeKeysPerLevel[level] == null) {
+      nodeKeysPerLevel[level] = new LongArrayList();
+    }
+    return nodeKeysPerLevel[level];
+  }
+
   private boolean isValueNode(N startNode) {
     return startNode.getKind() == NodeKind.STRING_VALUE || startNode.getKind() == NodeKind.OBJECT_STRING_VALUE
         || startNode.getKind() == NodeKind.BOOLEAN_VALUE || startNode.getKind() == NodeKind.OBJECT_BOOLEAN_VALUE
@@ -327,6 +488,7 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
    * @param startNode start node
    */
   public void addParentHash(final ImmutableNode startNode) {
+    adaptPendingAncestors();
     switch (hashType) {
       case ROLLING:
         BigInteger hashToAdd = startNode.computeHash();
@@ -353,6 +515,7 @@ public abstract class AbstractNodeHashing<N extends ImmutableNode, T extends Nod
    * Add a hash and the descendant count.
    */
   public void addHashAndDescendantCount() {
+    adaptPendingAncestors();
     switch (hashType) {
       case ROLLING -> {
         // Setup.
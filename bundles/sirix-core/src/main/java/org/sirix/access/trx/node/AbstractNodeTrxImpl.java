@@ -22,6 +22,7 @@ import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.page.UberPage;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
@@ -218,6 +219,27 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
     return self();
   }
 
+  @Override
+  public W setDeferredAncestorMaintenance(final boolean deferred) {
+    nodeReadOnlyTrx.assertNotClosed();
+    nodeHashing.setDeferAncestorMaintenance(deferred);
+    return self();
+  }
+
+  @Override
+  public BigInteger getHash() {
+    nodeReadOnlyTrx.assertNotClosed();
+    nodeHashing.adaptPendingAncestors();
+    return nodeReadOnlyTrx.getHash();
+  }
+
+  @Override
+  public long getDescendantCount() {
+    nodeReadOnlyTrx.assertNotClosed();
+    nodeHashing.adaptPendingAncestors();
+    return nodeReadOnlyTrx.getDescendantCount();
+  }
+
   /**
    * Get the current node.
    *
@@ -279,6 +301,9 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
         hook.preCommit(this);
       }
 
+      // Adapt the ancestors of the nodes inserted with deferred ancestor maintenance.
+      nodeHashing.adaptPendingAncestors();
+
       // Reset modification counter.
       modificationCount = 0L;
 
@@ -352,9 +377,7 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
 
     nodeFactory = reInstantiateNodeFactory(pageTrx);
 
-    final boolean isBulkInsert = nodeHashing.isBulkInsert();
-    nodeHashing = reInstantiateNodeHashing(hashType, pageTrx);
-    nodeHashing.setBulkInsert(isBulkInsert);
+    reInstantiateNodeHashingWithSameModes();
 
     updateOperationsUnordered.clear();
     updateOperationsOrdered.clear();
@@ -362,6 +385,18 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
     reInstantiateIndexes();
   }
 
+  /**
+   * Create a new node hashing instance bound to the current page transaction, which keeps the bulk
+   * insert and deferred ancestor maintenance modes, but drops the pending ancestors of the old instance.
+   */
+  private void reInstantiateNodeHashingWithSameModes() {
+    final boolean isBulkInsert = nodeHashing.isBulkInsert();
+    final boolean isDeferAncestorMaintenance = nodeHashing.isDeferAncestorMaintenance();
+    nodeHashing = reInstantiateNodeHashing(hashType, pageTrx);
+    nodeHashing.setBulkInsert(isBulkInsert);
+    nodeHashing.setDeferAncestorMaintenance(isDeferAncestorMaintenance);
+  }
+
   protected abstract AbstractNodeHashing<N, R> reInstantiateNodeHashing(HashType hashType, PageTrx pageTrx);
 
   protected abstract NF reInstantiateNodeFactory(PageTrx pageTrx);
@@ -409,6 +444,9 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
     nodeReadOnlyTrx.setPageReadTransaction(pageTrx);
     resourceManager.setNodePageWriteTransaction(getId(), pageTrx);
 
+    // The pending ancestors of rolled back inserts must not be adapted by the next commit.
+    reInstantiateNodeHashingWithSameModes();
+
     nodeFactory = reInstantiateNodeFactory(pageTrx);
 
     reInstantiateIndexes();
@@ -445,11 +483,12 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
       // Reset internal transaction state to new uber page.
       resourceManager.closeNodePageWriteTransaction(getId());
       pageTrx = resourceManager.createPageTransaction(trxID, revision, revNumber - 1, Abort.NO, true);
+      pageTrx.setRevert(true);
       nodeReadOnlyTrx.setPageReadTransaction(null);
       nodeReadOnlyTrx.setPageReadTransaction(pageTrx);
       resourceManager.setNodePageWriteTransaction(getId(), pageTrx);
 
-      nodeHashing = reInstantiateNodeHashing(hashType, pageTrx);
+      reInstantiateNodeHashingWithSameModes();
 
       // Reset node factory.
       nodeFactory = reInstantiateNodeFactory(pageTrx);
@@ -507,6 +546,12 @@ public abstract class AbstractNodeTrxImpl<R extends NodeReadOnlyTrx & NodeCursor
   public W truncateTo(final int revision) {
     nodeReadOnlyTrx.assertNotClosed();
 
+    final List<String> branches = resourceManager.getResourceConfig().getBranchNames(revision);
+    if (!branches.isEmpty()) {
+      throw new IllegalStateException("Branches of the resource created from a revision after " + revision
+                                          + " found, must be removed first: " + branches);
+    }
+
     // TODO
 
     return self();
@@ -10,6 +10,7 @@ import org.sirix.access.ResourceStore;
 import org.sirix.access.User;
 import org.sirix.access.trx.node.xml.XmlResourceSessionImpl;
 import org.sirix.access.trx.page.NodePageReadOnlyTrx;
+import org.sirix.access.trx.page.PageCacheSnapshot;
 import org.sirix.access.trx.page.PageTrxFactory;
 import org.sirix.access.trx.page.RevisionRootPageReader;
 import org.sirix.api.*;
@@ -23,11 +24,13 @@ import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.index.IndexType;
+import org.sirix.index.cas.CASIndexStatisticsStore;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.redblacktree.RBNode;
 import org.sirix.io.IOStorage;
 import org.sirix.io.Reader;
 import org.sirix.io.Writer;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.node.interfaces.Node;
 import org.sirix.page.UberPage;
 import org.sirix.settings.Fixed;
@@ -134,6 +137,26 @@ public abstract class AbstractResourceSession<R extends NodeReadOnlyTrx & NodeCu
    */
   private final PageTrxFactory pageTrxFactory;
 
+  /**
+   * The statistics of the CAS indexes.
+   */
+  private final CASIndexStatisticsStore casIndexStatistics = new CASIndexStatisticsStore();
+
+  /**
+   * The prefetch of the pages of the cache snapshot in the background.
+   */
+  private volatile CompletableFuture<Void> prefetch = CompletableFuture.completedFuture(null);
+
+  /**
+   * Determines if the prefetch has to stop, as the session is closed.
+   */
+  private volatile boolean isPrefetchStopped;
+
+  /**
+   * The executor of the prefetch, which is owned by this session and shut down once it's closed.
+   */
+  private @Nullable ExecutorService prefetchExecutor;
+
   /**
    * Creates a new instance of this class.
    *
@@ -196,6 +219,68 @@ public abstract class AbstractResourceSession<R extends NodeReadOnlyTrx & NodeCu
     return bufferManager.getIndexCache();
   }
 
+  @Override
+  public CASIndexStatisticsStore getCASIndexStatistics() {
+    return casIndexStatistics;
+  }
+
+  @Override
+  public synchronized void prefetchPagesInBackground() {
+    assertNotClosed();
+    if (prefetchExecutor != null) {
+      // The snapshot is only read once, when the session has been created.
+      return;
+    }
+    prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      final var thread = new Thread(runnable, "sirix-prefetch-" + resourceConfig.getResource().getFileName());
+      thread.setDaemon(true);
+      return thread;
+    });
+    prefetch = CompletableFuture.runAsync(() -> PageCacheSnapshot.prefetch(this, () -> isPrefetchStopped),
+                                          prefetchExecutor);
+  }
+
+  /**
+   * Stop the prefetch and wait until the executor has finished all its work. The prefetch threads
+   * aren't interrupted, as an interrupt closes the file channels of the storage.
+   */
+  private void stopPrefetch() {
+    isPrefetchStopped = true;
+    final ExecutorService executor = prefetchExecutor;
+    if (executor == null) {
+      return;
+    }
+
+    executor.shutdown();
+    boolean isInterrupted = false;
+    while (!executor.isTerminated()) {
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> getPrefetch() {
+    // A copy, such that cancelling it doesn't prevent awaiting the prefetch, once the session is closed.
+    return prefetch.copy();
+  }
+
+  @Override
+  public StorageMetrics getStorageMetrics() {
+    return bufferManager.getMetrics();
+  }
+
+  @Override
+  public void clearCaches() {
+    bufferManager.clearAllCaches();
+  }
+
   /**
    * Create a new {@link PageTrx}.
    *
@@ -237,6 +322,8 @@ public abstract class AbstractResourceSession<R extends NodeReadOnlyTrx & NodeCu
       PageTrx pageTrx) {
     if (Files.exists(getCommitFile())) {
       writer.truncateTo(pageTrx, lastCommittedRev);
+      bufferManager.clearAllCaches();
+      PageCacheSnapshot.delete(resourceConfig);
     }
   }
 
@@ -441,6 +528,9 @@ public abstract class AbstractResourceSession<R extends NodeReadOnlyTrx & NodeCu
   @Override
   public synchronized void close() {
     if (!isClosed) {
+      // Stop the prefetch, as it reads with a transaction of this session.
+      stopPrefetch();
+
       // Close all open node transactions.
       for (NodeReadOnlyTrx rtx : nodeTrxMap.values()) {
         if (rtx instanceof XmlNodeTrx) {
@@ -21,6 +21,7 @@ import org.sirix.index.SearchMode;
 import org.sirix.index.redblacktree.keyvalue.NodeReferences;
 import org.sirix.index.cas.CASFilterRange;
 import org.sirix.index.cas.CASFilter;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
 import org.sirix.index.name.NameFilter;
 import org.sirix.index.path.PCRCollector;
 import org.sirix.index.path.PathFilter;
@@ -145,6 +146,17 @@ public interface IndexController<R extends NodeReadOnlyTrx & NodeCursor, W exten
 
   Iterator<NodeReferences> openCASIndex(PageReadOnlyTrx pageRtx, IndexDef indexDef, CASFilterRange filter);
 
+  /**
+   * Open a CAS index and only return the keys of the matching entries (in index order), without
+   * their node references.
+   *
+   * @param pageRtx  the page transaction
+   * @param indexDef the CAS index definition
+   * @param filter   the filter
+   * @return the keys
+   */
+  Iterator<CASValue> openCASIndexKeys(PageReadOnlyTrx pageRtx, IndexDef indexDef, CASFilter filter);
+
   /**
    * Deserialize from an {@link InputStream}.
    *
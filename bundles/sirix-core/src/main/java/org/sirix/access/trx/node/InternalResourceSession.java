@@ -4,6 +4,7 @@ import org.sirix.api.*;
 import org.sirix.page.UberPage;
 
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 
 public interface InternalResourceSession<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor>
@@ -44,4 +45,19 @@ public interface InternalResourceSession<R extends NodeReadOnlyTrx & NodeCursor,
   void closePageReadTransaction(Long trxId);
 
   void closePageWriteTransaction(Long transactionID);
+
+  /**
+   * Warm up the caches in the background with the pages of the cache snapshot. The prefetch is only
+   * started once per session, on an executor owned by the session, and it's stopped and awaited, once
+   * the session is closed.
+   */
+  void prefetchPagesInBackground();
+
+  /**
+   * Get the prefetch started by {@link #prefetchPagesInBackground()}.
+   *
+   * @return a future, which completes once the prefetch has finished or has been stopped, or a
+   *     completed future, if no prefetch has been started
+   */
+  CompletableFuture<Void> getPrefetch();
 }
@@ -1,8 +1,13 @@
 package org.sirix.access.trx.node.json;
 
 import org.sirix.access.trx.node.AbstractDeweyIDManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
 import org.sirix.exception.SirixException;
+import org.sirix.index.IndexType;
+import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
+import org.sirix.node.interfaces.StructNode;
 
 final class JsonDeweyIDManager extends AbstractDeweyIDManager<InternalJsonNodeTrx> {
 
@@ -22,4 +27,44 @@ final class JsonDeweyIDManager extends AbstractDeweyIDManager<InternalJsonNodeTr
   SirixDeweyID newRecordValueID() {
     return nodeTrx.storeDeweyIDs() ? nodeTrx.getDeweyID().getRecordValueRootID() : null;
   }
+
+  /**
+   * Compute and assign new {@link SirixDeweyID}s for the subtree rooted at the current node, for
+   * instance after it has been moved. The nodes are visited in preorder, such that the IDs of the
+   * parent and the left sibling of a node have already been reassigned.
+   *
+   * @throws SirixException if generating an ID fails
+   */
+  void computeNewDeweyIDs() {
+    final long rootKey = nodeTrx.getNodeKey();
+
+    for (final var axis = new DescendantAxis(nodeTrx, IncludeSelf.YES); axis.hasNext(); ) {
+      axis.nextLong();
+
+      final long nodeKey = nodeTrx.getNodeKey();
+      final SirixDeweyID leftSiblingID = nodeTrx.moveToLeftSibling() ? nodeTrx.getDeweyID() : null;
+      nodeTrx.moveTo(nodeKey);
+
+      final SirixDeweyID id;
+      if (nodeKey == rootKey && nodeTrx.hasRightSibling()) {
+        nodeTrx.moveToRightSibling();
+        final SirixDeweyID rightSiblingID = nodeTrx.getDeweyID();
+        nodeTrx.moveTo(nodeKey);
+        id = SirixDeweyID.newBetween(leftSiblingID, rightSiblingID);
+      } else if (leftSiblingID != null) {
+        id = SirixDeweyID.newBetween(leftSiblingID, null);
+      } else {
+        nodeTrx.moveToParent();
+        final SirixDeweyID parentID = nodeTrx.getDeweyID();
+        final boolean isRecordValue = nodeTrx.getKind() == NodeKind.OBJECT_KEY;
+        nodeTrx.moveTo(nodeKey);
+        id = isRecordValue ? parentID.getRecordValueRootID() : parentID.getNewChildID();
+      }
+
+      final StructNode node = nodeTrx.getPageWtx().prepareRecordForModification(nodeKey, IndexType.DOCUMENT, -1);
+      node.setDeweyID(id);
+    }
+
+    nodeTrx.moveTo(rootKey);
+  }
 }
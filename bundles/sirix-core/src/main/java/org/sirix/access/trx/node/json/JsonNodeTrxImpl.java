@@ -24,6 +24,9 @@ package org.sirix.access.trx.node.json;
 import com.google.common.hash.HashFunction;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.xdm.Item;
 import org.checkerframework.checker.index.qual.NonNegative;
@@ -31,12 +34,20 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.*;
+import org.sirix.access.trx.node.json.objectvalue.ArrayValue;
+import org.sirix.access.trx.node.json.objectvalue.BooleanValue;
+import org.sirix.access.trx.node.json.objectvalue.NullValue;
+import org.sirix.access.trx.node.json.objectvalue.NumberValue;
 import org.sirix.access.trx.node.json.objectvalue.ObjectRecordValue;
+import org.sirix.access.trx.node.json.objectvalue.ObjectValue;
+import org.sirix.access.trx.node.json.objectvalue.StringValue;
 import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
 import org.sirix.api.PageTrx;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.api.json.JsonResourceSession;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
 import org.sirix.axis.PostOrderAxis;
 import org.sirix.diff.DiffDepth;
 import org.sirix.diff.DiffFactory;
@@ -52,6 +63,7 @@ import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.immutable.json.ImmutableArrayNode;
 import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
+import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.node.interfaces.immutable.ImmutableJsonNode;
 import org.sirix.node.interfaces.immutable.ImmutableNameNode;
@@ -59,6 +71,7 @@ import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.node.json.*;
 import org.sirix.page.NamePage;
 import org.sirix.service.InsertPosition;
+import org.sirix.service.json.serialize.JsonNodeReader;
 import org.sirix.service.json.shredder.JsonItemShredder;
 import org.sirix.service.json.shredder.JsonShredder;
 import org.sirix.settings.Constants;
@@ -74,6 +87,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.nio.file.StandardOpenOption.CREATE;
 
@@ -559,6 +573,388 @@ final class JsonNodeTrxImpl extends
     return this;
   }
 
+  @Override
+  public JsonNodeTrx copySubtreeAsFirstChild(final JsonNodeReadOnlyTrx rtx) {
+    return copySubtree(rtx, InsertPosition.AS_FIRST_CHILD);
+  }
+
+  @Override
+  public JsonNodeTrx copySubtreeAsLastChild(final JsonNodeReadOnlyTrx rtx) {
+    return copySubtree(rtx, InsertPosition.AS_LAST_CHILD);
+  }
+
+  @Override
+  public JsonNodeTrx copySubtreeAsLeftSibling(final JsonNodeReadOnlyTrx rtx) {
+    return copySubtree(rtx, InsertPosition.AS_LEFT_SIBLING);
+  }
+
+  @Override
+  public JsonNodeTrx copySubtreeAsRightSibling(final JsonNodeReadOnlyTrx rtx) {
+    return copySubtree(rtx, InsertPosition.AS_RIGHT_SIBLING);
+  }
+
+  private JsonNodeTrx copySubtree(final JsonNodeReadOnlyTrx rtx, final InsertPosition insertPosition) {
+    nodeReadOnlyTrx.assertNotClosed();
+    checkNotNull(rtx);
+    checkArgument(rtx != this, "A subtree can't be copied from the transaction itself.");
+
+    runLocked(() -> {
+      // The records are read by a new transaction, which is moved while the subtree is read.
+      try (final JsonNodeReadOnlyTrx sourceRtx = rtx.getResourceSession()
+                                                   .beginNodeReadOnlyTrx(rtx.getRevisionNumber())) {
+        sourceRtx.moveTo(rtx.getNodeKey());
+
+        if (sourceRtx.getKind() == NodeKind.JSON_DOCUMENT && !sourceRtx.moveToFirstChild()) {
+          return;
+        }
+
+        // $CASES-OMITTED$
+        switch (sourceRtx.getKind()) {
+          case OBJECT, ARRAY -> {
+            if ((insertPosition == InsertPosition.AS_FIRST_CHILD || insertPosition == InsertPosition.AS_LAST_CHILD)
+                && getKind() == NodeKind.OBJECT) {
+              throw new SirixUsageException("Only object records can be inserted into an object.");
+            }
+            insertSubtree(new JsonNodeReader(sourceRtx), insertPosition, Commit.NO, CheckParentNode.YES,
+                          SkipRootToken.NO);
+          }
+          case OBJECT_KEY -> copyObjectRecord(sourceRtx, insertPosition);
+          default -> copyValue(sourceRtx, insertPosition);
+        }
+      }
+    });
+    return this;
+  }
+
+  private void copyObjectRecord(final JsonNodeReadOnlyTrx sourceRtx, final InsertPosition insertPosition) {
+    final String key = sourceRtx.getName().stringValue();
+    sourceRtx.moveToFirstChild();
+
+    // $CASES-OMITTED$
+    final ObjectRecordValue<?> value = switch (sourceRtx.getKind()) {
+      case OBJECT -> new ObjectValue();
+      case ARRAY -> new ArrayValue();
+      case OBJECT_STRING_VALUE -> new StringValue(sourceRtx.getValue());
+      case OBJECT_BOOLEAN_VALUE -> new BooleanValue(sourceRtx.getBooleanValue());
+      case OBJECT_NUMBER_VALUE -> new NumberValue(sourceRtx.getNumberValue());
+      case OBJECT_NULL_VALUE -> new NullValue();
+      default -> throw new IllegalStateException("Object record value of kind " + sourceRtx.getKind() + " not known.");
+    };
+
+    // $CASES-OMITTED$
+    switch (insertPosition) {
+      case AS_FIRST_CHILD -> insertObjectRecordAsFirstChild(key, value);
+      case AS_LAST_CHILD -> insertObjectRecordAsLastChild(key, value);
+      case AS_LEFT_SIBLING -> insertObjectRecordAsLeftSibling(key, value);
+      case AS_RIGHT_SIBLING -> insertObjectRecordAsRightSibling(key, value);
+      default -> throw new UnsupportedOperationException();
+    }
+
+    // The transaction is located at the inserted value, the (empty) object or array is filled afterwards.
+    final long valueKey = getNodeKey();
+
+    if ((sourceRtx.isObject() || sourceRtx.isArray()) && sourceRtx.hasFirstChild()) {
+      insertSubtree(new JsonNodeReader(sourceRtx), InsertPosition.AS_FIRST_CHILD, Commit.NO, CheckParentNode.NO,
+                    SkipRootToken.YES);
+    }
+
+    moveTo(valueKey);
+    moveToParent();
+  }
+
+  private void copyValue(final JsonNodeReadOnlyTrx sourceRtx, final InsertPosition insertPosition) {
+    if (sourceRtx.isStringValue()) {
+      final String value = sourceRtx.getValue();
+      // $CASES-OMITTED$
+      switch (insertPosition) {
+        case AS_FIRST_CHILD -> insertStringValueAsFirstChild(value);
+        case AS_LAST_CHILD -> insertStringValueAsLastChild(value);
+        case AS_LEFT_SIBLING -> insertStringValueAsLeftSibling(value);
+        case AS_RIGHT_SIBLING -> insertStringValueAsRightSibling(value);
+        default -> throw new UnsupportedOperationException();
+      }
+    } else if (sourceRtx.isNumberValue()) {
+      final Number value = sourceRtx.getNumberValue();
+      // $CASES-OMITTED$
+      switch (insertPosition) {
+        case AS_FIRST_CHILD -> insertNumberValueAsFirstChild(value);
+        case AS_LAST_CHILD -> insertNumberValueAsLastChild(value);
+        case AS_LEFT_SIBLING -> insertNumberValueAsLeftSibling(value);
+        case AS_RIGHT_SIBLING -> insertNumberValueAsRightSibling(value);
+        default -> throw new UnsupportedOperationException();
+      }
+    } else if (sourceRtx.isBooleanValue()) {
+      final boolean value = sourceRtx.getBooleanValue();
+      // $CASES-OMITTED$
+      switch (insertPosition) {
+        case AS_FIRST_CHILD -> insertBooleanValueAsFirstChild(value);
+        case AS_LAST_CHILD -> insertBooleanValueAsLastChild(value);
+        case AS_LEFT_SIBLING -> insertBooleanValueAsLeftSibling(value);
+        case AS_RIGHT_SIBLING -> insertBooleanValueAsRightSibling(value);
+        default -> throw new UnsupportedOperationException();
+      }
+    } else if (sourceRtx.isNullValue()) {
+      // $CASES-OMITTED$
+      switch (insertPosition) {
+        case AS_FIRST_CHILD -> insertNullValueAsFirstChild();
+        case AS_LAST_CHILD -> insertNullValueAsLastChild();
+        case AS_LEFT_SIBLING -> insertNullValueAsLeftSibling();
+        case AS_RIGHT_SIBLING -> insertNullValueAsRightSibling();
+        default -> throw new UnsupportedOperationException();
+      }
+    } else {
+      throw new IllegalStateException("Node kind " + sourceRtx.getKind() + " not known.");
+    }
+  }
+
+  @Override
+  public JsonNodeTrx moveSubtreeToFirstChild(final @NonNegative long fromKey) {
+    return moveSubtree(fromKey, InsertPosition.AS_FIRST_CHILD);
+  }
+
+  @Override
+  public JsonNodeTrx moveSubtreeToRightSibling(final @NonNegative long fromKey) {
+    return moveSubtree(fromKey, InsertPosition.AS_RIGHT_SIBLING);
+  }
+
+  @Override
+  public JsonNodeTrx moveSubtreeToLeftSibling(final @NonNegative long fromKey) {
+    return moveSubtree(fromKey, InsertPosition.AS_LEFT_SIBLING);
+  }
+
+  /**
+   * Move a subtree by relinking its root. The records of the subtree itself are only touched, if the
+   * path of the new parent differs from the path of the old parent, that is if path node keys and
+   * index entries have to be adapted.
+   */
+  private JsonNodeTrx moveSubtree(final long fromKey, final InsertPosition insertPosition) {
+    nodeReadOnlyTrx.assertNotClosed();
+    checkArgument(fromKey >= 0 && fromKey <= getMaxNodeKey(), "Argument must be a valid node key!");
+    checkArgument(fromKey != getNodeKey(), "Can't move a node relative to itself!");
+
+    runLocked(() -> {
+      // Adapt the pending ancestors first, such that the hash of the subtree to move is up-to-date.
+      nodeHashing.adaptPendingAncestors();
+
+      final StructNode anchor = (StructNode) getCurrentNode();
+
+      if (!moveTo(fromKey)) {
+        moveTo(anchor.getNodeKey());
+        throw new IllegalArgumentException("Node to move must exist!");
+      }
+
+      final StructNode toMove = (StructNode) getCurrentNode();
+      final NodeKind oldParentKind = getParentKind();
+      moveTo(anchor.getNodeKey());
+
+      final long parentKey;
+      final long leftSiblingKey;
+      final long rightSiblingKey;
+
+      // $CASES-OMITTED$
+      switch (insertPosition) {
+        case AS_FIRST_CHILD -> {
+          parentKey = anchor.getNodeKey();
+          leftSiblingKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+          rightSiblingKey = anchor.getFirstChildKey();
+        }
+        case AS_LEFT_SIBLING -> {
+          parentKey = anchor.getParentKey();
+          leftSiblingKey = anchor.getLeftSiblingKey();
+          rightSiblingKey = anchor.getNodeKey();
+        }
+        case AS_RIGHT_SIBLING -> {
+          parentKey = anchor.getParentKey();
+          leftSiblingKey = anchor.getNodeKey();
+          rightSiblingKey = anchor.getRightSiblingKey();
+        }
+        default -> throw new UnsupportedOperationException();
+      }
+
+      checkMove(toMove, oldParentKind, parentKey);
+
+      // Already at the new position.
+      if (leftSiblingKey == fromKey || rightSiblingKey == fromKey) {
+        return;
+      }
+
+      checkAccessAndCommit();
+
+      final boolean isPathChanged = buildPathSummary
+          && getPathNodeKeyOfParent(toMove.getParentKey()) != getPathNodeKeyOfParent(parentKey);
+
+      moveTo(fromKey);
+      adaptUpdateOperationsForRemove(toMove.getDeweyID(), fromKey);
+
+      // Adapt index structures (before move).
+      if (isPathChanged) {
+        adaptSubtreeForMove(ChangeType.DELETE);
+      }
+
+      // The rolling hash of the subtree, which is reset by the removal, without the hash of its root,
+      // which depends on the position of the root.
+      final boolean isRollingHash = getResourceSession().getResourceConfig().hashType == HashType.ROLLING;
+      final BigInteger descendantsHash = isRollingHash && toMove.getHash() != null
+          ? toMove.getHash().subtract(toMove.computeHash())
+          : BigInteger.ZERO;
+
+      // Adapt hashes and unlink the subtree.
+      nodeReadOnlyTrx.setCurrentNode((ImmutableJsonNode) toMove);
+      nodeHashing.adaptHashesWithRemove();
+      adaptNeighboursForRemove(toMove);
+
+      // Link the subtree at the new position.
+      final StructNode moved = pageTrx.prepareRecordForModification(fromKey, IndexType.DOCUMENT, -1);
+      moved.setParentKey(parentKey);
+      moved.setLeftSiblingKey(leftSiblingKey);
+      moved.setRightSiblingKey(rightSiblingKey);
+      if (isRollingHash) {
+        moved.setHash(Node.to128BitsAtMaximumBigInteger(descendantsHash.add(moved.computeHash())));
+      }
+      adaptForInsert(moved);
+      moveTo(fromKey);
+      nodeHashing.adaptHashesWithAdd();
+
+      // Adapt path summary and index structures (after move).
+      if (isPathChanged) {
+        adaptPathsForMove();
+        adaptSubtreeForMove(ChangeType.INSERT);
+      }
+
+      // Compute and assign new DeweyIDs.
+      if (storeDeweyIDs()) {
+        deweyIDManager.computeNewDeweyIDs();
+      }
+
+      adaptUpdateOperationsForInsert(getDeweyID(), fromKey);
+
+      if (storeNodeHistory) {
+        nodeToRevisionsIndex.addToRecordToRevisionsIndex(fromKey);
+      }
+    });
+    return this;
+  }
+
+  private void checkMove(final StructNode toMove, final NodeKind oldParentKind, final long parentKey) {
+    if (toMove.getKind() == NodeKind.JSON_DOCUMENT) {
+      throw new SirixUsageException("Document root can not be moved.");
+    }
+
+    if (oldParentKind == NodeKind.OBJECT_KEY) {
+      throw new SirixUsageException(
+          "An object record value can not be moved, you have to move the whole object record (parent of this value).");
+    }
+
+    final long anchorKey = getNodeKey();
+    moveTo(parentKey);
+    final NodeKind parentKind = getKind();
+
+    try {
+      if (toMove.getKind() == NodeKind.OBJECT_KEY && parentKind != NodeKind.OBJECT) {
+        throw new SirixUsageException("An object record can only be moved into an object.");
+      }
+
+      if (toMove.getKind() != NodeKind.OBJECT_KEY && parentKind != NodeKind.ARRAY) {
+        throw new SirixUsageException("A node, which is not an object record, can only be moved into an array.");
+      }
+
+      // The new parent must not be in the moved subtree.
+      do {
+        if (getNodeKey() == toMove.getNodeKey()) {
+          throw new IllegalStateException("A subtree can not be moved into itself.");
+        }
+      } while (moveToParent());
+    } finally {
+      moveTo(anchorKey);
+    }
+  }
+
+  /**
+   * Get the path node key of the next object key or array on the ancestor-or-self axis of the given
+   * node, or {@code -1} for the document root.
+   */
+  private long getPathNodeKeyOfParent(final long parentKey) {
+    final long nodeKey = getNodeKey();
+    moveTo(parentKey);
+    moveToParentObjectKeyArrayOrDocumentRoot();
+    final long pathNodeKey = getPathNodeKey(nodeReadOnlyTrx.getStructuralNode());
+    moveTo(nodeKey);
+    return pathNodeKey;
+  }
+
+  /**
+   * Notify the index controller about the nodes of the subtree rooted at the current node, which are
+   * removed from or inserted into the indexes, if the subtree is moved to another path. On removal
+   * the reference counts of the path nodes of the object keys are decremented, as in {@link #remove()}.
+   */
+  private void adaptSubtreeForMove(final ChangeType type) {
+    final long rootKey = getNodeKey();
+    final var pathNodeKeysToReferences = new Long2IntOpenHashMap();
+
+    for (final var axis = new DescendantAxis(this, IncludeSelf.YES); axis.hasNext(); ) {
+      axis.nextLong();
+
+      final StructNode node = (StructNode) getCurrentNode();
+
+      if (node.getKind() == NodeKind.OBJECT_KEY || node.getKind() == NodeKind.ARRAY) {
+        final long pathNodeKey = getPathNodeKey(node);
+        indexController.notifyChange(type, node, pathNodeKey);
+
+        if (type == ChangeType.DELETE && node.getKind() == NodeKind.OBJECT_KEY) {
+          pathNodeKeysToReferences.addTo(pathNodeKey, 1);
+        }
+      } else if (node.getKind() != NodeKind.OBJECT) {
+        moveToParent();
+        final long pathNodeKey = getPathNodeKey((StructNode) getCurrentNode());
+        moveTo(node.getNodeKey());
+        indexController.notifyChange(type, node, pathNodeKey);
+      }
+    }
+
+    moveTo(rootKey);
+
+    if (!pathNodeKeysToReferences.isEmpty()) {
+      pathSummaryWriter.remove(pathNodeKeysToReferences);
+    }
+  }
+
+  /**
+   * Assign the path node keys of the object keys and arrays in the subtree rooted at the current node,
+   * which has been moved to another path. The nodes are visited in preorder, such that the path node
+   * key of the parent has always been assigned.
+   */
+  private void adaptPathsForMove() {
+    final long rootKey = getNodeKey();
+
+    for (final var axis = new DescendantAxis(this, IncludeSelf.YES); axis.hasNext(); ) {
+      axis.nextLong();
+
+      final NodeKind kind = getKind();
+
+      if (kind != NodeKind.OBJECT_KEY && kind != NodeKind.ARRAY) {
+        continue;
+      }
+
+      final long nodeKey = getNodeKey();
+      final QNm name = kind == NodeKind.OBJECT_KEY ? getName() : new QNm("__array__");
+      moveToParent();
+      moveToParentObjectKeyArrayOrDocumentRoot();
+      final long pathNodeKey = pathSummaryWriter.getPathNodeKey(name, kind);
+
+      if (kind == NodeKind.OBJECT_KEY) {
+        final ObjectKeyNode node = pageTrx.prepareRecordForModification(nodeKey, IndexType.DOCUMENT, -1);
+        node.setPathNodeKey(pathNodeKey);
+      } else {
+        final ArrayNode node = pageTrx.prepareRecordForModification(nodeKey, IndexType.DOCUMENT, -1);
+        node.setPathNodeKey(pathNodeKey);
+      }
+
+      moveTo(nodeKey);
+    }
+
+    moveTo(rootKey);
+  }
+
   @Override
   public JsonNodeTrx insertObjectAsFirstChild() {
     if (lock != null) {
@@ -2064,6 +2460,9 @@ final class JsonNodeTrxImpl extends
     }
 
     try {
+      // Adapt the pending ancestors before any record of the subtree is removed.
+      nodeHashing.adaptPendingAncestors();
+
       final StructNode node = (StructNode) getCurrentNode();
       if (node.getKind() == NodeKind.JSON_DOCUMENT) {
         throw new SirixUsageException("Document root can not be removed.");
@@ -2083,26 +2482,52 @@ final class JsonNodeTrxImpl extends
         adaptUpdateOperationsForRemove(node.getDeweyID(), node.getNodeKey());
       }
 
-      // Remove subtree.
+      // Remove subtree. The name page and the path summary are adapted once per name and path node and the
+      // records are removed page by page afterwards.
+      final var removedNodeKeys = new LongArrayList();
+      final var nameKeysToReferences = new Int2IntOpenHashMap();
+      final var pathNodeKeysToReferences = new Long2IntOpenHashMap();
+
       for (final var axis = new PostOrderAxis(this); axis.hasNext(); ) {
         axis.nextLong();
 
         final var currentNode = axis.getCursor().getNode();
 
         // Remove name.
-        removeName();
+        if (getCurrentNode() instanceof ImmutableNameNode nameNode) {
+          assert nameNode.getKind() == NodeKind.OBJECT_KEY;
+          indexController.notifyChange(ChangeType.DELETE, nameNode, nameNode.getPathNodeKey());
+          nameKeysToReferences.addTo(nameNode.getLocalNameKey(), 1);
+
+          if (buildPathSummary) {
+            pathNodeKeysToReferences.addTo(nameNode.getPathNodeKey(), 1);
+          }
+        }
 
         // Remove text value.
         removeValue();
 
-        // Then remove node.
-        pageTrx.removeRecord(currentNode.getNodeKey(), IndexType.DOCUMENT, -1);
+        removedNodeKeys.add(currentNode.getNodeKey());
 
         if (storeNodeHistory) {
           nodeToRevisionsIndex.addRevisionToRecordToRevisionsIndex(currentNode.getNodeKey());
         }
       }
 
+      if (!nameKeysToReferences.isEmpty()) {
+        final NamePage page = ((NamePage) pageTrx.getActualRevisionRootPage().getNamePageReference().getPage());
+        nameKeysToReferences.forEach((nameKey, references) -> page.removeName(nameKey,
+                                                                              NodeKind.OBJECT_KEY,
+                                                                              references,
+                                                                              pageTrx));
+      }
+
+      if (!pathNodeKeysToReferences.isEmpty()) {
+        pathSummaryWriter.remove(pathNodeKeysToReferences);
+      }
+
+      pageTrx.removeRecords(removedNodeKeys.toLongArray(), IndexType.DOCUMENT, -1);
+
       // Remove the name of subtree-root.
       if (node.getKind() == NodeKind.OBJECT_KEY) {
         removeName();
@@ -2141,11 +2566,11 @@ final class JsonNodeTrxImpl extends
     moveToNext();
     final var diffTuple =
         new DiffTuple(DiffFactory.DiffType.DELETED, 0, oldNodeKey, id == null ? null : new DiffDepth(0, id.getLevel()));
+    // Update operations are keyed by the node key or DeweyID of the node they refer to, thus a previous
+    // operation on the removed node is simply replaced instead of searched for.
     if (id == null) {
-      updateOperationsUnordered.values().removeIf(currDiffTuple -> currDiffTuple.getNewNodeKey() == oldNodeKey);
       updateOperationsUnordered.put(oldNodeKey, diffTuple);
     } else {
-      updateOperationsOrdered.values().removeIf(currDiffTuple -> currDiffTuple.getNewNodeKey() == oldNodeKey);
       updateOperationsOrdered.put(id, diffTuple);
     }
     moveTo(oldNodeKey);
@@ -2207,6 +2632,7 @@ final class JsonNodeTrxImpl extends
       if (getKind() != NodeKind.OBJECT_KEY)
         throw new SirixUsageException("Not allowed if current node is not an object key node!");
       checkAccessAndCommit();
+      nodeHashing.adaptPendingAncestors();
 
       ObjectKeyNode node = (ObjectKeyNode) nodeReadOnlyTrx.getCurrentNode();
       final BigInteger oldHash = node.computeHash();
@@ -2291,6 +2717,7 @@ final class JsonNodeTrxImpl extends
       }
 
       checkAccessAndCommit();
+      nodeHashing.adaptPendingAncestors();
 
       final long nodeKey = getNodeKey();
       moveToParent();
@@ -2341,6 +2768,7 @@ final class JsonNodeTrxImpl extends
       }
 
       checkAccessAndCommit();
+      nodeHashing.adaptPendingAncestors();
 
       final long nodeKey = getNodeKey();
       moveToParent();
@@ -2391,6 +2819,7 @@ final class JsonNodeTrxImpl extends
             "Not allowed if current node is not a number value and not an object number value node!");
       }
       checkAccessAndCommit();
+      nodeHashing.adaptPendingAncestors();
 
       final long nodeKey = getNodeKey();
       moveToParent();
@@ -2481,6 +2910,25 @@ final class JsonNodeTrxImpl extends
   private void adaptForRemove(final StructNode oldNode) {
     assert oldNode != null;
 
+    adaptNeighboursForRemove(oldNode);
+
+    // Remove non-structural nodes of old node.
+    if (oldNode.getKind() == NodeKind.ELEMENT) {
+      moveTo(oldNode.getNodeKey());
+      // removeNonStructural();
+    }
+
+    // Remove old node.
+    moveTo(oldNode.getNodeKey());
+    pageTrx.removeRecord(oldNode.getNodeKey(), IndexType.DOCUMENT, -1);
+  }
+
+  /**
+   * Unlink a node from its siblings and its parent.
+   *
+   * @param oldNode the node to unlink
+   */
+  private void adaptNeighboursForRemove(final StructNode oldNode) {
     // Adapt left sibling node if there is one.
     if (oldNode.hasLeftSibling()) {
       final StructNode leftSibling =
@@ -2507,16 +2955,6 @@ final class JsonNodeTrxImpl extends
     if (storeChildCount) {
       parent.decrementChildCount();
     }
-
-    // Remove non-structural nodes of old node.
-    if (oldNode.getKind() == NodeKind.ELEMENT) {
-      moveTo(oldNode.getNodeKey());
-      // removeNonStructural();
-    }
-
-    // Remove old node.
-    moveTo(oldNode.getNodeKey());
-    pageTrx.removeRecord(oldNode.getNodeKey(), IndexType.DOCUMENT, -1);
   }
 
   // ////////////////////////////////////////////////////////////
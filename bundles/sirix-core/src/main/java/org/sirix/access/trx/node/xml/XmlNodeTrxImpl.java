@@ -159,6 +159,9 @@ final class XmlNodeTrxImpl extends
     }
 
     try {
+      // Adapt the pending ancestors first, such that the hashes of the subtree to move are up-to-date.
+      nodeHashing.adaptPendingAncestors();
+
       checkArgument(fromKey >= 0 && fromKey <= getMaxNodeKey(), "Argument must be a valid node key!");
 
       checkArgument(fromKey != getCurrentNode().getNodeKey(), "Can't move itself to right sibling of itself!");
@@ -290,6 +293,9 @@ final class XmlNodeTrxImpl extends
     }
 
     try {
+      // Adapt the pending ancestors first, such that the hashes of the subtree to move are up-to-date.
+      nodeHashing.adaptPendingAncestors();
+
       if (fromKey < 0 || fromKey > getMaxNodeKey()) {
         throw new IllegalArgumentException("Argument must be a valid node key!");
       }
@@ -1242,6 +1248,9 @@ final class XmlNodeTrxImpl extends
     }
 
     try {
+      // Adapt the pending ancestors before any record of the subtree is removed.
+      nodeHashing.adaptPendingAncestors();
+
       if (getCurrentNode().getKind() == NodeKind.XML_DOCUMENT) {
         throw new SirixUsageException("Document root can not be removed.");
       } else if (getCurrentNode() instanceof StructNode) {
@@ -1382,6 +1391,7 @@ final class XmlNodeTrxImpl extends
       if (getCurrentNode() instanceof NameNode) {
         if (!getName().equals(name)) {
           checkAccessAndCommit();
+          nodeHashing.adaptPendingAncestors();
 
           NameNode node = (NameNode) nodeReadOnlyTrx.getCurrentNode();
           final BigInteger oldHash = node.computeHash();
@@ -1448,6 +1458,7 @@ final class XmlNodeTrxImpl extends
     try {
       if (getCurrentNode() instanceof ValueNode) {
         checkAccessAndCommit();
+        nodeHashing.adaptPendingAncestors();
 
         // If an empty value is specified the node needs to be removed (see XDM).
         if (value.isEmpty()) {
@@ -4,6 +4,7 @@ import com.google.common.collect.ForwardingObject;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.sirix.access.trx.node.CommitCredentials;
+import org.sirix.api.AccessPattern;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.ResourceSession;
 import org.sirix.cache.IndexLogKey;
@@ -130,6 +131,17 @@ public abstract class AbstractForwardingPageReadOnlyTrx extends ForwardingObject
     return delegate().getUberPage();
   }
 
+  @Override
+  public PageReadOnlyTrx setAccessPattern(AccessPattern accessPattern) {
+    delegate().setAccessPattern(accessPattern);
+    return this;
+  }
+
+  @Override
+  public AccessPattern getAccessPattern() {
+    return delegate().getAccessPattern();
+  }
+
   @Override
   public boolean isClosed() {
     return delegate().isClosed();
@@ -30,6 +30,11 @@ public abstract class AbstractForwardingPageWriteTrx extends AbstractForwardingP
     return delegate().getRevisionToRepresent();
   }
 
+  @Override
+  public PageTrx setRevert(final boolean isRevert) {
+    return delegate().setRevert(isRevert);
+  }
+
   @Override
   public void close() throws SirixIOException {
     delegate().close();
@@ -51,6 +56,11 @@ public abstract class AbstractForwardingPageWriteTrx extends AbstractForwardingP
     delegate().removeRecord(recordKey, indexType, index);
   }
 
+  @Override
+  public void removeRecords(long[] recordKeys, @NonNull IndexType indexType, int index) {
+    delegate().removeRecords(recordKeys, indexType, index);
+  }
+
   @Override
   public int createNameKey(String name, @NonNull NodeKind kind) {
     return delegate().createNameKey(name, kind);
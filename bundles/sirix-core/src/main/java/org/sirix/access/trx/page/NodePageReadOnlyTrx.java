@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.access.trx.node.InternalResourceSession;
+import org.sirix.api.AccessPattern;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.NodeTrx;
 import org.sirix.api.PageReadOnlyTrx;
@@ -38,6 +39,7 @@ import org.sirix.exception.SirixIOException;
 import org.sirix.index.IndexType;
 import org.sirix.io.Reader;
 import org.sirix.io.StorageType;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.DataRecord;
@@ -69,6 +71,16 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
 
   private static final int MAX_ENTRIES = 100;
 
+  /**
+   * The maximum number of record pages buffered for scans.
+   */
+  private static final int MAX_SCANNED_RECORD_PAGES = 16;
+
+  /**
+   * The maximum number of record pages remembered, from which single records have been read.
+   */
+  private static final int MAX_POINT_READ_RECORD_PAGES = 64;
+
   /**
    * The most recent references to leaf pages.
    */
@@ -117,6 +129,11 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
    */
   private final BufferManager resourceBufferManager;
 
+  /**
+   * Records cache accesses, page reads and record page reconstructions.
+   */
+  private final StorageMetrics metrics;
+
   /**
    * Transaction intent log.
    */
@@ -142,6 +159,22 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
    */
   private RecordPage mostRecentlyReadRecordPage;
 
+  /**
+   * Storage keys of the record pages, from which a single record has been read without reconstructing
+   * the page. A second read in one of these pages reconstructs and caches the page.
+   */
+  private final Set<Long> pointReadRecordPageKeys;
+
+  /**
+   * Determines how the records are going to be accessed.
+   */
+  private AccessPattern accessPattern = AccessPattern.POINT;
+
+  /**
+   * The record pages most recently read by a scan, which aren't put into the cache of the resource.
+   */
+  private final LinkedHashMap<PageReference, Page> scannedRecordPages;
+
   private final ExecutorService pool;
 
   /**
@@ -165,6 +198,7 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     checkArgument(trxId > 0, "Transaction-ID must be >= 0.");
     this.trxId = trxId;
     this.resourceBufferManager = resourceBufferManager;
+    this.metrics = resourceBufferManager.getMetrics();
     this.isClosed = false;
     this.resourceSession = checkNotNull(resourceSession);
     this.resourceConfig = resourceSession.getResourceConfig();
@@ -189,6 +223,27 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
         return size() > MAX_ENTRIES;
       }
     };
+
+    scannedRecordPages = new LinkedHashMap<>(MAX_SCANNED_RECORD_PAGES, 0.75f, true) {
+      @Serial
+      private static final long serialVersionUID = 1;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<PageReference, Page> eldest) {
+        return size() > MAX_SCANNED_RECORD_PAGES;
+      }
+    };
+
+    pointReadRecordPageKeys =
+        Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>(MAX_POINT_READ_RECORD_PAGES, 0.75f) {
+          @Serial
+          private static final long serialVersionUID = 1;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_POINT_READ_RECORD_PAGES;
+          }
+        });
   }
 
   private Page loadPage(final PageReference reference) {
@@ -205,6 +260,7 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     }
 
     page = resourceBufferManager.getPageCache().get(reference);
+    metrics.recordCacheAccess(StorageMetrics.CacheType.PAGE, page != null);
     if (trxIntentLog == null) {
       // Putting to the transaction log afterwards would otherwise render the cached entry invalid
       // as the reference log key is set and the key is reset to Constants.NULL_ID_LONG.
@@ -214,7 +270,9 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
       return page;
     }
 
+    final long startTime = metrics.startTimer();
     page = pageReader.read(reference, this);
+    metrics.recordPageRead(startTime, reference.getKey());
 
     if (page != null) {
       putIntoPageCacheAndAddInMemoryReferenceIfItIsNotAWriteTrx(reference, page);
@@ -276,7 +334,8 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     var indexLogKey = new IndexLogKey(indexType, recordPageKey, index, revisionNumber);
 
     final Page page = switch (indexType) {
-      case DOCUMENT, CHANGED_NODES, RECORD_TO_REVISIONS, PATH_SUMMARY, PATH, CAS, NAME -> getRecordPage(indexLogKey);
+      case DOCUMENT, CHANGED_NODES, RECORD_TO_REVISIONS, PATH_SUMMARY, PATH, CAS, NAME ->
+          getRecordPage(indexLogKey, recordKey);
       default -> throw new IllegalStateException();
     };
 
@@ -333,8 +392,11 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     if (trxIntentLog == null) {
       final Cache<Integer, RevisionRootPage> cache = resourceBufferManager.getRevisionRootPageCache();
       RevisionRootPage revisionRootPage = cache.get(revisionKey);
+      metrics.recordCacheAccess(StorageMetrics.CacheType.REVISION_ROOT_PAGE, revisionRootPage != null);
       if (revisionRootPage == null) {
+        final long startTime = metrics.startTimer();
         revisionRootPage = pageReader.readRevisionRootPage(revisionKey, this);
+        metrics.recordPageRead(startTime, revisionKey);
         cache.put(revisionKey, revisionRootPage);
       }
       return revisionRootPage;
@@ -403,6 +465,19 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
 
   @Override
   public Page getRecordPage(@NonNull IndexLogKey indexLogKey) {
+    return getRecordPage(indexLogKey, Constants.NULL_ID_LONG);
+  }
+
+  /**
+   * Get the record page. If a record key is given, the page isn't cached yet and it's the first
+   * lookup of a record in the page, only the page fragment with the most recent version of the
+   * record is read instead of reconstructing the full page.
+   *
+   * @param indexLogKey the key of the record page
+   * @param recordKey   the key of the record to look up or {@link Constants#NULL_ID_LONG}
+   * @return the record page, a page fragment containing the record or {@code null}
+   */
+  private Page getRecordPage(@NonNull IndexLogKey indexLogKey, long recordKey) {
     assertNotClosed();
     checkArgument(indexLogKey.getRecordPageKey() >= 0, "recordPageKey must not be negative!");
 
@@ -438,9 +513,71 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
       return null;
     }
 
+    // Fifth: Read the page fragment containing the record, if only a single record is requested.
+    if (recordKey != Constants.NULL_ID_LONG && trxIntentLog == null && accessPattern == AccessPattern.POINT
+        && !pageReferenceToRecordPage.getPageFragments().isEmpty()
+        && !pointReadRecordPageKeys.remove(pageReferenceToRecordPage.getKey())) {
+      final Page pageFragment = getPageFragmentContainingRecord(pageReferenceToRecordPage, recordKey);
+      if (pageFragment != null) {
+        pointReadRecordPageKeys.add(pageReferenceToRecordPage.getKey());
+        return pageFragment;
+      }
+    }
+
     return loadDataPageFromDurableStorageAndCombinePageFragments(indexLogKey, pageReferenceToRecordPage);
   }
 
+  /**
+   * Read the page fragments from the most recent to the oldest one, until the fragment storing the
+   * record is found. Older fragments, which don't store the record according to their slot summary,
+   * are skipped without reading them.
+   *
+   * @param pageReference reference to the most recent page fragment
+   * @param recordKey     the record key
+   * @return the most recent page fragment storing the record or {@code null}, if it isn't found
+   */
+  @Nullable
+  private Page getPageFragmentContainingRecord(final PageReference pageReference, final long recordKey) {
+    final long startTime = metrics.startTimer();
+    final var page = (KeyValuePage<DataRecord>) pageReader.read(pageReference, this);
+    metrics.recordPageRead(startTime, pageReference.getKey());
+
+    if (containsRecord(page, recordKey) || page.size() == Constants.NDP_NODE_COUNT) {
+      metrics.recordRecordPageReconstruction(startTime, 1);
+      return page;
+    }
+
+    // The page fragment keys are ordered from the most recent to the oldest fragment.
+    int fragments = 1;
+    for (final PageFragmentKey pageFragmentKey : pageReference.getPageFragments()) {
+      if (!SlotSummary.mayContain(pageFragmentKey.slotSummary(), recordKey)) {
+        continue;
+      }
+      final var pageFragment = readPage(pageFragmentKey).join();
+      fragments++;
+      if (containsRecord(pageFragment, recordKey)) {
+        metrics.recordRecordPageReconstruction(startTime, fragments);
+        return pageFragment;
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean containsRecord(final KeyValuePage<DataRecord> page, final long recordKey) {
+    return page.getValue(null, recordKey) != null || page.getPageReference(recordKey) != null;
+  }
+
+  /**
+   * Remove the cached reference to the leaf of the indirect tree, that is to a record page, once the
+   * reference has been replaced by a write transaction.
+   *
+   * @param indexLogKey the key of the record page
+   */
+  void removeCachedReferenceToLeafOfSubtree(final IndexLogKey indexLogKey) {
+    mostRecentReferencesToLeafOfSubtrees.remove(indexLogKey);
+  }
+
   private boolean isMostRecentlyReadPage(IndexLogKey indexLogKey) {
     return mostRecentlyReadRecordPage != null
         && mostRecentlyReadRecordPage.recordPageKey() == indexLogKey.getRecordPageKey()
@@ -453,6 +590,24 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     if (trxIntentLog == null) {
       final Page recordPageFromBuffer = resourceBufferManager.getRecordPageCache().get(pageReferenceToRecordPage);
 
+      if (accessPattern == AccessPattern.SCAN) {
+        final Page recordPage =
+            recordPageFromBuffer != null ? recordPageFromBuffer : scannedRecordPages.get(pageReferenceToRecordPage);
+        metrics.recordCacheAccess(StorageMetrics.CacheType.SCAN_RECORD_PAGE, recordPage != null);
+
+        if (recordPage != null) {
+          // Don't pin the page, as it wouldn't be unpinned on eviction.
+          mostRecentlyReadRecordPage = new RecordPage(indexLogKey.getIndexNumber(),
+                                                      indexLogKey.getIndexType(),
+                                                      indexLogKey.getRecordPageKey(),
+                                                      recordPage);
+          return recordPage;
+        }
+        return null;
+      }
+
+      metrics.recordCacheAccess(StorageMetrics.CacheType.RECORD_PAGE, recordPageFromBuffer != null);
+
       if (recordPageFromBuffer != null) {
         mostRecentlyReadRecordPage = new RecordPage(indexLogKey.getIndexNumber(),
                                                     indexLogKey.getIndexType(),
@@ -468,6 +623,8 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
   @org.jetbrains.annotations.Nullable
   private Page loadDataPageFromDurableStorageAndCombinePageFragments(@NotNull IndexLogKey indexLogKey,
       PageReference pageReferenceToRecordPage) {
+    final long startTime = metrics.startTimer();
+
     // Load list of page "fragments" from persistent storage.
     final List<KeyValuePage<DataRecord>> pages = getPageFragments(pageReferenceToRecordPage);
 
@@ -478,12 +635,18 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     final int maxRevisionsToRestore = resourceConfig.maxNumberOfRevisionsToRestore;
     final VersioningType versioningApproach = resourceConfig.versioningType;
     final Page completePage = versioningApproach.combineRecordPages(pages, maxRevisionsToRestore, this);
+    metrics.recordRecordPageReconstruction(startTime, pages.size());
 
-    if (trxIntentLog == null) {
-      resourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage, completePage);
-    }
+    if (trxIntentLog == null && accessPattern == AccessPattern.SCAN) {
+      // Scanned pages neither evict the pages of point lookups nor are they pinned by the reference.
+      scannedRecordPages.put(pageReferenceToRecordPage, completePage);
+    } else {
+      if (trxIntentLog == null) {
+        resourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage, completePage);
+      }
 
-    pageReferenceToRecordPage.setPage(completePage);
+      pageReferenceToRecordPage.setPage(completePage);
+    }
     mostRecentlyReadRecordPage = new RecordPage(indexLogKey.getIndexNumber(),
                                                 indexLogKey.getIndexType(),
                                                 indexLogKey.getRecordPageKey(),
@@ -491,6 +654,44 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     return completePage;
   }
 
+  /**
+   * Read a page into the page cache, if it isn't cached already.
+   *
+   * @param reference reference to the persisted page
+   */
+  void prefetchPage(final PageReference reference) {
+    assertNotClosed();
+    if (trxIntentLog == null && resourceBufferManager.getPageCache().get(reference) == null) {
+      final long startTime = metrics.startTimer();
+      final Page page = pageReader.read(reference, this);
+      metrics.recordPageRead(startTime, reference.getKey());
+
+      if (page != null) {
+        putIntoPageCacheAndAddInMemoryReferenceIfItIsNotAWriteTrx(reference, page);
+      }
+    }
+  }
+
+  /**
+   * Read and combine the fragments of a record page into the record page cache, if it isn't cached
+   * already.
+   *
+   * @param reference reference to the persisted record page, including its previous page fragments
+   */
+  void prefetchRecordPage(final PageReference reference) {
+    assertNotClosed();
+    if (trxIntentLog == null && resourceBufferManager.getRecordPageCache().get(reference) == null) {
+      final long startTime = metrics.startTimer();
+      final List<KeyValuePage<DataRecord>> pages = getPageFragments(reference);
+      final Page completePage = resourceConfig.versioningType.combineRecordPages(pages,
+                                                                                 resourceConfig.maxNumberOfRevisionsToRestore,
+                                                                                 this);
+      metrics.recordRecordPageReconstruction(startTime, pages.size());
+      resourceBufferManager.getRecordPageCache().put(reference, completePage);
+      reference.setPage(completePage);
+    }
+  }
+
   @Nullable
   private Page getInMemoryPageInstance(@NotNull IndexLogKey indexLogKey,
       @NotNull PageReference pageReferenceToRecordPage) {
@@ -535,7 +736,9 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
 
     final var pageFragments = pageReference.getPageFragments();
 
+    final long startTime = metrics.startTimer();
     final KeyValuePage<DataRecord> page = (KeyValuePage<DataRecord>) pageReader.read(pageReference, this);
+    metrics.recordPageRead(startTime, pageReference.getKey());
     pages.add(page);
 
     if (pageFragments.isEmpty() || page.size() == Constants.NDP_NODE_COUNT) {
@@ -659,9 +862,27 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     final int[] inpLevelPageCountExp = uberPage.getPageCountExp(indexType);
     final int maxHeight = getCurrentMaxIndirectPageTreeLevel(indexType, indexNumber, revisionRootPage);
 
+    // Leaves found below persisted indirect pages are shared by all read-only transactions. As
+    // unchanged subtrees of the previous revisions are shared, so are their entries.
+    final Cache<LeafPageReferenceKey, PageReference> leafPageReferenceCache =
+        trxIntentLog == null ? resourceBufferManager.getLeafPageReferenceCache() : null;
+    final List<LeafPageReferenceKey> leafPageReferenceKeys = new ArrayList<>(maxHeight);
+    boolean isCached = false;
+
     // Iterate through all levels.
     for (int level = inpLevelPageCountExp.length - maxHeight, height = inpLevelPageCountExp.length;
          level < height; level++) {
+      if (leafPageReferenceCache != null && isPersisted(reference)) {
+        final var leafPageReferenceKey = new LeafPageReferenceKey(reference.getKey(), levelKey);
+        final PageReference cachedReference = leafPageReferenceCache.get(leafPageReferenceKey);
+        if (cachedReference != null) {
+          reference = cachedReference;
+          isCached = true;
+          break;
+        }
+        leafPageReferenceKeys.add(leafPageReferenceKey);
+      }
+
       final Page derefPage = dereferenceIndirectPageReference(reference);
       if (derefPage == null) {
         reference = null;
@@ -678,12 +899,27 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
       }
     }
 
+    if (leafPageReferenceCache != null) {
+      metrics.recordCacheAccess(StorageMetrics.CacheType.LEAF_PAGE_REFERENCE, isCached);
+
+      if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
+        for (final LeafPageReferenceKey leafPageReferenceKey : leafPageReferenceKeys) {
+          leafPageReferenceCache.put(leafPageReferenceKey, reference);
+        }
+      }
+    }
+
     mostRecentReferencesToLeafOfSubtrees.put(indexLogKey, reference);
 
     // Return reference to leaf of indirect tree.
     return reference;
   }
 
+  private static boolean isPersisted(final PageReference reference) {
+    return reference.getKey() != Constants.NULL_ID_LONG && reference.getLogKey() == Constants.NULL_ID_INT
+        && reference.getPersistentLogKey() == Constants.NULL_ID_LONG;
+  }
+
   @Override
   public long pageKey(@NonNegative final long recordKey, @NonNull final IndexType indexType) {
     assertNotClosed();
@@ -746,6 +982,9 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
         ((BufferManagerImpl) resourceBufferManager).close();
       }
 
+      scannedRecordPages.clear();
+      pointReadRecordPageKeys.clear();
+
       if (resourceSession.getNodeReadTrxByTrxId(trxId).isEmpty()) {
         resourceSession.closePageReadTransaction(trxId);
       }
@@ -779,6 +1018,21 @@ public final class NodePageReadOnlyTrx implements PageReadOnlyTrx {
     return rootPage.getRevision();
   }
 
+  @Override
+  public PageReadOnlyTrx setAccessPattern(final AccessPattern accessPattern) {
+    assertNotClosed();
+    this.accessPattern = checkNotNull(accessPattern);
+    if (accessPattern == AccessPattern.POINT) {
+      scannedRecordPages.clear();
+    }
+    return this;
+  }
+
+  @Override
+  public AccessPattern getAccessPattern() {
+    return accessPattern;
+  }
+
   @Override
   public Reader getReader() {
     assertNotClosed();
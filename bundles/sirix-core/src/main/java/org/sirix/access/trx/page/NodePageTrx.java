@@ -21,6 +21,9 @@
 
 package org.sirix.access.trx.page;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.openhft.chronicle.bytes.Bytes;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -39,7 +42,9 @@ import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
 import org.sirix.index.IndexType;
+import org.sirix.index.Indexes;
 import org.sirix.io.Writer;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
@@ -60,6 +65,8 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -103,7 +110,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
   /**
    * Last reference to the actual revRoot.
    */
-  private final RevisionRootPage newRevisionRootPage;
+  private RevisionRootPage newRevisionRootPage;
 
   /**
    * {@link NodePageReadOnlyTrx} instance.
@@ -140,6 +147,47 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
    */
   private final LinkedHashMap<IndexLogKey, PageContainer> mostRecentPageContainers;
 
+  /**
+   * The maximum number of records in {@link #mostRecentModifiedRecords}.
+   */
+  private static final int MAX_MOST_RECENT_MODIFIED_RECORDS = 1_024;
+
+  /**
+   * The document records, which have been created or prepared for modification most recently in
+   * access order, that is usually the ancestors and siblings of the nodes inserted or updated last.
+   * The records are the instances stored in the modified pages of the transaction intent log, thus
+   * modifications don't have to be written back.
+   */
+  private final Long2ObjectLinkedOpenHashMap<DataRecord> mostRecentModifiedRecords;
+
+  /**
+   * The spill count of the transaction intent log, when the cached page containers and records have
+   * been validated last.
+   */
+  private long logSpillCount;
+
+  /**
+   * {@code true}, if a page has been modified or added through this transaction, {@code false} if
+   * only the pages prepared when the transaction has been created are in the transaction intent log.
+   */
+  private boolean isModified;
+
+  /**
+   * {@code true}, if this transaction reverts to the revision it represents, {@code false} otherwise.
+   */
+  private boolean isRevert;
+
+  /**
+   * The number of pages prepared in the transaction intent log, when the transaction has been created.
+   */
+  private final int preparedLogEntries;
+
+  /**
+   * The keys of the record pages of the document index, which have been dropped by this transaction,
+   * as all of their records have been removed.
+   */
+  private final LongSet droppedRecordPageKeys = new LongOpenHashSet();
+
   /**
    * Constructor.
    *
@@ -177,6 +225,9 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
         return size() > MAX_ENTRIES;
       }
     };
+    mostRecentModifiedRecords = new Long2ObjectLinkedOpenHashMap<>(MAX_MOST_RECENT_MODIFIED_RECORDS);
+    logSpillCount = log.getSpillCount();
+    preparedLogEntries = log.usedEntries();
   }
 
   @Override
@@ -197,6 +248,13 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     return log;
   }
 
+  @Override
+  public PageTrx setRevert(final boolean isRevert) {
+    pageRtx.assertNotClosed();
+    this.isRevert = isRevert;
+    return this;
+  }
+
   @Override
   public int getRevisionNumber() {
     pageRtx.assertNotClosed();
@@ -210,6 +268,14 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     checkArgument(recordKey >= 0, "recordKey must be >= 0!");
     checkNotNull(indexType);
 
+    if (indexType == IndexType.DOCUMENT) {
+      validateCaches();
+      final DataRecord record = mostRecentModifiedRecords.getAndMoveToLast(recordKey);
+      if (record != null) {
+        return record;
+      }
+    }
+
     final long recordPageKey = pageRtx.pageKey(recordKey, indexType);
     final PageContainer cont = prepareRecordPage(recordPageKey, index, indexType);
     final var modifiedPage = cont.getModifiedAsUnorderedKeyValuePage();
@@ -226,9 +292,38 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
       modifiedPage.setRecord(record);
     }
 
+    if (indexType == IndexType.DOCUMENT) {
+      cacheModifiedRecord(recordKey, record);
+    }
+
     return record;
   }
 
+  private void cacheModifiedRecord(final long recordKey, final DataRecord record) {
+    if (mostRecentModifiedRecords.size() >= MAX_MOST_RECENT_MODIFIED_RECORDS) {
+      mostRecentModifiedRecords.removeFirst();
+    }
+    mostRecentModifiedRecords.putAndMoveToLast(recordKey, record);
+  }
+
+  /**
+   * Clear the cached page containers and records, if pages have been spilled from the transaction
+   * intent log in the meantime, as modifications of spilled instances would be lost.
+   */
+  private void validateCaches() {
+    final long spillCount = log.getSpillCount();
+    if (spillCount != logSpillCount) {
+      mostRecentPageContainers.clear();
+      mostRecentModifiedRecords.clear();
+      logSpillCount = spillCount;
+    }
+  }
+
+  private void clearCaches() {
+    mostRecentPageContainers.clear();
+    mostRecentModifiedRecords.clear();
+  }
+
   @Override
   public DataRecord createRecord(@NonNull final DataRecord record, @NonNull final IndexType indexType,
       @NonNegative final int index) {
@@ -264,6 +359,11 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     final PageContainer cont = prepareRecordPage(recordPageKey, index, indexType);
     final KeyValuePage<DataRecord> modified = (KeyValuePage<DataRecord>) cont.getModified();
     modified.setRecord(record);
+
+    if (indexType == IndexType.DOCUMENT) {
+      cacheModifiedRecord(createdRecordKey, record);
+    }
+
     return record;
   }
 
@@ -278,15 +378,142 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
       throw new IllegalStateException("Node not found: " + recordKey);
     }
 
-    final Node delNode = new DeletedNode(new NodeDelegate(node.getNodeKey(),
-                                                          -1,
-                                                          null,
-                                                          null,
-                                                          -1,
-                                                          pageRtx.getRevisionNumber(),
-                                                          (SirixDeweyID) null));
+    final Node delNode = createDeletedNode(node.getNodeKey());
     ((UnorderedKeyValuePage) cont.getModified()).setRecord(delNode);
     ((UnorderedKeyValuePage) cont.getComplete()).setRecord(delNode);
+
+    if (indexType == IndexType.DOCUMENT) {
+      mostRecentModifiedRecords.remove(recordKey);
+    }
+  }
+
+  @Override
+  public void removeRecords(final long[] recordKeys, @NonNull final IndexType indexType, final int index) {
+    pageRtx.assertNotClosed();
+    checkNotNull(recordKeys);
+
+    final long[] sortedRecordKeys = recordKeys.clone();
+    Arrays.sort(sortedRecordKeys);
+
+    int from = 0;
+    while (from < sortedRecordKeys.length) {
+      final long recordPageKey = pageRtx.pageKey(sortedRecordKeys[from], indexType);
+
+      // All records of the same page are removed, before the next page is prepared.
+      int to = from + 1;
+      while (to < sortedRecordKeys.length && pageRtx.pageKey(sortedRecordKeys[to], indexType) == recordPageKey) {
+        to++;
+      }
+
+      if (indexType == IndexType.DOCUMENT && isEveryRecordRemoved(recordPageKey, sortedRecordKeys, from, to, index)) {
+        dropRecordPage(recordPageKey, index, indexType);
+      } else {
+        final PageContainer cont = prepareRecordPage(recordPageKey, index, indexType);
+        final var modifiedPage = (UnorderedKeyValuePage) cont.getModified();
+        final var completePage = (UnorderedKeyValuePage) cont.getComplete();
+
+        for (int i = from; i < to; i++) {
+          final long recordKey = sortedRecordKeys[i];
+          DataRecord node = modifiedPage.getValue(this, recordKey);
+          if (node == null) {
+            node = completePage.getValue(this, recordKey);
+          }
+          if (pageRtx.checkItemIfDeleted(node) == null) {
+            throw new IllegalStateException("Node not found: " + recordKey);
+          }
+
+          final Node delNode = createDeletedNode(recordKey);
+          modifiedPage.setRecord(delNode);
+          completePage.setRecord(delNode);
+        }
+      }
+
+      if (indexType == IndexType.DOCUMENT) {
+        for (int i = from; i < to; i++) {
+          mostRecentModifiedRecords.remove(sortedRecordKeys[i]);
+        }
+      }
+
+      from = to;
+    }
+  }
+
+  /**
+   * Determines if the records to remove are all records of a record page, which are not deleted.
+   *
+   * @param recordPageKey    the key of the record page
+   * @param sortedRecordKeys the sorted keys of the records to remove
+   * @param from             the index of the first key of a record stored in the page
+   * @param to               the index after the last key of a record stored in the page
+   * @param index            the index number
+   * @return {@code true}, if no other record is stored in the page, {@code false} otherwise
+   */
+  private boolean isEveryRecordRemoved(final long recordPageKey, final long[] sortedRecordKeys, final int from,
+      final int to, final int index) {
+    final long firstRecordKey = recordPageKey << Constants.NDP_NODE_COUNT_EXPONENT;
+    int i = from;
+    for (long recordKey = firstRecordKey; recordKey < firstRecordKey + Constants.NDP_NODE_COUNT; recordKey++) {
+      final boolean isRemoved = i < to && sortedRecordKeys[i] == recordKey;
+      final boolean isStored = getRecord(recordKey, IndexType.DOCUMENT, index) != null;
+      if (isRemoved != isStored) {
+        // Either another record is stored in the page or a record to remove isn't found, which is reported
+        // once the records are removed one by one.
+        return false;
+      }
+      if (isRemoved) {
+        i++;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Drop a record page, all records of which are removed, from the new revision, instead of storing a
+   * deleted record for each of them. The reference to the page is reset in the copy of its parent
+   * indirect page, thus only the indirect pages are written, whereas the former revisions still
+   * reference the page.
+   *
+   * @param recordPageKey the key of the record page
+   * @param index         the index number
+   * @param indexType     the index type
+   */
+  private void dropRecordPage(final long recordPageKey, final int index, final IndexType indexType) {
+    isModified = true;
+    validateCaches();
+
+    final PageReference pageReference = pageRtx.getPageReference(newRevisionRootPage, indexType, index);
+    final PageReference reference = treeModifier.prepareLeafOfTree(pageRtx,
+                                                                   log,
+                                                                   getUberPage().getPageCountExp(indexType),
+                                                                   pageReference,
+                                                                   recordPageKey,
+                                                                   index,
+                                                                   indexType,
+                                                                   newRevisionRootPage);
+
+    // The page might have been modified by this transaction before.
+    log.remove(reference);
+    reference.setKey(Constants.NULL_ID_LONG)
+             .setLogKey(Constants.NULL_ID_INT)
+             .setPersistentLogKey(Constants.NULL_ID_LONG)
+             .setPageFragments(new ArrayList<>());
+    reference.setPage(null);
+    reference.setHash(null);
+
+    final var indexLogKey = new IndexLogKey(indexType, recordPageKey, index, newRevisionRootPage.getRevision());
+    mostRecentPageContainers.remove(indexLogKey);
+    pageRtx.removeCachedReferenceToLeafOfSubtree(indexLogKey);
+    droppedRecordPageKeys.add(recordPageKey);
+  }
+
+  private Node createDeletedNode(final long recordKey) {
+    return new DeletedNode(new NodeDelegate(recordKey,
+                                            -1,
+                                            null,
+                                            null,
+                                            -1,
+                                            pageRtx.getRevisionNumber(),
+                                            (SirixDeweyID) null));
   }
 
   @Override
@@ -296,12 +523,23 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     checkArgument(recordKey >= Fixed.NULL_NODE_KEY.getStandardProperty());
     checkNotNull(indexType);
 
+    if (indexType == IndexType.DOCUMENT) {
+      validateCaches();
+      final DataRecord record = mostRecentModifiedRecords.get(recordKey);
+      if (record != null) {
+        return record;
+      }
+    }
+
     // Calculate page.
     final long recordPageKey = pageRtx.pageKey(recordKey, indexType);
 
     final PageContainer pageCont = getPageContainer(recordPageKey, index, indexType);
 
     if (pageCont.equals(PageContainer.emptyInstance())) {
+      if (indexType == IndexType.DOCUMENT && droppedRecordPageKeys.contains(recordPageKey)) {
+        return null;
+      }
       return pageRtx.getRecord(recordKey, indexType, index);
     } else {
       DataRecord node = ((UnorderedKeyValuePage) pageCont.getModified()).getValue(this, recordKey);
@@ -326,6 +564,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     pageRtx.assertNotClosed();
     checkNotNull(nodeKind);
     final String string = name == null ? "" : name;
+    isModified = true;
     final NamePage namePage = getNamePage(newRevisionRootPage);
     return namePage.setName(string, nodeKind, this);
   }
@@ -375,6 +614,8 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
 
     pageRtx.resourceSession.getCommitLock().lock();
 
+    final StorageMetrics.CommitTimer commitTimer = bufferManager.getMetrics().startCommit();
+
     try {
       final Path commitFile = pageRtx.resourceSession.getCommitFile();
 
@@ -387,6 +628,13 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
       uberPageReference.setPage(uberPage);
       final int revision = uberPage.getRevisionNumber();
 
+      // Pages might be added to the log directly (for instance when creating index trees), thus the log
+      // must hold only the pages prepared when this transaction has been created (and none spilled).
+      if (isRevert && !isModified && !uberPage.isBootstrap() && log.usedEntries() == preparedLogEntries
+          && log.getSpillCount() == 0) {
+        shareIndexesOfRepresentedRevision(uberPage);
+      }
+
       setUserIfPresent();
 
       if (commitMessage != null) {
@@ -408,13 +656,16 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
            page.serialize(this, bytes, SerializationType.DATA);
            bytes = null;
          });
+      commitTimer.endPhase(StorageMetrics.CommitPhase.SERIALIZE);
 
       // Recursively write indirectly referenced pages.
       uberPage.commit(this);
+      commitTimer.endPhase(StorageMetrics.CommitPhase.WRITE);
 
       uberPageReference.setPage(uberPage);
       storagePageReaderWriter.writeUberPageReference(this, uberPageReference, bufferBytes);
       uberPageReference.setPage(null);
+      commitTimer.endPhase(StorageMetrics.CommitPhase.UBER_PAGE_WRITE);
 
       if (!indexController.getIndexes().getIndexDefs().isEmpty()) {
         final Path indexes = pageRtx.getResourceSession()
@@ -427,8 +678,18 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
           throw new SirixIOException("Index definitions couldn't be serialized!", e);
         }
       }
+      // The index definitions, the indexed data and with it the statistics the optimizer relies on might have changed.
+      Indexes.incrementGeneration(pageRtx.getResourceSession().getResourceConfig().resourcePath);
+      pageRtx.resourceSession.getCASIndexStatistics().commit(representRevision, revision);
+      commitTimer.endPhase(StorageMetrics.CommitPhase.INDEX_DEFINITIONS_WRITE);
 
+      final int intentLogEntries = log.usedEntries();
       log.truncate();
+      clearCaches();
+      isModified = false;
+      isRevert = false;
+      droppedRecordPageKeys.clear();
+      commitTimer.endPhase(StorageMetrics.CommitPhase.LOG_TRUNCATION);
 
       // Delete commit file which denotes that a commit must write the log in the data file.
       try {
@@ -437,6 +698,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
         throw new SirixIOException("Commit file couldn't be deleted!");
       }
 
+      commitTimer.end(revision, intentLogEntries);
     } finally {
       pageRtx.resourceSession.getCommitLock().unlock();
     }
@@ -444,6 +706,31 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     return readUberPage();
   }
 
+  /**
+   * Let the new revision root page reference the index pages of the represented revision instead of
+   * the copies prepared when this transaction has been created, such that only the new revision root
+   * page and the uber page are written. Only valid when committing a revert to a former revision, if
+   * no page has been modified or added since the transaction has been created.
+   *
+   * @param uberPage the new uber page
+   */
+  private void shareIndexesOfRepresentedRevision(final UberPage uberPage) {
+    final RevisionRootPage revisionRootPage =
+        new RevisionRootPage(pageRtx.getActualRevisionRootPage(), newRevisionRootPage.getRevision());
+    revisionRootPage.setMaxNodeKeyInDocumentIndex(newRevisionRootPage.getMaxNodeKeyInDocumentIndex());
+    revisionRootPage.setMaxNodeKeyInInChangedNodesIndex(newRevisionRootPage.getMaxNodeKeyInChangedNodesIndex());
+    revisionRootPage.setMaxNodeKeyInRecordToRevisionsIndex(newRevisionRootPage.getMaxNodeKeyInRecordToRevisionsIndex());
+
+    log.clear();
+    clearCaches();
+
+    final var revisionRootPageReference = new PageReference();
+    log.put(revisionRootPageReference, PageContainer.getInstance(revisionRootPage, revisionRootPage));
+    uberPage.setRevisionRootPageReference(revisionRootPageReference);
+    uberPage.setRevisionRootPage(revisionRootPage);
+    newRevisionRootPage = revisionRootPage;
+  }
+
   private UberPage readUberPage() {
     return (UberPage) storagePageReaderWriter.read(storagePageReaderWriter.readUberPageReference(), pageRtx);
   }
@@ -467,6 +754,11 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
   public UberPage rollback() {
     pageRtx.assertNotClosed();
     log.truncate();
+    clearCaches();
+    pageRtx.resourceSession.getCASIndexStatistics().discardChanges();
+    isModified = false;
+    isRevert = false;
+    droppedRecordPageKeys.clear();
     return readUberPage();
   }
 
@@ -483,6 +775,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
         pageRtx.resourceSession.closePageWriteTransaction(pageRtx.getTrxId());
       }
 
+      pageRtx.resourceSession.getCASIndexStatistics().discardChanges();
       log.close();
       pageRtx.close();
       storagePageReaderWriter.close();
@@ -498,6 +791,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
 
   private PageContainer getPageContainer(final @NonNegative long recordPageKey, final int indexNumber,
       final IndexType indexType) {
+    validateCaches();
     var indexLogKey = new IndexLogKey(indexType, recordPageKey, indexNumber, newRevisionRootPage.getRevision());
     var pageContainer = mostRecentPageContainers.get(indexLogKey);
 
@@ -527,6 +821,8 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
     assert recordPageKey >= 0;
     assert indexType != null;
 
+    isModified = true;
+    validateCaches();
     var indexLogKey = new IndexLogKey(indexType, recordPageKey, indexNumber, newRevisionRootPage.getRevision());
     var pageContainer = mostRecentPageContainers.get(indexLogKey);
 
@@ -547,6 +843,9 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
 
       if (pageContainer.equals(PageContainer.emptyInstance())) {
         if (reference.getKey() == Constants.NULL_ID_LONG) {
+          if (indexType == IndexType.DOCUMENT) {
+            droppedRecordPageKeys.remove(recordPageKey);
+          }
           final UnorderedKeyValuePage completePage = new UnorderedKeyValuePage(recordPageKey, indexType, pageRtx);
           final UnorderedKeyValuePage modifyPage = new UnorderedKeyValuePage(pageRtx, completePage);
           pageContainer = PageContainer.getInstance(completePage, modifyPage);
@@ -604,6 +903,7 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
   @Override
   public PageTrx appendLogRecord(@NonNull final PageReference reference, @NonNull final PageContainer pageContainer) {
     checkNotNull(pageContainer);
+    isModified = true;
     log.put(reference, pageContainer);
     return this;
   }
@@ -616,7 +916,17 @@ final class NodePageTrx extends AbstractForwardingPageReadOnlyTrx implements Pag
 
   @Override
   public PageTrx truncateTo(final int revision) {
+    // Branches read the pages of this resource, which are stored before their branch point.
+    final List<String> branches = pageRtx.getResourceSession().getResourceConfig().getBranchNames(revision);
+    if (!branches.isEmpty()) {
+      throw new IllegalStateException("Branches of the resource created from a revision after " + revision
+                                          + " found, must be removed first: " + branches);
+    }
+
     storagePageReaderWriter.truncateTo(this, revision);
+    bufferManager.clearAllCaches();
+    pageRtx.getResourceSession().getCASIndexStatistics().clear();
+    PageCacheSnapshot.delete(pageRtx.getResourceSession().getResourceConfig());
     return this;
   }
 
@@ -0,0 +1,289 @@
+package org.sirix.access.trx.page;
+
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.ResourceSession;
+import org.sirix.cache.BufferManager;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PageFragmentKeyImpl;
+import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.PageFragmentKey;
+import org.sirix.settings.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A compact list of the pages of a resource, which are cached when the database is closed,
+ * that is the revisions of the cached revision root pages and the storage offsets of the cached
+ * pages and record pages. It's used to warm up the caches after a restart, such that the first
+ * transactions don't have to read the revision roots, name pages and the top levels of the indirect
+ * page trees from durable storage.
+ *
+ * <p>The snapshot is only a hint. Pages, which can't be read anymore, are skipped when prefetching,
+ * and the snapshot has to be deleted, once the storage is truncated, as the offsets are reused.
+ */
+public final class PageCacheSnapshot {
+
+  /**
+   * Logger for {@link PageCacheSnapshot}.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageCacheSnapshot.class);
+
+  /**
+   * The name of the snapshot file in the resource folder.
+   */
+  private static final String FILE_NAME = "cache.snapshot";
+
+  /**
+   * The version of the snapshot format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The maximum number of entries of each cache written to the snapshot.
+   */
+  private static final int MAX_ENTRIES = 50_000;
+
+  /**
+   * The minimum age of a snapshot, before it's written again.
+   */
+  private static final Duration MIN_WRITE_INTERVAL = Duration.ofMinutes(1);
+
+  private PageCacheSnapshot() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Get the snapshot file of a resource.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @return the path of the snapshot file
+   */
+  public static Path getFile(final ResourceConfiguration resourceConfig) {
+    return getFile(resourceConfig.resourcePath);
+  }
+
+  /**
+   * Get the snapshot file of a resource.
+   *
+   * @param resourcePath the path of the resource
+   * @return the path of the snapshot file
+   */
+  public static Path getFile(final Path resourcePath) {
+    return resourcePath.resolve(FILE_NAME);
+  }
+
+  /**
+   * Write the snapshot of the cached pages of a resource, unless it has been written within the last
+   * minute, as databases and resource sessions might be opened and closed per request.
+   *
+   * @param bufferManager the buffer manager of the resource
+   * @param resourcePath  the path of the resource
+   * @return {@code true}, if the snapshot has been written, {@code false} otherwise
+   * @throws SirixIOException if the snapshot can't be written
+   */
+  public static boolean writeIfOutdated(final BufferManager bufferManager, final Path resourcePath) {
+    final Path file = getFile(resourcePath);
+    try {
+      if (Files.exists(file) && Files.getLastModifiedTime(file)
+                                     .toInstant()
+                                     .isAfter(Instant.now().minus(MIN_WRITE_INTERVAL))) {
+        return false;
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    return write(bufferManager, resourcePath);
+  }
+
+  /**
+   * Write the snapshot of the cached pages of a resource. Nothing is written, if no pages are cached.
+   *
+   * @param bufferManager the buffer manager of the resource
+   * @param resourcePath  the path of the resource
+   * @return {@code true}, if the snapshot has been written, {@code false} otherwise
+   * @throws SirixIOException if the snapshot can't be written
+   */
+  public static boolean write(final BufferManager bufferManager, final Path resourcePath) {
+    checkNotNull(bufferManager);
+    final Set<Integer> revisions = bufferManager.getRevisionRootPageCache().keys();
+    final List<PageReference> pageReferences = persistedReferences(bufferManager.getPageCache().keys());
+    final List<PageReference> recordPageReferences = persistedReferences(bufferManager.getRecordPageCache().keys());
+
+    if (revisions.isEmpty() && pageReferences.isEmpty() && recordPageReferences.isEmpty()) {
+      return false;
+    }
+
+    final Path file = getFile(resourcePath);
+    final Path tmpFile;
+    try {
+      // A unique temporary file, as several database instances might write the snapshot concurrently.
+      tmpFile = Files.createTempFile(resourcePath, FILE_NAME, ".tmp");
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+      out.writeInt(VERSION);
+
+      out.writeInt(Math.min(revisions.size(), MAX_ENTRIES));
+      for (final int revision : revisions.stream().limit(MAX_ENTRIES).toList()) {
+        out.writeInt(revision);
+      }
+
+      out.writeInt(pageReferences.size());
+      for (final PageReference reference : pageReferences) {
+        out.writeLong(reference.getKey());
+      }
+
+      out.writeInt(recordPageReferences.size());
+      for (final PageReference reference : recordPageReferences) {
+        out.writeLong(reference.getKey());
+        final List<PageFragmentKey> pageFragments = reference.getPageFragments();
+        out.writeInt(pageFragments.size());
+        for (final PageFragmentKey pageFragment : pageFragments) {
+          out.writeInt(pageFragment.revision());
+          out.writeLong(pageFragment.key());
+          out.writeLong(pageFragment.slotSummary());
+        }
+      }
+    } catch (final IOException e) {
+      deleteQuietly(tmpFile);
+      throw new SirixIOException(e);
+    }
+
+    try {
+      Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      deleteQuietly(tmpFile);
+      throw new SirixIOException(e);
+    }
+    return true;
+  }
+
+  private static void deleteQuietly(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      LOGGER.warn("The temporary cache snapshot " + file + " couldn't be deleted.", e);
+    }
+  }
+
+  /**
+   * Delete the snapshot of a resource, if it exists.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @throws SirixIOException if the snapshot can't be deleted
+   */
+  public static void delete(final ResourceConfiguration resourceConfig) {
+    try {
+      Files.deleteIfExists(getFile(resourceConfig));
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read the pages listed in the snapshot of a resource into the caches of the resource. The pages are
+   * read with a transaction on the most recent revision, thus the caches must not be cleared, once a
+   * transaction is closed. Errors are logged, but not thrown, as the snapshot is only a hint.
+   *
+   * @param resourceSession the resource session
+   * @return the number of pages read
+   */
+  public static int prefetch(final ResourceSession<?, ?> resourceSession) {
+    return prefetch(resourceSession, () -> false);
+  }
+
+  /**
+   * Read the pages listed in the snapshot of a resource into the caches of the resource, until the
+   * prefetch is stopped.
+   *
+   * @param resourceSession the resource session
+   * @param isStopped       determines if the prefetch has to stop, checked before each page is read
+   * @return the number of pages read
+   */
+  public static int prefetch(final ResourceSession<?, ?> resourceSession, final BooleanSupplier isStopped) {
+    checkNotNull(resourceSession);
+    checkNotNull(isStopped);
+    final Path file = getFile(resourceSession.getResourceConfig());
+
+    if (!Files.exists(file)) {
+      return 0;
+    }
+
+    int numberOfPages = 0;
+    try (final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+         final PageReadOnlyTrx pageTrx = resourceSession.beginPageReadOnlyTrx()) {
+      if (in.readInt() != VERSION || !(pageTrx instanceof NodePageReadOnlyTrx nodePageTrx)) {
+        return 0;
+      }
+
+      final int mostRecentRevision = pageTrx.getRevisionNumber();
+      final int numberOfRevisions = in.readInt();
+      for (int i = 0; i < numberOfRevisions; i++) {
+        if (isStopped.getAsBoolean()) {
+          return numberOfPages;
+        }
+        final int revision = in.readInt();
+        if (revision <= mostRecentRevision) {
+          nodePageTrx.loadRevRoot(revision);
+          numberOfPages++;
+        }
+      }
+
+      final int numberOfPageReferences = in.readInt();
+      for (int i = 0; i < numberOfPageReferences; i++) {
+        if (isStopped.getAsBoolean()) {
+          return numberOfPages;
+        }
+        nodePageTrx.prefetchPage(new PageReference().setKey(in.readLong()));
+        numberOfPages++;
+      }
+
+      final int numberOfRecordPageReferences = in.readInt();
+      for (int i = 0; i < numberOfRecordPageReferences; i++) {
+        if (isStopped.getAsBoolean()) {
+          return numberOfPages;
+        }
+        final var reference = new PageReference().setKey(in.readLong());
+        final int numberOfPageFragments = in.readInt();
+        final List<PageFragmentKey> pageFragments = new ArrayList<>(numberOfPageFragments);
+        for (int j = 0; j < numberOfPageFragments; j++) {
+          pageFragments.add(new PageFragmentKeyImpl(in.readInt(), in.readLong(), in.readLong()));
+        }
+        reference.setPageFragments(pageFragments);
+        nodePageTrx.prefetchRecordPage(reference);
+        numberOfPages++;
+      }
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn("Prefetching the pages of the cache snapshot " + file + " failed.", e);
+    }
+    return numberOfPages;
+  }
+
+  private static List<PageReference> persistedReferences(final Set<PageReference> references) {
+    return references.stream()
+                     .filter(reference -> reference.getKey() != Constants.NULL_ID_LONG
+                         && reference.getLogKey() == Constants.NULL_ID_INT
+                         && reference.getPersistentLogKey() == Constants.NULL_ID_LONG)
+                     .limit(MAX_ENTRIES)
+                     .toList();
+  }
+}
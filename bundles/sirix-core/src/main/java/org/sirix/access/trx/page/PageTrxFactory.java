@@ -103,7 +103,8 @@ public final class PageTrxFactory {
 
     final TreeModifierImpl treeModifier = new TreeModifierImpl();
     final TransactionIntentLogFactory logFactory = new TransactionIntentLogFactoryImpl();
-    final TransactionIntentLog log = logFactory.createTrxIntentLog(resourceManager.getResourceConfig());
+    final TransactionIntentLog log = logFactory.createTrxIntentLog(resourceManager.getResourceConfig())
+                                               .setMetrics(bufferManager.getMetrics());
 
     // Create revision tree if needed. Note: This must happen before the page read trx is created.
     if (uberPage.isBootstrap()) {
@@ -79,7 +79,7 @@ final class TransactionIntentLogFactoryImpl implements TransactionIntentLogFacto
 
       final PersistentFileCache persistentFileCache = new PersistentFileCache(fileWriter);
 
-      return new TransactionIntentLog(persistentFileCache, 1 << 19);
+      return new TransactionIntentLog(persistentFileCache, resourceConfig.intentLogCapacity);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -0,0 +1,19 @@
+package org.sirix.api;
+
+/**
+ * Determines how the records of a revision are going to be accessed by a transaction, such that
+ * the record pages are cached accordingly.
+ */
+public enum AccessPattern {
+  /**
+   * Individual records are looked up, the record pages are cached in the cache of the resource.
+   */
+  POINT,
+
+  /**
+   * All records of a subtree or revision are read once, as for instance by serializations and
+   * diffs. The record pages are only kept in a small buffer of the transaction, such that they don't
+   * evict the pages of point lookups from the cache of the resource.
+   */
+  SCAN
+}
@@ -26,6 +26,8 @@ import org.sirix.access.DatabaseConfiguration;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.metrics.MetricsRegistry;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -65,6 +67,27 @@ public interface Database<T extends ResourceSession<? extends NodeReadOnlyTrx, ?
    */
   boolean createResource(ResourceConfiguration config);
 
+  /**
+   * Create a branch of a resource, that is a new resource, whose first revisions are the revisions of
+   * the resource up to and including the given revision. The pages of these revisions are shared with
+   * the resource and not copied. The branch has its own revisions and can be modified and read like
+   * any other resource. Subsequent modifications of the resource aren't visible in the branch and
+   * vice versa.
+   *
+   * <p>A resource must not be removed, as long as branches of the resource exist.
+   *
+   * @param resourceName the name of the resource to branch
+   * @param revision     the revision of the resource to create the branch from
+   * @param branchName   the name of the branch
+   * @return {@code true} if successful, {@code false} if a resource with the name of the branch already
+   *     exists
+   * @throws SirixUsageException if the resource doesn't exist
+   * @throws IllegalArgumentException if the revision doesn't exist or the resource is stored in
+   *     memory
+   * @throws SirixIOException if anything happens while creating the branch
+   */
+  boolean createBranch(String resourceName, @NonNegative int revision, String branchName);
+
   /**
    * Is the resource within this database existing?
    *
@@ -94,6 +117,7 @@ public interface Database<T extends ResourceSession<? extends NodeReadOnlyTrx, ?
    *
    * @param resourceName resource name
    * @return Database updated database
+   * @throws IllegalStateException if sessions of the resource are open or branches of the resource exist
    */
   Database<T> removeResource(String resourceName);
 
@@ -143,4 +167,22 @@ public interface Database<T extends ResourceSession<? extends NodeReadOnlyTrx, ?
    * @return the database name
    */
   String getName();
+
+  /**
+   * Set the registry, to which the storage engine of all resources in this database records its
+   * metrics (cache hits and misses, page read latencies, page fragments combined, intent log spills
+   * and commit timings). The registry isn't persisted, the default is {@link MetricsRegistry#noOp()}.
+   *
+   * @param registry the registry
+   * @return this database instance
+   * @throws NullPointerException if {@code registry} is {@code null}
+   */
+  Database<T> setMetricsRegistry(MetricsRegistry registry);
+
+  /**
+   * Get the registry, to which the storage engine records its metrics.
+   *
+   * @return the registry
+   */
+  MetricsRegistry getMetricsRegistry();
 }
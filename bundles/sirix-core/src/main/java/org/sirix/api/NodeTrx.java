@@ -48,7 +48,9 @@ public interface NodeTrx extends NodeReadOnlyTrx, AutoCloseable {
 
   /**
    * Reverting all changes to the revision defined. This command has to be finalized with a commit. A
-   * revert is always bound to a {@link XmlNodeReadOnlyTrx#moveToDocumentRoot()}.
+   * revert is always bound to a {@link XmlNodeReadOnlyTrx#moveToDocumentRoot()}. If nothing is
+   * modified before the commit, the new revision shares all pages of the reverted revision, such that
+   * only the new revision root page and the uber page are written.
    *
    * @param revision revert to the revision
    * @return NodeTrx return current instance
@@ -79,6 +81,19 @@ public interface NodeTrx extends NodeReadOnlyTrx, AutoCloseable {
    */
   NodeTrx truncateTo(int revision);
 
+  /**
+   * Enable or disable deferred maintenance of the ancestors of inserted nodes. If enabled, the hashes
+   * and descendant counts of the ancestors are not adapted with each insert, but once before the
+   * next commit, the next remove or update, or the next read of a hash or descendant count through
+   * this transaction. Each ancestor is then modified only once, regardless of the number of nodes
+   * inserted below it. Disabling it adapts all pending ancestors. Only rolling hashes are adapted
+   * this way.
+   *
+   * @param deferred {@code true} to defer the maintenance of the ancestors, {@code false} otherwise
+   * @return NodeTrx return current instance
+   */
+  NodeTrx setDeferredAncestorMaintenance(boolean deferred);
+
   /**
    * Get the {@link PathSummaryReader} associated with the current write transaction -- might be
    * {@code null} if no path summary index is used.
@@ -37,6 +37,22 @@ public interface PageReadOnlyTrx extends AutoCloseable {
    */
   ResourceSession<? extends NodeReadOnlyTrx, ? extends NodeTrx> getResourceSession();
 
+  /**
+   * Set how the records are going to be accessed, in order to cache the record pages accordingly.
+   * The default is {@link AccessPattern#POINT}.
+   *
+   * @param accessPattern the access pattern
+   * @return this instance
+   */
+  PageReadOnlyTrx setAccessPattern(AccessPattern accessPattern);
+
+  /**
+   * Get how the records are going to be accessed.
+   *
+   * @return the access pattern
+   */
+  AccessPattern getAccessPattern();
+
   /**
    * Get the transaction-ID.
    *
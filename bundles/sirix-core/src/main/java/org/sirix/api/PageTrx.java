@@ -84,6 +84,23 @@ public interface PageTrx extends PageReadOnlyTrx {
    */
   void removeRecord(long key, @NonNull IndexType indexType, int index);
 
+  /**
+   * Remove several entries from the storage, for instance all records of a subtree. Each record page
+   * is prepared for modification only once. Record pages of the document index, all records of which
+   * are removed, may be dropped from the new revision instead.
+   *
+   * @param keys      entry keys of the entries to be removed
+   * @param indexType the index type
+   * @param index     the index number
+   * @throws SirixIOException     if the removal fails
+   * @throws NullPointerException if {@code keys} or {@code indexType} is {@code null}
+   */
+  default void removeRecords(long[] keys, @NonNull IndexType indexType, int index) {
+    for (final long key : keys) {
+      removeRecord(key, indexType, index);
+    }
+  }
+
   /**
    * Creating a namekey for a given name.
    *
@@ -172,4 +189,14 @@ public interface PageTrx extends PageReadOnlyTrx {
    * @return the revision to represent
    */
   int getRevisionToRepresent();
+
+  /**
+   * Mark this page trx as reverting to the revision it represents. If no page is modified or added
+   * afterwards, the commit only writes a new revision root page, which shares all pages of that
+   * revision.
+   *
+   * @param isRevert {@code true}, if this page trx reverts to the revision it represents
+   * @return this page trx
+   */
+  PageTrx setRevert(boolean isRevert);
 }
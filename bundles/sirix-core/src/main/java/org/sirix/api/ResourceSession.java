@@ -34,7 +34,9 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.index.cas.CASIndexStatisticsStore;
 import org.sirix.index.redblacktree.RBNode;
+import org.sirix.metrics.StorageMetrics;
 
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -377,4 +379,25 @@ public interface ResourceSession<R extends NodeReadOnlyTrx & NodeCursor, W exten
    * @return the cache
    */
   Cache<RBIndexKey, RBNode<?, ?>> getIndexCache();
+
+  /**
+   * Get the statistics of the CAS indexes of this resource, which are used by the query optimizer.
+   *
+   * @return the statistics
+   */
+  CASIndexStatisticsStore getCASIndexStatistics();
+
+  /**
+   * Get the instrumentation of the storage engine for this resource, which records to the
+   * registry set via {@link Database#setMetricsRegistry}.
+   *
+   * @return the storage metrics
+   */
+  StorageMetrics getStorageMetrics();
+
+  /**
+   * Remove all pages, index nodes and page references of this resource from the caches shared by
+   * its sessions and transactions, such that they are read from durable storage again.
+   */
+  void clearCaches();
 }
@@ -1,8 +1,10 @@
 package org.sirix.api.json;
 
 import org.brackit.xquery.xdm.Item;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.sirix.access.trx.node.json.objectvalue.ObjectRecordValue;
 import org.sirix.api.NodeTrx;
+import org.sirix.exception.SirixUsageException;
 import com.google.gson.stream.JsonReader;
 
 public interface JsonNodeTrx extends JsonNodeReadOnlyTrx, NodeTrx {
@@ -163,4 +165,81 @@ public interface JsonNodeTrx extends JsonNodeReadOnlyTrx, NodeTrx {
 
   JsonNodeTrx insertSubtreeAsRightSibling(Item item, Commit doImplicitCommit, CheckParentNode checkParentNode,
       SkipRootToken skipRootToken);
+
+  /**
+   * Copy the subtree rooted at the current node of the provided transaction (which might be opened on
+   * another {@code database/resource/revision}) and insert it as the first child of the current node.
+   * The records are read directly from the transaction, that is the subtree is not serialized and
+   * parsed again.
+   *
+   * @param rtx read-only transaction, located at the root of the subtree to copy
+   * @return the transaction instance
+   * @throws NullPointerException if {@code rtx} is {@code null}
+   */
+  JsonNodeTrx copySubtreeAsFirstChild(JsonNodeReadOnlyTrx rtx);
+
+  /**
+   * Copy the subtree rooted at the current node of the provided transaction and insert it as the last
+   * child of the current node.
+   *
+   * @param rtx read-only transaction, located at the root of the subtree to copy
+   * @return the transaction instance
+   * @throws NullPointerException if {@code rtx} is {@code null}
+   */
+  JsonNodeTrx copySubtreeAsLastChild(JsonNodeReadOnlyTrx rtx);
+
+  /**
+   * Copy the subtree rooted at the current node of the provided transaction and insert it as the left
+   * sibling of the current node.
+   *
+   * @param rtx read-only transaction, located at the root of the subtree to copy
+   * @return the transaction instance
+   * @throws NullPointerException if {@code rtx} is {@code null}
+   */
+  JsonNodeTrx copySubtreeAsLeftSibling(JsonNodeReadOnlyTrx rtx);
+
+  /**
+   * Copy the subtree rooted at the current node of the provided transaction and insert it as the right
+   * sibling of the current node.
+   *
+   * @param rtx read-only transaction, located at the root of the subtree to copy
+   * @return the transaction instance
+   * @throws NullPointerException if {@code rtx} is {@code null}
+   */
+  JsonNodeTrx copySubtreeAsRightSibling(JsonNodeReadOnlyTrx rtx);
+
+  /**
+   * Move the subtree rooted at {@code fromKey} to the first child of the current node. The records of
+   * the subtree are relinked in place. Object keys can only be moved into objects, all other nodes
+   * only into arrays.
+   *
+   * @param fromKey root node key of the subtree to move
+   * @return the transaction instance
+   * @throws IllegalArgumentException if {@code fromKey < 0}, {@code fromKey > maxNodeKey} or
+   *                                  {@code fromKey == currentNodeKey}
+   * @throws SirixUsageException      if the subtree can't be moved to the current node
+   */
+  JsonNodeTrx moveSubtreeToFirstChild(@NonNegative long fromKey);
+
+  /**
+   * Move the subtree rooted at {@code fromKey} to the right sibling of the current node.
+   *
+   * @param fromKey root node key of the subtree to move
+   * @return the transaction instance
+   * @throws IllegalArgumentException if {@code fromKey < 0}, {@code fromKey > maxNodeKey} or
+   *                                  {@code fromKey == currentNodeKey}
+   * @throws SirixUsageException      if the subtree can't be moved to the current node
+   */
+  JsonNodeTrx moveSubtreeToRightSibling(@NonNegative long fromKey);
+
+  /**
+   * Move the subtree rooted at {@code fromKey} to the left sibling of the current node.
+   *
+   * @param fromKey root node key of the subtree to move
+   * @return the transaction instance
+   * @throws IllegalArgumentException if {@code fromKey < 0}, {@code fromKey > maxNodeKey} or
+   *                                  {@code fromKey == currentNodeKey}
+   * @throws SirixUsageException      if the subtree can't be moved to the current node
+   */
+  JsonNodeTrx moveSubtreeToLeftSibling(@NonNegative long fromKey);
 }
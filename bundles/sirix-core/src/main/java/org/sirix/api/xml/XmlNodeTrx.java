@@ -613,4 +613,7 @@ public interface XmlNodeTrx extends XmlNodeReadOnlyTrx, NodeTrx {
 
   @Override
   XmlNodeTrx truncateTo(int revision);
+
+  @Override
+  XmlNodeTrx setDeferredAncestorMaintenance(boolean deferred);
 }
@@ -23,10 +23,7 @@ package org.sirix.axis.concurrent;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.checkerframework.checker.index.qual.NonNegative;
@@ -35,17 +32,17 @@ import org.sirix.api.Axis;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.axis.AbstractAxis;
+import org.sirix.exception.SirixThreadedException;
 import org.sirix.settings.Fixed;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
 
 /**
  * <p>
  * Realizes in combination with the <code>ConurrentAxisHelper</code> the concurrent evaluation of
  * pipeline steps. The given axis is uncoupled from the main thread by embedding it in a Runnable
- * that uses its one transaction and stores all the results to a queue. The ConcurrentAxis gets the
- * computed results from that queue one by one on every hasNext() call and sets the main-transaction
- * to it. As soon as the end of the computed result sequence is reached (marked by the
+ * that uses its one transaction and is executed on a virtual thread. It stores all the results
+ * batch-wise as primitive node keys in a lock-free ring buffer. The ConcurrentAxis drains batches
+ * of computed results from that buffer and sets the main-transaction to them one by one on every
+ * hasNext() call. As soon as the end of the computed result sequence is reached (marked by the
  * NULL_NODE_KEY), the ConcurrentAxis returns <code>false</code>.
  * </p>
  * <p>
@@ -54,36 +51,60 @@ import org.slf4j.LoggerFactory;
  * callees is the consumer. This can be used by any class that implements the IAxis interface. Note:
  * Make sure that the used class is thread-safe.
  * </p>
+ * <p>
+ * A running producer is cancelled on {@link #reset(long)}, once the axis is done or explicitly via
+ * {@link #cancel()}. Cancellation doesn't interrupt the producer thread (which might close
+ * interruptible file channels), it closes the buffer instead, which the producer checks before each
+ * result. As a selective producer might search for its next result for a long time, {@link #cancel()}
+ * waits only for a bounded time, afterwards the producer stops on its own, once it has found its next
+ * result. {@link #reset(long)} waits until the producer has stopped, as it resets the producer axis.
+ * </p>
  */
 public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis {
 
-  /** Logger. */
-  private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(ConcurrentAxis.class));
+  /** Factory for the virtual threads the producers are running in. */
+  private static final ThreadFactory PRODUCER_THREAD_FACTORY =
+      Thread.ofVirtual().name("sirix-concurrent-axis-", 0).factory();
+
+  /** Capacity of the results buffer. */
+  private static final int CAPACITY = 1024;
+
+  /** Number of result keys, which are handed off at once. */
+  static final int BATCH_SIZE = 64;
+
+  /** Maximum time in milliseconds {@link #cancel()} waits for the producer to stop. */
+  static final long CANCEL_TIMEOUT_MILLIS = 1_000;
 
   /** Axis that is running in an own thread and produces results for this axis. */
   private final Axis producer;
 
   /**
-   * Queue that stores result keys already computed by the producer. End of the result sequence is
+   * Buffer that stores result keys already computed by the producer. End of the result sequence is
    * marked by the NULL_NODE_KEY.
    */
-  private final BlockingQueue<Long> results;
+  private final LongRingBuffer results;
+
+  /** The batch of result keys drained from the buffer. */
+  private final long[] batch;
 
-  /** Capacity of the mResults queue. */
-  private final int M_CAPACITY = 200;
+  /** Index of the next result key in the current batch. */
+  private int batchIndex;
+
+  /** Number of result keys in the current batch. */
+  private int batchSize;
 
   /** Has axis already been called? */
   private boolean first;
 
   /** Runnable in which the producer is running. */
-  private Runnable task;
+  private ConcurrentAxisHelper task;
+
+  /** Thread in which the producer is running, if started and not yet stopped. */
+  private Thread producerThread;
 
   /** Is axis already finished and has no results left? */
   private boolean finished;
 
-  /** Executor Service holding the execution plan for future tasks. */
-  public ExecutorService executorService;
-
   /**
    * Constructor. Initializes the internal state.
    *
@@ -96,11 +117,11 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
       throw new IllegalArgumentException(
           "The filter must be bound to another transaction but on the same revision/node!");
     }
-    results = new ArrayBlockingQueue<>(M_CAPACITY);
+    results = new LongRingBuffer(CAPACITY);
+    batch = new long[BATCH_SIZE];
     first = true;
     producer = checkNotNull(childAxis);
-    task = new ConcurrentAxisHelper(producer, results);
-    executorService = Executors.newSingleThreadExecutor();
+    task = new ConcurrentAxisHelper(producer, results, BATCH_SIZE);
     finished = false;
   }
 
@@ -108,41 +129,54 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
   public synchronized void reset(final @NonNegative long nodeKey) {
     super.reset(nodeKey);
     first = true;
-    finished = false;
 
-    if (executorService != null) {
-      executorService = Executors.newSingleThreadExecutor();
-    }
+    // Fields are not yet initialized when called from the constructor of the superclass.
     if (producer != null) {
+      // Stop the producer, before it's axis is reset.
+      cancel();
+      awaitProducer(0);
       producer.reset(nodeKey);
-    }
-    if (results != null) {
       results.clear();
+      batchIndex = 0;
+      batchSize = 0;
+      task = new ConcurrentAxisHelper(producer, results, BATCH_SIZE);
     }
-    if (task != null) {
-      task = new ConcurrentAxisHelper(producer, results);
-    }
+
+    finished = false;
   }
 
   @Override
   protected long nextKey() {
+    if (finished) {
+      return done();
+    }
+
     // Start producer on first call.
     if (first) {
       first = false;
-      executorService.submit(task);
-    }
-
-    if (finished) {
-      return done();
+      producerThread = PRODUCER_THREAD_FACTORY.newThread(task);
+      producerThread.start();
     }
 
     long result = Fixed.NULL_NODE_KEY.getStandardProperty();
 
-    try {
-      // Get result from producer as soon as it is available.
-      result = results.take();
-    } catch (final InterruptedException e) {
-      LOGGER.warn(e.getMessage(), e);
+    if (batchIndex == batchSize) {
+      try {
+        // Get the next batch of results from the producer as soon as it is available.
+        batchSize = results.drainTo(batch);
+        batchIndex = 0;
+      } catch (final InterruptedException e) {
+        // Results would be missing, thus the axis fails instead of ending.
+        batchSize = 0;
+        batchIndex = 0;
+        done();
+        Thread.currentThread().interrupt();
+        throw new SirixThreadedException(e);
+      }
+    }
+
+    if (batchIndex < batchSize) {
+      result = batch[batchIndex++];
     }
 
     // NULL_NODE_KEY marks end of the sequence computed by the producer.
@@ -151,6 +185,18 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
     }
 
     finished = true;
+    final Throwable failure = task.getFailure();
+    if (failure != null) {
+      // Propagate the failure of the producer to the consumer.
+      done();
+      if (failure instanceof Error error) {
+        throw error;
+      }
+      if (failure instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new SirixThreadedException("The producer of the concurrent axis failed.", failure);
+    }
     return done();
   }
 
@@ -163,14 +209,57 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
    */
   @Override
   protected long done() {
-    executorService.shutdown();
-    try {
-        executorService.awaitTermination(5, TimeUnit.SECONDS);
-    } catch (InterruptedException e) {
-    }
+    cancel();
     return Fixed.NULL_NODE_KEY.getStandardProperty();
   }
 
+  /**
+   * Cancel the producer, if it is running, and wait until it has stopped, but at most
+   * {@link #CANCEL_TIMEOUT_MILLIS} milliseconds. Afterwards the axis doesn't deliver any further
+   * results until it is reset.
+   */
+  public synchronized void cancel() {
+    finished = true;
+    if (producerThread == null || results.isClosed()) {
+      // Not started or already cancelled, a producer still running stops once it has found its next result.
+      return;
+    }
+    results.close();
+    awaitProducer(CANCEL_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Wait until the producer has stopped.
+   *
+   * @param timeoutMillis the maximum time to wait in milliseconds, {@code 0} to wait until it has
+   *        stopped
+   */
+  private void awaitProducer(final long timeoutMillis) {
+    final Thread thread = producerThread;
+    if (thread == null) {
+      return;
+    }
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    boolean interrupted = false;
+    while (thread.isAlive()) {
+      final long remainingNanos = deadline - System.nanoTime();
+      if (timeoutMillis > 0 && remainingNanos <= 0) {
+        break;
+      }
+      try {
+        thread.join(timeoutMillis == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+      } catch (final InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (!thread.isAlive()) {
+      producerThread = null;
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * Determines if axis has more results to deliver or not.
    *
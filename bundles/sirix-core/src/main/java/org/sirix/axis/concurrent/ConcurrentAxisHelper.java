@@ -20,19 +20,20 @@
  */
 package org.sirix.axis.concurrent;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.util.concurrent.BlockingQueue;
+
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sirix.api.Axis;
 import org.sirix.settings.Fixed;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
 
 /**
  * <p>
  * Is the helper for the ConcurrentAxis and realizes the concurrent evaluation of pipeline steps by
- * decoupling the given axis from the main thread and storing its results in a blocking queue so
- * establish a producer-consumer-relationship between the ConcurrentAxis and this one.
+ * decoupling the given axis from the main thread and storing its results in a ring buffer so
+ * establish a producer-consumer-relationship between the ConcurrentAxis and this one. The results
+ * are collected in batches of primitive node keys, which are published at once.
  * </p>
  * <p>
  * This axis should only be used and instantiated by the ConcurrentAxis. Find more information on
@@ -41,50 +42,72 @@ import org.slf4j.LoggerFactory;
  */
 public class ConcurrentAxisHelper implements Runnable {
 
-  /** Logger. */
-  public static final LogWrapper LOGWRAPPER =
-      new LogWrapper(LoggerFactory.getLogger(ConcurrentAxisHelper.class));
-
   /** {@link Axis} that computes the results. */
   private final Axis axis;
 
   /**
-   * Queue that stores result keys already computed by this axis. End of the result sequence is
+   * Buffer that stores result keys already computed by this axis. End of the result sequence is
    * marked by the NULL_NODE_KEY. This is used for communication with the consumer.
    */
-  private BlockingQueue<Long> results;
+  private final LongRingBuffer results;
+
+  /** The current batch of result keys, which is not published yet. */
+  private final long[] batch;
+
+  /** The failure of the axis, if any. */
+  private volatile Throwable failure;
 
   /**
    * Bind axis step to transaction. Make sure to create a new ReadTransaction instead of using the
    * parameter rtx. Because of concurrency every axis has to have it's own transaction.
-   * 
+   *
    * @param axis Axis to bind with
-   * @param results queue which has results related to the axis
+   * @param results buffer which has results related to the axis
+   * @param batchSize number of result keys which are published at once
    */
-  public ConcurrentAxisHelper(final Axis axis, @NonNull final BlockingQueue<Long> results) {
+  public ConcurrentAxisHelper(final Axis axis, @NonNull final LongRingBuffer results, final int batchSize) {
+    checkArgument(batchSize > 0, "batchSize must be > 0!");
     this.axis = checkNotNull(axis);
     this.results = checkNotNull(results);
+    this.batch = new long[batchSize];
   }
 
   @Override
   public void run() {
-    // Compute all results of the given axis and store the results in the queue.
-    while (axis.hasNext()) {
-      final long nodeKey = axis.next();
-      try {
-        // Store result in queue as soon as there is space left.
-        results.put(nodeKey);
-        // Wait until next thread arrives and exchange blocking queue.
-      } catch (final InterruptedException e) {
-        LOGWRAPPER.error(e.getMessage(), e);
+    int size = 0;
+    try {
+      // Compute all results of the given axis and publish them batch-wise.
+      while (axis.hasNext()) {
+        if (results.isClosed()) {
+          // Cancelled by the consumer.
+          return;
+        }
+        batch[size++] = axis.nextLong();
+        if (size == batch.length) {
+          if (!results.put(batch, size)) {
+            return;
+          }
+          size = 0;
+        }
       }
+    } catch (final Throwable e) {
+      // Errors are handed over as well, as the consumer would otherwise wait for the end marker forever.
+      failure = e;
+      size = Math.min(size, batch.length - 1);
     }
 
-    try {
-      // Mark end of result sequence by the NULL_NODE_KEY.
-      results.put(Fixed.NULL_NODE_KEY.getStandardProperty());
-    } catch (final InterruptedException e) {
-      LOGWRAPPER.error(e.getMessage(), e);
-    }
+    // Mark end of result sequence by the NULL_NODE_KEY (a full batch has always been published).
+    batch[size++] = Fixed.NULL_NODE_KEY.getStandardProperty();
+    results.put(batch, size);
+  }
+
+  /**
+   * Get the failure of the producing axis.
+   *
+   * @return the exception or error thrown by the producing axis, or {@code null} if nothing has been
+   *         thrown
+   */
+  public @Nullable Throwable getFailure() {
+    return failure;
   }
 }
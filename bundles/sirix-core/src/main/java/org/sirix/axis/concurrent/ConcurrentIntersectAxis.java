@@ -135,4 +135,19 @@ public final class ConcurrentIntersectAxis<R extends NodeCursor & NodeReadOnlyTr
 
     return done();
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Cancels both operands, as one of them might still be computing results, which are not needed
+   * anymore.
+   * </p>
+   */
+  @Override
+  protected long done() {
+    op1.cancel();
+    op2.cancel();
+    return super.done();
+  }
 }
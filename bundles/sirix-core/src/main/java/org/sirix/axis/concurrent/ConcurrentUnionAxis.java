@@ -136,4 +136,19 @@ public final class ConcurrentUnionAxis<R extends NodeCursor & NodeReadOnlyTrx> e
 
     return done();
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Cancels both operands, as one of them might still be computing results, which are not needed
+   * anymore.
+   * </p>
+   */
+  @Override
+  protected long done() {
+    op1.cancel();
+    op2.cancel();
+    return super.done();
+  }
 }
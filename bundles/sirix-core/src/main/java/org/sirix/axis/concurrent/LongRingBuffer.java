@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met: * Redistributions of source code must retain the
+ * above copyright notice, this list of conditions and the following disclaimer. * Redistributions
+ * in binary form must reproduce the above copyright notice, this list of conditions and the
+ * following disclaimer in the documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sirix.axis.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * A bounded, lock-free single-producer/single-consumer ring buffer of primitive {@code long} values,
+ * which is used to hand off node keys from the producing axis of a {@link ConcurrentAxis} to the
+ * consuming thread in batches. Neither side boxes the keys and a whole batch is published with a
+ * single ordered write.
+ * </p>
+ * <p>
+ * A waiting side first spins and then parks for a short, bounded amount of time, thus it is cheap
+ * to block a virtual thread. Once the buffer is closed, the producer stops waiting and its writes
+ * are rejected, which is used to cancel a running producer.
+ * </p>
+ */
+public final class LongRingBuffer {
+
+  /** Number of busy spins before a waiting thread parks. */
+  private static final int MAX_SPINS = 128;
+
+  /** Maximum time a waiting thread is parked before it re-checks the buffer. */
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /** The slots, the length is a power of two. */
+  private final long[] buffer;
+
+  /** Mask to map a sequence number to a slot. */
+  private final int mask;
+
+  /** Sequence number of the next slot to read, only written by the consumer. */
+  private final AtomicLong head;
+
+  /** Sequence number of the next slot to write, only written by the producer. */
+  private final AtomicLong tail;
+
+  /** The consumer thread, if it currently waits for values. */
+  private volatile Thread waitingConsumer;
+
+  /** The producer thread, if it currently waits for free slots. */
+  private volatile Thread waitingProducer;
+
+  /** Determines if the buffer has been closed. */
+  private volatile boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity minimum number of values the buffer can hold, rounded up to the next power of
+   *        two
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  public LongRingBuffer(final int capacity) {
+    checkArgument(capacity > 0, "capacity must be > 0!");
+    final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    buffer = new long[size];
+    mask = size - 1;
+    head = new AtomicLong();
+    tail = new AtomicLong();
+  }
+
+  /**
+   * Get the number of slots.
+   *
+   * @return the number of slots
+   */
+  public int capacity() {
+    return buffer.length;
+  }
+
+  /**
+   * Publish {@code length} values of the given array, waiting for free slots if needed. Must only
+   * be called from the producer thread.
+   *
+   * @param values the values to publish
+   * @param length number of values to publish, starting at index {@code 0}
+   * @return {@code true}, if all values have been published, {@code false} if the buffer has been
+   *         closed in the meantime
+   * @throws NullPointerException if {@code values} is {@code null}
+   * @throws IllegalArgumentException if {@code length} is out of the bounds of {@code values}
+   */
+  public boolean put(final long[] values, final int length) {
+    checkNotNull(values);
+    checkArgument(length >= 0 && length <= values.length, "length is out of bounds!");
+
+    int offset = 0;
+    int spins = 0;
+    while (offset < length) {
+      if (closed) {
+        return false;
+      }
+
+      final long currentTail = tail.get();
+      final int free = buffer.length - (int) (currentTail - head.get());
+
+      if (free == 0) {
+        spins = await(spins, true);
+        continue;
+      }
+
+      spins = 0;
+      final int count = Math.min(free, length - offset);
+      for (int i = 0; i < count; i++) {
+        buffer[(int) ((currentTail + i) & mask)] = values[offset + i];
+      }
+      // Publish the whole batch at once.
+      tail.lazySet(currentTail + count);
+      offset += count;
+      LockSupport.unpark(waitingConsumer);
+    }
+
+    return !closed;
+  }
+
+  /**
+   * Publish a single value, waiting for a free slot if needed. Must only be called from the
+   * producer thread.
+   *
+   * @param value the value to publish
+   * @return {@code true}, if the value has been published, {@code false} if the buffer has been
+   *         closed in the meantime
+   */
+  public boolean put(final long value) {
+    return put(new long[] { value }, 1);
+  }
+
+  /**
+   * Move all available values (up to the length of the target array) into the given array, waiting
+   * until at least one value is available or the buffer has been closed. Must only be called from
+   * the consumer thread.
+   *
+   * @param target the array to copy the values to
+   * @return the number of values copied, {@code 0} if the buffer has been closed and all values
+   *         have been drained
+   * @throws NullPointerException if {@code target} is {@code null}
+   * @throws IllegalArgumentException if {@code target} is empty
+   * @throws InterruptedException if the consumer thread has been interrupted while waiting
+   */
+  public int drainTo(final long[] target) throws InterruptedException {
+    checkNotNull(target);
+    checkArgument(target.length > 0, "target must not be empty!");
+
+    int spins = 0;
+    while (true) {
+      final long currentHead = head.get();
+      final int available = (int) (tail.get() - currentHead);
+
+      if (available > 0) {
+        final int count = Math.min(available, target.length);
+        for (int i = 0; i < count; i++) {
+          target[i] = buffer[(int) ((currentHead + i) & mask)];
+        }
+        head.lazySet(currentHead + count);
+        LockSupport.unpark(waitingProducer);
+        return count;
+      }
+
+      if (closed) {
+        // No further values are published, once the buffer is closed.
+        return 0;
+      }
+
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      spins = await(spins, false);
+    }
+  }
+
+  /**
+   * Close the buffer, such that a waiting or subsequent {@link #put(long[], int)} returns
+   * {@code false} and {@link #drainTo(long[])} returns {@code 0} once the buffer is empty.
+   */
+  public void close() {
+    closed = true;
+    LockSupport.unpark(waitingProducer);
+    LockSupport.unpark(waitingConsumer);
+  }
+
+  /**
+   * Determines if the buffer has been closed.
+   *
+   * @return {@code true}, if the buffer has been closed, {@code false} otherwise
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Remove all values and reopen the buffer. Must only be called, when neither a producer nor a
+   * consumer is currently using the buffer.
+   */
+  public void clear() {
+    head.set(0);
+    tail.set(0);
+    closed = false;
+  }
+
+  /**
+   * Wait for the other side, first by spinning, then by parking for a bounded amount of time.
+   *
+   * @param spins the number of spins so far
+   * @param producer {@code true}, if the producer is waiting, {@code false} if the consumer is
+   *        waiting
+   * @return the new number of spins
+   */
+  private int await(final int spins, final boolean producer) {
+    if (spins < MAX_SPINS) {
+      Thread.onSpinWait();
+      return spins + 1;
+    }
+
+    final Thread currentThread = Thread.currentThread();
+    if (producer) {
+      waitingProducer = currentThread;
+      LockSupport.parkNanos(this, PARK_NANOS);
+      waitingProducer = null;
+    } else {
+      waitingConsumer = currentThread;
+      LockSupport.parkNanos(this, PARK_NANOS);
+      waitingConsumer = null;
+    }
+    return spins;
+  }
+}
@@ -1,6 +1,7 @@
 package org.sirix.cache;
 
 import org.sirix.index.redblacktree.RBNode;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
@@ -13,4 +14,26 @@ public interface BufferManager extends AutoCloseable {
   Cache<Integer, RevisionRootPage> getRevisionRootPageCache();
 
   Cache<RBIndexKey, RBNode<?, ?>> getIndexCache();
+
+  /**
+   * Get the cache of references to the leaves of the indirect page trees, shared by all read-only
+   * transactions of the resource.
+   *
+   * @return the cache
+   */
+  Cache<LeafPageReferenceKey, PageReference> getLeafPageReferenceCache();
+
+  StorageMetrics getMetrics();
+
+  /**
+   * Remove all entries from all caches, for instance after the storage has been truncated and page
+   * offsets or revision numbers are going to be reused.
+   */
+  default void clearAllCaches() {
+    getPageCache().clear();
+    getRecordPageCache().clear();
+    getRevisionRootPageCache().clear();
+    getIndexCache().clear();
+    getLeafPageReferenceCache().clear();
+  }
 }
@@ -1,10 +1,13 @@
 package org.sirix.cache;
 
 import org.sirix.index.redblacktree.RBNode;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 public final class BufferManagerImpl implements BufferManager {
   private final PageCache pageCache;
 
@@ -14,12 +17,19 @@ public final class BufferManagerImpl implements BufferManager {
 
   private final RedBlackTreeNodeCache redBlackTreeNodeCache;
 
+  private final LeafPageReferenceCache leafPageReferenceCache;
+
+  private final StorageMetrics metrics;
+
   public BufferManagerImpl(final int maxPageCacheSize, final int maxRecordPageCacheSize,
-      final int maxRevisionRootPageCache, final int maxRBTreeNodeCache) {
+      final int maxRevisionRootPageCache, final int maxRBTreeNodeCache, final int maxLeafPageReferenceCache,
+      final StorageMetrics metrics) {
     pageCache = new PageCache(maxPageCacheSize);
     recordPageCache = new RecordPageCache(maxRecordPageCacheSize);
     revisionRootPageCache = new RevisionRootPageCache(maxRevisionRootPageCache);
     redBlackTreeNodeCache = new RedBlackTreeNodeCache(maxRBTreeNodeCache);
+    leafPageReferenceCache = new LeafPageReferenceCache(maxLeafPageReferenceCache);
+    this.metrics = checkNotNull(metrics);
   }
 
   @Override
@@ -42,11 +52,22 @@ public final class BufferManagerImpl implements BufferManager {
     return redBlackTreeNodeCache;
   }
 
+  @Override
+  public Cache<LeafPageReferenceKey, PageReference> getLeafPageReferenceCache() {
+    return leafPageReferenceCache;
+  }
+
+  @Override
+  public StorageMetrics getMetrics() {
+    return metrics;
+  }
+
   @Override
   public void close() {
     pageCache.clear();
     recordPageCache.clear();
     revisionRootPageCache.clear();
     redBlackTreeNodeCache.clear();
+    // The leaf page references are kept, as they stay valid and are shared with subsequent transactions.
   }
 }
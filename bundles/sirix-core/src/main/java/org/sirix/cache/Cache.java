@@ -22,6 +22,7 @@
 package org.sirix.cache;
 
 import java.util.Map;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -77,6 +78,15 @@ public interface Cache<K, V> {
    */
   Map<K, V> getAll(Iterable<? extends K> keys);
 
+  /**
+   * Get the keys of all entries. Caches, which can't enumerate their entries, return an empty set.
+   *
+   * @return a snapshot of the keys
+   */
+  default Set<K> keys() {
+    return Set.of();
+  }
+
   /**
    * Remove key from storage.
    *
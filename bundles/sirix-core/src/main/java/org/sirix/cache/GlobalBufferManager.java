@@ -0,0 +1,504 @@
+package org.sirix.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sirix.index.redblacktree.RBNode;
+import org.sirix.metrics.StorageMetrics;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Enforces a single memory budget on the page, record page, revision root page and index caches of
+ * all resources, instead of fixed entry counts per resource. The buffer managers of the resources
+ * are views on one cache, such that cold resources don't keep memory hot resources need.
+ *
+ * <p>Each entry is charged its estimated memory usage, thus the cached entries never exceed the
+ * budget. Resources are prioritized by their weights, which determine their share of the budget: once
+ * the budget is exceeded, the coldest entries of resources using more than their share are evicted
+ * first, such that a resource with weight 2 may keep twice as much memory as a resource with weight
+ * 1, while another resource needs it. Otherwise, new entries are only admitted, if they are estimated
+ * to be accessed more frequently than the entries they'd evict, based on the recorded accesses of
+ * all resources.
+ */
+public final class GlobalBufferManager {
+
+  /**
+   * The estimated memory usage of a page without its references or records in bytes.
+   */
+  private static final int PAGE_OVERHEAD = 128;
+
+  /**
+   * The estimated memory usage of a page reference in bytes.
+   */
+  private static final int REFERENCE_SIZE = 48;
+
+  /**
+   * The estimated memory usage of a record in bytes.
+   */
+  private static final int RECORD_SIZE = 96;
+
+  /**
+   * The estimated memory usage of a revision root page in bytes.
+   */
+  private static final int REVISION_ROOT_PAGE_SIZE = 1_024;
+
+  /**
+   * The estimated memory usage of a red-black tree node of an index in bytes.
+   */
+  private static final int RB_NODE_SIZE = 128;
+
+  /**
+   * The default weight of a resource.
+   */
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  /**
+   * The maximum number of the coldest entries, which are considered for eviction in favor of a new
+   * entry.
+   */
+  private static final int EVICTION_CANDIDATES = 64;
+
+  /**
+   * The number of insertions exceeding the memory budget, after which the entries of resources over
+   * their share are evicted again. In between, Caffeine evicts entries based on its own policy.
+   */
+  private static final int REBALANCE_INTERVAL = 16;
+
+  /**
+   * The cache shared by all resources.
+   */
+  private final com.github.benmanes.caffeine.cache.Cache<Key, Entry> cache;
+
+  /**
+   * The weights of the resources.
+   */
+  private final Map<Path, Double> weights = new ConcurrentHashMap<>();
+
+  /**
+   * The estimated memory usage of the cached entries of the resources in bytes.
+   */
+  private final Map<Path, AtomicLong> usedBytesOfResources = new ConcurrentHashMap<>();
+
+  /**
+   * The resources, which use more than their share of the memory budget. It's updated whenever the
+   * memory usage of a resource changes, thus it's a cheap check, whether rebalancing is needed.
+   */
+  private final Set<Path> resourcesOverShare = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The sum of the weights of all resources with cached entries.
+   */
+  private volatile double sumOfWeights;
+
+  /**
+   * The number of insertions exceeding the memory budget, while a resource used more than its share.
+   */
+  private final AtomicLong insertionsOverBudget = new AtomicLong();
+
+  /**
+   * The estimated memory usage of all cached entries in bytes.
+   */
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  /**
+   * The memory budget in bytes.
+   */
+  private final long maxBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param maxBytes the memory budget of all caches of all resources in bytes
+   */
+  public GlobalBufferManager(final @NonNegative long maxBytes) {
+    checkArgument(maxBytes > 0, "The memory budget must be > 0!");
+    this.maxBytes = maxBytes;
+    cache = Caffeine.newBuilder()
+                    .maximumWeight(maxBytes)
+                    .weigher((Key key, Entry entry) -> entry.weight())
+                    .executor(Runnable::run)
+                    .removalListener((Key key, Entry entry, RemovalCause cause) -> {
+                      if (key != null && entry != null) {
+                        addUsedBytes(key.cache().resourcePath, -entry.weight());
+                        key.cache().onRemoval(key.key(), entry.value());
+                      }
+                    })
+                    .build();
+  }
+
+  /**
+   * Create the buffer manager of a resource.
+   *
+   * @param resourcePath the path of the resource
+   * @param metrics      the metrics of the resource
+   * @return the buffer manager
+   */
+  public BufferManager newBufferManager(final Path resourcePath, final StorageMetrics metrics) {
+    return new ResourceBufferManager(checkNotNull(resourcePath), checkNotNull(metrics));
+  }
+
+  /**
+   * Set the weight of a resource. The share of the memory budget of a resource is the budget
+   * multiplied by its weight, divided by the sum of the weights of all resources with cached entries.
+   *
+   * @param resourcePath the path of the resource
+   * @param weight       the weight, which must be {@code > 0}, the default is {@code 1}
+   * @return this instance
+   */
+  public GlobalBufferManager setWeight(final Path resourcePath, final double weight) {
+    checkNotNull(resourcePath);
+    checkArgument(weight > 0, "The weight must be > 0!");
+    weights.put(resourcePath, weight);
+    updateShares();
+    return this;
+  }
+
+  /**
+   * Get the weight of a resource.
+   *
+   * @param resourcePath the path of the resource
+   * @return the weight
+   */
+  public double getWeight(final Path resourcePath) {
+    return weights.getOrDefault(resourcePath, DEFAULT_WEIGHT);
+  }
+
+  /**
+   * Get the memory budget.
+   *
+   * @return the memory budget in bytes
+   */
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * Get the part of the memory budget, which is currently used.
+   *
+   * @return the estimated memory usage of all cached entries in bytes
+   */
+  public long getUsedBytes() {
+    cache.cleanUp();
+    return usedBytes.get();
+  }
+
+  /**
+   * Get the part of the memory budget, which is currently used by a resource.
+   *
+   * @param resourcePath the path of the resource
+   * @return the estimated memory usage of the cached entries of the resource in bytes
+   */
+  public long getUsedBytes(final Path resourcePath) {
+    cache.cleanUp();
+    final AtomicLong usedBytesOfResource = usedBytesOfResources.get(resourcePath);
+    return usedBytesOfResource == null ? 0 : usedBytesOfResource.get();
+  }
+
+  private AtomicLong usedBytesOf(final Path resourcePath) {
+    return usedBytesOfResources.computeIfAbsent(resourcePath, unused -> new AtomicLong());
+  }
+
+  private void addUsedBytes(final Path resourcePath, final long bytes) {
+    final long usedBytesOfResource = usedBytesOf(resourcePath).addAndGet(bytes);
+    usedBytes.addAndGet(bytes);
+
+    if ((usedBytesOfResource > 0) != (usedBytesOfResource - bytes > 0)) {
+      // The resource has got its first or lost its last entry, thus the shares of all resources change.
+      updateShares();
+    } else {
+      updateShare(resourcePath, usedBytesOfResource);
+    }
+  }
+
+  private void updateShare(final Path resourcePath, final long usedBytesOfResource) {
+    final double currentSumOfWeights = sumOfWeights;
+    if (currentSumOfWeights > 0
+        && usedBytesOfResource > maxBytes * getWeight(resourcePath) / currentSumOfWeights) {
+      resourcesOverShare.add(resourcePath);
+    } else {
+      resourcesOverShare.remove(resourcePath);
+    }
+  }
+
+  private synchronized void updateShares() {
+    double newSumOfWeights = 0;
+    for (final var usedBytesOfResource : usedBytesOfResources.entrySet()) {
+      if (usedBytesOfResource.getValue().get() > 0) {
+        newSumOfWeights += getWeight(usedBytesOfResource.getKey());
+      }
+    }
+    sumOfWeights = newSumOfWeights;
+
+    resourcesOverShare.clear();
+    for (final var usedBytesOfResource : usedBytesOfResources.entrySet()) {
+      updateShare(usedBytesOfResource.getKey(), usedBytesOfResource.getValue().get());
+    }
+  }
+
+  /**
+   * Remove all entries of a resource, for instance after the resource has been removed.
+   *
+   * @param resourcePath the path of the resource
+   */
+  public void invalidate(final Path resourcePath) {
+    cache.asMap().keySet().removeIf(key -> key.cache().resourcePath.equals(resourcePath));
+    weights.remove(resourcePath);
+    usedBytesOfResources.remove(resourcePath);
+    updateShares();
+  }
+
+  /**
+   * Remove all entries of all resources.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Add an entry to the shared cache. If the memory budget would be exceeded while resources use more
+   * than their share of the budget, the coldest entries of these resources are evicted first, on
+   * every {@link #REBALANCE_INTERVAL}th such insertion. Otherwise, Caffeine evicts entries based on
+   * their weights.
+   *
+   * @param key   the key
+   * @param value the value
+   */
+  private void put(final Key key, final Object value) {
+    final int weight = weigh(value);
+    if (usedBytes.get() + weight > maxBytes && !resourcesOverShare.isEmpty()
+        && insertionsOverBudget.getAndIncrement() % REBALANCE_INTERVAL == 0) {
+      evictEntriesOfResourcesOverShare(weight);
+    }
+    addUsedBytes(key.cache().resourcePath, weight);
+    cache.put(key, new Entry(value, weight));
+  }
+
+  private void evictEntriesOfResourcesOverShare(final int weight) {
+    // Make room for the insertions until the next rebalancing, as long as resources are over their share.
+    final long excess = usedBytes.get() + (long) weight * REBALANCE_INTERVAL - maxBytes;
+    final var eviction = cache.policy().eviction();
+    if (excess <= 0 || eviction.isEmpty()) {
+      return;
+    }
+
+    long freedBytes = 0;
+    for (final var entry : eviction.get().coldest(EVICTION_CANDIDATES).entrySet()) {
+      if (freedBytes >= excess || resourcesOverShare.isEmpty()) {
+        break;
+      }
+      // The removal listener updates the resources over their share, once an entry is evicted.
+      if (resourcesOverShare.contains(entry.getKey().cache().resourcePath)) {
+        cache.invalidate(entry.getKey());
+        freedBytes += entry.getValue().weight();
+      }
+    }
+  }
+
+  private int weigh(final Object value) {
+    final long bytes;
+    if (value instanceof KeyValuePage<?> page) {
+      bytes = PAGE_OVERHEAD + (long) page.size() * RECORD_SIZE;
+    } else if (value instanceof OverflowPage page) {
+      bytes = PAGE_OVERHEAD + page.getData().length;
+    } else if (value instanceof RevisionRootPage) {
+      bytes = REVISION_ROOT_PAGE_SIZE;
+    } else if (value instanceof Page page) {
+      bytes = PAGE_OVERHEAD + (long) page.getReferences().size() * REFERENCE_SIZE;
+    } else if (value instanceof PageReference) {
+      bytes = REFERENCE_SIZE;
+    } else {
+      bytes = RB_NODE_SIZE;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  /**
+   * The key of an entry in the shared cache.
+   *
+   * @param cache the cache of the resource, the entry belongs to
+   * @param key   the key in the cache of the resource
+   */
+  private record Key(ResourceCache<?, ?> cache, Object key) {
+  }
+
+  /**
+   * An entry in the shared cache.
+   *
+   * @param value  the cached value
+   * @param weight the estimated memory usage of the value in bytes, when it has been cached
+   */
+  private record Entry(Object value, int weight) {
+  }
+
+  /**
+   * A cache of a resource, which is a view on the shared cache.
+   */
+  private final class ResourceCache<K, V> implements Cache<K, V> {
+
+    private final Path resourcePath;
+
+    private final @Nullable BiConsumer<K, V> removalAction;
+
+    private ResourceCache(final Path resourcePath, final @Nullable BiConsumer<K, V> removalAction) {
+      this.resourcePath = resourcePath;
+      this.removalAction = removalAction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRemoval(final Object key, final Object value) {
+      if (removalAction != null) {
+        removalAction.accept((K) key, (V) value);
+      }
+    }
+
+    @Override
+    public void clear() {
+      cache.asMap().keySet().removeIf(key -> key.cache() == this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final K key) {
+      final Entry entry = cache.getIfPresent(new Key(this, key));
+      return entry == null ? null : (V) entry.value();
+    }
+
+    @Override
+    public void put(final K key, @NonNull final V value) {
+      GlobalBufferManager.this.put(new Key(this, key), value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+      map.forEach(this::put);
+    }
+
+    @Override
+    public void toSecondCache() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<K, V> getAll(final Iterable<? extends K> keys) {
+      final Map<K, V> entries = new HashMap<>();
+      for (final K key : keys) {
+        final V value = get(key);
+        if (value != null) {
+          entries.put(key, value);
+        }
+      }
+      return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<K> keys() {
+      return cache.asMap()
+                  .keySet()
+                  .stream()
+                  .filter(key -> key.cache() == this)
+                  .map(key -> (K) key.key())
+                  .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public void remove(final K key) {
+      cache.invalidate(new Key(this, key));
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * The buffer manager of a resource. It isn't cleared, when a transaction is closed, as the entries
+   * are evicted once the memory budget is exceeded.
+   */
+  private final class ResourceBufferManager implements BufferManager {
+
+    private final ResourceCache<PageReference, Page> pageCache;
+
+    private final ResourceCache<PageReference, Page> recordPageCache;
+
+    private final ResourceCache<Integer, RevisionRootPage> revisionRootPageCache;
+
+    private final ResourceCache<RBIndexKey, RBNode<?, ?>> redBlackTreeNodeCache;
+
+    private final ResourceCache<LeafPageReferenceKey, PageReference> leafPageReferenceCache;
+
+    private final StorageMetrics metrics;
+
+    private ResourceBufferManager(final Path resourcePath, final StorageMetrics metrics) {
+      pageCache = new ResourceCache<>(resourcePath, (reference, page) -> reference.setPage(null));
+      recordPageCache = new ResourceCache<>(resourcePath, (reference, page) -> reference.setPage(null));
+      revisionRootPageCache = new ResourceCache<>(resourcePath, null);
+      redBlackTreeNodeCache = new ResourceCache<>(resourcePath, (key, node) -> {
+        final RBNode<?, ?> parent = node.getParent();
+
+        if (parent != null) {
+          if (node.equals(parent.getLeftChild())) {
+            parent.setLeftChild(null);
+          } else if (node.equals(parent.getRightChild())) {
+            parent.setRightChild(null);
+          }
+        }
+      });
+      leafPageReferenceCache = new ResourceCache<>(resourcePath, null);
+      this.metrics = metrics;
+    }
+
+    @Override
+    public Cache<PageReference, Page> getRecordPageCache() {
+      return recordPageCache;
+    }
+
+    @Override
+    public Cache<PageReference, Page> getPageCache() {
+      return pageCache;
+    }
+
+    @Override
+    public Cache<Integer, RevisionRootPage> getRevisionRootPageCache() {
+      return revisionRootPageCache;
+    }
+
+    @Override
+    public Cache<RBIndexKey, RBNode<?, ?>> getIndexCache() {
+      return redBlackTreeNodeCache;
+    }
+
+    @Override
+    public Cache<LeafPageReferenceKey, PageReference> getLeafPageReferenceCache() {
+      return leafPageReferenceCache;
+    }
+
+    @Override
+    public StorageMetrics getMetrics() {
+      return metrics;
+    }
+
+    @Override
+    public void close() {
+      clearAllCaches();
+    }
+  }
+}
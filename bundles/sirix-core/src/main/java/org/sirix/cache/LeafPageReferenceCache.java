@@ -0,0 +1,65 @@
+package org.sirix.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.sirix.page.PageReference;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the references to the leaves of the indirect page trees, which have been looked up by the
+ * read-only transactions of a resource. The entries don't expire, as they are valid as long as the
+ * storage isn't truncated.
+ */
+public final class LeafPageReferenceCache implements Cache<LeafPageReferenceKey, PageReference> {
+
+  private final com.github.benmanes.caffeine.cache.Cache<LeafPageReferenceKey, PageReference> cache;
+
+  public LeafPageReferenceCache(final int maxSize) {
+    cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  @Override
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public PageReference get(LeafPageReferenceKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  @Override
+  public void put(LeafPageReferenceKey key, PageReference value) {
+    cache.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends LeafPageReferenceKey, ? extends PageReference> map) {
+    cache.putAll(map);
+  }
+
+  @Override
+  public void toSecondCache() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Map<LeafPageReferenceKey, PageReference> getAll(Iterable<? extends LeafPageReferenceKey> keys) {
+    return cache.getAllPresent(keys);
+  }
+
+  @Override
+  public Set<LeafPageReferenceKey> keys() {
+    return Set.copyOf(cache.asMap().keySet());
+  }
+
+  @Override
+  public void remove(LeafPageReferenceKey key) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,12 @@
+package org.sirix.cache;
+
+/**
+ * The key of a reference to a leaf of an indirect page tree, relative to a persisted indirect page.
+ * As persisted pages are never modified, the key denotes the same leaf in all revisions sharing the
+ * indirect page.
+ *
+ * @param indirectPageKey the storage key of the indirect page
+ * @param levelKey        the page key relative to the indirect page
+ */
+public record LeafPageReferenceKey(long indirectPageKey, long levelKey) {
+}
@@ -1,6 +1,7 @@
 package org.sirix.cache;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.sirix.page.PageReference;
 import org.sirix.page.interfaces.Page;
@@ -54,6 +55,11 @@ public final class PageCache implements Cache<PageReference, Page> {
     return pageCache.getAllPresent(keys);
   }
 
+  @Override
+  public Set<PageReference> keys() {
+    return Set.copyOf(pageCache.asMap().keySet());
+  }
+
   @Override
   public void remove(PageReference key) {
     pageCache.invalidate(key);
@@ -8,6 +8,7 @@ import org.sirix.page.PageReference;
 import org.sirix.page.interfaces.Page;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public final class RecordPageCache implements Cache<PageReference, Page> {
@@ -58,6 +59,11 @@ public final class RecordPageCache implements Cache<PageReference, Page> {
     return pageCache.getAllPresent(keys);
   }
 
+  @Override
+  public Set<PageReference> keys() {
+    return Set.copyOf(pageCache.asMap().keySet());
+  }
+
   @Override
   public void remove(PageReference key) {
     pageCache.invalidate(key);
@@ -28,6 +28,7 @@
 package org.sirix.cache;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.sirix.page.RevisionRootPage;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -77,6 +78,11 @@ public final class RevisionRootPageCache implements Cache<Integer, RevisionRootP
     return pageCache.getAllPresent(keys);
   }
 
+  @Override
+  public Set<Integer> keys() {
+    return Set.copyOf(pageCache.asMap().keySet());
+  }
+
   @Override
   public void remove(Integer key) {
     pageCache.invalidate(key);
@@ -2,11 +2,14 @@ package org.sirix.cache;
 
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.index.IndexType;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.page.*;
 import org.sirix.settings.Constants;
 
 import java.util.*;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * The transaction intent log, used for logging everything a write transaction changes.
  *
@@ -36,6 +39,21 @@ public final class TransactionIntentLog implements AutoCloseable {
 
   private PageReadOnlyTrx pageReadOnlyTrx;
 
+  /**
+   * Records the pages spilled to the second cache.
+   */
+  private StorageMetrics metrics;
+
+  /**
+   * The number of times pages have been spilled to the second cache.
+   */
+  private long spillCount;
+
+  /**
+   * The maximum size of the in-memory map.
+   */
+  private final int maxInMemoryCapacity;
+
   /**
    * Creates a new transaction intent log.
    *
@@ -49,6 +67,8 @@ public final class TransactionIntentLog implements AutoCloseable {
     assert secondCache != null;
     logKey = 0;
     this.secondCache = secondCache;
+    metrics = StorageMetrics.disabled();
+    this.maxInMemoryCapacity = maxInMemoryCapacity;
     mapToPersistentLogKey = new HashMap<>(maxInMemoryCapacity >> 1);
     map = new LinkedHashMap<>(maxInMemoryCapacity >> 1) {
       private static final long serialVersionUID = 1;
@@ -56,13 +76,16 @@ public final class TransactionIntentLog implements AutoCloseable {
       @Override
       protected boolean removeEldestEntry(final Map.Entry<PageReference, PageContainer> eldest) {
         if (size() > maxInMemoryCapacity) {
+          final long startTime = metrics.startTimer();
+          int spilledPages = 0;
           int i = 0;
           final var iter = map.entrySet().iterator();
           final int size = size();
-          while (iter.hasNext() && i < (size / 2)) {
+          // The most recently added page is never spilled, as it is modified by the caller afterwards.
+          for (int j = 0; j < size - 1 && i < (size / 2); j++) {
             final Map.Entry<PageReference, PageContainer> entry = iter.next();
 
-            if (isImportant(entry))
+            if (!isSpillable(entry))
               continue;
 
             i++;
@@ -76,21 +99,24 @@ public final class TransactionIntentLog implements AutoCloseable {
               //noinspection UnusedAssignment
               value = null;
               mapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
+              spilledPages++;
             }
           }
+          if (spilledPages > 0) {
+            spillCount++;
+          }
+          metrics.recordIntentLogSpill(startTime, spilledPages);
         }
         return false;
       }
 
-      private boolean isImportant(Map.Entry<PageReference, PageContainer> eldest) {
-        final var page = eldest.getValue().getComplete();
-        if (page instanceof RevisionRootPage || page instanceof NamePage || page instanceof CASPage
-            || page instanceof PathPage || page instanceof PathSummaryPage || page instanceof UberPage) {
-          return true;
-        } else if (page instanceof UnorderedKeyValuePage dataPage) {
-          return dataPage.getIndexType() != IndexType.DOCUMENT;
-        }
-        return false;
+      /**
+       * Only the record pages of the document index are spilled. Indirect pages are kept, as the
+       * references they hold are updated once their children are added to the log.
+       */
+      private boolean isSpillable(Map.Entry<PageReference, PageContainer> entry) {
+        final var page = entry.getValue().getComplete();
+        return page instanceof UnorderedKeyValuePage dataPage && dataPage.getIndexType() == IndexType.DOCUMENT;
       }
     };
   }
@@ -100,6 +126,28 @@ public final class TransactionIntentLog implements AutoCloseable {
     return this;
   }
 
+  /**
+   * Set the metrics, to which spilling pages to the second cache is recorded.
+   *
+   * @param metrics the storage metrics of the resource
+   * @return this log instance
+   */
+  public TransactionIntentLog setMetrics(final StorageMetrics metrics) {
+    this.metrics = checkNotNull(metrics);
+    return this;
+  }
+
+  /**
+   * Get the number of times pages have been spilled to the second cache. Page containers, which are
+   * spilled, are serialized and read again once they are requested, thus references to a container or
+   * to its records, which have been obtained before, must not be modified afterwards.
+   *
+   * @return the number of times pages have been spilled
+   */
+  public long getSpillCount() {
+    return spillCount;
+  }
+
   /**
    * Retrieves an entry from the cache.<br>
    *
@@ -24,6 +24,7 @@ package org.sirix.diff;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.sirix.access.trx.node.HashType;
+import org.sirix.api.AccessPattern;
 import org.sirix.api.Axis;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
@@ -168,6 +169,8 @@ abstract class AbstractDiff<R extends NodeReadOnlyTrx & NodeCursor, W extends No
       oldRtx = builder.resMgr.beginNodeReadOnlyTrx(builder.oldRev);
       hashKind = builder.hashKind;
     }
+    newRtx.getPageTrx().setAccessPattern(AccessPattern.SCAN);
+    oldRtx.getPageTrx().setAccessPattern(AccessPattern.SCAN);
     newRtxMoved = newRtx.moveTo(builder.newStartKey);
     oldRtxMoved = oldRtx.moveTo(builder.oldStartKey);
     if (newRtx.getKind() == documentNode()) {
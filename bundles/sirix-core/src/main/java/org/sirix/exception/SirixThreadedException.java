@@ -52,6 +52,16 @@ public final class SirixThreadedException extends SirixRuntimeException {
     super(message);
   }
 
+  /**
+   * Exception for a failure of another thread.
+   * 
+   * @param message to be stored
+   * @param cause the failure of the other thread
+   */
+  public SirixThreadedException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+
   /**
    * Constructor for execution exception exceptions.
    * 
@@ -0,0 +1,17 @@
+package org.sirix.index;
+
+/**
+ * An index builder, which collects the entries of an index while the nodes are visited and writes
+ * them afterwards in key order.
+ */
+public interface BulkIndexBuilder {
+  /**
+   * Sort the collected entries. Might be called concurrently for the builders of different indexes.
+   */
+  void sort();
+
+  /**
+   * Write the sorted entries to the index.
+   */
+  void finish();
+}
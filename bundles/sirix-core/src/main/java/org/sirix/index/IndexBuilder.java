@@ -7,10 +7,13 @@ import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.NonStructuralWrapperAxis;
 
+import java.util.List;
 import java.util.Set;
 
 /**
- * Build an index by traversing the current revision.
+ * Build an index by traversing the current revision. Builders implementing {@link BulkIndexBuilder}
+ * only collect their entries during the traversal. The entries are sorted afterwards (in parallel
+ * for different indexes) and written to the index in key order.
  *
  * @author Johannes Lichtenberger
  *
@@ -35,6 +38,7 @@ public final class IndexBuilder {
         rtx.acceptVisitor(builder);
       }
     }
+    finish(builders);
     rtx.moveTo(nodeKey);
   }
 
@@ -55,7 +59,23 @@ public final class IndexBuilder {
         rtx.acceptVisitor(builder);
       }
     }
+    finish(builders);
     rtx.moveTo(nodeKey);
   }
 
+  /**
+   * Sort the collected entries of all bulk index builders concurrently and write them to the
+   * indexes one after the other, as the page transaction is not thread-safe.
+   *
+   * @param builders the index builders
+   */
+  private static void finish(final Set<?> builders) {
+    final List<BulkIndexBuilder> bulkIndexBuilders = builders.stream()
+                                                             .filter(BulkIndexBuilder.class::isInstance)
+                                                             .map(BulkIndexBuilder.class::cast)
+                                                             .toList();
+    bulkIndexBuilders.parallelStream().forEach(BulkIndexBuilder::sort);
+    bulkIndexBuilders.forEach(BulkIndexBuilder::finish);
+  }
+
 }
@@ -0,0 +1,471 @@
+package org.sirix.index;
+
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Collects {@code (key, nodeKey)} pairs of an index, which is built from scratch, and returns them
+ * sorted by key and grouped into {@link NodeReferences}. If more than {@code runSize} pairs are
+ * added, sorted runs are spilled to temporary files, which are merged afterwards (external merge
+ * sort), so the memory footprint is bounded regardless of the size of the resource. Full runs are
+ * sorted and written in the background, while further pairs are added to the next run.
+ *
+ * @param <K> the type of the index keys
+ */
+public final class IndexEntrySorter<K extends Comparable<? super K>> implements AutoCloseable {
+
+  /**
+   * Default maximum number of pairs kept in memory.
+   */
+  public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+  /**
+   * Serializes the keys of spilled runs.
+   *
+   * @param <K> the type of the keys
+   */
+  public interface KeySerializer<K> {
+    /**
+     * Write a key.
+     *
+     * @param out the output to write to
+     * @param key the key
+     * @throws IOException if an I/O error occurs
+     */
+    void write(DataOutput out, K key) throws IOException;
+
+    /**
+     * Read a key.
+     *
+     * @param in the input to read from
+     * @return the key
+     * @throws IOException if an I/O error occurs
+     */
+    K read(DataInput in) throws IOException;
+  }
+
+  /**
+   * Serializer of path node keys (the keys of path indexes).
+   *
+   * @return the serializer
+   */
+  public static KeySerializer<Long> longKeys() {
+    return new KeySerializer<>() {
+      @Override
+      public void write(DataOutput out, Long key) throws IOException {
+        out.writeLong(key);
+      }
+
+      @Override
+      public Long read(DataInput in) throws IOException {
+        return in.readLong();
+      }
+    };
+  }
+
+  /**
+   * Serializer of names (the keys of name indexes).
+   *
+   * @return the serializer
+   */
+  public static KeySerializer<QNm> qnmKeys() {
+    return new KeySerializer<>() {
+      @Override
+      public void write(DataOutput out, QNm key) throws IOException {
+        writeString(out, key.getNamespaceURI());
+        writeString(out, key.getPrefix());
+        writeString(out, key.getLocalName());
+      }
+
+      @Override
+      public QNm read(DataInput in) throws IOException {
+        return new QNm(readString(in), readString(in), readString(in));
+      }
+    };
+  }
+
+  /**
+   * Serializer of typed values and their path class records (the keys of CAS indexes).
+   *
+   * @param type the content type of the index
+   * @return the serializer
+   */
+  public static KeySerializer<CASValue> casValueKeys(final Type type) {
+    checkNotNull(type);
+    return new KeySerializer<>() {
+      @Override
+      public void write(DataOutput out, CASValue key) throws IOException {
+        final byte[] value = key.getValue();
+        out.writeInt(value.length);
+        out.write(value);
+        out.writeLong(key.getPathNodeKey());
+      }
+
+      @Override
+      public CASValue read(DataInput in) throws IOException {
+        final byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return new CASValue(AtomicUtil.fromBytes(value, type), type, in.readLong());
+      }
+    };
+  }
+
+  private record Entry<K>(K key, long nodeKey) {
+  }
+
+  private final KeySerializer<K> serializer;
+
+  private final int runSize;
+
+  private final Comparator<Entry<K>> comparator;
+
+  private final List<Path> runs;
+
+  private Entry<K>[] currentRun;
+
+  private int currentRunSize;
+
+  private boolean currentRunSorted;
+
+  /**
+   * Sorts and writes the most recently spilled run.
+   */
+  private CompletableFuture<Void> pendingSpill = CompletableFuture.completedFuture(null);
+
+  /**
+   * Constructor.
+   *
+   * @param serializer serializes the keys of spilled runs
+   */
+  public IndexEntrySorter(final KeySerializer<K> serializer) {
+    this(serializer, DEFAULT_RUN_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param serializer serializes the keys of spilled runs
+   * @param runSize    maximum number of pairs kept in memory
+   */
+  @SuppressWarnings("unchecked")
+  public IndexEntrySorter(final KeySerializer<K> serializer, final int runSize) {
+    checkArgument(runSize > 0, "runSize must be > 0!");
+    this.serializer = checkNotNull(serializer);
+    this.runSize = runSize;
+    this.comparator = Comparator.<Entry<K>, K>comparing(Entry::key).thenComparingLong(Entry::nodeKey);
+    this.runs = new ArrayList<>();
+    this.currentRun = new Entry[Math.min(runSize, 1024)];
+  }
+
+  /**
+   * Add a pair.
+   *
+   * @param key     the index key
+   * @param nodeKey the key of the indexed node
+   */
+  public void add(final K key, final long nodeKey) {
+    checkNotNull(key);
+    if (currentRunSize == runSize) {
+      spill();
+    } else if (currentRunSize == currentRun.length) {
+      currentRun = Arrays.copyOf(currentRun, Math.min(runSize, currentRun.length << 1));
+    }
+    currentRun[currentRunSize++] = new Entry<>(key, nodeKey);
+    currentRunSorted = false;
+  }
+
+  /**
+   * Sort the pairs added so far, that is wait for the runs spilled in the background and sort the
+   * pairs kept in memory.
+   */
+  public void sort() {
+    awaitPendingSpill();
+    if (!currentRunSorted) {
+      Arrays.parallelSort(currentRun, 0, currentRunSize, comparator);
+      currentRunSorted = true;
+    }
+  }
+
+  /**
+   * Get the pairs sorted by key, whereas the node keys of equal keys are grouped. The returned
+   * iterator must be consumed before further pairs are added.
+   *
+   * @return the sorted entries
+   */
+  public Iterator<Map.Entry<K, NodeReferences>> sortedEntries() {
+    sort();
+
+    final var runIterators = new ArrayList<RunIterator<K>>(runs.size() + 1);
+    for (final Path run : runs) {
+      runIterators.add(new SpilledRunIterator<>(run, serializer));
+    }
+    runIterators.add(new InMemoryRunIterator<>(currentRun, currentRunSize));
+
+    return new GroupingIterator<>(new MergingIterator<>(runIterators, comparator));
+  }
+
+  /**
+   * Sort and write the current run in the background. At most one run is spilled at a time, thus at
+   * most two runs are kept in memory.
+   */
+  @SuppressWarnings("unchecked")
+  private void spill() {
+    awaitPendingSpill();
+
+    final Path run;
+    try {
+      run = Files.createTempFile("sirix-index-run", ".tmp");
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    runs.add(run);
+
+    final Entry<K>[] entries = currentRun;
+    final int size = currentRunSize;
+    pendingSpill = CompletableFuture.runAsync(() -> {
+      Arrays.parallelSort(entries, 0, size, comparator);
+      try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+          serializer.write(out, entries[i].key());
+          out.writeLong(entries[i].nodeKey());
+        }
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    });
+
+    currentRun = new Entry[runSize];
+    currentRunSize = 0;
+  }
+
+  private void awaitPendingSpill() {
+    try {
+      pendingSpill.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      awaitPendingSpill();
+    } catch (final SirixIOException ignored) {
+      // The runs are deleted anyway.
+    }
+    for (final Path run : runs) {
+      try {
+        Files.deleteIfExists(run);
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+    runs.clear();
+    currentRun = null;
+    currentRunSize = 0;
+  }
+
+  /**
+   * Write a string, which might be {@code null}. The length {@code -1} marks {@code null}, such that
+   * it's read back as {@code null} instead of an empty string.
+   */
+  private static void writeString(final DataOutput out, final String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInput in) throws IOException {
+    final int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private interface RunIterator<K> extends Iterator<Entry<K>>, AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final class InMemoryRunIterator<K> implements RunIterator<K> {
+    private final Entry<K>[] entries;
+
+    private final int size;
+
+    private int index;
+
+    InMemoryRunIterator(final Entry<K>[] entries, final int size) {
+      this.entries = entries;
+      this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < size;
+    }
+
+    @Override
+    public Entry<K> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return entries[index++];
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static final class SpilledRunIterator<K> implements RunIterator<K> {
+    private final DataInputStream in;
+
+    private final KeySerializer<K> serializer;
+
+    private int remaining;
+
+    SpilledRunIterator(final Path run, final KeySerializer<K> serializer) {
+      this.serializer = serializer;
+      try {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        remaining = in.readInt();
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public Entry<K> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        final var entry = new Entry<>(serializer.read(in), in.readLong());
+        if (--remaining == 0) {
+          close();
+        }
+        return entry;
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        in.close();
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Merges sorted runs (k-way merge).
+   */
+  private static final class MergingIterator<K> implements Iterator<Entry<K>> {
+    private record Head<K>(Entry<K> entry, RunIterator<K> run) {
+    }
+
+    private final PriorityQueue<Head<K>> heads;
+
+    MergingIterator(final List<RunIterator<K>> runs, final Comparator<Entry<K>> comparator) {
+      heads = new PriorityQueue<>(Math.max(1, runs.size()), (first, second) -> comparator.compare(first.entry(),
+                                                                                                  second.entry()));
+      for (final RunIterator<K> run : runs) {
+        if (run.hasNext()) {
+          heads.add(new Head<>(run.next(), run));
+        } else {
+          run.close();
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heads.isEmpty();
+    }
+
+    @Override
+    public Entry<K> next() {
+      final Head<K> head = heads.poll();
+      if (head == null) {
+        throw new NoSuchElementException();
+      }
+      if (head.run().hasNext()) {
+        heads.add(new Head<>(head.run().next(), head.run()));
+      }
+      return head.entry();
+    }
+  }
+
+  /**
+   * Groups the node keys of consecutive equal keys.
+   */
+  private static final class GroupingIterator<K extends Comparable<? super K>>
+      implements Iterator<Map.Entry<K, NodeReferences>> {
+    private final Iterator<Entry<K>> entries;
+
+    private Entry<K> next;
+
+    GroupingIterator(final Iterator<Entry<K>> entries) {
+      this.entries = entries;
+      next = entries.hasNext() ? entries.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Map.Entry<K, NodeReferences> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final K key = next.key();
+      final var references = new NodeReferences();
+      references.addNodeKey(next.nodeKey());
+      next = null;
+      while (entries.hasNext()) {
+        final Entry<K> entry = entries.next();
+        if (entry.key().compareTo(key) != 0) {
+          next = entry;
+          break;
+        }
+        references.addNodeKey(entry.nodeKey());
+      }
+      return Map.entry(key, references);
+    }
+  }
+}
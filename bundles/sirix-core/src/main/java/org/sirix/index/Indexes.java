@@ -5,6 +5,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.brackit.xquery.atomic.Str;
 import org.checkerframework.checker.index.qual.NonNegative;
@@ -25,12 +28,61 @@ import org.brackit.xquery.xdm.node.Node;
 public final class Indexes implements Materializable {
   public static final QNm INDEXES_TAG = new QNm("indexes");
 
+  /**
+   * Source of the generations of the resources, such that a resource never gets a generation it has
+   * had before.
+   */
+  private static final AtomicLong GENERATION = new AtomicLong();
+
+  /**
+   * The current generations of resources (keyed by the resource paths). A new generation starts
+   * whenever a resource is committed (which includes its index definitions and the indexed data) or
+   * removed, such that caches of index dependent data (for instance compiled queries, which are
+   * rewritten based on the index definitions and the index statistics of the queried resources) can
+   * be invalidated per resource.
+   */
+  private static final ConcurrentMap<java.nio.file.Path, Long> GENERATIONS = new ConcurrentHashMap<>();
+
   private final Set<IndexDef> indexes;
 
   public Indexes() {
     indexes = new HashSet<>();
   }
 
+  /**
+   * Get the generation of a resource, which changes whenever the resource (including its index
+   * definitions) is committed or removed.
+   *
+   * @param resourcePath the path of the resource
+   * @return the current generation of the resource
+   */
+  public static long getGeneration(final java.nio.file.Path resourcePath) {
+    return GENERATIONS.getOrDefault(resourcePath.toAbsolutePath().normalize(), 0L);
+  }
+
+  /**
+   * Start a new generation of a resource, for instance because the resource has been committed or
+   * removed.
+   *
+   * @param resourcePath the path of the resource
+   */
+  public static void incrementGeneration(final java.nio.file.Path resourcePath) {
+    GENERATIONS.put(resourcePath.toAbsolutePath().normalize(), GENERATION.incrementAndGet());
+  }
+
+  /**
+   * Start new generations of all resources of a database, for instance because the database has been
+   * removed.
+   *
+   * @param databasePath the path of the database
+   */
+  public static void incrementGenerations(final java.nio.file.Path databasePath) {
+    final java.nio.file.Path normalizedDatabasePath = databasePath.toAbsolutePath().normalize();
+    GENERATIONS.replaceAll((resourcePath, generation) -> resourcePath.startsWith(normalizedDatabasePath)
+        ? GENERATION.incrementAndGet()
+        : generation);
+  }
+
   public synchronized Set<IndexDef> getIndexDefs() {
     return new HashSet<>(indexes);
   }
@@ -0,0 +1,321 @@
+package org.sirix.index;
+
+import com.google.common.collect.AbstractIterator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.ResourceSession;
+import org.sirix.index.redblacktree.RBNode;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+import org.sirix.node.interfaces.DataRecord;
+import org.sirix.page.IndirectPage;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.settings.Constants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads a versioned secondary index (CAS, path or name index) over a range of revisions.
+ *
+ * <p>An index is stored in record pages, which are referenced by a trie of indirect pages, and
+ * unchanged pages are shared between revisions. Thus, the tries of consecutive revisions are
+ * compared and only the entries of record pages, which have been rewritten in a revision, are read
+ * and filtered. Subtrees of indirect pages and record pages, whose references haven't changed, are
+ * skipped. Each entry is returned together with the run of revisions, in which it is valid, once the
+ * run ended.
+ */
+public final class TemporalIndexReader {
+
+  /**
+   * The node references of an index entry, which are valid from {@code fromRevision} up to and
+   * including {@code toRevision}.
+   *
+   * @param fromRevision   the first revision, in which the entry is valid
+   * @param toRevision     the last revision, in which the entry is valid
+   * @param nodeReferences the node references
+   */
+  public record RevisionNodeReferences(int fromRevision, int toRevision, NodeReferences nodeReferences) {
+  }
+
+  /**
+   * An entry, which is valid since {@code fromRevision}.
+   *
+   * @param nodeKey        the key of the red-black tree node of the entry
+   * @param key            the key of the entry
+   * @param nodeReferences the node references of the entry
+   * @param fromRevision   the first revision, in which the entry is valid
+   */
+  private record OpenEntry(long nodeKey, Object key, NodeReferences nodeReferences, int fromRevision) {
+  }
+
+  private TemporalIndexReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Open the index in all revisions from {@code fromRevision} up to and including {@code toRevision}.
+   * Revisions, in which the index doesn't exist yet, are skipped.
+   *
+   * <p>The filter of a revision is only created, if record pages of the index have been rewritten in
+   * the revision, and it's only applied to the entries of these pages. The transactions, which are
+   * handed to {@code createFilter}, are closed once the entries of their revision have been read.
+   *
+   * @param resourceSession the resource session
+   * @param indexDef        the index definition
+   * @param fromRevision    the first revision
+   * @param toRevision      the last revision
+   * @param createFilter    creates the filter of the entries of a revision, given a read-only
+   *                        transaction on the revision, or returns {@code null}, if all entries match
+   * @param <R>             the type of the read-only transactions
+   * @return the matching entries ordered by the revision, in which they are valid last
+   */
+  public static <R extends NodeReadOnlyTrx & NodeCursor> Iterator<RevisionNodeReferences> openIndex(
+      final ResourceSession<R, ?> resourceSession, final IndexDef indexDef, final @NonNegative int fromRevision,
+      final @NonNegative int toRevision, final Function<R, @Nullable Filter> createFilter) {
+    checkNotNull(resourceSession);
+    checkNotNull(indexDef);
+    checkNotNull(createFilter);
+    checkArgument(fromRevision >= 0 && fromRevision <= toRevision,
+                  "The revision range must not be empty and must not be negative.");
+    checkArgument(toRevision <= resourceSession.getMostRecentRevisionNumber(), "The revision does not exist.");
+
+    return new AbstractIterator<>() {
+      /** The next revision to compare with its predecessor. */
+      private int revision = fromRevision;
+
+      /** The root of the index in the previous revision, if the index exists. */
+      private PageReference previousRoot;
+
+      /** The height of the trie of indirect pages of the index in the previous revision. */
+      private int previousHeight;
+
+      /** The entries, which are valid in the previous revision, by the keys of their record pages. */
+      private final Map<Long, List<OpenEntry>> openEntries = new HashMap<>();
+
+      /** Entries, which aren't valid anymore, and haven't been returned yet. */
+      private final Queue<RevisionNodeReferences> closedEntries = new ArrayDeque<>();
+
+      @Override
+      protected RevisionNodeReferences computeNext() {
+        while (closedEntries.isEmpty()) {
+          if (revision > toRevision) {
+            if (openEntries.isEmpty()) {
+              return endOfData();
+            }
+            openEntries.values().forEach(entries -> close(entries, toRevision));
+            openEntries.clear();
+          } else {
+            readChanges(revision++);
+          }
+        }
+
+        return closedEntries.poll();
+      }
+
+      private void readChanges(final int revision) {
+        try (final R rtx = resourceSession.beginNodeReadOnlyTrx(revision)) {
+          final PageReadOnlyTrx pageRtx = rtx.getPageTrx();
+          final RevisionRootPage revisionRootPage = pageRtx.getActualRevisionRootPage();
+          final PageReference root = getIndexRoot(pageRtx, revisionRootPage, indexDef);
+
+          if (root == null) {
+            // The index doesn't exist in this revision.
+            openEntries.values().forEach(entries -> close(entries, revision - 1));
+            openEntries.clear();
+            previousRoot = null;
+            return;
+          }
+
+          final int height =
+              pageRtx.getCurrentMaxIndirectPageTreeLevel(indexDef.getType(), indexDef.getID(), revisionRootPage);
+          final int[] pageCountExponents = pageRtx.getUberPage().getPageCountExp(indexDef.getType());
+          final LongList changedPageKeys = new LongArrayList();
+          collectChangedPageKeys(pageRtx,
+                                 pageCountExponents,
+                                 previousRoot,
+                                 previousHeight,
+                                 root,
+                                 height,
+                                 0,
+                                 changedPageKeys);
+          previousRoot = root;
+          previousHeight = height;
+
+          if (changedPageKeys.isEmpty()) {
+            return;
+          }
+
+          final Filter filter = createFilter.apply(rtx);
+          final long maxNodeKey = getMaxNodeKey(pageRtx, revisionRootPage, indexDef);
+
+          for (final long pageKey : changedPageKeys) {
+            readChangedPage(pageRtx, filter, maxNodeKey, pageKey, revision);
+          }
+        }
+      }
+
+      /**
+       * Compare the entries of a rewritten record page with the entries, which have been valid in the
+       * previous revision. Entries, which haven't changed, stay valid.
+       */
+      private void readChangedPage(final PageReadOnlyTrx pageRtx, final @Nullable Filter filter,
+          final long maxNodeKey, final long pageKey, final int revision) {
+        final List<OpenEntry> previousEntries = openEntries.remove(pageKey);
+        final Map<Long, OpenEntry> previousEntriesByNodeKey = new HashMap<>();
+        if (previousEntries != null) {
+          previousEntries.forEach(entry -> previousEntriesByNodeKey.put(entry.nodeKey(), entry));
+        }
+
+        final List<OpenEntry> entries = new ArrayList<>();
+        final long firstNodeKey = pageKey << Constants.NDP_NODE_COUNT_EXPONENT;
+        final long lastNodeKey = Math.min(maxNodeKey, firstNodeKey + Constants.NDP_NODE_COUNT - 1);
+
+        for (long nodeKey = firstNodeKey; nodeKey <= lastNodeKey; nodeKey++) {
+          final DataRecord record = pageRtx.getRecord(nodeKey, indexDef.getType(), indexDef.getID());
+          if (!(record instanceof RBNode<?, ?> node && node.getValue() instanceof NodeReferences nodeReferences)) {
+            continue;
+          }
+          if (filter != null && !accept(filter, node)) {
+            continue;
+          }
+
+          final Object key = node.getKey();
+          final OpenEntry previousEntry = previousEntriesByNodeKey.remove(nodeKey);
+          if (previousEntry != null && previousEntry.key().equals(key)
+              && previousEntry.nodeReferences().equals(nodeReferences)) {
+            entries.add(previousEntry);
+          } else {
+            if (previousEntry != null) {
+              close(List.of(previousEntry), revision - 1);
+            }
+            entries.add(new OpenEntry(nodeKey, key, nodeReferences, revision));
+          }
+        }
+
+        close(previousEntriesByNodeKey.values(), revision - 1);
+
+        if (!entries.isEmpty()) {
+          openEntries.put(pageKey, entries);
+        }
+      }
+
+      private void close(final Iterable<OpenEntry> entries, final int toRevision) {
+        for (final OpenEntry entry : entries) {
+          closedEntries.add(new RevisionNodeReferences(entry.fromRevision(), toRevision, entry.nodeReferences()));
+        }
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K extends Comparable<? super K>> boolean accept(final Filter filter, final RBNode<?, ?> node) {
+    return filter.filter((RBNode<K, NodeReferences>) node);
+  }
+
+  /**
+   * Collect the keys of the record pages, which are referenced differently by the trie of the current
+   * revision than by the trie of the previous revision. Subtrees, which are shared by both tries, are
+   * skipped. If the trie has grown, the previous trie is the leftmost subtree of the current trie.
+   *
+   * @param pageRtx            the page transaction of the current revision
+   * @param pageCountExponents the exponents of the number of record pages per level
+   * @param previous           the reference in the previous trie or {@code null}
+   * @param previousHeight     the number of levels of indirect pages below {@code previous}
+   * @param current            the reference in the current trie or {@code null}
+   * @param currentHeight      the number of levels of indirect pages below {@code current}
+   * @param firstPageKey       the key of the first record page of the subtree
+   * @param changedPageKeys    the keys of the changed record pages
+   */
+  private static void collectChangedPageKeys(final PageReadOnlyTrx pageRtx, final int[] pageCountExponents,
+      final @Nullable PageReference previous, final int previousHeight, final @Nullable PageReference current,
+      final int currentHeight, final long firstPageKey, final LongList changedPageKeys) {
+    if (previous == null && current == null) {
+      return;
+    }
+
+    final int height = Math.max(previousHeight, currentHeight);
+
+    if (previous != null && current != null && previousHeight == currentHeight && previous.getKey() == current.getKey()
+        && previous.getKey() != Constants.NULL_ID_LONG) {
+      // The subtree is shared.
+      return;
+    }
+
+    if (height == 0) {
+      changedPageKeys.add(firstPageKey);
+      return;
+    }
+
+    final PageReference[] previousChildren = getChildren(pageRtx, previous, previousHeight, height);
+    final PageReference[] currentChildren = getChildren(pageRtx, current, currentHeight, height);
+    final int exponent = pageCountExponents[pageCountExponents.length - height];
+
+    for (int offset = 0, length = Math.max(previousChildren.length, currentChildren.length); offset < length;
+         offset++) {
+      final PageReference previousChild = offset < previousChildren.length ? previousChildren[offset] : null;
+      final PageReference currentChild = offset < currentChildren.length ? currentChildren[offset] : null;
+      // A smaller trie is the leftmost subtree of the larger one.
+      collectChangedPageKeys(pageRtx,
+                             pageCountExponents,
+                             previousChild,
+                             previousHeight == height ? height - 1 : previousHeight,
+                             currentChild,
+                             currentHeight == height ? height - 1 : currentHeight,
+                             firstPageKey + ((long) offset << exponent),
+                             changedPageKeys);
+    }
+  }
+
+  /**
+   * Get the children of a reference to an indirect page by their offsets. A reference to a smaller
+   * trie, than the one, which is compared, is the only (leftmost) child of a virtual indirect page.
+   */
+  private static PageReference[] getChildren(final PageReadOnlyTrx pageRtx, final @Nullable PageReference reference,
+      final int referenceHeight, final int height) {
+    if (reference == null) {
+      return new PageReference[0];
+    }
+    if (referenceHeight < height) {
+      return new PageReference[] { reference };
+    }
+    final IndirectPage page = pageRtx.dereferenceIndirectPageReference(reference);
+    return page == null ? new PageReference[0] : page.getReferencesByOffset();
+  }
+
+  private static @Nullable PageReference getIndexRoot(final PageReadOnlyTrx pageRtx,
+      final RevisionRootPage revisionRootPage, final IndexDef indexDef) {
+    final PageReference reference = switch (indexDef.getType()) {
+      case CAS -> pageRtx.getCASPage(revisionRootPage).getIndirectPageReference(indexDef.getID());
+      case PATH -> pageRtx.getPathPage(revisionRootPage).getIndirectPageReference(indexDef.getID());
+      case NAME -> pageRtx.getNamePage(revisionRootPage).getIndirectPageReference(indexDef.getID());
+      default -> throw new IllegalStateException("Index type " + indexDef.getType() + " is not versioned per index.");
+    };
+
+    return reference == null || reference.getKey() == Constants.NULL_ID_LONG ? null : reference;
+  }
+
+  private static long getMaxNodeKey(final PageReadOnlyTrx pageRtx, final RevisionRootPage revisionRootPage,
+      final IndexDef indexDef) {
+    return switch (indexDef.getType()) {
+      case CAS -> pageRtx.getCASPage(revisionRootPage).getMaxNodeKey(indexDef.getID());
+      case PATH -> pageRtx.getPathPage(revisionRootPage).getMaxNodeKey(indexDef.getID());
+      case NAME -> pageRtx.getNamePage(revisionRootPage).getMaxNodeKey(indexDef.getID());
+      default -> throw new IllegalStateException("Index type " + indexDef.getType() + " is not versioned per index.");
+    };
+  }
+}
@@ -101,6 +101,57 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
     }
   }
 
+  /**
+   * Open the index and only return the keys of the matching entries. Only index pages are read.
+   *
+   * @param pageRtx  the page transaction
+   * @param indexDef the index definition
+   * @param filter   the filter
+   * @return the keys in index order (by PCR and value)
+   */
+  default Iterator<CASValue> openIndexKeys(PageReadOnlyTrx pageRtx, IndexDef indexDef, CASFilter filter) {
+    final RBTreeReader<CASValue, NodeReferences> reader =
+        RBTreeReader.getInstance(pageRtx.getResourceSession().getIndexCache(),
+                                 pageRtx,
+                                 indexDef.getType(),
+                                 indexDef.getID());
+
+    final Set<Long> pcrsRequested = filter == null ? Collections.emptySet() : filter.getPCRs();
+    long startNodeKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+
+    if (pcrsRequested.size() == 1 && filter.getKey() != null) {
+      final Atomic atomic = filter.getKey();
+      final long pcr = pcrsRequested.iterator().next();
+      final SearchMode mode = filter.getMode();
+
+      final CASValue value = new CASValue(atomic, atomic.type(), pcr);
+
+      if (mode == SearchMode.EQUAL) {
+        // Compare for equality by PCR and atomic value.
+        return reader.getCurrentNode(value, mode)
+                     .filter(filter::filter)
+                     .map(node -> Iterators.singletonIterator(node.getKey()))
+                     .orElse(Collections.emptyIterator());
+      }
+
+      // Seek the first node which satisfies the criteria, just like openIndex(...), all matching
+      // nodes are in its subtree.
+      final Optional<RBNode<CASValue, NodeReferences>> firstFoundNode =
+          reader.getCurrentNode(value, SearchMode.EQUAL, Comparator.comparingLong(CASValue::getPathNodeKey))
+                .flatMap(node -> reader.getCurrentNode(node.getNodeKey(), value, mode));
+
+      if (firstFoundNode.isEmpty()) {
+        return Collections.emptyIterator();
+      }
+
+      startNodeKey = firstFoundNode.get().getNodeKey();
+    }
+
+    final Iterator<RBNode<CASValue, NodeReferences>> iter = reader.new RBNodeInOrderIterator(startNodeKey);
+
+    return Iterators.transform(Iterators.filter(iter, node -> filter == null || filter.filter(node)), RBNode::getKey);
+  }
+
   private Function<RBNode<CASValue, NodeReferences>, Iterator<NodeReferences>> findFirstNodeWithMatchingPCRAndAtomicValue(
       CASFilter filter, RBTreeReader<CASValue, NodeReferences> reader, SearchMode mode, CASValue value) {
     return node -> {
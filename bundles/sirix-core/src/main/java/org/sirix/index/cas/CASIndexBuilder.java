@@ -10,9 +10,9 @@ import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
-import org.sirix.index.SearchMode;
+import org.sirix.index.BulkIndexBuilder;
+import org.sirix.index.IndexEntrySorter;
 import org.sirix.index.path.summary.PathSummaryReader;
-import org.sirix.index.redblacktree.RBTreeReader.MoveCursor;
 import org.sirix.index.redblacktree.RBTreeWriter;
 import org.sirix.index.redblacktree.keyvalue.CASValue;
 import org.sirix.index.redblacktree.keyvalue.NodeReferences;
@@ -25,10 +25,9 @@ import org.sirix.node.interfaces.immutable.ImmutableValueNode;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
 import java.util.Set;
 
-public final class CASIndexBuilder {
+public final class CASIndexBuilder implements BulkIndexBuilder {
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(CASIndexBuilder.class));
 
   private final RBTreeWriter<CASValue, NodeReferences> rbTreeWriter;
@@ -39,17 +38,25 @@ public final class CASIndexBuilder {
 
   private final Type type;
 
+  private final IndexEntrySorter<CASValue> sorter;
+
+  private Set<Long> pcrs;
+
   public CASIndexBuilder(final RBTreeWriter<CASValue, NodeReferences> rbTreeWriter,
       final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final Type type) {
     this.pathSummaryReader = pathSummaryReader;
     this.paths = paths;
     this.rbTreeWriter = rbTreeWriter;
     this.type = type;
+    this.sorter = new IndexEntrySorter<>(IndexEntrySorter.casValueKeys(type));
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
     try {
-      if (paths.isEmpty() || pathSummaryReader.getPCRsForPaths(paths, true).contains(pathNodeKey)) {
+      if (pcrs == null) {
+        pcrs = pathSummaryReader.getPCRsForPaths(paths, true);
+      }
+      if (paths.isEmpty() || pcrs.contains(pathNodeKey)) {
         final Str strValue;
 
         if (node instanceof ImmutableValueNode) {
@@ -75,13 +82,7 @@ public final class CASIndexBuilder {
         }
 
         if (isOfType) {
-          final CASValue value = new CASValue(strValue, type, pathNodeKey);
-          final Optional<NodeReferences> textReferences = rbTreeWriter.get(value, SearchMode.EQUAL);
-          if (textReferences.isPresent()) {
-            setNodeReferences(node, textReferences.get(), value);
-          } else {
-            setNodeReferences(node, new NodeReferences(), value);
-          }
+          sorter.add(new CASValue(strValue, type, pathNodeKey), node.getNodeKey());
         }
       }
     } catch (final PathException | SirixIOException e) {
@@ -90,8 +91,15 @@ public final class CASIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final CASValue value)
-      throws SirixIOException {
-    rbTreeWriter.index(value, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  @Override
+  public void sort() {
+    sorter.sort();
+  }
+
+  @Override
+  public void finish() {
+    try (sorter) {
+      rbTreeWriter.bulkLoad(sorter.sortedEntries());
+    }
   }
 }
@@ -0,0 +1,346 @@
+package org.sirix.index.cas;
+
+import org.brackit.xquery.atomic.Atomic;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.index.AtomicUtil;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexType;
+import org.sirix.index.redblacktree.RBNode;
+import org.sirix.index.redblacktree.RBTreeReader;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+import org.sirix.settings.Fixed;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Statistics of a CAS index in a specific revision, used by the query optimizer to estimate the
+ * selectivity of value predicates: the number of entries (node references) per PCR and an
+ * equi-depth histogram of the indexed values per PCR.
+ *
+ * <p>As revisions are immutable, the statistics of a revision are kept by the resource session
+ * (see {@link CASIndexStatisticsStore}). They are maintained at commit from the changes of the
+ * index and only computed by a single scan of the index, if the statistics of the revision a
+ * write transaction has been based on aren't known. Histograms are built from a bounded sample of
+ * the distinct values, such that the memory needed doesn't depend on the index size.
+ */
+public final class CASIndexStatistics {
+
+  /**
+   * The number of buckets of each histogram.
+   */
+  static final int BUCKETS = 64;
+
+  /**
+   * The maximum number of distinct values sampled per PCR.
+   */
+  static final int SAMPLE_SIZE = 8_192;
+
+  /**
+   * Statistics of a single PCR.
+   *
+   * @param entryCount    the number of node references
+   * @param distinctCount the number of distinct values
+   * @param bounds        the (inclusive) upper bounds of the histogram buckets, each bucket holds the
+   *                      same number of entries
+   */
+  private record PCRStatistics(long entryCount, long distinctCount, Atomic[] bounds) {
+  }
+
+  /**
+   * The statistics per PCR.
+   */
+  private final Map<Long, PCRStatistics> statistics;
+
+  /**
+   * The type of the indexed values.
+   */
+  private final Type contentType;
+
+  private CASIndexStatistics(final Map<Long, PCRStatistics> statistics, final Type contentType) {
+    this.statistics = statistics;
+    this.contentType = contentType;
+  }
+
+  /**
+   * Get the statistics of a CAS index in the revision the page transaction is bound to.
+   *
+   * @param pageRtx  the page transaction
+   * @param indexDef the definition of the CAS index
+   * @return the statistics
+   */
+  public static CASIndexStatistics get(final PageReadOnlyTrx pageRtx, final IndexDef indexDef) {
+    checkNotNull(pageRtx);
+    checkNotNull(indexDef);
+    checkArgument(indexDef.getType() == IndexType.CAS, "indexDef must be a CAS index definition!");
+
+    return pageRtx.getResourceSession()
+                  .getCASIndexStatistics()
+                  .get(pageRtx.getRevisionNumber(), indexDef.getID(), () -> compute(pageRtx, indexDef));
+  }
+
+  private static CASIndexStatistics compute(final PageReadOnlyTrx pageRtx, final IndexDef indexDef) {
+    final RBTreeReader<CASValue, NodeReferences> reader =
+        RBTreeReader.getInstance(pageRtx.getResourceSession().getIndexCache(),
+                                 pageRtx,
+                                 indexDef.getType(),
+                                 indexDef.getID());
+
+    final Iterator<RBNode<CASValue, NodeReferences>> iter =
+        reader.new RBNodeIterator(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+
+    final var samplers = new HashMap<Long, Sampler>();
+    final var random = new Random(indexDef.getID());
+
+    while (iter.hasNext()) {
+      final RBNode<CASValue, NodeReferences> node = iter.next();
+      final CASValue casValue = node.getKey();
+      final Atomic atomic = casValue.getAtomicValue();
+
+      if (atomic == null) {
+        continue;
+      }
+
+      final int references = node.getValue().getNodeKeys().size();
+
+      if (references == 0) {
+        continue;
+      }
+
+      samplers.computeIfAbsent(casValue.getPathNodeKey(), unused -> new Sampler())
+              .add(toIndexedType(casValue), references, 1, random);
+    }
+
+    final var statistics = new HashMap<Long, PCRStatistics>(samplers.size());
+    samplers.forEach((pcr, sampler) -> statistics.put(pcr, sampler.toStatistics()));
+
+    return new CASIndexStatistics(statistics, indexDef.getContentType());
+  }
+
+  /**
+   * Derive statistics from the statistics of a former revision and the changes of the entries since.
+   * The entry counts are exact, the histograms merge the former histogram with the sample of the
+   * added values. Removed values aren't removed from the histograms, as they aren't sampled.
+   *
+   * @param baseStatistics the statistics of the former revision or {@code null}, if the index has
+   *                       been empty
+   * @param changes        the changes per PCR
+   * @param contentType    the type of the indexed values, if no former statistics are given
+   * @param random         the source of randomness for sampling
+   * @return the derived statistics
+   */
+  static CASIndexStatistics merge(final @Nullable CASIndexStatistics baseStatistics, final Map<Long, Sampler> changes,
+      final Type contentType, final Random random) {
+    final var statistics = new HashMap<Long, PCRStatistics>(
+        baseStatistics == null ? Map.of() : baseStatistics.statistics);
+
+    changes.forEach((pcr, change) -> {
+      final PCRStatistics base = statistics.get(pcr);
+      final long entryCount = Math.max(0, (base == null ? 0 : base.entryCount()) + change.entryCount);
+      final long distinctCount = Math.max(0, (base == null ? 0 : base.distinctCount()) + change.distinctCount);
+
+      final Atomic[] bounds;
+      if (entryCount == 0) {
+        bounds = new Atomic[0];
+      } else if (change.values.isEmpty()) {
+        bounds = base.bounds();
+      } else if (base == null || base.bounds().length == 0) {
+        bounds = change.bounds();
+      } else {
+        // Each bound of the former histogram stands for the entries of its bucket.
+        final var merged = new Sampler();
+        final int bucketEntries = (int) Math.min(Integer.MAX_VALUE,
+                                                 Math.max(1, base.entryCount() / base.bounds().length));
+        for (final Atomic bound : base.bounds()) {
+          merged.add(bound, bucketEntries, 0, random);
+        }
+        for (int i = 0; i < change.values.size(); i++) {
+          merged.add(change.values.get(i), change.weights.get(i), 0, random);
+        }
+        bounds = merged.bounds();
+      }
+
+      statistics.put(pcr, new PCRStatistics(entryCount, distinctCount, bounds));
+    });
+
+    return new CASIndexStatistics(statistics, baseStatistics == null ? contentType : baseStatistics.contentType);
+  }
+
+  /**
+   * Convert the value of an index entry to the type of the index.
+   */
+  static Atomic toIndexedType(final CASValue casValue) {
+    return AtomicUtil.toType(casValue.getAtomicValue(), casValue.getType());
+  }
+
+  /**
+   * Get the number of entries (node references) of a PCR.
+   *
+   * @param pcr the path class record (path node key)
+   * @return the number of entries
+   */
+  public long getEntryCount(final long pcr) {
+    final var pcrStatistics = statistics.get(pcr);
+    return pcrStatistics == null ? 0 : pcrStatistics.entryCount();
+  }
+
+  /**
+   * Estimate the number of entries of a PCR, whose value is in the given range.
+   *
+   * @param pcr            the path class record (path node key)
+   * @param lower          the lower bound or {@code null}, if there's no lower bound
+   * @param lowerInclusive {@code true}, if the lower bound is included
+   * @param upper          the upper bound or {@code null}, if there's no upper bound
+   * @param upperInclusive {@code true}, if the upper bound is included
+   * @return the estimated number of entries
+   */
+  public double estimateEntries(final long pcr, final Atomic lower, final boolean lowerInclusive, final Atomic upper,
+      final boolean upperInclusive) {
+    final var pcrStatistics = statistics.get(pcr);
+
+    if (pcrStatistics == null || pcrStatistics.entryCount() == 0) {
+      return 0;
+    }
+
+    try {
+      final Atomic lowerKey = lower == null ? null : AtomicUtil.toType(lower, contentType);
+      final Atomic upperKey = upper == null ? null : AtomicUtil.toType(upper, contentType);
+
+      if (lowerKey != null && upperKey != null && lowerInclusive && upperInclusive
+          && lowerKey.compareTo(upperKey) == 0) {
+        return estimateEqual(pcrStatistics, lowerKey);
+      }
+
+      final double upperFraction = upperKey == null ? 1.0 : fractionBelow(pcrStatistics, upperKey, upperInclusive);
+      final double lowerFraction = lowerKey == null ? 0.0 : fractionBelow(pcrStatistics, lowerKey, !lowerInclusive);
+
+      return Math.max(0.0, upperFraction - lowerFraction) * pcrStatistics.entryCount();
+    } catch (final RuntimeException e) {
+      // Values, which can't be converted to or compared with the indexed type: no estimate possible.
+      return pcrStatistics.entryCount();
+    }
+  }
+
+  private static double estimateEqual(final PCRStatistics pcrStatistics, final Atomic key) {
+    final Atomic[] bounds = pcrStatistics.bounds();
+    int buckets = 0;
+
+    for (final Atomic bound : bounds) {
+      if (bound.compareTo(key) == 0) {
+        buckets++;
+      }
+    }
+
+    // A value, which spans several buckets, is a frequent value.
+    final double uniform = (double) pcrStatistics.entryCount() / Math.max(1, pcrStatistics.distinctCount());
+
+    if (buckets > 1) {
+      return Math.max(uniform, (double) (buckets - 1) / bounds.length * pcrStatistics.entryCount());
+    }
+
+    return uniform;
+  }
+
+  /**
+   * Estimate the fraction of entries, which are lower than (or equal to, if {@code inclusive}) the
+   * given key.
+   */
+  private static double fractionBelow(final PCRStatistics pcrStatistics, final Atomic key, final boolean inclusive) {
+    final Atomic[] bounds = pcrStatistics.bounds();
+    int bucket = 0;
+
+    while (bucket < bounds.length) {
+      final int comparison = bounds[bucket].compareTo(key);
+
+      if (comparison > 0 || (comparison == 0 && !inclusive)) {
+        break;
+      }
+
+      bucket++;
+    }
+
+    if (bucket == bounds.length) {
+      return 1.0;
+    }
+
+    // Assume the key lies in the middle of the bucket.
+    return (bucket + 0.5) / bounds.length;
+  }
+
+  /**
+   * Samples the distinct values of a PCR together with their number of references (reservoir
+   * sampling) and counts all entries. The counts of changes might be negative.
+   */
+  static final class Sampler {
+    private final List<Atomic> values = new ArrayList<>();
+
+    private final List<Integer> weights = new ArrayList<>();
+
+    private long entryCount;
+
+    private long distinctCount;
+
+    private long sampledCount;
+
+    void add(final Atomic value, final int references, final int distinct, final Random random) {
+      entryCount += references;
+      distinctCount += distinct;
+      sampledCount++;
+
+      if (values.size() < SAMPLE_SIZE) {
+        values.add(value);
+        weights.add(references);
+      } else {
+        final long index = (long) (random.nextDouble() * sampledCount);
+
+        if (index < SAMPLE_SIZE) {
+          values.set((int) index, value);
+          weights.set((int) index, references);
+        }
+      }
+    }
+
+    void remove(final int references, final int distinct) {
+      entryCount -= references;
+      distinctCount -= distinct;
+    }
+
+    PCRStatistics toStatistics() {
+      return new PCRStatistics(entryCount, distinctCount, bounds());
+    }
+
+    Atomic[] bounds() {
+      final var order = new Integer[values.size()];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (first, second) -> values.get(first).compareTo(values.get(second)));
+
+      long sampledEntries = 0;
+      for (final int weight : weights) {
+        sampledEntries += weight;
+      }
+
+      final int buckets = (int) Math.min(BUCKETS, Math.max(1, sampledEntries));
+      final var bounds = new Atomic[order.length == 0 ? 0 : buckets];
+      long entries = 0;
+      int bucket = 0;
+
+      for (final int index : order) {
+        entries += weights.get(index);
+
+        // The value is the upper bound of all buckets, which are filled up to here.
+        while (bucket < bounds.length && entries * bounds.length >= (bucket + 1) * sampledEntries) {
+          bounds[bucket++] = values.get(index);
+        }
+      }
+
+      return bounds;
+    }
+  }
+}
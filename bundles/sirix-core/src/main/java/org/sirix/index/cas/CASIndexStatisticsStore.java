@@ -0,0 +1,201 @@
+package org.sirix.index.cas;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.xdm.Type;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The statistics of the CAS indexes of a resource, held by its resource session, such that they
+ * can't be confused with the statistics of a removed and recreated resource of the same name.
+ *
+ * <p>The statistics of a revision are maintained at commit: the {@link org.sirix.index.redblacktree.RBTreeWriter}
+ * records the changes of the entries of a CAS index in a {@link Delta}, which is applied to the
+ * statistics of the revision the write transaction is based on, once the transaction commits. The
+ * statistics of an index, which is created by the transaction, are built from the delta alone. Only
+ * if the statistics of the base revision aren't known (for instance after the session has been
+ * opened), they are computed by a single scan of the index, once they are requested.
+ */
+public final class CASIndexStatisticsStore {
+
+  /**
+   * The maximum number of revisions and indexes, whose statistics are kept.
+   */
+  private static final int MAX_ENTRIES = 1_000;
+
+  private record Key(int revision, int indexId) {
+  }
+
+  /**
+   * The statistics of committed revisions.
+   */
+  private final Cache<Key, CASIndexStatistics> statistics = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+  /**
+   * The changes of the write transaction, which hasn't been committed yet, per index.
+   */
+  private final Map<Integer, Delta> pendingDeltas = new HashMap<>();
+
+  /**
+   * Get the statistics of a CAS index in a revision.
+   *
+   * @param revision the revision
+   * @param indexId  the ID of the index
+   * @param compute  computes the statistics, if they aren't known
+   * @return the statistics
+   */
+  public CASIndexStatistics get(final int revision, final int indexId, final Supplier<CASIndexStatistics> compute) {
+    checkNotNull(compute);
+    return statistics.get(new Key(revision, indexId), unused -> compute.get());
+  }
+
+  /**
+   * Get the statistics of a CAS index in a revision, if they are known.
+   *
+   * @param revision the revision
+   * @param indexId  the ID of the index
+   * @return the statistics or {@code null}
+   */
+  public @Nullable CASIndexStatistics getIfPresent(final int revision, final int indexId) {
+    return statistics.getIfPresent(new Key(revision, indexId));
+  }
+
+  /**
+   * Get the changes of a CAS index by the current write transaction.
+   *
+   * @param indexId      the ID of the index
+   * @param isEmptyIndex determines, if the index tree doesn't contain any entries yet, only called,
+   *                     if no changes of the index have been recorded by the transaction so far
+   * @return the delta
+   */
+  public synchronized Delta getDelta(final int indexId, final BooleanSupplier isEmptyIndex) {
+    return pendingDeltas.computeIfAbsent(indexId, unused -> new Delta(isEmptyIndex.getAsBoolean(), indexId));
+  }
+
+  /**
+   * Derive the statistics of a committed revision from the statistics of the revision the write
+   * transaction has been based on and the recorded changes.
+   *
+   * @param baseRevision the revision the write transaction has been based on
+   * @param revision     the committed revision
+   */
+  public synchronized void commit(final int baseRevision, final int revision) {
+    final var indexIds = new HashMap<Integer, CASIndexStatistics>();
+    statistics.asMap().forEach((key, value) -> {
+      if (key.revision() == baseRevision) {
+        indexIds.put(key.indexId(), value);
+      }
+    });
+    pendingDeltas.keySet().forEach(indexId -> indexIds.putIfAbsent(indexId, null));
+
+    indexIds.forEach((indexId, baseStatistics) -> {
+      final Delta delta = pendingDeltas.get(indexId);
+      final CASIndexStatistics committed;
+
+      if (delta == null) {
+        committed = baseStatistics;
+      } else if (delta.isComplete) {
+        committed = delta.toStatistics(null);
+      } else if (baseStatistics != null) {
+        committed = delta.toStatistics(baseStatistics);
+      } else {
+        committed = null;
+      }
+
+      if (committed != null) {
+        statistics.put(new Key(revision, indexId), committed);
+      }
+    });
+
+    pendingDeltas.clear();
+  }
+
+  /**
+   * Remove all statistics, for instance once the storage is truncated and revision numbers are
+   * reused.
+   */
+  public synchronized void clear() {
+    statistics.invalidateAll();
+    pendingDeltas.clear();
+  }
+
+  /**
+   * Discard the changes of the write transaction, once it's rolled back or closed.
+   */
+  public synchronized void discardChanges() {
+    pendingDeltas.clear();
+  }
+
+  /**
+   * The changes of the entries of a CAS index by a write transaction.
+   */
+  public static final class Delta {
+
+    /**
+     * {@code true}, if the index has been empty before, thus the delta holds all entries.
+     */
+    private final boolean isComplete;
+
+    private final Random random;
+
+    private final Map<Long, CASIndexStatistics.Sampler> samplers = new HashMap<>();
+
+    /**
+     * The type of the indexed values, known once an entry has been added.
+     */
+    private Type contentType = Type.STR;
+
+    private Delta(final boolean isComplete, final int indexId) {
+      this.isComplete = isComplete;
+      this.random = new Random(indexId);
+    }
+
+    /**
+     * Record node references added to an entry.
+     *
+     * @param casValue   the key of the entry
+     * @param references the number of added node references
+     * @param isNewEntry {@code true}, if the entry has been created
+     */
+    public synchronized void add(final CASValue casValue, final int references, final boolean isNewEntry) {
+      final Atomic atomic = casValue.getAtomicValue();
+
+      if (atomic == null || references <= 0) {
+        return;
+      }
+
+      contentType = casValue.getType();
+      samplers.computeIfAbsent(casValue.getPathNodeKey(), unused -> new CASIndexStatistics.Sampler())
+              .add(CASIndexStatistics.toIndexedType(casValue), references, isNewEntry ? 1 : 0, random);
+    }
+
+    /**
+     * Record node references removed from an entry.
+     *
+     * @param casValue       the key of the entry
+     * @param references     the number of removed node references
+     * @param isRemovedEntry {@code true}, if the entry doesn't reference any node anymore
+     */
+    public synchronized void remove(final CASValue casValue, final int references, final boolean isRemovedEntry) {
+      if (casValue.getAtomicValue() == null || references <= 0) {
+        return;
+      }
+
+      samplers.computeIfAbsent(casValue.getPathNodeKey(), unused -> new CASIndexStatistics.Sampler())
+              .remove(references, isRemovedEntry ? 1 : 0);
+    }
+
+    private synchronized CASIndexStatistics toStatistics(final @Nullable CASIndexStatistics baseStatistics) {
+      return CASIndexStatistics.merge(baseStatistics, samplers, contentType, random);
+    }
+  }
+}
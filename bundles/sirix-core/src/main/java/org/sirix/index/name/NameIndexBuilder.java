@@ -1,54 +1,59 @@
-package org.sirix.index.name;
-
-import org.brackit.xquery.atomic.QNm;
-import org.sirix.api.visitor.VisitResultType;
-import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.redblacktree.RBTreeReader.MoveCursor;
-import org.sirix.index.redblacktree.RBTreeWriter;
-import org.sirix.index.redblacktree.keyvalue.NodeReferences;
-import org.sirix.node.interfaces.immutable.ImmutableNode;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
-
-import java.util.Optional;
-import java.util.Set;
-
-public final class NameIndexBuilder {
-  private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(NameIndexBuilder.class));
-
-  public Set<QNm> mIncludes;
-  public Set<QNm> mExcludes;
-  public RBTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
-
-  public NameIndexBuilder(final Set<QNm> includes, final Set<QNm> excludes,
-      final RBTreeWriter<QNm, NodeReferences> avlTreeWriter) {
-    mIncludes = includes;
-    mExcludes = excludes;
-    mAVLTreeWriter = avlTreeWriter;
-  }
-
-  public VisitResultType build(QNm name, ImmutableNode node) {
-    final boolean included = (mIncludes.isEmpty() || mIncludes.contains(name));
-    final boolean excluded = (!mExcludes.isEmpty() && mExcludes.contains(name));
-
-    if (!included || excluded) {
-      return VisitResultType.CONTINUE;
-    }
-
-    final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(name, SearchMode.EQUAL);
-
-    try {
-      textReferences.ifPresentOrElse(nodeReferences -> setNodeReferences(node, nodeReferences, name),
-          () -> setNodeReferences(node, new NodeReferences(), name));
-    } catch (final SirixIOException e) {
-      LOGGER.error(e.getMessage(), e);
-    }
-
-    return VisitResultType.CONTINUE;
-  }
-
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final QNm name) {
-    mAVLTreeWriter.index(name, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
-  }
-}
+package org.sirix.index.name;
+
+import org.brackit.xquery.atomic.QNm;
+import org.sirix.api.visitor.VisitResultType;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.BulkIndexBuilder;
+import org.sirix.index.IndexEntrySorter;
+import org.sirix.index.redblacktree.RBTreeWriter;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+import org.sirix.node.interfaces.immutable.ImmutableNode;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+public final class NameIndexBuilder implements BulkIndexBuilder {
+  private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(NameIndexBuilder.class));
+
+  public Set<QNm> mIncludes;
+  public Set<QNm> mExcludes;
+  public RBTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
+
+  private final IndexEntrySorter<QNm> sorter;
+
+  public NameIndexBuilder(final Set<QNm> includes, final Set<QNm> excludes,
+      final RBTreeWriter<QNm, NodeReferences> avlTreeWriter) {
+    mIncludes = includes;
+    mExcludes = excludes;
+    mAVLTreeWriter = avlTreeWriter;
+    sorter = new IndexEntrySorter<>(IndexEntrySorter.qnmKeys());
+  }
+
+  public VisitResultType build(QNm name, ImmutableNode node) {
+    final boolean included = (mIncludes.isEmpty() || mIncludes.contains(name));
+    final boolean excluded = (!mExcludes.isEmpty() && mExcludes.contains(name));
+
+    if (!included || excluded) {
+      return VisitResultType.CONTINUE;
+    }
+
+    sorter.add(name, node.getNodeKey());
+
+    return VisitResultType.CONTINUE;
+  }
+
+  @Override
+  public void sort() {
+    sorter.sort();
+  }
+
+  @Override
+  public void finish() {
+    try (sorter) {
+      mAVLTreeWriter.bulkLoad(sorter.sortedEntries());
+    } catch (final SirixIOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+  }
+}
@@ -100,22 +100,32 @@ public final class Names {
    * @param key the key to remove
    */
   public void removeName(final int key, final PageTrx pageTrx) {
+    removeName(key, 1, pageTrx);
+  }
+
+  /**
+   * Remove several references to a name at once.
+   *
+   * @param key   the key to remove
+   * @param count the number of removed references
+   */
+  public void removeName(final int key, final int count, final PageTrx pageTrx) {
     final int prevValue = countNameMapping.get(key);
     if (prevValue != 0) {
       final long countNodeKey = countNodeMap.get(key);
 
-      if (prevValue - 1 == 0) {
+      if (prevValue - count <= 0) {
         nameMap.remove(key);
         countNameMapping.remove(key);
 
         pageTrx.removeRecord(countNodeKey - 1, IndexType.NAME, indexNumber);
         pageTrx.removeRecord(countNodeKey, IndexType.NAME, indexNumber);
       } else {
-        countNameMapping.put(key, prevValue - 1);
+        countNameMapping.put(key, prevValue - count);
 
         final HashCountEntryNode hashCountEntryNode =
             pageTrx.prepareRecordForModification(countNodeKey, IndexType.NAME, indexNumber);
-        hashCountEntryNode.decrementValue();
+        hashCountEntryNode.decrementValue(count);
       }
     }
   }
@@ -3,10 +3,11 @@ package org.sirix.index.name.json;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.trx.node.json.AbstractJsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BulkIndexBuilder;
 import org.sirix.index.name.NameIndexBuilder;
 import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
 
-final class JsonNameIndexBuilder extends AbstractJsonNodeVisitor {
+final class JsonNameIndexBuilder extends AbstractJsonNodeVisitor implements BulkIndexBuilder {
   private final NameIndexBuilder mBuilder;
 
   public JsonNameIndexBuilder(final NameIndexBuilder builder) {
@@ -19,4 +20,14 @@ final class JsonNameIndexBuilder extends AbstractJsonNodeVisitor {
 
     return mBuilder.build(name, node);
   }
+
+  @Override
+  public void sort() {
+    mBuilder.sort();
+  }
+
+  @Override
+  public void finish() {
+    mBuilder.finish();
+  }
 }
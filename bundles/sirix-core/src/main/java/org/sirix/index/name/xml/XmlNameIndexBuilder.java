@@ -3,10 +3,11 @@ package org.sirix.index.name.xml;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.trx.node.xml.AbstractXmlNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BulkIndexBuilder;
 import org.sirix.index.name.NameIndexBuilder;
 import org.sirix.node.immutable.xml.ImmutableElement;
 
-final class XmlNameIndexBuilder extends AbstractXmlNodeVisitor {
+final class XmlNameIndexBuilder extends AbstractXmlNodeVisitor implements BulkIndexBuilder {
   private final NameIndexBuilder mBuilder;
 
   XmlNameIndexBuilder(final NameIndexBuilder builder) {
@@ -19,4 +20,14 @@ final class XmlNameIndexBuilder extends AbstractXmlNodeVisitor {
 
     return mBuilder.build(name, node);
   }
+
+  @Override
+  public void sort() {
+    mBuilder.sort();
+  }
+
+  @Override
+  public void finish() {
+    mBuilder.finish();
+  }
 }
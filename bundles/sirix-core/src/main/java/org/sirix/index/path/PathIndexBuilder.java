@@ -6,19 +6,18 @@ import org.brackit.xquery.util.path.PathException;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
+import org.sirix.index.BulkIndexBuilder;
+import org.sirix.index.IndexEntrySorter;
 import org.sirix.index.path.summary.PathSummaryReader;
-import org.sirix.index.redblacktree.RBTreeReader.MoveCursor;
 import org.sirix.index.redblacktree.RBTreeWriter;
 import org.sirix.index.redblacktree.keyvalue.NodeReferences;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
 import java.util.Set;
 
-public final class PathIndexBuilder {
+public final class PathIndexBuilder implements BulkIndexBuilder {
 
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(PathIndexBuilder.class));
 
@@ -28,23 +27,26 @@ public final class PathIndexBuilder {
 
   private final RBTreeWriter<Long, NodeReferences> indexWriter;
 
+  private final IndexEntrySorter<Long> sorter;
+
+  private Set<Long> pcrs;
+
   public PathIndexBuilder(final RBTreeWriter<Long, NodeReferences> indexWriter,
       final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths) {
     this.pathSummaryReader = pathSummaryReader;
     this.paths = paths;
     this.indexWriter = indexWriter;
+    this.sorter = new IndexEntrySorter<>(IndexEntrySorter.longKeys());
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
     try {
       final long PCR = pathNodeKey;
-      if (pathSummaryReader.getPCRsForPaths(paths, true).contains(PCR) || paths.isEmpty()) {
-        final Optional<NodeReferences> textReferences = indexWriter.get(PCR, SearchMode.EQUAL);
-        if (textReferences.isPresent()) {
-          setNodeReferences(node, textReferences.get(), PCR);
-        } else {
-          setNodeReferences(node, new NodeReferences(), PCR);
-        }
+      if (pcrs == null) {
+        pcrs = pathSummaryReader.getPCRsForPaths(paths, true);
+      }
+      if (pcrs.contains(PCR) || paths.isEmpty()) {
+        sorter.add(PCR, node.getNodeKey());
       }
     } catch (final PathException | SirixIOException e) {
       LOGGER.error(e.getMessage(), e);
@@ -52,9 +54,16 @@ public final class PathIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final long pathNodeKey)
-      throws SirixIOException {
-    indexWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  @Override
+  public void sort() {
+    sorter.sort();
+  }
+
+  @Override
+  public void finish() {
+    try (sorter) {
+      indexWriter.bulkLoad(sorter.sortedEntries());
+    }
   }
 
 }
@@ -1,5 +1,6 @@
 package org.sirix.index.path.summary;
 
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
 import org.brackit.xquery.atomic.QNm;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.sirix.access.Utils;
@@ -29,6 +30,8 @@ import org.sirix.page.NamePage;
 import org.sirix.settings.Fixed;
 
 import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Comparator;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -715,6 +718,44 @@ public final class PathSummaryWriter<R extends NodeCursor & NodeReadOnlyTrx>
     }
   }
 
+  /**
+   * Decrements the reference-counters of several path nodes at once or removes the path nodes if the
+   * reference-counters would be zero otherwise, for instance after a subtree has been removed. Path
+   * nodes are processed bottom-up, such that descendant path nodes are adapted before their ancestors.
+   *
+   * @param pathNodeKeysToReferences the path node keys mapped to the number of removed references
+   */
+  public void remove(final Long2IntMap pathNodeKeysToReferences) {
+    checkNotNull(pathNodeKeysToReferences);
+
+    final var pathNodeKeysAndLevels = new ArrayList<long[]>(pathNodeKeysToReferences.size());
+    for (final long pathNodeKey : pathNodeKeysToReferences.keySet()) {
+      if (pathSummaryReader.moveTo(pathNodeKey)) {
+        pathNodeKeysAndLevels.add(new long[] { pathNodeKey, pathSummaryReader.getLevel() });
+      }
+    }
+    pathNodeKeysAndLevels.sort(Comparator.comparingLong((long[] pathNodeKeyAndLevel) -> pathNodeKeyAndLevel[1])
+                                         .reversed());
+
+    for (final long[] pathNodeKeyAndLevel : pathNodeKeysAndLevels) {
+      final long pathNodeKey = pathNodeKeyAndLevel[0];
+      final int references = pathNodeKeysToReferences.get(pathNodeKey);
+
+      // Might have been removed as a descendant of another path node.
+      if (!pathSummaryReader.moveTo(pathNodeKey)) {
+        continue;
+      }
+
+      if (pathSummaryReader.getReferences() <= references) {
+        removePathSummaryNode(RemoveSubtreePath.YES);
+      } else {
+        final PathNode pathNode = pageTrx.prepareRecordForModification(pathNodeKey, IndexType.PATH_SUMMARY, 0);
+        pathNode.setReferenceCount(pathNode.getReferences() - references);
+        pathSummaryReader.putMapping(pathNode.getNodeKey(), pathNode);
+      }
+    }
+  }
+
   @Override
   protected PathSummaryReader delegate() {
     return pathSummaryReader;
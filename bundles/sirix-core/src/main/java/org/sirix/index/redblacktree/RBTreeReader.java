@@ -14,6 +14,7 @@ import org.sirix.exception.SirixIOException;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.redblacktree.interfaces.References;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.node.NodeKind;
 import org.sirix.node.NullNode;
 import org.sirix.node.interfaces.Node;
@@ -46,6 +47,11 @@ public final class RBTreeReader<K extends Comparable<? super K>, V extends Refer
    */
   private final Cache<RBIndexKey, RBNode<?, ?>> cache;
 
+  /**
+   * Records the hits and misses of the cache.
+   */
+  private final StorageMetrics metrics;
+
   /**
    * The index type.
    */
@@ -125,6 +131,7 @@ public final class RBTreeReader<K extends Comparable<? super K>, V extends Refer
       final IndexType indexType, final int indexNumber) {
     this.cache = checkNotNull(cache);
     this.pageReadOnlyTrx = checkNotNull(pageReadOnlyTrx);
+    this.metrics = pageReadOnlyTrx.getResourceSession().getStorageMetrics();
     this.indexType = checkNotNull(indexType);
     this.indexNumber = indexNumber;
     revisionNumber = pageReadOnlyTrx.getRevisionNumber();
@@ -252,6 +259,10 @@ public final class RBTreeReader<K extends Comparable<? super K>, V extends Refer
                                                         indexType,
                                                         indexNumber));
 
+          if (!(pageReadOnlyTrx instanceof PageTrx)) {
+            metrics.recordCacheAccess(StorageMetrics.CacheType.INDEX, node != null);
+          }
+
           if (node == null) {
             moved = moveToFirstChild();
             if (moved) {
@@ -277,6 +288,10 @@ public final class RBTreeReader<K extends Comparable<? super K>, V extends Refer
                                                         indexType,
                                                         indexNumber));
 
+          if (!(pageReadOnlyTrx instanceof PageTrx)) {
+            metrics.recordCacheAccess(StorageMetrics.CacheType.INDEX, node != null);
+          }
+
           if (node == null) {
             moved = moveToLastChild();
             if (moved) {
@@ -803,4 +818,75 @@ public final class RBTreeReader<K extends Comparable<? super K>, V extends Refer
       }
     }
   }
+
+  /**
+   * Iterator over the nodes of a subtree in key order.
+   */
+  public final class RBNodeInOrderIterator extends AbstractIterator<RBNode<K, V>> {
+
+    /**
+     * Determines if it's the first call.
+     */
+    private boolean first;
+
+    /**
+     * The keys of the nodes, whose right subtrees haven't been visited yet.
+     */
+    private final Deque<Long> keys;
+
+    /**
+     * Start node key.
+     */
+    private final long key;
+
+    /**
+     * Constructor.
+     *
+     * @param nodeKey the key of the root node of the subtree, the root node of the tree is selected if
+     *                {@code Fixed.DOCUMENT_NODE_KEY.getStandardProperty} is specified.
+     */
+    public RBNodeInOrderIterator(final long nodeKey) {
+      first = true;
+      keys = new ArrayDeque<>();
+      checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+      key = nodeKey;
+    }
+
+    @Override
+    protected RBNode<K, V> computeNext() {
+      if (first) {
+        first = false;
+        boolean moved = moveTo(key);
+        if (key == Fixed.DOCUMENT_NODE_KEY.getStandardProperty()) {
+          moved = moveToFirstChild();
+        }
+        if (moved) {
+          pushLeftChildren(getCurrentNode());
+        }
+      }
+
+      if (keys.isEmpty()) {
+        return endOfData();
+      }
+
+      moveTo(keys.pop());
+      final RBNode<K, V> node = getCurrentNode();
+      if (node.hasRightChild()) {
+        moveTo(node.getRightChildKey());
+        pushLeftChildren(getCurrentNode());
+      }
+      return node;
+    }
+
+    private void pushLeftChildren(RBNode<K, V> node) {
+      while (true) {
+        keys.push(node.getNodeKey());
+        if (!node.hasLeftChild()) {
+          return;
+        }
+        moveTo(node.getLeftChildKey());
+        node = getCurrentNode();
+      }
+    }
+  }
 }
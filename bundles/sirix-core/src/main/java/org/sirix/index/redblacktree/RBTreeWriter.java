@@ -10,16 +10,22 @@ import org.sirix.cache.PageContainer;
 import org.sirix.exception.SirixIOException;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
+import org.sirix.index.cas.CASIndexStatisticsStore;
 import org.sirix.index.redblacktree.RBTreeReader.MoveCursor;
 import org.sirix.index.redblacktree.interfaces.References;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.page.*;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -66,22 +72,28 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
           // Create path index tree if needed.
           final PathPage pathPage = pageTrx.getPathPage(revisionRootPage);
           reference = revisionRootPage.getPathPageReference();
-          pageTrx.appendLogRecord(reference, PageContainer.getInstance(pathPage, pathPage));
-          pathPage.createPathIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          if (isTreeAbsent(pathPage, index)) {
+            pageTrx.appendLogRecord(reference, PageContainer.getInstance(pathPage, pathPage));
+            pathPage.createPathIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          }
         }
         case CAS -> {
           // Create CAS index tree if needed.
           final CASPage casPage = pageTrx.getCASPage(revisionRootPage);
           reference = revisionRootPage.getCASPageReference();
-          pageTrx.appendLogRecord(reference, PageContainer.getInstance(casPage, casPage));
-          casPage.createCASIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          if (isTreeAbsent(casPage, index)) {
+            pageTrx.appendLogRecord(reference, PageContainer.getInstance(casPage, casPage));
+            casPage.createCASIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          }
         }
         case NAME -> {
           // Create name index tree if needed.
           final NamePage namePage = pageTrx.getNamePage(revisionRootPage);
           reference = revisionRootPage.getNamePageReference();
-          pageTrx.appendLogRecord(reference, PageContainer.getInstance(namePage, namePage));
-          namePage.createNameIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          if (isTreeAbsent(namePage, index)) {
+            pageTrx.appendLogRecord(reference, PageContainer.getInstance(namePage, namePage));
+            namePage.createNameIndexTree(databaseType, pageTrx, index, pageTrx.getLog());
+          }
         }
         default -> {
         }
@@ -94,6 +106,21 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
     this.pageTrx = pageTrx;
   }
 
+  /**
+   * Determines if the tree of an index still has to be created. The index page is only appended to
+   * the log in this case, which marks the transaction as modified, such that a commit, which only
+   * creates an empty index, writes the new tree instead of sharing the pages of the former revision.
+   *
+   * @param indexPage the path, CAS or name page
+   * @param index     the index number
+   * @return {@code true}, if the tree of the index doesn't exist yet
+   */
+  private static boolean isTreeAbsent(final Page indexPage, final @NonNegative int index) {
+    final PageReference reference = indexPage.getOrCreateReference(index);
+    return reference == null || (reference.getPage() == null && reference.getKey() == Constants.NULL_ID_LONG
+        && reference.getLogKey() == Constants.NULL_ID_INT && reference.getPersistentLogKey() == Constants.NULL_ID_LONG);
+  }
+
   /**
    * Get a new instance.
    *
@@ -144,6 +171,7 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
       document.setFirstChildKey(treeRoot.getNodeKey());
       document.incrementChildCount();
       document.incrementDescendantCount();
+      recordAdded(key, value.getNodeKeys().size(), true);
       return value;
     }
 
@@ -156,9 +184,16 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
       final int c = key.compareTo(node.getKey());
       if (c == 0) {
         if (!value.equals(node.getValue())) {
+          final int references = node.getValue().getNodeKeys().size();
           final RBNode<K, V> RBNode =
               pageTrx.prepareRecordForModification(node.getNodeKey(), rbTreeReader.indexType, rbTreeReader.index);
           RBNode.setValue(value);
+          final int addedReferences = value.getNodeKeys().size() - references;
+          if (addedReferences >= 0) {
+            recordAdded(key, addedReferences, references == 0 && addedReferences > 0);
+          } else {
+            recordRemoved(key, -addedReferences, value.getNodeKeys().isEmpty());
+          }
         }
         return node.getValue();
       }
@@ -192,10 +227,104 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
                                                                        rbTreeReader.indexType,
                                                                        rbTreeReader.index);
       document.incrementDescendantCount();
+      recordAdded(key, value.getNodeKeys().size(), true);
       return value;
     }
   }
 
+  /**
+   * Loads entries sorted by their keys into the tree. If the tree is empty, a balanced tree is
+   * built bottom-up: the nodes are created in key order while the entries are consumed, thus the
+   * entries are iterated only once, even though their number isn't known in advance. Afterwards
+   * children and parents are computed from the positions of the entries and the nodes of the
+   * deepest, incomplete level are colored red, thus no rotations or recoloring is needed. Otherwise
+   * the entries are inserted one by one and merged with the node keys already stored.
+   *
+   * @param entries the entries, sorted by key and with distinct keys
+   */
+  public void bulkLoad(final Iterator<? extends Map.Entry<K, V>> entries) {
+    checkNotNull(entries);
+
+    moveToDocumentRoot();
+    if (((StructNode) getNode()).hasFirstChild()) {
+      while (entries.hasNext()) {
+        final Map.Entry<K, V> entry = entries.next();
+        final Optional<V> value = get(entry.getKey(), SearchMode.EQUAL);
+        if (value.isPresent()) {
+          for (final long nodeKey : entry.getValue().getNodeKeys()) {
+            value.get().addNodeKey(nodeKey);
+          }
+          index(entry.getKey(), value.get(), MoveCursor.NO_MOVE);
+        } else {
+          index(entry.getKey(), entry.getValue(), MoveCursor.NO_MOVE);
+        }
+      }
+      return;
+    }
+
+    final long documentKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+    final long firstNodeKey = getNewNodeKey(pageTrx.getActualRevisionRootPage());
+    int size = 0;
+    while (entries.hasNext()) {
+      final Map.Entry<K, V> entry = entries.next();
+      recordAdded(entry.getKey(), entry.getValue().getNodeKeys().size(), true);
+      pageTrx.createRecord(new RBNode<>(entry.getKey(),
+                                        entry.getValue(),
+                                        new NodeDelegate(firstNodeKey + size,
+                                                         documentKey,
+                                                         null,
+                                                         null,
+                                                         0,
+                                                         0,
+                                                         (SirixDeweyID) null)),
+                           rbTreeReader.indexType,
+                           rbTreeReader.index);
+      size++;
+    }
+
+    if (size == 0) {
+      return;
+    }
+
+    final int height = 31 - Integer.numberOfLeadingZeros(size);
+    final int redDepth = (size & (size + 1)) == 0 ? -1 : height;
+    link(firstNodeKey, 0, size - 1, documentKey, 0, redDepth);
+
+    final StructNode document =
+        pageTrx.prepareRecordForModification(documentKey, rbTreeReader.indexType, rbTreeReader.index);
+    document.setFirstChildKey(firstNodeKey + ((size - 1) >>> 1));
+    document.incrementChildCount();
+    document.setDescendantCount(size);
+    moveToDocumentRoot();
+  }
+
+  /**
+   * Links the nodes at the positions {@code [low, high]} in key order. The node keys have been
+   * assigned in key order, thus the key of a node is the first node key plus its position.
+   */
+  private void link(final long firstNodeKey, final int low, final int high, final long parentKey, final int depth,
+      final int redDepth) {
+    if (low > high) {
+      return;
+    }
+    final int middle = (low + high) >>> 1;
+    final long nodeKey = firstNodeKey + middle;
+
+    final RBNode<K, V> node =
+        pageTrx.prepareRecordForModification(nodeKey, rbTreeReader.indexType, rbTreeReader.index);
+    node.setParentKey(parentKey);
+    if (low < middle) {
+      node.setLeftChildKey(firstNodeKey + ((low + middle - 1) >>> 1));
+    }
+    if (middle < high) {
+      node.setRightChildKey(firstNodeKey + ((middle + 1 + high) >>> 1));
+    }
+    node.setChanged(depth == redDepth);
+
+    link(firstNodeKey, low, middle - 1, nodeKey, depth + 1, redDepth);
+    link(firstNodeKey, middle + 1, high, nodeKey, depth + 1, redDepth);
+  }
+
   /**
    * Get the new maximum node key.
    *
@@ -234,11 +363,38 @@ public final class RBTreeWriter<K extends Comparable<? super K>, V extends Refer
         final RBNode<K, V> node =
             pageTrx.prepareRecordForModification(rbTreeReader.getNodeKey(), rbTreeReader.indexType, rbTreeReader.index);
         node.getValue().removeNodeKey(nodeKey);
+        recordRemoved(key, 1, node.getValue().getNodeKeys().isEmpty());
       }
     }
     return removed;
   }
 
+  /**
+   * Record added node references in the statistics of a CAS index (see {@link CASIndexStatisticsStore}).
+   */
+  private void recordAdded(final K key, final int references, final boolean isNewEntry) {
+    if (rbTreeReader.indexType == IndexType.CAS) {
+      getStatisticsDelta().add((CASValue) key, references, isNewEntry);
+    }
+  }
+
+  /**
+   * Record removed node references in the statistics of a CAS index (see {@link CASIndexStatisticsStore}).
+   */
+  private void recordRemoved(final K key, final int references, final boolean isRemovedEntry) {
+    if (rbTreeReader.indexType == IndexType.CAS) {
+      getStatisticsDelta().remove((CASValue) key, references, isRemovedEntry);
+    }
+  }
+
+  private CASIndexStatisticsStore.Delta getStatisticsDelta() {
+    return pageTrx.getResourceSession().getCASIndexStatistics().getDelta(rbTreeReader.index, () -> {
+      final StructNode document =
+          pageTrx.getRecord(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), rbTreeReader.indexType, rbTreeReader.index);
+      return document == null || !document.hasFirstChild();
+    });
+  }
+
   /**
    * Adjusts the tree balance.
    *
@@ -0,0 +1,211 @@
+package org.sirix.io.filechannel;
+
+import org.sirix.io.IOStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The data file of a branch. The pages of the revisions of the parent resource up to the revision
+ * the branch has been created from are read from the data file of the parent resource, such that
+ * they are shared and not copied.
+ *
+ * <p>The channel exposes the data file of the parent resource up to the branch offset, followed by
+ * the pages written to the branch. Only the beacon at the beginning, which stores the uber page, is
+ * replaced by the one of the branch. Thus, the offsets stored in page references of the parent
+ * resource stay valid and the offsets of pages written to the branch are never smaller than the
+ * branch offset.
+ *
+ * <p>The storage layer only uses the positional {@link #read(ByteBuffer, long)} and
+ * {@link #write(ByteBuffer, long)} methods, {@link #size()}, {@link #truncate(long)},
+ * {@link #force(boolean)} and {@link #close()}. The channel position, the relative reads and writes
+ * and {@link #transferTo(long, long, WritableByteChannel)} are supported as well, for instance to
+ * copy the data file. Scattering reads, gathering writes, {@code transferFrom}, memory mapping and
+ * locking aren't supported, as the data file consists of two files.
+ */
+final class BranchFileChannel extends FileChannel {
+
+  /**
+   * The data file of the parent resource, which is only read.
+   */
+  private final FileChannel parentChannel;
+
+  /**
+   * The data file of the branch.
+   */
+  private final FileChannel branchChannel;
+
+  /**
+   * The size of the data file of the parent resource, when the branch has been created.
+   */
+  private final long branchOffset;
+
+  /**
+   * The position of the channel, used by relative reads and writes.
+   */
+  private long position;
+
+  /**
+   * Constructor.
+   *
+   * @param parentChannel the data file of the parent resource
+   * @param branchChannel the data file of the branch
+   * @param branchOffset  the size of the data file of the parent resource, when the branch has been
+   *                      created
+   */
+  BranchFileChannel(final FileChannel parentChannel, final FileChannel branchChannel, final long branchOffset) {
+    checkArgument(branchOffset >= IOStorage.FIRST_BEACON, "The branch offset must be >= the first beacon.");
+    this.parentChannel = checkNotNull(parentChannel);
+    this.branchChannel = checkNotNull(branchChannel);
+    this.branchOffset = branchOffset;
+  }
+
+  private long toBranchPosition(final long position) {
+    return position - branchOffset + IOStorage.FIRST_BEACON;
+  }
+
+  @Override
+  public int read(final ByteBuffer dst, final long position) throws IOException {
+    if (position < IOStorage.FIRST_BEACON) {
+      return branchChannel.read(dst, position);
+    }
+    if (position < branchOffset) {
+      return parentChannel.read(dst, position);
+    }
+    return branchChannel.read(dst, toBranchPosition(position));
+  }
+
+  @Override
+  public int write(final ByteBuffer src, final long position) throws IOException {
+    if (position < IOStorage.FIRST_BEACON) {
+      return branchChannel.write(src, position);
+    }
+    if (position < branchOffset) {
+      throw new IllegalStateException("The pages shared with the parent resource must not be overwritten.");
+    }
+    return branchChannel.write(src, toBranchPosition(position));
+  }
+
+  @Override
+  public long size() throws IOException {
+    return Math.max(branchChannel.size(), IOStorage.FIRST_BEACON) - IOStorage.FIRST_BEACON + branchOffset;
+  }
+
+  @Override
+  public FileChannel truncate(final long size) throws IOException {
+    if (size < IOStorage.FIRST_BEACON) {
+      branchChannel.truncate(size);
+    } else if (size <= branchOffset) {
+      branchChannel.truncate(IOStorage.FIRST_BEACON);
+    } else {
+      branchChannel.truncate(toBranchPosition(size));
+    }
+    return this;
+  }
+
+  @Override
+  public void force(final boolean metaData) throws IOException {
+    branchChannel.force(metaData);
+  }
+
+  @Override
+  protected void implCloseChannel() throws IOException {
+    try {
+      branchChannel.close();
+    } finally {
+      parentChannel.close();
+    }
+  }
+
+  @Override
+  public int read(final ByteBuffer dst) throws IOException {
+    final int read = read(dst, position);
+    if (read > 0) {
+      position += read;
+    }
+    return read;
+  }
+
+  @Override
+  public long read(final ByteBuffer[] dsts, final int offset, final int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int write(final ByteBuffer src) throws IOException {
+    final int written = write(src, position);
+    position += written;
+    return written;
+  }
+
+  @Override
+  public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long position() {
+    return position;
+  }
+
+  @Override
+  public FileChannel position(final long newPosition) {
+    checkArgument(newPosition >= 0, "The position must be >= 0.");
+    position = newPosition;
+    return this;
+  }
+
+  @Override
+  public long transferTo(final long position, final long count, final WritableByteChannel target)
+      throws IOException {
+    checkArgument(position >= 0, "The position must be >= 0.");
+    checkArgument(count >= 0, "The count must be >= 0.");
+    checkNotNull(target);
+
+    final long end = Math.min(size(), position + count);
+    long current = position;
+    while (current < end) {
+      final long transferred;
+      if (current < IOStorage.FIRST_BEACON) {
+        transferred = branchChannel.transferTo(current, Math.min(end, IOStorage.FIRST_BEACON) - current, target);
+      } else if (current < branchOffset) {
+        transferred = parentChannel.transferTo(current, Math.min(end, branchOffset) - current, target);
+      } else {
+        transferred = branchChannel.transferTo(toBranchPosition(current), end - current, target);
+      }
+      if (transferred <= 0) {
+        break;
+      }
+      current += transferred;
+    }
+    return current - position;
+  }
+
+  @Override
+  public long transferFrom(final ReadableByteChannel src, final long position, final long count) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public MappedByteBuffer map(final MapMode mode, final long position, final long size) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public FileLock lock(final long position, final long size, final boolean shared) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public FileLock tryLock(final long position, final long size, final boolean shared) {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -1,6 +1,7 @@
 package org.sirix.io.filechannel;
 
 import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.IOStorage;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.concurrent.Semaphore;
@@ -43,6 +45,11 @@ public final class FileChannelStorage implements IOStorage {
    */
   private final Path file;
 
+  /**
+   * The resource configuration.
+   */
+  private final ResourceConfiguration resourceConfig;
+
   /**
    * Byte handler pipeline.
    */
@@ -68,6 +75,7 @@ public final class FileChannelStorage implements IOStorage {
       final AsyncCache<Integer, RevisionFileData> cache) {
     assert resourceConfig != null : "resourceConfig must not be null!";
     file = resourceConfig.resourcePath;
+    this.resourceConfig = resourceConfig;
     byteHandlerPipeline = resourceConfig.byteHandlePipeline;
     this.cache = cache;
   }
@@ -103,7 +111,68 @@ public final class FileChannelStorage implements IOStorage {
 
   private void createDataFileChannelIfNotInitialized(Path dataFilePath) throws IOException {
     if (dataFileChannel == null) {
-      dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      dataFileChannel = resourceConfig.isBranch()
+          ? openDataFileChannel(resourceConfig, StandardOpenOption.READ, StandardOpenOption.WRITE)
+          : FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+  }
+
+  /**
+   * Open the data file of a resource. The data file of a branch is combined with the data files of
+   * the resources it has been branched from, which are only read.
+   *
+   * @param resourceConfig the resource configuration
+   * @param options        the options to open the data file of the resource with
+   * @return the channel to the data file
+   * @throws IOException if an I/O error occurs
+   */
+  public static FileChannel openDataFileChannel(final ResourceConfiguration resourceConfig,
+      final OpenOption... options) throws IOException {
+    final Path dataFilePath =
+        resourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(FILENAME);
+    final FileChannel channel = FileChannel.open(dataFilePath, options);
+
+    if (!resourceConfig.isBranch()) {
+      return channel;
+    }
+
+    final var parentResourceConfig =
+        ResourceConfiguration.deserialize(resourceConfig.resourcePath.resolveSibling(resourceConfig.getParentResourceName()));
+    return new BranchFileChannel(openDataFileChannel(parentResourceConfig, StandardOpenOption.READ),
+                                 channel,
+                                 resourceConfig.getBranchOffset());
+  }
+
+  /**
+   * Copy the header and the offsets of the revisions up to and including the given revision from the
+   * revisions file of a resource to the revisions file of a branch of the resource.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param branchConfig   the configuration of the branch
+   * @param revision       the revision the branch is created from
+   * @throws IOException if an I/O error occurs
+   */
+  public static void copyRevisionsFile(final ResourceConfiguration resourceConfig,
+      final ResourceConfiguration branchConfig, final @NonNegative int revision) throws IOException {
+    final Path revisionsFile =
+        resourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISIONS_FILENAME);
+    final Path branchRevisionsFile =
+        branchConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISIONS_FILENAME);
+
+    try (final FileChannel source = FileChannel.open(revisionsFile, StandardOpenOption.READ);
+         final FileChannel target = FileChannel.open(branchRevisionsFile,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.WRITE)) {
+      // Each revision is stored with the offset of its revision root page and its commit timestamp.
+      final long length = IOStorage.FIRST_BEACON + (revision + 1L) * 16;
+      long position = 0;
+      while (position < length) {
+        final long transferred = source.transferTo(position, length - position, target);
+        if (transferred == 0) {
+          throw new IOException("The revisions file is truncated: " + revisionsFile);
+        }
+        position += transferred;
+      }
     }
   }
 
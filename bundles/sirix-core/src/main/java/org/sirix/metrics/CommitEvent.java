@@ -0,0 +1,55 @@
+package org.sirix.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for committing a revision, including the time spent in each phase.
+ */
+@Name("org.sirix.Commit")
+@Label("Commit")
+@Category({ "SirixDB", "Transaction" })
+@Description("A revision has been committed")
+@StackTrace(false)
+final class CommitEvent extends Event {
+  @Label("Database")
+  String database;
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Revision")
+  int revision;
+
+  @Label("Intent Log Entries")
+  int intentLogEntries;
+
+  @Label("Serialize Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long serializeTime;
+
+  @Label("Write Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long writeTime;
+
+  @Label("Uber Page Write Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long uberPageWriteTime;
+
+  @Label("Index Definitions Write Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long indexDefinitionsWriteTime;
+
+  @Label("Log Truncation Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long logTruncationTime;
+
+  @Label("Commit Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long commitTime;
+}
@@ -0,0 +1,20 @@
+package org.sirix.metrics;
+
+/**
+ * A monotonically increasing counter.
+ */
+public interface Counter {
+  /**
+   * Increment the counter by one.
+   */
+  default void increment() {
+    add(1);
+  }
+
+  /**
+   * Add a value to the counter.
+   *
+   * @param value the value to add (must be &gt;= 0)
+   */
+  void add(long value);
+}
@@ -0,0 +1,14 @@
+package org.sirix.metrics;
+
+/**
+ * Records the distribution of values, for instance latencies in nanoseconds or the number of page
+ * fragments combined.
+ */
+public interface Histogram {
+  /**
+   * Record a value.
+   *
+   * @param value the value to record (must be &gt;= 0)
+   */
+  void record(long value);
+}
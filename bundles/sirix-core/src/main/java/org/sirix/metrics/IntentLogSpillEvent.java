@@ -0,0 +1,32 @@
+package org.sirix.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for moving pages from the in-memory transaction intent log to its file.
+ */
+@Name("org.sirix.IntentLogSpill")
+@Label("Intent Log Spill")
+@Category({ "SirixDB", "Transaction" })
+@Description("Pages of the transaction intent log have been spilled to disk")
+@StackTrace(false)
+final class IntentLogSpillEvent extends Event {
+  @Label("Database")
+  String database;
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Spilled Pages")
+  int pages;
+
+  @Label("Spill Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long spillTime;
+}
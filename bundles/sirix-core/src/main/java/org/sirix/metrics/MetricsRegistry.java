@@ -0,0 +1,39 @@
+package org.sirix.metrics;
+
+/**
+ * A registry of named counters and histograms. Implementations can bridge to a monitoring library
+ * of choice, {@link SimpleMetricsRegistry} keeps the values in memory.
+ * <p>
+ * Tags are given as alternating key/value pairs. Asking twice for a metric with the same name and
+ * tags must return an instance, which records to the same metric.
+ * </p>
+ */
+public interface MetricsRegistry {
+  /**
+   * Get the registry, which discards everything. It's the default of each database, thus the
+   * storage engine isn't instrumented unless a registry is set.
+   *
+   * @return the no-op registry
+   */
+  static MetricsRegistry noOp() {
+    return NoOpMetricsRegistry.INSTANCE;
+  }
+
+  /**
+   * Get or create a counter.
+   *
+   * @param name the name of the counter
+   * @param tags alternating tag keys and values
+   * @return the counter
+   */
+  Counter counter(String name, String... tags);
+
+  /**
+   * Get or create a histogram.
+   *
+   * @param name the name of the histogram
+   * @param tags alternating tag keys and values
+   * @return the histogram
+   */
+  Histogram histogram(String name, String... tags);
+}
@@ -0,0 +1,26 @@
+package org.sirix.metrics;
+
+/**
+ * Registry, which discards all values.
+ */
+enum NoOpMetricsRegistry implements MetricsRegistry, Counter, Histogram {
+  INSTANCE;
+
+  @Override
+  public Counter counter(final String name, final String... tags) {
+    return this;
+  }
+
+  @Override
+  public Histogram histogram(final String name, final String... tags) {
+    return this;
+  }
+
+  @Override
+  public void add(final long value) {
+  }
+
+  @Override
+  public void record(final long value) {
+  }
+}
@@ -0,0 +1,35 @@
+package org.sirix.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for reading a page from durable storage.
+ */
+@Name("org.sirix.PageRead")
+@Label("Page Read")
+@Category({ "SirixDB", "Storage" })
+@Description("A page has been read and deserialized from durable storage")
+@StackTrace(false)
+final class PageReadEvent extends Event {
+  @Label("Database")
+  String database;
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Storage Type")
+  String storageType;
+
+  @Label("Page Key")
+  long pageKey;
+
+  @Label("Read Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long readTime;
+}
@@ -0,0 +1,35 @@
+package org.sirix.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for reconstructing a record page from its page fragments.
+ */
+@Name("org.sirix.RecordPageReconstruction")
+@Label("Record Page Reconstruction")
+@Category({ "SirixDB", "Storage" })
+@Description("A record page has been read and combined from its fragments")
+@StackTrace(false)
+final class RecordPageReconstructionEvent extends Event {
+  @Label("Database")
+  String database;
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Versioning Type")
+  String versioningType;
+
+  @Label("Fragments")
+  int fragments;
+
+  @Label("Reconstruction Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long reconstructionTime;
+}
@@ -0,0 +1,208 @@
+package org.sirix.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A thread safe, in-memory {@link MetricsRegistry}. Metrics are identified by their name followed by
+ * the tags in curly braces, for instance {@code sirix.cache.hits{database=mydb,resource=shredded,cache=page}}.
+ * Histograms use buckets of powers of two, which is precise enough for latencies and counts and
+ * doesn't need any allocation while recording.
+ */
+public final class SimpleMetricsRegistry implements MetricsRegistry {
+
+  private final ConcurrentMap<String, SimpleCounter> counters = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<String, SimpleHistogram> histograms = new ConcurrentHashMap<>();
+
+  @Override
+  public SimpleCounter counter(final String name, final String... tags) {
+    return counters.computeIfAbsent(id(name, tags), unused -> new SimpleCounter());
+  }
+
+  @Override
+  public SimpleHistogram histogram(final String name, final String... tags) {
+    return histograms.computeIfAbsent(id(name, tags), unused -> new SimpleHistogram());
+  }
+
+  /**
+   * Get all counters.
+   *
+   * @return an unmodifiable view of the counters by their id
+   */
+  public Map<String, SimpleCounter> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+
+  /**
+   * Get all histograms.
+   *
+   * @return an unmodifiable view of the histograms by their id
+   */
+  public Map<String, SimpleHistogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+
+  /**
+   * Build the id of a metric.
+   *
+   * @param name the name of the metric
+   * @param tags alternating tag keys and values
+   * @return the id under which the metric is stored
+   */
+  public static String id(final String name, final String... tags) {
+    checkNotNull(name);
+    checkArgument(tags.length % 2 == 0, "Tags must be given as key/value pairs!");
+
+    if (tags.length == 0) {
+      return name;
+    }
+
+    final var id = new StringBuilder(name).append('{');
+    for (int i = 0; i < tags.length; i += 2) {
+      if (i > 0) {
+        id.append(',');
+      }
+      id.append(tags[i]).append('=').append(tags[i + 1]);
+    }
+    return id.append('}').toString();
+  }
+
+  /**
+   * Counter based on a {@link LongAdder}.
+   */
+  public static final class SimpleCounter implements Counter {
+    private final LongAdder count = new LongAdder();
+
+    private SimpleCounter() {
+    }
+
+    @Override
+    public void add(final long value) {
+      count.add(value);
+    }
+
+    /**
+     * Get the current count.
+     *
+     * @return the count
+     */
+    public long getCount() {
+      return count.sum();
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(getCount());
+    }
+  }
+
+  /**
+   * Histogram with buckets of powers of two.
+   */
+  public static final class SimpleHistogram implements Histogram {
+    /** Bucket {@code i} counts the values, which need {@code i} bits, that is bucket 0 counts zeros. */
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    private SimpleHistogram() {
+    }
+
+    @Override
+    public void record(final long value) {
+      final long nonNegativeValue = Math.max(0, value);
+      buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nonNegativeValue));
+      count.increment();
+      sum.add(nonNegativeValue);
+      if (nonNegativeValue > max.get()) {
+        max.accumulateAndGet(nonNegativeValue, Math::max);
+      }
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /**
+     * Get the sum of all recorded values.
+     *
+     * @return the sum
+     */
+    public long getSum() {
+      return sum.sum();
+    }
+
+    /**
+     * Get the maximum recorded value.
+     *
+     * @return the maximum or {@code 0}, if no value has been recorded
+     */
+    public long getMax() {
+      return max.get();
+    }
+
+    /**
+     * Get the mean of all recorded values.
+     *
+     * @return the mean or {@code 0}, if no value has been recorded
+     */
+    public double getMean() {
+      final long count = getCount();
+      return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * Get an upper bound of the value at a given percentile. The bound is the upper limit of the
+     * bucket the percentile falls into, but never greater than the maximum.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 1}
+     * @return the upper bound of the value at the percentile
+     */
+    public long getValueAtPercentile(final double percentile) {
+      checkArgument(percentile >= 0 && percentile <= 1, "Percentile must be between 0 and 1!");
+
+      long total = 0;
+      for (int i = 0; i < buckets.length(); i++) {
+        total += buckets.get(i);
+      }
+      if (total == 0) {
+        return 0;
+      }
+
+      final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+      long seen = 0;
+      for (int i = 0; i < buckets.length(); i++) {
+        seen += buckets.get(i);
+        if (seen >= rank) {
+          final long upperBound = (1L << i) - 1;
+          return Math.min(upperBound, getMax());
+        }
+      }
+      return getMax();
+    }
+
+    @Override
+    public String toString() {
+      return "count=" + getCount() + ", mean=" + getMean() + ", p99=" + getValueAtPercentile(0.99) + ", max="
+          + getMax();
+    }
+  }
+}
@@ -0,0 +1,431 @@
+package org.sirix.metrics;
+
+import jdk.jfr.EventType;
+import org.sirix.io.StorageType;
+import org.sirix.settings.VersioningType;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The instrumentation of the storage engine for a single resource. It's shared by all sessions and
+ * transactions on the resource and records to the {@link MetricsRegistry} of the database as well
+ * as to the JDK Flight Recorder.
+ * <p>
+ * As long as no registry is bound and no flight recording of the SirixDB events is running, the
+ * methods return immediately, without even reading the clock. Timing is done by the caller:
+ * </p>
+ *
+ * <pre>
+ * final long start = metrics.startTimer();
+ * final Page page = reader.read(reference, pageReadTrx);
+ * metrics.recordPageRead(start, reference.getKey());
+ * </pre>
+ */
+public final class StorageMetrics {
+
+  /**
+   * Cache names used as tags.
+   */
+  public enum CacheType {
+    /** Cache of indirect and other non-record pages. */
+    PAGE("page"),
+
+    /** Cache of reconstructed record pages. */
+    RECORD_PAGE("recordPage"),
+
+    /** Record pages looked up by scans, which are only buffered by the transaction. */
+    SCAN_RECORD_PAGE("scanRecordPage"),
+
+    /** Cache of revision root pages. */
+    REVISION_ROOT_PAGE("revisionRootPage"),
+
+    /** Cache of red-black tree index nodes. */
+    INDEX("index"),
+
+    /** Cache of references to the leaves of the indirect page trees. */
+    LEAF_PAGE_REFERENCE("leafPageReference");
+
+    private final String tagValue;
+
+    CacheType(final String tagValue) {
+      this.tagValue = tagValue;
+    }
+  }
+
+  /**
+   * The phases of a commit, which are timed.
+   */
+  public enum CommitPhase {
+    /** Serialization of the modified record pages. */
+    SERIALIZE("serialize"),
+
+    /** Writing all modified pages of the page tree. */
+    WRITE("write"),
+
+    /** Writing the uber page. */
+    UBER_PAGE_WRITE("uberPageWrite"),
+
+    /** Writing the index definitions. */
+    INDEX_DEFINITIONS_WRITE("indexDefinitionsWrite"),
+
+    /** Truncating the transaction intent log. */
+    LOG_TRUNCATION("logTruncation");
+
+    private final String tagValue;
+
+    CommitPhase(final String tagValue) {
+      this.tagValue = tagValue;
+    }
+  }
+
+  /** Returned by {@link #startTimer()}, if nothing is recorded. */
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private static final EventType PAGE_READ_EVENT = EventType.getEventType(PageReadEvent.class);
+
+  private static final EventType RECORD_PAGE_RECONSTRUCTION_EVENT =
+      EventType.getEventType(RecordPageReconstructionEvent.class);
+
+  private static final EventType INTENT_LOG_SPILL_EVENT = EventType.getEventType(IntentLogSpillEvent.class);
+
+  private static final EventType COMMIT_EVENT = EventType.getEventType(CommitEvent.class);
+
+  private static final StorageMetrics DISABLED = new StorageMetrics("", "", null, null);
+
+  private final String databaseName;
+
+  private final String resourceName;
+
+  private final String storageType;
+
+  private final String versioningType;
+
+  private volatile MetricsRegistry registry;
+
+  /**
+   * The instruments of the bound registry or {@code null}, if the no-op registry is bound.
+   */
+  private volatile Instruments instruments;
+
+  /**
+   * Constructor.
+   *
+   * @param databaseName   the name of the database
+   * @param resourceName   the name of the resource
+   * @param storageType    the storage type of the resource
+   * @param versioningType the versioning type of the resource
+   */
+  public StorageMetrics(final String databaseName, final String resourceName, final StorageType storageType,
+      final VersioningType versioningType) {
+    this.databaseName = checkNotNull(databaseName);
+    this.resourceName = checkNotNull(resourceName);
+    this.storageType = storageType == null ? "" : storageType.name();
+    this.versioningType = versioningType == null ? "" : versioningType.name();
+    registry = MetricsRegistry.noOp();
+  }
+
+  /**
+   * Get an instance, which is never bound to a registry and only emits flight recorder events.
+   *
+   * @return the instance
+   */
+  public static StorageMetrics disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Bind a registry, to which all values are recorded from now on.
+   *
+   * @param registry the registry
+   * @return this instance
+   */
+  public synchronized StorageMetrics bind(final MetricsRegistry registry) {
+    checkNotNull(registry);
+    if (this == DISABLED) {
+      return this;
+    }
+    this.registry = registry;
+    instruments = registry == MetricsRegistry.noOp() ? null : new Instruments(registry);
+    return this;
+  }
+
+  /**
+   * Get the registry this instance records to.
+   *
+   * @return the registry
+   */
+  public MetricsRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Determines if values are recorded to a registry.
+   *
+   * @return {@code true}, if a registry other than the no-op registry is bound
+   */
+  public boolean isEnabled() {
+    return instruments != null;
+  }
+
+  /**
+   * Get the start time for one of the timed operations.
+   *
+   * @return the current time in nanoseconds, or a marker, if nothing is recorded
+   */
+  public long startTimer() {
+    if (instruments == null && !PAGE_READ_EVENT.isEnabled() && !RECORD_PAGE_RECONSTRUCTION_EVENT.isEnabled()
+        && !INTENT_LOG_SPILL_EVENT.isEnabled()) {
+      return NOT_STARTED;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * Record a lookup in one of the caches.
+   *
+   * @param cacheType the cache
+   * @param hit       {@code true}, if the entry has been found
+   */
+  public void recordCacheAccess(final CacheType cacheType, final boolean hit) {
+    final Instruments instruments = this.instruments;
+    if (instruments == null) {
+      return;
+    }
+    (hit ? instruments.cacheHits : instruments.cacheMisses)[cacheType.ordinal()].increment();
+  }
+
+  /**
+   * Record a page read from durable storage.
+   *
+   * @param startTime the result of {@link #startTimer()} before reading
+   * @param pageKey   the key of the page
+   */
+  public void recordPageRead(final long startTime, final long pageKey) {
+    if (startTime == NOT_STARTED) {
+      return;
+    }
+
+    final long duration = System.nanoTime() - startTime;
+
+    final Instruments instruments = this.instruments;
+    if (instruments != null) {
+      instruments.pageReadLatency.record(duration);
+    }
+
+    final var event = new PageReadEvent();
+    if (event.shouldCommit()) {
+      event.database = databaseName;
+      event.resource = resourceName;
+      event.storageType = storageType;
+      event.pageKey = pageKey;
+      event.readTime = duration;
+      event.commit();
+    }
+  }
+
+  /**
+   * Record the reconstruction of a record page from its fragments.
+   *
+   * @param startTime the result of {@link #startTimer()} before reading the fragments
+   * @param fragments the number of fragments combined
+   */
+  public void recordRecordPageReconstruction(final long startTime, final int fragments) {
+    if (startTime == NOT_STARTED) {
+      return;
+    }
+
+    final long duration = System.nanoTime() - startTime;
+
+    final Instruments instruments = this.instruments;
+    if (instruments != null) {
+      instruments.fragmentsCombined.record(fragments);
+      instruments.reconstructionLatency.record(duration);
+    }
+
+    final var event = new RecordPageReconstructionEvent();
+    if (event.shouldCommit()) {
+      event.database = databaseName;
+      event.resource = resourceName;
+      event.versioningType = versioningType;
+      event.fragments = fragments;
+      event.reconstructionTime = duration;
+      event.commit();
+    }
+  }
+
+  /**
+   * Record pages spilled from the in-memory transaction intent log to its file.
+   *
+   * @param startTime the result of {@link #startTimer()} before spilling
+   * @param pages     the number of spilled pages
+   */
+  public void recordIntentLogSpill(final long startTime, final int pages) {
+    if (startTime == NOT_STARTED) {
+      return;
+    }
+
+    final long duration = System.nanoTime() - startTime;
+
+    final Instruments instruments = this.instruments;
+    if (instruments != null) {
+      instruments.spilledPages.add(pages);
+      instruments.spillLatency.record(duration);
+    }
+
+    final var event = new IntentLogSpillEvent();
+    if (event.shouldCommit()) {
+      event.database = databaseName;
+      event.resource = resourceName;
+      event.pages = pages;
+      event.spillTime = duration;
+      event.commit();
+    }
+  }
+
+  /**
+   * Start timing a commit.
+   *
+   * @return the timer of the commit
+   */
+  public CommitTimer startCommit() {
+    final Instruments instruments = this.instruments;
+    if (instruments == null && !COMMIT_EVENT.isEnabled()) {
+      return CommitTimer.DISABLED;
+    }
+    return new CommitTimer(this, instruments);
+  }
+
+  @Override
+  public String toString() {
+    return "StorageMetrics{database=" + databaseName + ", resource=" + resourceName + ", registry=" + registry + "}";
+  }
+
+  /**
+   * Times the phases of a single commit.
+   */
+  public static final class CommitTimer {
+    private static final CommitTimer DISABLED = new CommitTimer(null, null);
+
+    private final StorageMetrics metrics;
+
+    private final Instruments instruments;
+
+    private final long[] phaseTimes = new long[CommitPhase.values().length];
+
+    private final long startTime;
+
+    private long phaseStartTime;
+
+    private CommitTimer(final StorageMetrics metrics, final Instruments instruments) {
+      this.metrics = metrics;
+      this.instruments = instruments;
+      startTime = metrics == null ? 0 : System.nanoTime();
+      phaseStartTime = startTime;
+    }
+
+    /**
+     * Mark the end of a phase, which started at the end of the previous phase or at the start of
+     * the commit.
+     *
+     * @param phase the phase, which ended
+     */
+    public void endPhase(final CommitPhase phase) {
+      if (metrics == null) {
+        return;
+      }
+      final long now = System.nanoTime();
+      phaseTimes[phase.ordinal()] += now - phaseStartTime;
+      phaseStartTime = now;
+    }
+
+    /**
+     * Mark the end of the commit.
+     *
+     * @param revision         the committed revision
+     * @param intentLogEntries the number of entries in the intent log
+     */
+    public void end(final int revision, final int intentLogEntries) {
+      if (metrics == null) {
+        return;
+      }
+
+      final long duration = System.nanoTime() - startTime;
+
+      if (instruments != null) {
+        instruments.commitLatency.record(duration);
+        for (final CommitPhase phase : CommitPhase.values()) {
+          instruments.commitPhaseLatency[phase.ordinal()].record(phaseTimes[phase.ordinal()]);
+        }
+      }
+
+      final var event = new CommitEvent();
+      if (event.shouldCommit()) {
+        event.database = metrics.databaseName;
+        event.resource = metrics.resourceName;
+        event.revision = revision;
+        event.intentLogEntries = intentLogEntries;
+        event.serializeTime = phaseTimes[CommitPhase.SERIALIZE.ordinal()];
+        event.writeTime = phaseTimes[CommitPhase.WRITE.ordinal()];
+        event.uberPageWriteTime = phaseTimes[CommitPhase.UBER_PAGE_WRITE.ordinal()];
+        event.indexDefinitionsWriteTime = phaseTimes[CommitPhase.INDEX_DEFINITIONS_WRITE.ordinal()];
+        event.logTruncationTime = phaseTimes[CommitPhase.LOG_TRUNCATION.ordinal()];
+        event.commitTime = duration;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * The metrics of a bound registry.
+   */
+  private final class Instruments {
+    private final Counter[] cacheHits = new Counter[CacheType.values().length];
+
+    private final Counter[] cacheMisses = new Counter[CacheType.values().length];
+
+    private final Histogram pageReadLatency;
+
+    private final Histogram fragmentsCombined;
+
+    private final Histogram reconstructionLatency;
+
+    private final Counter spilledPages;
+
+    private final Histogram spillLatency;
+
+    private final Histogram commitLatency;
+
+    private final Histogram[] commitPhaseLatency = new Histogram[CommitPhase.values().length];
+
+    private Instruments(final MetricsRegistry registry) {
+      for (final CacheType cacheType : CacheType.values()) {
+        cacheHits[cacheType.ordinal()] = registry.counter("sirix.cache.hits", tags("cache", cacheType.tagValue));
+        cacheMisses[cacheType.ordinal()] = registry.counter("sirix.cache.misses", tags("cache", cacheType.tagValue));
+      }
+      pageReadLatency = registry.histogram("sirix.page.read.nanos", tags("storageType", storageType));
+      fragmentsCombined = registry.histogram("sirix.recordPage.fragments", tags("versioningType", versioningType));
+      reconstructionLatency =
+          registry.histogram("sirix.recordPage.reconstruction.nanos", tags("versioningType", versioningType));
+      spilledPages = registry.counter("sirix.intentLog.spilledPages", tags());
+      spillLatency = registry.histogram("sirix.intentLog.spill.nanos", tags());
+      commitLatency = registry.histogram("sirix.commit.nanos", tags());
+      for (final CommitPhase phase : CommitPhase.values()) {
+        commitPhaseLatency[phase.ordinal()] =
+            registry.histogram("sirix.commit.phase.nanos", tags("phase", phase.tagValue));
+      }
+    }
+
+    /**
+     * Prepend the database and resource tags, as resource names are only unique within a database.
+     */
+    private String[] tags(final String... tags) {
+      final var allTags = new String[tags.length + 4];
+      allTags[0] = "database";
+      allTags[1] = databaseName;
+      allTags[2] = "resource";
+      allTags[3] = resourceName;
+      System.arraycopy(tags, 0, allTags, 4, tags.length);
+      return allTags;
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Instrumentation of the storage engine: a pluggable {@link org.sirix.metrics.MetricsRegistry} for
+ * counters and histograms and custom JDK Flight Recorder events for page reads, record page
+ * reconstructions, intent log spills and commits.
+ */
+package org.sirix.metrics;
@@ -67,6 +67,11 @@ public final class HashCountEntryNode implements DataRecord {
     return this;
   }
 
+  public HashCountEntryNode decrementValue(final int count) {
+    value -= count;
+    return this;
+  }
+
   @Override
   public int hashCode() {
     return Integer.valueOf(value).hashCode();
@@ -32,6 +32,7 @@ import com.google.common.base.Objects;
 import com.google.common.hash.Funnel;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.PrimitiveSink;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.jetbrains.annotations.NotNull;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
@@ -56,7 +57,7 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
   private final StructNodeDelegate structNodeDel;
 
   /** The path node key. */
-  private final long pathNodeKey;
+  private long pathNodeKey;
 
   private BigInteger hash;
 
@@ -166,4 +167,9 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
   public long getPathNodeKey() {
     return pathNodeKey;
   }
+
+  public ArrayNode setPathNodeKey(final @NonNegative long pathNodeKey) {
+    this.pathNodeKey = pathNodeKey;
+    return this;
+  }
 }
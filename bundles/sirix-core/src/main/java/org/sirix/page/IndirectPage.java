@@ -30,6 +30,8 @@ import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
 
 import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Bitmap based indirect page holds a set of references to build a reference tree.
@@ -103,6 +105,36 @@ public final class IndirectPage extends AbstractForwardingPage {
     return reference;
   }
 
+  /**
+   * Get the references of this page by their offsets. In contrast to {@link #getOrCreateReference(int)}
+   * no references are created, thus the page may be shared.
+   *
+   * @return the references indexed by their offsets, {@code null} for offsets without a reference
+   */
+  public PageReference[] getReferencesByOffset() {
+    final List<PageReference> references = delegate.getReferences();
+    final var referencesByOffset = new PageReference[Math.max(Constants.INP_REFERENCE_COUNT, references.size())];
+
+    if (delegate instanceof ReferencesPage4 referencesPage4) {
+      final List<Short> offsets = referencesPage4.getOffsets();
+      for (int i = 0, size = offsets.size(); i < size; i++) {
+        referencesByOffset[offsets.get(i)] = references.get(i);
+      }
+    } else if (delegate instanceof BitmapReferencesPage bitmapReferencesPage) {
+      final BitSet bitmap = bitmapReferencesPage.getBitmap();
+      for (int offset = bitmap.nextSetBit(0), i = 0; offset >= 0 && i < references.size();
+           offset = bitmap.nextSetBit(offset + 1), i++) {
+        referencesByOffset[offset] = references.get(i);
+      }
+    } else {
+      for (int offset = 0, size = references.size(); offset < size; offset++) {
+        referencesByOffset[offset] = references.get(offset);
+      }
+    }
+
+    return referencesByOffset;
+  }
+
   @Override
   public void serialize(final PageReadOnlyTrx pageReadOnlyTrx, final Bytes<ByteBuffer> out,
       final SerializationType type) {
@@ -410,6 +410,18 @@ public final class NamePage extends AbstractForwardingPage {
    * @param key the key to remove
    */
   public void removeName(final int key, final NodeKind nodeKind, final PageTrx pageTrx) {
+    removeName(key, nodeKind, 1, pageTrx);
+  }
+
+  /**
+   * Remove several references to a name at once.
+   *
+   * @param key      the key to remove
+   * @param nodeKind the kind of the nodes, which reference the name
+   * @param count    the number of removed references
+   * @param pageTrx  the page transaction
+   */
+  public void removeName(final int key, final NodeKind nodeKind, final int count, final PageTrx pageTrx) {
     // $CASES-OMITTED$
     switch (nodeKind) {
       case ELEMENT -> {
@@ -417,7 +429,7 @@ public final class NamePage extends AbstractForwardingPage {
           elements =
               Names.clone(pageTrx, ELEMENTS_REFERENCE_OFFSET, maxNodeKeys.getOrDefault(ELEMENTS_REFERENCE_OFFSET, 0L));
         }
-        elements.removeName(key, pageTrx);
+        elements.removeName(key, count, pageTrx);
       }
       case NAMESPACE -> {
         if (namespaces == null) {
@@ -425,7 +437,7 @@ public final class NamePage extends AbstractForwardingPage {
                                    NAMESPACE_REFERENCE_OFFSET,
                                    maxNodeKeys.getOrDefault(NAMESPACE_REFERENCE_OFFSET, 0L));
         }
-        namespaces.removeName(key, pageTrx);
+        namespaces.removeName(key, count, pageTrx);
       }
       case ATTRIBUTE -> {
         if (attributes == null) {
@@ -433,7 +445,7 @@ public final class NamePage extends AbstractForwardingPage {
                                    ATTRIBUTES_REFERENCE_OFFSET,
                                    maxNodeKeys.getOrDefault(ATTRIBUTES_REFERENCE_OFFSET, 0L));
         }
-        attributes.removeName(key, pageTrx);
+        attributes.removeName(key, count, pageTrx);
       }
       case PROCESSING_INSTRUCTION -> {
         if (processingInstructions == null) {
@@ -441,7 +453,7 @@ public final class NamePage extends AbstractForwardingPage {
                                                PROCESSING_INSTRUCTION_REFERENCE_OFFSET,
                                                maxNodeKeys.getOrDefault(PROCESSING_INSTRUCTION_REFERENCE_OFFSET, 0L));
         }
-        processingInstructions.removeName(key, pageTrx);
+        processingInstructions.removeName(key, count, pageTrx);
       }
       case OBJECT_KEY -> {
         if (jsonObjectKeys == null) {
@@ -449,7 +461,7 @@ public final class NamePage extends AbstractForwardingPage {
                                        JSON_OBJECT_KEY_REFERENCE_OFFSET,
                                        maxNodeKeys.getOrDefault(JSON_OBJECT_KEY_REFERENCE_OFFSET, 0L));
         }
-        jsonObjectKeys.removeName(key, pageTrx);
+        jsonObjectKeys.removeName(key, count, pageTrx);
       }
       default -> throw new IllegalStateException("No other node types supported!");
     }
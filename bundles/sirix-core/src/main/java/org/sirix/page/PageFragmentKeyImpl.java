@@ -7,4 +7,15 @@ import org.sirix.page.interfaces.PageFragmentKey;
  *
  * @author Johannes Lichtenberger
  */
-public record PageFragmentKeyImpl(int revision, long key) implements PageFragmentKey {}
\ No newline at end of file
+public record PageFragmentKeyImpl(int revision, long key, long slotSummary) implements PageFragmentKey {
+
+  /**
+   * Constructor for a page fragment key without a known slot summary.
+   *
+   * @param revision the revision number
+   * @param key      the offset key into the storage file
+   */
+  public PageFragmentKeyImpl(int revision, long key) {
+    this(revision, key, SlotSummary.ALL_SLOTS);
+  }
+}
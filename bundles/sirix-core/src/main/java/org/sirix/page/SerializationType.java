@@ -283,6 +283,12 @@ public enum SerializationType {
     }
   };
 
+  /**
+   * The maximum number of page fragments of a serialized page reference, as the number is stored in a
+   * single unsigned byte.
+   */
+  public static final int MAX_NUMBER_OF_PAGE_FRAGMENTS = 0xff;
+
   private static void writeHash(Bytes<ByteBuffer> out, PageReference pageReference) throws IOException {
     if (pageReference.getHash() == null) {
       out.writeInt(-1);
@@ -305,10 +311,14 @@ public enum SerializationType {
 
   private static void readPageFragments(Bytes<ByteBuffer> in, PageReference reference) throws IOException {
     final int keysSize = in.readByte() & 0xff;
-    if (keysSize > 0) {
-      for (int i = 0; i < keysSize; i++) {
-        final var revision = in.readInt();
-        final var key = in.readLong();
+    for (int i = 0; i < keysSize; i++) {
+      final var revision = in.readInt();
+      final var key = in.readLong();
+      // The revision is stored complemented, if the key is followed by its slot summary. References written
+      // before slot summaries have been introduced only store non-negative revisions.
+      if (revision < 0) {
+        reference.addPageFragment(new PageFragmentKeyImpl(~revision, key, in.readLong()));
+      } else {
         reference.addPageFragment(new PageFragmentKeyImpl(revision, key));
       }
     }
@@ -318,10 +328,14 @@ public enum SerializationType {
 
   private static void writePageFragments(Bytes<ByteBuffer> out, PageReference pageReference) throws IOException {
     final var keys = pageReference.getPageFragments();
+    if (keys.size() > MAX_NUMBER_OF_PAGE_FRAGMENTS) {
+      throw new SirixIOException("Too many page fragments to serialize: " + keys.size());
+    }
     out.writeByte((byte) keys.size());
     for (final PageFragmentKey key : keys) {
-      out.writeInt(key.revision());
+      out.writeInt(~key.revision());
       out.writeLong(key.key());
+      out.writeLong(key.slotSummary());
     }
     out.writeLong(pageReference.getKey());
   }
@@ -0,0 +1,65 @@
+package org.sirix.page;
+
+import org.sirix.node.interfaces.DataRecord;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.settings.Constants;
+
+import java.util.Map;
+
+/**
+ * A 64 bit slot-presence summary of a record page fragment. Bit {@code i} is set if the fragment
+ * stores a record (or a reference to an overflow page) in one of the slots
+ * {@code [i * SLOTS_PER_BIT, (i + 1) * SLOTS_PER_BIT)}. Like a Bloom filter the summary never
+ * yields false negatives, thus a cleared bit means that the fragment doesn't have to be read to
+ * look up a record.
+ */
+public final class SlotSummary {
+
+  /**
+   * Summary, which doesn't exclude any slot (used if the summary of a fragment is unknown).
+   */
+  public static final long ALL_SLOTS = -1L;
+
+  /**
+   * Number of consecutive slots covered by one bit.
+   */
+  static final int SLOTS_PER_BIT = Constants.NDP_NODE_COUNT / Long.SIZE;
+
+  private SlotSummary() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Compute the summary of a record page fragment.
+   *
+   * @param page the page fragment
+   * @param <V>  the record type
+   * @return the summary
+   */
+  public static <V extends DataRecord> long of(final KeyValuePage<V> page) {
+    long summary = 0L;
+    for (final V record : page.values()) {
+      summary |= bitOf(record.getNodeKey());
+    }
+    for (final Map.Entry<Long, PageReference> entry : page.referenceEntrySet()) {
+      summary |= bitOf(entry.getKey());
+    }
+    return summary;
+  }
+
+  /**
+   * Determines if a fragment with the given summary may store the record with the given key.
+   *
+   * @param summary   the summary of the fragment
+   * @param recordKey the record key
+   * @return {@code false}, if the fragment definitely doesn't store the record, {@code true} otherwise
+   */
+  public static boolean mayContain(final long summary, final long recordKey) {
+    return (summary & bitOf(recordKey)) != 0;
+  }
+
+  static long bitOf(final long recordKey) {
+    final int offset = (int) (recordKey & (Constants.NDP_NODE_COUNT - 1));
+    return 1L << (offset / SLOTS_PER_BIT);
+  }
+}
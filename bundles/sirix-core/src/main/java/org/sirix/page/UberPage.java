@@ -65,6 +65,17 @@ public final class UberPage implements Page {
     isBootstrap = true;
   }
 
+  /**
+   * Create the uber page of a resource, whose revisions have already been committed, for instance
+   * the first uber page of a branch.
+   *
+   * @param revisionCount the number of revisions
+   */
+  public UberPage(final @NonNegative int revisionCount) {
+    this.revisionCount = revisionCount;
+    isBootstrap = false;
+  }
+
   /**
    * Read uber page.
    *
@@ -17,4 +17,11 @@ public interface PageFragmentKey {
    * @return The revision number.
    */
   int revision();
+
+  /**
+   * Get the slot-presence summary of the fragment.
+   * @return The summary, a set bit for each group of slots the fragment might store records in.
+   * @see org.sirix.page.SlotSummary
+   */
+  long slotSummary();
 }
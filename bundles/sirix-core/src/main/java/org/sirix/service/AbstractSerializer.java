@@ -110,6 +110,7 @@ public abstract class AbstractSerializer<R extends NodeReadOnlyTrx & NodeCursor,
 
     for (int i = 1; i <= length; i++) {
       try (final R rtx = resMgr.beginNodeReadOnlyTrx((nrOfRevisions == 1 && revisions[0] < 0) ? i : revisions[i - 1])) {
+        rtx.getPageTrx().setAccessPattern(AccessPattern.SCAN);
         emitRevisionStartNode(rtx);
 
         rtx.moveTo(startNodeKey);
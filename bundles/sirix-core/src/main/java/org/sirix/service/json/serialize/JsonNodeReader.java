@@ -0,0 +1,236 @@
+package org.sirix.service.json.serialize;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.node.NodeKind;
+
+import java.io.Reader;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Provides the subtree rooted at the current node of a read-only transaction as a stream of JSON
+ * tokens, such that it can be fed into the {@code JsonShredder} without serializing and parsing it.
+ * The subtree of an object key is enclosed in an object.
+ *
+ * <p>The transaction is moved while the tokens are read and is located at the root of the subtree
+ * once all tokens have been read.
+ */
+public final class JsonNodeReader extends JsonReader {
+
+  private enum State {
+    BEGIN_ENCLOSING_OBJECT,
+
+    OPEN_NODE,
+
+    CLOSE_NODE,
+
+    END_ENCLOSING_OBJECT,
+
+    FINISHED
+  }
+
+  private final JsonNodeReadOnlyTrx rtx;
+
+  private final long rootKey;
+
+  private final boolean isEnclosed;
+
+  private State state;
+
+  /**
+   * Constructor.
+   *
+   * @param rtx the read-only transaction, located at the root of the subtree to read
+   */
+  public JsonNodeReader(final JsonNodeReadOnlyTrx rtx) {
+    super(Reader.nullReader());
+    this.rtx = checkNotNull(rtx);
+    checkArgument(rtx.getKind() != NodeKind.JSON_DOCUMENT, "The transaction must not be located at the document root.");
+    rootKey = rtx.getNodeKey();
+    isEnclosed = rtx.isObjectKey();
+    state = isEnclosed ? State.BEGIN_ENCLOSING_OBJECT : State.OPEN_NODE;
+  }
+
+  @Override
+  public JsonToken peek() {
+    return switch (state) {
+      case BEGIN_ENCLOSING_OBJECT -> JsonToken.BEGIN_OBJECT;
+      case OPEN_NODE -> switch (rtx.getKind()) {
+        case OBJECT -> JsonToken.BEGIN_OBJECT;
+        case ARRAY -> JsonToken.BEGIN_ARRAY;
+        case OBJECT_KEY -> JsonToken.NAME;
+        case STRING_VALUE, OBJECT_STRING_VALUE -> JsonToken.STRING;
+        case NUMBER_VALUE, OBJECT_NUMBER_VALUE -> JsonToken.NUMBER;
+        case BOOLEAN_VALUE, OBJECT_BOOLEAN_VALUE -> JsonToken.BOOLEAN;
+        case NULL_VALUE, OBJECT_NULL_VALUE -> JsonToken.NULL;
+        default -> throw new IllegalStateException("Node kind " + rtx.getKind() + " not supported.");
+      };
+      case CLOSE_NODE -> rtx.isObject() ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+      case END_ENCLOSING_OBJECT -> JsonToken.END_OBJECT;
+      case FINISHED -> JsonToken.END_DOCUMENT;
+    };
+  }
+
+  @Override
+  public boolean hasNext() {
+    final var token = peek();
+    return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+  }
+
+  @Override
+  public void beginObject() {
+    consume(JsonToken.BEGIN_OBJECT);
+  }
+
+  @Override
+  public void endObject() {
+    consume(JsonToken.END_OBJECT);
+  }
+
+  @Override
+  public void beginArray() {
+    consume(JsonToken.BEGIN_ARRAY);
+  }
+
+  @Override
+  public void endArray() {
+    consume(JsonToken.END_ARRAY);
+  }
+
+  @Override
+  public String nextName() {
+    expect(JsonToken.NAME);
+    final String name = rtx.getName().stringValue();
+    consume(JsonToken.NAME);
+    return name;
+  }
+
+  @Override
+  public String nextString() {
+    final var token = peek();
+    if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+      throw new IllegalStateException("Expected a string or a number but was " + token + ".");
+    }
+    final String value = token == JsonToken.NUMBER ? String.valueOf(rtx.getNumberValue()) : rtx.getValue();
+    consume(token);
+    return value;
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    expect(JsonToken.BOOLEAN);
+    final boolean value = rtx.getBooleanValue();
+    consume(JsonToken.BOOLEAN);
+    return value;
+  }
+
+  @Override
+  public void nextNull() {
+    consume(JsonToken.NULL);
+  }
+
+  @Override
+  public double nextDouble() {
+    expect(JsonToken.NUMBER);
+    final double value = rtx.getNumberValue().doubleValue();
+    consume(JsonToken.NUMBER);
+    return value;
+  }
+
+  @Override
+  public long nextLong() {
+    expect(JsonToken.NUMBER);
+    final long value = rtx.getNumberValue().longValue();
+    consume(JsonToken.NUMBER);
+    return value;
+  }
+
+  @Override
+  public int nextInt() {
+    expect(JsonToken.NUMBER);
+    final int value = rtx.getNumberValue().intValue();
+    consume(JsonToken.NUMBER);
+    return value;
+  }
+
+  /**
+   * Skip the next value, including all nested values, or the next name.
+   */
+  @Override
+  public void skipValue() {
+    switch (state) {
+      case BEGIN_ENCLOSING_OBJECT -> state = State.FINISHED;
+      case OPEN_NODE -> {
+        if (rtx.isObjectKey()) {
+          consume(JsonToken.NAME);
+        } else {
+          // The children of objects and arrays aren't visited.
+          moveToNextNode();
+        }
+      }
+      default -> throw new IllegalStateException("Expected a value or a name but was " + peek() + ".");
+    }
+  }
+
+  @Override
+  public void close() {
+    state = State.FINISHED;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + " at node " + rtx.getNodeKey();
+  }
+
+  private void expect(final JsonToken expectedToken) {
+    final var token = peek();
+    if (token != expectedToken) {
+      throw new IllegalStateException("Expected " + expectedToken + " but was " + token + ".");
+    }
+  }
+
+  private void consume(final JsonToken expectedToken) {
+    expect(expectedToken);
+
+    switch (state) {
+      case BEGIN_ENCLOSING_OBJECT -> state = State.OPEN_NODE;
+      case END_ENCLOSING_OBJECT -> state = State.FINISHED;
+      case OPEN_NODE -> {
+        if (rtx.isObject() || rtx.isArray()) {
+          state = rtx.moveToFirstChild() ? State.OPEN_NODE : State.CLOSE_NODE;
+        } else if (rtx.isObjectKey()) {
+          rtx.moveToFirstChild();
+        } else {
+          moveToNextNode();
+        }
+      }
+      case CLOSE_NODE -> moveToNextNode();
+      default -> throw new IllegalStateException("No more tokens available.");
+    }
+  }
+
+  private void moveToNextNode() {
+    while (true) {
+      if (rtx.getNodeKey() == rootKey) {
+        state = isEnclosed ? State.END_ENCLOSING_OBJECT : State.FINISHED;
+        return;
+      }
+
+      if (rtx.moveToRightSibling()) {
+        state = State.OPEN_NODE;
+        return;
+      }
+
+      rtx.moveToParent();
+
+      // An object key is closed together with its value.
+      if (!rtx.isObjectKey()) {
+        state = State.CLOSE_NODE;
+        return;
+      }
+    }
+  }
+}
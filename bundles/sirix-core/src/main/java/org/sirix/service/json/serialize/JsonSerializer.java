@@ -32,6 +32,7 @@ import org.sirix.api.json.JsonResourceSession;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.axis.IncludeSelf;
 import org.sirix.node.NodeKind;
+import org.sirix.node.interfaces.immutable.ImmutableValueNode;
 import org.sirix.service.AbstractSerializer;
 import org.sirix.service.xml.serialize.XmlSerializerProperties;
 import org.sirix.settings.Constants;
@@ -75,6 +76,11 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
    */
   private final Appendable out;
 
+  /**
+   * The output, if string values can be written as UTF-8 bytes directly, {@code null} otherwise.
+   */
+  private final Utf8OutputBuffer utf8Out;
+
   /**
    * Indent output.
    */
@@ -119,6 +125,7 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
         : new JsonMaxLevelMaxNodesMaxChildNodesVisitor(builder.startNodeKey, IncludeSelf.YES, builder.maxLevel,
             builder.maxNodes, builder.maxChildNodes), builder.startNodeKey, builder.version, builder.versions);
     out = builder.stream;
+    utf8Out = out instanceof Utf8OutputBuffer utf8OutputBuffer ? utf8OutputBuffer : null;
     indent = builder.indent;
     indentSpaces = builder.indentSpaces;
     withInitialIndent = builder.initialIndent;
@@ -250,7 +257,7 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
         case STRING_VALUE:
         case OBJECT_STRING_VALUE:
           emitMetaData(rtx);
-          appendObjectValue(quote(StringValue.escape(rtx.getValue())));
+          appendStringValue(rtx);
           if (withMetaDataField()) {
             appendObjectEnd(true);
           }
@@ -265,6 +272,15 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
     }
   }
 
+  private void appendStringValue(final JsonNodeReadOnlyTrx rtx) throws IOException {
+    if (utf8Out != null && rtx.getNode() instanceof ImmutableValueNode valueNode) {
+      // Escape the stored UTF-8 bytes directly without decoding them to a string.
+      utf8Out.append('"').appendEscaped(valueNode.getRawValue()).append('"');
+    } else {
+      appendObjectValue(quote(StringValue.escape(rtx.getValue())));
+    }
+  }
+
   private String printHashValue(JsonNodeReadOnlyTrx rtx) {
     return String.format("%032x", rtx.getHash());
   }
@@ -456,6 +472,10 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
 
         appendArrayEnd(true).appendObjectEnd(true);
       }
+
+      if (utf8Out != null) {
+        utf8Out.flush();
+      }
     } catch (final IOException e) {
       LOGWRAPPER.error(e.getMessage(), e);
     }
@@ -652,6 +672,19 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
     return new Builder(resMgr, stream, revisions);
   }
 
+  /**
+   * Constructor, setting the necessary stuff. The serializer writes UTF-8 bytes directly into the given
+   * output buffer, which is flushed once the serialization is done. The caller is responsible for closing it.
+   *
+   * @param resMgr    Sirix {@link ResourceSession}
+   * @param stream    {@link Utf8OutputBuffer} to write to
+   * @param revisions revisions to serialize
+   */
+  public static Builder newBuilder(final JsonResourceSession resMgr, final Utf8OutputBuffer stream,
+      final int... revisions) {
+    return new Builder(resMgr, stream, revisions);
+  }
+
   /**
    * Constructor.
    *
@@ -1,44 +1,56 @@
 package org.sirix.service.json.serialize;
 
-import java.util.HashMap;
-
 public final class StringValue {
   public static String escape(final String value) {
+    final int len = value.length();
 
-    var asciiCharacters = new HashMap<Character, String>() {
-      {
-        put('"', "\\\"");
-        put('\\', "\\\\");
-        put('\b', "\\b");
-        put('\f', "\\f");
-        put('\n', "\\n");
-        put('\r', "\\r");
-        put('\t', "\\t");
-        put('/', "\\/");
-      }
-    };
+    // Fast path: most values don't have to be escaped at all.
+    int i = 0;
+    while (i < len && !hasToBeEscaped(value.charAt(i))) {
+      i++;
+    }
+    if (i == len) {
+      return value;
+    }
 
-    final StringBuilder sb = new StringBuilder();
-    final int len = value.length();
+    final StringBuilder sb = new StringBuilder(len + 16);
+    sb.append(value, 0, i);
 
-    for (int i = 0; i < len; i++) {
-      char ch = value.charAt(i);
-      sb.append(asciiCharacters.computeIfAbsent(ch, StringValue::escapeUnicode));
+    for (; i < len; i++) {
+      final char ch = value.charAt(i);
+      switch (ch) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\b' -> sb.append("\\b");
+        case '\f' -> sb.append("\\f");
+        case '\n' -> sb.append("\\n");
+        case '\r' -> sb.append("\\r");
+        case '\t' -> sb.append("\\t");
+        case '/' -> sb.append("\\/");
+        default -> escapeUnicode(sb, ch);
+      }
     }
     return sb.toString();
   }
 
-  private static String escapeUnicode(char ch) {
-    StringBuilder sb = new StringBuilder();
+  private static boolean hasToBeEscaped(final char ch) {
+    return ch == '"' || ch == '\\' || ch == '/' || isControlCharacter(ch);
+  }
+
+  private static boolean isControlCharacter(final char ch) {
     //Reference: http://www.unicode.org/versions/Unicode5.1.0/
-    if ((ch >= '\u0000' && ch <= '\u001F') || (ch >= '\u007F' && ch <= '\u009F') || (ch >= '\u2000' && ch <= '\u20FF')) {
-      String ss = Integer.toHexString(ch);
+    return (ch >= '\u0000' && ch <= '\u001F') || (ch >= '\u007F' && ch <= '\u009F') || (ch >= '\u2000'
+        && ch <= '\u20FF');
+  }
+
+  private static void escapeUnicode(final StringBuilder sb, final char ch) {
+    if (isControlCharacter(ch)) {
+      final String ss = Integer.toHexString(ch);
       sb.append("\\u");
       sb.append("0".repeat(4 - ss.length()));
       sb.append(ss.toUpperCase());
     } else {
       sb.append(ch);
     }
-    return sb.toString();
   }
 }
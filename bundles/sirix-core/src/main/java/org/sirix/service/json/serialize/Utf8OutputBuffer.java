@@ -0,0 +1,276 @@
+package org.sirix.service.json.serialize;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>
+ * An {@link Appendable}, which encodes the appended characters straight to UTF-8 into a pooled
+ * {@link ByteBuffer} instead of building intermediate strings. As soon as the buffered bytes
+ * exceed the flush threshold they are written to the underlying {@link OutputStream}, thus a
+ * blocking or slow stream applies backpressure to the serializer and memory stays bounded.
+ * </p>
+ * <p>
+ * Stored string values, which are already UTF-8 encoded, are escaped directly from their bytes
+ * via {@link #appendEscaped(byte[])}. The {@link JsonSerializer} uses this path automatically, if
+ * it writes to an instance of this class.
+ * </p>
+ * <p>
+ * The buffer is handed back to the pool on {@link #close()}, which doesn't close the underlying
+ * stream. Instances are not thread safe.
+ * </p>
+ */
+public final class Utf8OutputBuffer implements Appendable, Flushable, Closeable {
+
+  /** Default size of the pooled buffers in bytes. */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  /** Maximum number of buffers kept in the pool. */
+  private static final int MAX_POOLED_BUFFERS = 64;
+
+  /** Pool of buffers with the default size. */
+  private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  /** Hex digits used to escape characters. */
+  private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes();
+
+  /** The maximum number of bytes a single append of a character (or escaped byte) produces. */
+  private static final int MAX_BYTES_PER_CHAR = 6;
+
+  /** Stream to write to. */
+  private final OutputStream out;
+
+  /** Number of buffered bytes, after which the buffer is flushed to the stream. */
+  private final int flushThreshold;
+
+  /** The buffer. */
+  private ByteBuffer buffer;
+
+  /** A high surrogate, if the last appended char has been one. */
+  private char pendingHighSurrogate;
+
+  /**
+   * Constructor, which uses a pooled buffer of {@link #DEFAULT_BUFFER_SIZE} bytes and flushes as
+   * soon as the buffer is nearly full.
+   *
+   * @param out the stream to write to
+   */
+  public Utf8OutputBuffer(final OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE - MAX_BYTES_PER_CHAR);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param out            the stream to write to
+   * @param flushThreshold number of buffered bytes, after which the bytes are written to the stream
+   *                       (at most {@link #DEFAULT_BUFFER_SIZE} minus a few bytes)
+   */
+  public Utf8OutputBuffer(final OutputStream out, final int flushThreshold) {
+    checkArgument(flushThreshold > 0 && flushThreshold <= DEFAULT_BUFFER_SIZE - MAX_BYTES_PER_CHAR,
+                  "flushThreshold out of range!");
+    this.out = checkNotNull(out);
+    this.flushThreshold = flushThreshold;
+    final ByteBuffer pooledBuffer = BUFFER_POOL.poll();
+    buffer = pooledBuffer == null ? ByteBuffer.allocate(DEFAULT_BUFFER_SIZE) : pooledBuffer;
+  }
+
+  @Override
+  public Utf8OutputBuffer append(final CharSequence csq) throws IOException {
+    final CharSequence value = csq == null ? "null" : csq;
+    return append(value, 0, value.length());
+  }
+
+  @Override
+  public Utf8OutputBuffer append(final CharSequence csq, final int start, final int end) throws IOException {
+    final CharSequence value = csq == null ? "null" : csq;
+    for (int i = start; i < end; i++) {
+      append(value.charAt(i));
+    }
+    return this;
+  }
+
+  @Override
+  public Utf8OutputBuffer append(final char c) throws IOException {
+    assertNotClosed();
+
+    if (pendingHighSurrogate != 0) {
+      final char highSurrogate = pendingHighSurrogate;
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        putCodePoint(Character.toCodePoint(highSurrogate, c));
+        return flushIfNeeded();
+      }
+      // Unpaired surrogate.
+      buffer.put((byte) '?');
+    }
+
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      // Unpaired surrogate.
+      buffer.put((byte) '?');
+    } else {
+      putCodePoint(c);
+    }
+
+    return flushIfNeeded();
+  }
+
+  /**
+   * Append a JSON string value, which is given as UTF-8 encoded bytes, escaped as done by
+   * {@link StringValue#escape(String)}, but without decoding it.
+   *
+   * @param value the UTF-8 encoded bytes of the value
+   * @return this instance
+   * @throws IOException if flushing to the underlying stream fails
+   */
+  public Utf8OutputBuffer appendEscaped(final byte[] value) throws IOException {
+    assertNotClosed();
+
+    final int length = value.length;
+    int i = 0;
+    while (i < length) {
+      final int b = value[i] & 0xFF;
+
+      if (b < 0x80) {
+        switch (b) {
+          case '"' -> putAscii('\\', '"');
+          case '\\' -> putAscii('\\', '\\');
+          case '\b' -> putAscii('\\', 'b');
+          case '\f' -> putAscii('\\', 'f');
+          case '\n' -> putAscii('\\', 'n');
+          case '\r' -> putAscii('\\', 'r');
+          case '\t' -> putAscii('\\', 't');
+          case '/' -> putAscii('\\', '/');
+          default -> {
+            if (b <= 0x1F || b == 0x7F) {
+              putUnicodeEscape(b);
+            } else {
+              buffer.put((byte) b);
+            }
+          }
+        }
+        i++;
+      } else if (b == 0xC2 && i + 1 < length && isInRange(value[i + 1], 0x80, 0x9F)) {
+        // U+0080 - U+009F
+        putUnicodeEscape(value[i + 1] & 0xFF);
+        i += 2;
+      } else if (b == 0xE2 && i + 2 < length && isInRange(value[i + 1], 0x80, 0x83)) {
+        // U+2000 - U+20FF
+        putUnicodeEscape(0x2000 | ((value[i + 1] & 0x3F) << 6) | (value[i + 2] & 0x3F));
+        i += 3;
+      } else {
+        buffer.put((byte) b);
+        i++;
+      }
+
+      flushIfNeeded();
+    }
+
+    return this;
+  }
+
+  /**
+   * Write all buffered bytes to the underlying stream and flush it.
+   *
+   * @throws IOException if writing to the stream fails
+   */
+  @Override
+  public void flush() throws IOException {
+    assertNotClosed();
+    writeBufferedBytes();
+    out.flush();
+  }
+
+  /**
+   * Write all buffered bytes to the underlying stream and hand the buffer back to the pool. The
+   * underlying stream is not closed.
+   *
+   * @throws IOException if writing to the stream fails
+   */
+  @Override
+  public void close() throws IOException {
+    if (buffer == null) {
+      return;
+    }
+
+    try {
+      if (pendingHighSurrogate != 0) {
+        pendingHighSurrogate = 0;
+        buffer.put((byte) '?');
+      }
+      writeBufferedBytes();
+      out.flush();
+    } finally {
+      final ByteBuffer bufferToRelease = buffer;
+      buffer = null;
+      bufferToRelease.clear();
+      BUFFER_POOL.offer(bufferToRelease);
+    }
+  }
+
+  private Utf8OutputBuffer flushIfNeeded() throws IOException {
+    if (buffer.position() >= flushThreshold) {
+      writeBufferedBytes();
+    }
+    return this;
+  }
+
+  private void writeBufferedBytes() throws IOException {
+    if (buffer.position() > 0) {
+      out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+      buffer.clear();
+    }
+  }
+
+  private static boolean isInRange(final byte value, final int from, final int to) {
+    final int b = value & 0xFF;
+    return b >= from && b <= to;
+  }
+
+  private void putCodePoint(final int codePoint) {
+    if (codePoint < 0x800) {
+      buffer.put((byte) (0xC0 | (codePoint >> 6)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+    } else if (codePoint < 0x10000) {
+      buffer.put((byte) (0xE0 | (codePoint >> 12)));
+      buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+    } else {
+      buffer.put((byte) (0xF0 | (codePoint >> 18)));
+      buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+      buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+    }
+  }
+
+  private void putAscii(final char first, final char second) {
+    buffer.put((byte) first);
+    buffer.put((byte) second);
+  }
+
+  private void putUnicodeEscape(final int c) {
+    buffer.put((byte) '\\');
+    buffer.put((byte) 'u');
+    buffer.put(HEX_DIGITS[(c >> 12) & 0xF]);
+    buffer.put(HEX_DIGITS[(c >> 8) & 0xF]);
+    buffer.put(HEX_DIGITS[(c >> 4) & 0xF]);
+    buffer.put(HEX_DIGITS[c & 0xF]);
+  }
+
+  private void assertNotClosed() {
+    checkState(buffer != null, "Output buffer is already closed!");
+  }
+}
@@ -22,6 +22,7 @@
 package org.sirix.service.xml.serialize;
 
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.sirix.api.AccessPattern;
 import org.sirix.api.Axis;
 import org.sirix.api.ResourceSession;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
@@ -128,6 +129,7 @@ public abstract class AbstractSerializer implements Callable<Void> {
       try (final XmlNodeReadOnlyTrx rtx = mResMgr.beginNodeReadOnlyTrx((nrOfRevisions == 1 && mRevisions[0] < 0)
           ? i
           : mRevisions[i - 1])) {
+        rtx.getPageTrx().setAccessPattern(AccessPattern.SCAN);
         emitRevisionStartTag(rtx);
 
         rtx.moveTo(mNodeKey);
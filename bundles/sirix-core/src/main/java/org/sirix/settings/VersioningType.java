@@ -28,6 +28,7 @@ import org.sirix.cache.TransactionIntentLog;
 import org.sirix.node.interfaces.DataRecord;
 import org.sirix.page.PageFragmentKeyImpl;
 import org.sirix.page.PageReference;
+import org.sirix.page.SlotSummary;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.page.interfaces.PageFragmentKey;
 
@@ -141,7 +142,9 @@ public enum VersioningType {
       final int revision = pageReadTrx.getUberPage().getRevisionNumber();
       final List<T> returnVal = new ArrayList<>(2);
 
-      reference.setPageFragments(List.of(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(), reference.getKey())));
+      reference.setPageFragments(List.of(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(),
+                                                                 reference.getKey(),
+                                                                 SlotSummary.of(firstPage))));
 
       returnVal.add(firstPage.newInstance(recordPageKey, firstPage.getIndexType(), pageReadTrx));
       returnVal.add(firstPage.newInstance(recordPageKey, firstPage.getIndexType(), pageReadTrx));
@@ -271,7 +274,9 @@ public enum VersioningType {
       final long recordPageKey = firstPage.getPageKey();
       final List<T> returnVal = new ArrayList<>(2);
       final var previousPageFragmentKeys = new ArrayList<PageFragmentKey>(reference.getPageFragments().size() + 1);
-      previousPageFragmentKeys.add(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(), reference.getKey()));
+      previousPageFragmentKeys.add(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(),
+                                                           reference.getKey(),
+                                                           SlotSummary.of(firstPage)));
       for (int i = 0, previousRefKeysSize = reference.getPageFragments().size();
            i < previousRefKeysSize && previousPageFragmentKeys.size() < revToRestore - 1; i++) {
         previousPageFragmentKeys.add(reference.getPageFragments().get(i));
@@ -406,7 +411,9 @@ public enum VersioningType {
       final T firstPage = pages.get(0);
       final long recordPageKey = firstPage.getPageKey();
       final var previousPageFragmentKeys = new ArrayList<PageFragmentKey>(reference.getPageFragments().size() + 1);
-      previousPageFragmentKeys.add(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(), reference.getKey()));
+      previousPageFragmentKeys.add(new PageFragmentKeyImpl(pageReadTrx.getRevisionNumber(),
+                                                           reference.getKey(),
+                                                           SlotSummary.of(firstPage)));
       for (int i = 0, previousRefKeysSize = reference.getPageFragments().size();
            i < previousRefKeysSize && previousPageFragmentKeys.size() < revToRestore - 1; i++) {
         previousPageFragmentKeys.add(reference.getPageFragments().get(i));
@@ -0,0 +1,77 @@
+package org.sirix.access;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.exception.SirixIOException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class ResourceConfigurationTest {
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testNumberOfRevisionsToRestoreIsLimited() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> ResourceConfiguration.newBuilder(JsonTestHelper.RESOURCE)
+                                            .maxNumberOfRevisionsToRestore(
+                                                ResourceConfiguration.MAX_VERSIONS_TO_RESTORE + 1));
+  }
+
+  @Test
+  public void testStoredNumberOfRevisionsToRestoreIsKept() throws IOException {
+    final ResourceConfiguration config = storeNumberOfRevisionsToRestore(ResourceConfiguration.MAX_VERSIONS_TO_RESTORE);
+
+    assertEquals(ResourceConfiguration.MAX_VERSIONS_TO_RESTORE,
+                 ResourceConfiguration.deserialize(config.getResource()).maxNumberOfRevisionsToRestore);
+  }
+
+  @Test
+  public void testUnsupportedStoredNumberOfRevisionsToRestoreIsRejected() throws IOException {
+    // The configuration of a resource created before the number has been limited.
+    final ResourceConfiguration config = storeNumberOfRevisionsToRestore(1000);
+
+    assertThrows(SirixIOException.class, () -> ResourceConfiguration.deserialize(config.getResource()));
+  }
+
+  @Test
+  public void testIntentLogCapacityIsKept() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder("resource").intentLogCapacity(16).build());
+
+    try (final var manager = database.beginResourceSession("resource")) {
+      assertEquals(16, manager.getResourceConfig().intentLogCapacity);
+    }
+  }
+
+  private static ResourceConfiguration storeNumberOfRevisionsToRestore(final int revisionsToRestore)
+      throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    final ResourceConfiguration config;
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      config = manager.getResourceConfig();
+    }
+
+    final var configFile = config.getConfigFile();
+    final String json = Files.readString(configFile);
+    Files.writeString(configFile,
+                      json.replaceFirst("\"numbersOfRevisiontoRestore\":\\d+",
+                                        "\"numbersOfRevisiontoRestore\":" + revisionsToRestore));
+    return config;
+  }
+}
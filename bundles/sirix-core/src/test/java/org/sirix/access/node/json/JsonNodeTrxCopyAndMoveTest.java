@@ -0,0 +1,288 @@
+package org.sirix.access.node.json;
+
+import com.google.gson.stream.JsonToken;
+import org.brackit.xquery.util.path.PathParser;
+import org.brackit.xquery.xdm.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexDefs;
+import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.index.redblacktree.RBTreeReader;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.node.interfaces.Node;
+import org.sirix.service.json.serialize.JsonNodeReader;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.settings.Fixed;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.brackit.xquery.util.path.Path.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonNodeTrxCopyAndMoveTest {
+
+  private static final String JSON = """
+      {"a":{"x":1,"y":[true,null]},"b":{},"c":["s",{"k":"v"}]}
+      """;
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testCopyObjectRecordAsFirstChild() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        rtx.moveTo(2);
+        wtx.moveTo(11);
+        wtx.copySubtreeAsFirstChild(rtx);
+      }
+
+      wtx.commit();
+
+      assertJson(manager, """
+          {"a":{"x":1,"y":[true,null]},"b":{"a":{"x":1,"y":[true,null]}},"c":["s",{"k":"v"}]}
+          """);
+      assertDeweyIDsAreOrdered(manager);
+    }
+  }
+
+  @Test
+  public void testCopyObjectAsLeftSibling() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        rtx.moveTo(15);
+        wtx.moveTo(14);
+        wtx.copySubtreeAsLeftSibling(rtx);
+      }
+
+      wtx.commit();
+
+      assertJson(manager, """
+          {"a":{"x":1,"y":[true,null]},"b":{},"c":[{"k":"v"},"s",{"k":"v"}]}
+          """);
+      assertDeweyIDsAreOrdered(manager);
+    }
+  }
+
+  @Test
+  public void testMoveObjectRecordToFirstChild() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      wtx.moveTo(11);
+      wtx.moveSubtreeToFirstChild(6);
+      wtx.commit();
+
+      assertJson(manager, """
+          {"a":{"x":1},"b":{"y":[true,null]},"c":["s",{"k":"v"}]}
+          """);
+      assertDeweyIDsAreOrdered(manager);
+    }
+  }
+
+  @Test
+  public void testMoveArrayElementToLeftSibling() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      wtx.moveTo(14);
+      wtx.moveSubtreeToLeftSibling(15);
+      wtx.commit();
+
+      assertJson(manager, """
+          {"a":{"x":1,"y":[true,null]},"b":{},"c":[{"k":"v"},"s"]}
+          """);
+      assertDeweyIDsAreOrdered(manager);
+    }
+  }
+
+  @Test
+  public void testMoveToOtherPathAdaptsPathSummaryIndexesAndHashes() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      final var paths = Set.of(parse("/a/y", PathParser.Type.JSON), parse("/b/y", PathParser.Type.JSON));
+      final var pathIndexDef = IndexDefs.createPathIdxDef(paths, 0, IndexDef.DbType.JSON);
+      final var casIndexDef = IndexDefs.createCASIdxDef(false, Type.STR, paths, 0, IndexDef.DbType.JSON);
+      manager.getWtxIndexController(wtx.getRevisionNumber()).createIndexes(Set.of(pathIndexDef, casIndexDef), wtx);
+
+      // 1: object, 2: "a", 3: object, 4: "x", 5: 1, 6: "y", 7: "v", 8: "b", 9: object
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("""
+          {"a":{"x":1,"y":"v"},"b":{}}
+          """));
+
+      wtx.moveTo(1);
+      final BigInteger rootHash = wtx.getHash();
+      wtx.moveTo(6);
+      final BigInteger descendantsHash = descendantsHash(wtx);
+
+      wtx.moveTo(9);
+      wtx.moveSubtreeToFirstChild(6);
+      wtx.commit();
+
+      assertJson(manager, """
+          {"a":{"x":1},"b":{"y":"v"}}
+          """);
+
+      final var pathSummary = wtx.getPathSummary();
+      assertEquals(0, references(pathSummary, "/a/y"));
+      assertEquals(1, references(pathSummary, "/a/x"));
+      assertEquals(1, references(pathSummary, "/b/y"));
+      final long pathNodeKeyOfBY = pathSummary.getPCRsForPath(parse("/b/y", PathParser.Type.JSON), false)
+                                              .iterator()
+                                              .next();
+
+      assertEquals(Map.of(pathNodeKeyOfBY, Set.of(6L)), indexEntries(manager, wtx, pathIndexDef));
+      final Map<CASValue, Set<Long>> casIndexEntries = indexEntries(manager, wtx, casIndexDef);
+      assertEquals(1, casIndexEntries.size());
+      final var casValue = casIndexEntries.keySet().iterator().next();
+      assertEquals(pathNodeKeyOfBY, casValue.getPathNodeKey());
+      assertEquals("v", casValue.getAtomicValue().stringValue());
+      assertEquals(Set.of(7L), casIndexEntries.get(casValue));
+
+      // The hashes of the descendants are kept, the hashes of the old and new ancestors are adapted.
+      wtx.moveTo(6);
+      assertEquals(descendantsHash, descendantsHash(wtx));
+      wtx.moveTo(1);
+      assertNotEquals(rootHash, wtx.getHash());
+
+      wtx.moveTo(4);
+      wtx.moveSubtreeToRightSibling(6);
+      wtx.commit();
+
+      wtx.moveTo(1);
+      assertEquals(rootHash, wtx.getHash());
+      assertEquals(1, references(wtx.getPathSummary(), "/a/y"));
+      assertEquals(0, references(wtx.getPathSummary(), "/b/y"));
+    }
+  }
+
+  @Test
+  public void testSkipValuesOfNodeReader() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        rtx.moveTo(1);
+        final var reader = new JsonNodeReader(rtx);
+
+        reader.beginObject();
+        reader.skipValue();
+        // The value of "a" including its nested values.
+        reader.skipValue();
+        assertEquals("b", reader.nextName());
+        reader.skipValue();
+        assertEquals("c", reader.nextName());
+        reader.beginArray();
+        reader.skipValue();
+        reader.skipValue();
+        reader.endArray();
+        reader.endObject();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        assertEquals(1, rtx.getNodeKey());
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMoveIntoOwnSubtree() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(JSON));
+
+      wtx.moveTo(3);
+      wtx.moveSubtreeToFirstChild(2);
+    }
+  }
+
+  private static BigInteger descendantsHash(final JsonNodeTrx wtx) {
+    return Node.to128BitsAtMaximumBigInteger(wtx.getHash().subtract(wtx.getNode().computeHash()));
+  }
+
+  private static int references(final PathSummaryReader pathSummary, final String path) {
+    final var pathNodeKeys = pathSummary.getPCRsForPath(parse(path, PathParser.Type.JSON), false);
+
+    if (pathNodeKeys.isEmpty() || !pathSummary.moveTo(pathNodeKeys.iterator().next())) {
+      return 0;
+    }
+
+    return pathSummary.getReferences();
+  }
+
+  /**
+   * Get the keys of the index entries mapped to the referenced nodes, entries without references are
+   * omitted.
+   */
+  private static <K extends Comparable<? super K>> Map<K, Set<Long>> indexEntries(final JsonResourceSession manager,
+      final JsonNodeTrx wtx, final IndexDef indexDef) {
+    final RBTreeReader<K, NodeReferences> reader =
+        RBTreeReader.getInstance(manager.getIndexCache(), wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+
+    final var entries = new HashMap<K, Set<Long>>();
+    reader.new RBNodeIterator(Fixed.DOCUMENT_NODE_KEY.getStandardProperty()).forEachRemaining(node -> {
+      if (!node.getValue().getNodeKeys().isEmpty()) {
+        entries.put(node.getKey(), Set.copyOf(node.getValue().getNodeKeys()));
+      }
+    });
+    return entries;
+  }
+
+  private static void assertJson(final JsonResourceSession manager, final String expected) throws IOException {
+    try (final var writer = new StringWriter()) {
+      new JsonSerializer.Builder(manager, writer).build().call();
+      JSONAssert.assertEquals(expected, writer.toString(), true);
+    }
+  }
+
+  private static void assertDeweyIDsAreOrdered(final JsonResourceSession manager) {
+    try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+      SirixDeweyID previousID = null;
+      for (final var axis = new DescendantAxis(rtx); axis.hasNext(); ) {
+        axis.nextLong();
+        final SirixDeweyID id = rtx.getDeweyID();
+        assertTrue(previousID == null || previousID.compareTo(id) < 0);
+        previousID = id;
+      }
+    }
+  }
+}
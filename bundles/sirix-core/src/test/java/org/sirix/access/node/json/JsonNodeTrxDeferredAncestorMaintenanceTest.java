@@ -0,0 +1,223 @@
+package org.sirix.access.node.json;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.trx.node.json.objectvalue.NumberValue;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class JsonNodeTrxDeferredAncestorMaintenanceTest {
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testHashesAndDescendantCountsEqualImmediateMaintenance() {
+    final var database = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH1.getFile());
+    final var deferredDatabase = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH2.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx();
+         final var deferredManager = deferredDatabase.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var deferredWtx = deferredManager.beginNodeTrx()) {
+      deferredWtx.setDeferredAncestorMaintenance(true);
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+
+      deferredWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      assertEquals(wtx.getDescendantCount(), deferredWtx.getDescendantCount());
+      assertEquals(wtx.getHash(), deferredWtx.getHash());
+
+      // Modifications after the pending ancestors have been adapted.
+      wtx.moveTo(2);
+      wtx.remove();
+      deferredWtx.moveTo(2);
+      deferredWtx.remove();
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+
+      wtx.commit();
+      deferredWtx.commit();
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+           final var deferredRtx = deferredManager.beginNodeReadOnlyTrx()) {
+        assertNodesEqual(rtx, deferredRtx);
+      }
+    }
+  }
+
+  @Test
+  public void testModificationsOfSubtreesWithPendingAncestors() {
+    final var database = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH1.getFile());
+    final var deferredDatabase = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH2.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx();
+         final var deferredManager = deferredDatabase.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var deferredWtx = deferredManager.beginNodeTrx()) {
+      deferredWtx.setDeferredAncestorMaintenance(true);
+
+      // Each modification is done while the ancestors of the inserted nodes are still pending.
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      removeFirstObject(wtx);
+      removeFirstObject(deferredWtx);
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      setFirstNumberValue(wtx);
+      setFirstNumberValue(deferredWtx);
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      moveFirstObject(wtx);
+      moveFirstObject(deferredWtx);
+
+      wtx.commit();
+      deferredWtx.commit();
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+           final var deferredRtx = deferredManager.beginNodeReadOnlyTrx()) {
+        assertNodesEqual(rtx, deferredRtx);
+      }
+    }
+  }
+
+  @Test
+  public void testRollbackDropsPendingAncestors() {
+    final var database = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH1.getFile());
+    final var deferredDatabase = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH2.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx();
+         final var deferredManager = deferredDatabase.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var deferredWtx = deferredManager.beginNodeTrx()) {
+      deferredWtx.setDeferredAncestorMaintenance(true);
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      wtx.commit();
+      deferredWtx.commit();
+
+      // The ancestors of the rolled back inserts are still pending in the deferred transaction.
+      insertNodes(deferredWtx);
+      deferredWtx.rollback();
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      wtx.commit();
+      deferredWtx.commit();
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+           final var deferredRtx = deferredManager.beginNodeReadOnlyTrx()) {
+        assertNodesEqual(rtx, deferredRtx);
+      }
+    }
+  }
+
+  @Test
+  public void testRevertToKeepsDeferredAncestorMaintenance() {
+    final var database = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH1.getFile());
+    final var deferredDatabase = JsonTestHelper.getDatabaseWithHashesEnabled(PATHS.PATH2.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx();
+         final var deferredManager = deferredDatabase.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var deferredWtx = deferredManager.beginNodeTrx()) {
+      deferredWtx.setDeferredAncestorMaintenance(true);
+
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      wtx.commit();
+      deferredWtx.commit();
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      wtx.commit();
+      deferredWtx.commit();
+
+      wtx.revertTo(1);
+      deferredWtx.revertTo(1);
+      insertNodes(wtx);
+      insertNodes(deferredWtx);
+      wtx.commit();
+      deferredWtx.commit();
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+           final var deferredRtx = deferredManager.beginNodeReadOnlyTrx()) {
+        assertNodesEqual(rtx, deferredRtx);
+      }
+    }
+  }
+
+  private static void removeFirstObject(final JsonNodeTrx wtx) {
+    wtx.moveToDocumentRoot();
+    wtx.moveToFirstChild();
+    wtx.moveToFirstChild();
+    wtx.remove();
+  }
+
+  private static void setFirstNumberValue(final JsonNodeTrx wtx) {
+    wtx.moveToDocumentRoot();
+    wtx.moveToFirstChild();
+    wtx.moveToFirstChild();
+    wtx.moveToFirstChild();
+    wtx.moveToFirstChild();
+    wtx.setNumberValue(42);
+  }
+
+  private static void moveFirstObject(final JsonNodeTrx wtx) {
+    wtx.moveToDocumentRoot();
+    wtx.moveToFirstChild();
+    wtx.moveToFirstChild();
+    final long objectKey = wtx.getNodeKey();
+    wtx.moveToRightSibling();
+    wtx.moveToFirstChild();
+    wtx.moveSubtreeToRightSibling(objectKey);
+  }
+
+  private static void insertNodes(final JsonNodeTrx wtx) {
+    wtx.moveToDocumentRoot();
+    if (wtx.hasFirstChild()) {
+      wtx.moveToFirstChild();
+    } else {
+      wtx.insertArrayAsFirstChild();
+    }
+
+    wtx.insertObjectAsFirstChild();
+    wtx.insertObjectRecordAsFirstChild("a", new NumberValue(1));
+    wtx.moveToParent();
+    wtx.insertObjectRecordAsRightSibling("b", new NumberValue(2));
+    wtx.moveToParent();
+    wtx.moveToParent();
+    wtx.insertArrayAsRightSibling();
+    wtx.insertBooleanValueAsFirstChild(true);
+    wtx.insertStringValueAsRightSibling("s");
+    wtx.moveToParent();
+    wtx.insertNullValueAsRightSibling();
+  }
+
+  private static void assertNodesEqual(final JsonNodeReadOnlyTrx rtx, final JsonNodeReadOnlyTrx deferredRtx) {
+    final var axis = new DescendantAxis(rtx, IncludeSelf.YES);
+    final var deferredAxis = new DescendantAxis(deferredRtx, IncludeSelf.YES);
+    while (axis.hasNext()) {
+      assertEquals(axis.nextLong(), deferredAxis.nextLong());
+      assertEquals(rtx.getDescendantCount(), deferredRtx.getDescendantCount());
+      assertEquals(rtx.getChildCount(), deferredRtx.getChildCount());
+      assertEquals(rtx.getHash(), deferredRtx.getHash());
+    }
+    assertFalse(deferredAxis.hasNext());
+  }
+}
@@ -0,0 +1,148 @@
+package org.sirix.access.node.json;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.service.json.shredder.JsonShredder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class JsonResourceBranchTest {
+
+  private static final String BRANCH = "branch";
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testBranchIsIndependentOfResource() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2]"));
+      wtx.moveTo(1);
+      wtx.insertNumberValueAsFirstChild(0);
+      wtx.commit();
+
+      assertTrue(database.createBranch(JsonTestHelper.RESOURCE, 1, BRANCH));
+      assertFalse(database.createBranch(JsonTestHelper.RESOURCE, 1, BRANCH));
+
+      // Modify the resource after the branch has been created.
+      wtx.moveTo(1);
+      wtx.insertNumberValueAsFirstChild(-1);
+      wtx.commit();
+
+      try (final var branchManager = database.beginResourceSession(BRANCH)) {
+        assertTrue(branchManager.getResourceConfig().isBranch());
+        assertEquals(1, branchManager.getMostRecentRevisionNumber());
+        assertEquals(List.of(1, 2), getArrayValues(branchManager, 1));
+
+        try (final var branchWtx = branchManager.beginNodeTrx()) {
+          branchWtx.moveTo(1);
+          branchWtx.moveToFirstChild();
+          branchWtx.insertNumberValueAsRightSibling(3);
+          branchWtx.commit();
+        }
+
+        assertEquals(2, branchManager.getMostRecentRevisionNumber());
+        assertEquals(List.of(1, 2), getArrayValues(branchManager, 1));
+        assertEquals(List.of(1, 3, 2), getArrayValues(branchManager, 2));
+      }
+
+      assertEquals(3, manager.getMostRecentRevisionNumber());
+      assertEquals(List.of(1, 2), getArrayValues(manager, 1));
+      assertEquals(List.of(0, 1, 2), getArrayValues(manager, 2));
+      assertEquals(List.of(-1, 0, 1, 2), getArrayValues(manager, 3));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBranchOfNonExistingRevision() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2]"));
+    }
+
+    database.createBranch(JsonTestHelper.RESOURCE, 2, BRANCH);
+  }
+
+  @Test
+  public void testResourceWithBranchIsNotRemoved() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2]"));
+    }
+
+    assertTrue(database.createBranch(JsonTestHelper.RESOURCE, 1, BRANCH));
+
+    assertThrows(IllegalStateException.class, () -> database.removeResource(JsonTestHelper.RESOURCE));
+    assertTrue(database.existsResource(JsonTestHelper.RESOURCE));
+
+    try (final var branchManager = database.beginResourceSession(BRANCH)) {
+      assertEquals(List.of(1, 2), getArrayValues(branchManager, 1));
+    }
+
+    database.removeResource(BRANCH);
+    database.removeResource(JsonTestHelper.RESOURCE);
+    assertFalse(database.existsResource(BRANCH));
+    assertFalse(database.existsResource(JsonTestHelper.RESOURCE));
+  }
+
+  @Test
+  public void testResourceWithBranchIsNotTruncatedBelowBranchPoint() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2]"));
+        wtx.moveTo(1);
+        wtx.insertNumberValueAsFirstChild(0);
+        wtx.commit();
+      }
+
+      assertTrue(database.createBranch(JsonTestHelper.RESOURCE, 2, BRANCH));
+
+      try (final var pageWtx = manager.beginPageTrx()) {
+        assertThrows(IllegalStateException.class, () -> pageWtx.truncateTo(1));
+      }
+
+      try (final var wtx = manager.beginNodeTrx()) {
+        assertThrows(IllegalStateException.class, () -> wtx.truncateTo(1));
+      }
+
+      assertEquals(List.of(0, 1, 2), getArrayValues(manager, 2));
+    }
+
+    try (final var branchManager = database.beginResourceSession(BRANCH)) {
+      assertEquals(List.of(0, 1, 2), getArrayValues(branchManager, 2));
+    }
+  }
+
+  private static List<Integer> getArrayValues(final JsonResourceSession manager, final int revision) {
+    try (final var rtx = manager.beginNodeReadOnlyTrx(revision)) {
+      final var values = new ArrayList<Integer>();
+      rtx.moveTo(1);
+      for (boolean hasNext = rtx.moveToFirstChild(); hasNext; hasNext = rtx.moveToRightSibling()) {
+        values.add(rtx.getNumberValue().intValue());
+      }
+      return values;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.sirix.access.node.json;
 
 import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.util.path.PathParser;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -9,7 +10,9 @@ import org.sirix.api.Axis;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.NodeKind;
+import org.sirix.service.json.shredder.JsonShredder;
 
+import static org.brackit.xquery.util.path.Path.parse;
 import static org.junit.Assert.*;
 
 public class PathSummaryTest {
@@ -171,6 +174,64 @@ public class PathSummaryTest {
    * @param axis the axis to use
    * @return the next path summary
    */
+  @Test
+  public void testRemoveSubtreesAdaptsReferencesOfPathNodesAndNames() {
+    try (final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+         final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.moveToFirstChild();
+      wtx.remove();
+      wtx.moveToDocumentRoot();
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(
+          "[{\"a\":1,\"b\":{\"c\":2,\"a\":true}},{\"a\":3,\"b\":{\"c\":4}},{\"a\":5}]"));
+
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.moveToFirstChild();
+      wtx.moveToFirstChild();
+      final int nameKeyOfA = wtx.getNameKey();
+
+      assertEquals(3, references(wtx.getPathSummary(), "/[]/a"));
+      assertEquals(4, wtx.getPageTrx().getNameCount(nameKeyOfA, NodeKind.OBJECT_KEY));
+
+      // Remove the first object, which references the paths /[]/a, /[]/b, /[]/b/c and /[]/b/a.
+      wtx.moveToParent();
+      wtx.remove();
+
+      assertEquals(2, references(wtx.getPathSummary(), "/[]/a"));
+      assertEquals(1, references(wtx.getPathSummary(), "/[]/b"));
+      assertEquals(1, references(wtx.getPathSummary(), "/[]/b/c"));
+      assertEquals(0, references(wtx.getPathSummary(), "/[]/b/a"));
+      assertEquals(2, wtx.getPageTrx().getNameCount(nameKeyOfA, NodeKind.OBJECT_KEY));
+
+      // Remove the former second object, thus the path nodes of /[]/b and its descendants are removed.
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.moveToFirstChild();
+      wtx.remove();
+
+      assertEquals(1, references(wtx.getPathSummary(), "/[]/a"));
+      assertEquals(0, references(wtx.getPathSummary(), "/[]/b"));
+      assertEquals(0, references(wtx.getPathSummary(), "/[]/b/c"));
+      assertEquals(1, wtx.getPageTrx().getNameCount(nameKeyOfA, NodeKind.OBJECT_KEY));
+
+      wtx.commit();
+
+      assertEquals(1, references(wtx.getPathSummary(), "/[]/a"));
+      assertEquals(0, references(wtx.getPathSummary(), "/[]/b"));
+    }
+  }
+
+  private static int references(final PathSummaryReader pathSummary, final String path) {
+    final var pathNodeKeys = pathSummary.getPCRsForPath(parse(path, PathParser.Type.JSON), false);
+
+    if (pathNodeKeys.isEmpty() || !pathSummary.moveTo(pathNodeKeys.iterator().next())) {
+      return 0;
+    }
+
+    return pathSummary.getReferences();
+  }
+
   private PathSummaryReader next(final Axis axis) {
     if (axis.hasNext()) {
       axis.nextLong();
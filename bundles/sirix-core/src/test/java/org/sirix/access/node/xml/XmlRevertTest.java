@@ -22,12 +22,15 @@
 package org.sirix.access.node.xml;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeTrx;
 import org.sirix.exception.SirixException;
 import org.sirix.utils.XmlDocumentCreator;
@@ -90,4 +93,50 @@ public final class XmlRevertTest {
     wtx.commit();
     wtx.close();
   }
+
+  @Test
+  public void testRevertSharesPagesOfRevision() throws SirixException {
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      XmlDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.moveToFirstChild();
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.commit();
+      wtx.revertTo(1);
+      wtx.commit();
+    }
+
+    try (final PageReadOnlyTrx revertedPageRtx = holder.getResourceManager().beginPageReadOnlyTrx(1);
+         final PageReadOnlyTrx pageRtx = holder.getResourceManager().beginPageReadOnlyTrx(3)) {
+      final var revertedRevisionRootPage = revertedPageRtx.getActualRevisionRootPage();
+      final var revisionRootPage = pageRtx.getActualRevisionRootPage();
+      assertEquals(revertedRevisionRootPage.getIndirectDocumentIndexPageReference().getKey(),
+                   revisionRootPage.getIndirectDocumentIndexPageReference().getKey());
+      assertEquals(revertedRevisionRootPage.getNamePageReference().getKey(),
+                   revisionRootPage.getNamePageReference().getKey());
+      assertEquals(revertedRevisionRootPage.getPathSummaryPageReference().getKey(),
+                   revisionRootPage.getPathSummaryPageReference().getKey());
+    }
+
+    try (final XmlNodeReadOnlyTrx revertedRtx = holder.getResourceManager().beginNodeReadOnlyTrx(1);
+         final XmlNodeReadOnlyTrx rtx = holder.getResourceManager().beginNodeReadOnlyTrx(3)) {
+      assertEquals(revertedRtx.getDescendantCount(), rtx.getDescendantCount());
+    }
+  }
+
+  @Test
+  public void testUnmodifiedCommitWithoutRevertWritesPages() throws SirixException {
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      XmlDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.commit();
+    }
+
+    // Only a revert shares the pages of the represented revision.
+    try (final PageReadOnlyTrx previousPageRtx = holder.getResourceManager().beginPageReadOnlyTrx(1);
+         final PageReadOnlyTrx pageRtx = holder.getResourceManager().beginPageReadOnlyTrx(2)) {
+      assertNotEquals(previousPageRtx.getActualRevisionRootPage().getIndirectDocumentIndexPageReference().getKey(),
+                      pageRtx.getActualRevisionRootPage().getIndirectDocumentIndexPageReference().getKey());
+    }
+  }
 }
@@ -0,0 +1,105 @@
+package org.sirix.access.trx.page;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.index.IndexType;
+import org.sirix.page.PageReference;
+import org.sirix.service.json.shredder.JsonShredder;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LeafPageReferenceCacheIntegrationTest {
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testLeafPageReferenceIsSharedByTransactions() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+      }
+
+      final PageReference reference;
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(1)) {
+        reference = pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT);
+      }
+      assertNotNull(reference);
+
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(1)) {
+        assertSame(reference, pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT));
+      }
+    }
+  }
+
+  @Test
+  public void testLeafPageReferencesOfUnchangedSubtreesAreReusedByTheNextRevision() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      // Revision 2 only modifies a record of the document index, thus the path summary is unchanged.
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+        wtx.moveTo(2);
+        wtx.setNumberValue(42);
+        wtx.commit();
+      }
+
+      final PageReference pathSummaryReference;
+      final PageReference documentReference;
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(1)) {
+        pathSummaryReference = pageTrx.getLeafPageReference(0, 0, IndexType.PATH_SUMMARY);
+        documentReference = pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT);
+      }
+      assertNotNull(pathSummaryReference);
+      assertNotNull(documentReference);
+
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(2)) {
+        assertSame(pathSummaryReference, pageTrx.getLeafPageReference(0, 0, IndexType.PATH_SUMMARY));
+        assertNotSame(documentReference, pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT));
+      }
+    }
+  }
+
+  @Test
+  public void testLeafPageReferencesAreDroppedOnTruncation() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+        wtx.moveTo(2);
+        wtx.setNumberValue(42);
+        wtx.commit();
+      }
+
+      final PageReference reference;
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(1)) {
+        reference = pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT);
+      }
+      assertNotNull(reference);
+
+      // The storage keys of the truncated pages are reused by the next commit.
+      try (final var pageWtx = manager.beginPageTrx()) {
+        pageWtx.truncateTo(1);
+      }
+
+      try (final var pageTrx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx(1)) {
+        final PageReference referenceAfterTruncation = pageTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT);
+        assertNotNull(referenceAfterTruncation);
+        assertNotSame(reference, referenceAfterTruncation);
+      }
+    }
+  }
+}
@@ -1,23 +1,43 @@
 package org.sirix.access.trx.page;
 
 import org.jetbrains.annotations.NotNull;
+import org.junit.After;
 import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.InternalResourceSession;
+import org.sirix.api.AccessPattern;
 import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.json.JsonResourceSession;
 import org.sirix.cache.BufferManager;
+import org.sirix.cache.BufferManagerImpl;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.index.IndexType;
+import org.sirix.io.IOStorage;
 import org.sirix.io.Reader;
+import org.sirix.io.StorageType;
+import org.sirix.metrics.SimpleMetricsRegistry;
+import org.sirix.metrics.StorageMetrics;
 import org.sirix.page.UberPage;
+import org.sirix.service.json.shredder.JsonShredder;
 import org.sirix.settings.Constants;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public final class NodePageReadOnlyTrxTest {
 
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
   @Test
   public void testPageKey() {
     final InternalResourceSession<?,?> resourceManagerMock = createResourceManagerMock();
@@ -43,6 +63,80 @@ public final class NodePageReadOnlyTrxTest {
     assertEquals(Constants.NDP_NODE_COUNT - 1, PageReadOnlyTrx.recordPageOffset(1023));
   }
 
+  @Test
+  public void testAccessPattern() {
+    final InternalResourceSession<?,?> resourceManagerMock = createResourceManagerMock();
+
+    final var trx = new NodePageReadOnlyTrx(1, resourceManagerMock, new UberPage(), 0,
+        mock(Reader.class), mock(BufferManager.class),
+        mock(RevisionRootPageReader.class), mock(TransactionIntentLog.class));
+
+    assertEquals(AccessPattern.POINT, trx.getAccessPattern());
+    assertEquals(AccessPattern.SCAN, trx.setAccessPattern(AccessPattern.SCAN).getAccessPattern());
+    assertEquals(AccessPattern.POINT, trx.setAccessPattern(AccessPattern.POINT).getAccessPattern());
+  }
+
+  @Test
+  public void testScanDoesNotCacheRecordPages() {
+    JsonTestHelper.deleteEverything();
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+      }
+
+      final var registry = new SimpleMetricsRegistry();
+      final var metrics = new StorageMetrics("database", JsonTestHelper.RESOURCE, null, null).bind(registry);
+      final IOStorage storage = StorageType.getStorage(manager.getResourceConfig());
+
+      try {
+        final var scanBufferManager = new BufferManagerImpl(100, 100, 100, 1_000, 100, metrics);
+        try (final var scanTrx = beginPageReadOnlyTrx(1_000, manager, storage, scanBufferManager)) {
+          scanTrx.setAccessPattern(AccessPattern.SCAN);
+
+          assertNotNull(scanTrx.getRecord(2, IndexType.DOCUMENT, -1));
+          assertNotNull(scanTrx.getRecord(4, IndexType.DOCUMENT, -1));
+
+          assertTrue(scanBufferManager.getRecordPageCache().keys().isEmpty());
+          assertNull(scanTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT).getPage());
+          assertEquals(1, count(registry, "sirix.cache.misses", "scanRecordPage"));
+          assertEquals(0, count(registry, "sirix.cache.misses", "recordPage"));
+        }
+
+        final var pointBufferManager = new BufferManagerImpl(100, 100, 100, 1_000, 100, metrics);
+        try (final var pointTrx = beginPageReadOnlyTrx(1_001, manager, storage, pointBufferManager)) {
+          assertNotNull(pointTrx.getRecord(2, IndexType.DOCUMENT, -1));
+
+          final var reference = pointTrx.getLeafPageReference(0, 0, IndexType.DOCUMENT);
+          assertEquals(1, pointBufferManager.getRecordPageCache().keys().size());
+          assertNotNull(reference.getPage());
+          assertSame(reference.getPage(), pointBufferManager.getRecordPageCache().get(reference));
+          assertEquals(1, count(registry, "sirix.cache.misses", "recordPage"));
+        }
+      } finally {
+        storage.close();
+      }
+    }
+  }
+
+  private static NodePageReadOnlyTrx beginPageReadOnlyTrx(final long trxId, final JsonResourceSession manager,
+      final IOStorage storage, final BufferManager bufferManager) {
+    final Reader reader = storage.createReader();
+    final var uberPage = (UberPage) reader.readUberPageReference().getPage();
+    return new NodePageReadOnlyTrx(trxId, (InternalResourceSession<?, ?>) manager, uberPage, 1, reader,
+                                   bufferManager, new RevisionRootPageReader(), null);
+  }
+
+  private static long count(final SimpleMetricsRegistry registry, final String name, final String cache) {
+    return registry.getCounters()
+                   .entrySet()
+                   .stream()
+                   .filter(entry -> entry.getKey().startsWith(name + "{")
+                       && entry.getKey().endsWith("cache=" + cache + "}"))
+                   .mapToLong(entry -> entry.getValue().getCount())
+                   .sum();
+  }
+
   @NotNull
   private InternalResourceSession<?,?> createResourceManagerMock() {
     final var resourceManagerMock = mock(InternalResourceSession.class);
@@ -0,0 +1,177 @@
+package org.sirix.access.trx.page;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.index.IndexType;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.settings.Constants;
+
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class NodePageTrxRemoveRecordsTest {
+
+  /**
+   * The number of array members, such that the records span three record pages.
+   */
+  private static final int NUMBER_OF_MEMBERS = 2 * Constants.NDP_NODE_COUNT + 100;
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      final var members = new StringJoiner(",", "[", "]");
+      for (int i = 0; i < NUMBER_OF_MEMBERS; i++) {
+        members.add(String.valueOf(i));
+      }
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(members.toString()));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testRemoveRecordsOfSeveralPages() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      final var pageTrx = wtx.getPageWtx();
+
+      // Unsorted keys of the first, second and third record page, including the first and the last
+      // record of the second page.
+      final long firstKeyOfSecondPage = Constants.NDP_NODE_COUNT;
+      final long lastKeyOfSecondPage = 2L * Constants.NDP_NODE_COUNT - 1;
+      final var removedKeys = Set.of(2L * Constants.NDP_NODE_COUNT + 5, 3L, lastKeyOfSecondPage, 7L, firstKeyOfSecondPage);
+
+      pageTrx.removeRecords(removedKeys.stream().mapToLong(Long::longValue).toArray(), IndexType.DOCUMENT, -1);
+
+      for (long key = 2; key < NUMBER_OF_MEMBERS + 2; key++) {
+        if (removedKeys.contains(key)) {
+          assertNull("record " + key + " should be removed", pageTrx.getRecord(key, IndexType.DOCUMENT, -1));
+        } else {
+          assertNotNull("record " + key + " should be kept", pageTrx.getRecord(key, IndexType.DOCUMENT, -1));
+        }
+      }
+
+      wtx.rollback();
+    }
+  }
+
+  @Test
+  public void testRecordPageOfRemovedRecordsIsDropped() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        final var pageTrx = wtx.getPageWtx();
+
+        // All records of the second page and a single record of the third page.
+        final long[] removedKeys = new long[Constants.NDP_NODE_COUNT + 1];
+        for (int i = 0; i < Constants.NDP_NODE_COUNT; i++) {
+          removedKeys[i] = Constants.NDP_NODE_COUNT + i;
+        }
+        removedKeys[Constants.NDP_NODE_COUNT] = 2L * Constants.NDP_NODE_COUNT;
+
+        pageTrx.removeRecords(removedKeys, IndexType.DOCUMENT, -1);
+
+        assertNull(pageTrx.getRecord(Constants.NDP_NODE_COUNT, IndexType.DOCUMENT, -1));
+        assertNull(pageTrx.getRecord(2L * Constants.NDP_NODE_COUNT - 1, IndexType.DOCUMENT, -1));
+        assertNull(pageTrx.getRecord(2L * Constants.NDP_NODE_COUNT, IndexType.DOCUMENT, -1));
+        assertNotNull(pageTrx.getRecord(2L * Constants.NDP_NODE_COUNT + 1, IndexType.DOCUMENT, -1));
+
+        wtx.commit();
+      }
+
+      // The second page isn't referenced by the new revision anymore, whereas the third page is.
+      try (final var pageRtx = (NodePageReadOnlyTrx) manager.beginPageReadOnlyTrx()) {
+        assertEquals(Constants.NULL_ID_LONG, pageRtx.getLeafPageReference(1, -1, IndexType.DOCUMENT).getKey());
+        assertNotEquals(Constants.NULL_ID_LONG, pageRtx.getLeafPageReference(2, -1, IndexType.DOCUMENT).getKey());
+        assertNull(pageRtx.getRecord(Constants.NDP_NODE_COUNT + 5, IndexType.DOCUMENT, -1));
+        assertNull(pageRtx.getRecord(2L * Constants.NDP_NODE_COUNT, IndexType.DOCUMENT, -1));
+        assertNotNull(pageRtx.getRecord(2L * Constants.NDP_NODE_COUNT + 1, IndexType.DOCUMENT, -1));
+      }
+
+      // The former revision still stores the records.
+      try (final var pageRtx = manager.beginPageReadOnlyTrx(1)) {
+        assertNotNull(pageRtx.getRecord(Constants.NDP_NODE_COUNT + 5, IndexType.DOCUMENT, -1));
+      }
+    }
+  }
+
+  @Test
+  public void testRemovedSubtreeDropsRecordPagesWhichAreRecreatedOnInsert() {
+    final var resource = "nested";
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(resource).build());
+
+    try (final var manager = database.beginResourceSession(resource)) {
+      // The inner array and its members are stored from the first record page up to the third.
+      try (final var wtx = manager.beginNodeTrx()) {
+        final var members = new StringJoiner(",", "[[", "]]");
+        for (int i = 0; i < NUMBER_OF_MEMBERS; i++) {
+          members.add(String.valueOf(i));
+        }
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(members.toString()));
+      }
+
+      final long maxNodeKey;
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.moveTo(2);
+        wtx.remove();
+
+        // The new member is stored in the third record page, which has been dropped.
+        wtx.moveTo(1);
+        wtx.insertNumberValueAsFirstChild(42);
+        maxNodeKey = wtx.getNodeKey();
+        assertEquals(2, pageKeyOf(maxNodeKey));
+        wtx.commit();
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        rtx.moveTo(1);
+        assertEquals(1, rtx.getChildCount());
+        assertFalse(rtx.moveTo(Constants.NDP_NODE_COUNT + 5));
+        assertFalse(rtx.moveTo(maxNodeKey - 1));
+        assertTrue(rtx.moveTo(maxNodeKey));
+        assertEquals(42, rtx.getNumberValue().intValue());
+      }
+    }
+  }
+
+  private static long pageKeyOf(final long recordKey) {
+    return recordKey >> Constants.NDP_NODE_COUNT_EXPONENT;
+  }
+
+  @Test
+  public void testRemoveRecordsFailsForRemovedRecord() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      final var pageTrx = wtx.getPageWtx();
+
+      pageTrx.removeRecords(new long[] { 5 }, IndexType.DOCUMENT, -1);
+
+      assertThrows(IllegalStateException.class,
+                   () -> pageTrx.removeRecords(new long[] { 4, 5 }, IndexType.DOCUMENT, -1));
+
+      wtx.rollback();
+    }
+  }
+}
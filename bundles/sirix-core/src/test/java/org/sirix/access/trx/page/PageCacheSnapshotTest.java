@@ -0,0 +1,108 @@
+package org.sirix.access.trx.page;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.trx.node.InternalResourceSession;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.cache.GlobalBufferManager;
+import org.sirix.service.json.shredder.JsonShredder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PageCacheSnapshotTest {
+
+  private GlobalBufferManager bufferManager;
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+    bufferManager = new GlobalBufferManager(100_000_000);
+    Databases.setGlobalBufferManager(bufferManager);
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+    Databases.setGlobalBufferManager(null);
+  }
+
+  @Test
+  public void testSnapshotIsWrittenOnDatabaseCloseAndPrefetched() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    final Path snapshotFile;
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"foo\":[1,2,3],\"bar\":{\"baz\":true}}"));
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        new DescendantAxis(rtx).forEachRemaining(nodeKey -> {});
+      }
+      snapshotFile = PageCacheSnapshot.getFile(manager.getResourceConfig());
+    }
+
+    // Sessions might be closed per request, thus the snapshot is only written once the database is closed.
+    assertFalse(Files.exists(snapshotFile));
+    database.close();
+    assertTrue(Files.exists(snapshotFile));
+
+    try (final var reopenedDatabase = Databases.openJsonDatabase(PATHS.PATH1.getFile());
+         final var manager = reopenedDatabase.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      final var snapshot = PageCacheSnapshot.getFile(manager.getResourceConfig());
+      assertTrue(Files.exists(snapshot));
+
+      // Don't race against the prefetch, which has been started in the background.
+      ((InternalResourceSession<?, ?>) manager).getPrefetch().join();
+      bufferManager.clear();
+
+      assertTrue(PageCacheSnapshot.prefetch(manager) > 0);
+      assertTrue(bufferManager.getUsedBytes() > 0);
+
+      PageCacheSnapshot.delete(manager.getResourceConfig());
+      assertFalse(Files.exists(snapshot));
+      assertEquals(0, PageCacheSnapshot.prefetch(manager));
+    }
+  }
+
+  @Test
+  public void testPrefetchIsOnlyStartedForNewSessions() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+    }
+
+    try (final var manager = (InternalResourceSession<?, ?>) database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      manager.getPrefetch().join();
+
+      // The open session is returned, without reading the snapshot once more.
+      assertSame(manager, database.beginResourceSession(JsonTestHelper.RESOURCE));
+      manager.prefetchPagesInBackground();
+      assertTrue(manager.getPrefetch().isDone());
+    }
+  }
+
+  @Test
+  public void testCloseAwaitsBackgroundPrefetch() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[1,2,3]"));
+    }
+
+    final var manager = (InternalResourceSession<?, ?>) database.beginResourceSession(JsonTestHelper.RESOURCE);
+    manager.close();
+
+    assertTrue(manager.getPrefetch().isDone());
+  }
+}
@@ -28,17 +28,23 @@ import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.XmlTestHelper.PATHS;
 import org.sirix.api.Axis;
+import org.sirix.axis.AbstractAxis;
 import org.sirix.axis.ChildAxis;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
 import org.sirix.axis.NestedAxis;
 import org.sirix.axis.filter.FilterAxis;
 import org.sirix.axis.filter.xml.XmlNameFilter;
+import org.sirix.exception.SirixThreadedException;
 import org.sirix.service.xml.shredder.XmlShredder;
 import org.sirix.service.xml.xpath.XPathAxis;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.junit.Assert.*;
 
@@ -159,6 +165,118 @@ public final class ConcurrentAxisTest {
     assertFalse(axis.hasNext());
   }
 
+  @Test(timeout = 10_000)
+  public void testHasNextAfterCancel() {
+    final var concurrentRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var rtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var axis = new ConcurrentAxis<>(concurrentRtx, new DescendantAxis(rtx, IncludeSelf.YES));
+
+    assertTrue(axis.hasNext());
+    axis.nextLong();
+    axis.cancel();
+
+    assertTrue(axis.isFinished());
+    assertFalse(axis.hasNext());
+  }
+
+  @Test(timeout = 10_000)
+  public void testCancelDoesNotWaitForSelectiveProducer() {
+    final var concurrentRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var rtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var isMatchFound = new AtomicBoolean();
+    final var axis = new ConcurrentAxis<>(concurrentRtx, new AbstractAxis(rtx) {
+      private int results;
+
+      @Override
+      protected long nextKey() {
+        // Publish one batch of results first.
+        if (results++ < ConcurrentAxis.BATCH_SIZE) {
+          return getStartKey();
+        }
+        // Doesn't end until the test is over, as if a filter doesn't match any of the remaining nodes.
+        while (!isMatchFound.get()) {
+          Thread.onSpinWait();
+        }
+        return done();
+      }
+    });
+
+    assertTrue(axis.hasNext());
+    axis.nextLong();
+    final long start = System.nanoTime();
+    axis.cancel();
+
+    final long cancelMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(cancelMillis < 2 * ConcurrentAxis.CANCEL_TIMEOUT_MILLIS);
+    assertFalse(axis.hasNext());
+    isMatchFound.set(true);
+  }
+
+  @Test(timeout = 10_000)
+  public void testErrorOfProducerIsPropagated() {
+    final var concurrentRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var rtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var axis = new ConcurrentAxis<>(concurrentRtx, new AbstractAxis(rtx) {
+      @Override
+      protected long nextKey() {
+        throw new AssertionError("producer failed");
+      }
+    });
+
+    try {
+      axis.hasNext();
+      fail("The error of the producer must be propagated.");
+    } catch (final AssertionError e) {
+      assertEquals("producer failed", e.getMessage());
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void testCheckedExceptionOfProducerIsWrapped() {
+    final var concurrentRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var rtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var axis = new ConcurrentAxis<>(concurrentRtx, new AbstractAxis(rtx) {
+      @Override
+      protected long nextKey() {
+        throw ConcurrentAxisTest.<RuntimeException>sneakyThrow(new IOException("producer failed"));
+      }
+    });
+
+    try {
+      axis.hasNext();
+      fail("The exception of the producer must be propagated.");
+    } catch (final SirixThreadedException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void testInterruptOfConsumerFailsAxis() {
+    final var concurrentRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var rtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var axis = new ConcurrentAxis<>(concurrentRtx, new AbstractAxis(rtx) {
+      @Override
+      protected long nextKey() {
+        // The consumer waits for the first result meanwhile.
+        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+        return done();
+      }
+    });
+
+    Thread.currentThread().interrupt();
+    try {
+      axis.hasNext();
+      fail("The axis must not end, as if there aren't any results.");
+    } catch (final SirixThreadedException e) {
+      assertTrue(Thread.interrupted());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> E sneakyThrow(final Throwable throwable) throws E {
+    throw (E) throwable;
+  }
+
   /**
    * Test concurrent.
    *
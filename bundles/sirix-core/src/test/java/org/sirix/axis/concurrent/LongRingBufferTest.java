@@ -0,0 +1,106 @@
+package org.sirix.axis.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the {@link LongRingBuffer}.
+ */
+public final class LongRingBufferTest {
+
+  @Test
+  public void testCapacityIsRoundedUpToPowerOfTwo() {
+    assertEquals(1, new LongRingBuffer(1).capacity());
+    assertEquals(8, new LongRingBuffer(5).capacity());
+    assertEquals(1024, new LongRingBuffer(1024).capacity());
+  }
+
+  @Test
+  public void testHandOffPreservesOrder() throws InterruptedException {
+    final var buffer = new LongRingBuffer(16);
+    final int numberOfValues = 100_000;
+
+    final var producer = Thread.ofVirtual().start(() -> {
+      final var batch = new long[7];
+      int size = 0;
+      for (long value = 0; value < numberOfValues; value++) {
+        batch[size++] = value;
+        if (size == batch.length) {
+          assertTrue(buffer.put(batch, size));
+          size = 0;
+        }
+      }
+      assertTrue(buffer.put(batch, size));
+      assertTrue(buffer.put(-1));
+    });
+
+    final var target = new long[5];
+    long expected = 0;
+    boolean endReached = false;
+    while (!endReached) {
+      final int count = buffer.drainTo(target);
+      assertTrue(count > 0);
+      for (int i = 0; i < count; i++) {
+        if (target[i] == -1) {
+          endReached = true;
+        } else {
+          assertEquals(expected++, target[i]);
+        }
+      }
+    }
+
+    producer.join();
+    assertEquals(numberOfValues, expected);
+  }
+
+  @Test
+  public void testCloseReleasesWaitingProducer() throws InterruptedException {
+    final var buffer = new LongRingBuffer(2);
+    final var published = new AtomicBoolean(true);
+
+    final var producer = Thread.ofVirtual().start(() -> published.set(buffer.put(new long[] { 1, 2, 3 }, 3)));
+
+    buffer.close();
+    producer.join();
+
+    assertFalse(published.get());
+    assertTrue(buffer.isClosed());
+
+    buffer.clear();
+
+    assertFalse(buffer.isClosed());
+    assertTrue(buffer.put(42));
+    final var target = new long[2];
+    assertEquals(1, buffer.drainTo(target));
+    assertEquals(42, target[0]);
+  }
+
+  @Test
+  public void testDrainToReturnsZeroOnceClosedAndEmpty() throws InterruptedException {
+    final var buffer = new LongRingBuffer(4);
+    assertTrue(buffer.put(new long[] { 1, 2 }, 2));
+    buffer.close();
+
+    final var target = new long[4];
+    assertEquals(2, buffer.drainTo(target));
+    assertEquals(0, buffer.drainTo(target));
+  }
+
+  @Test
+  public void testCloseReleasesWaitingConsumer() throws InterruptedException {
+    final var buffer = new LongRingBuffer(4);
+    final var consumer = Thread.ofVirtual().start(() -> {
+      try {
+        assertEquals(0, buffer.drainTo(new long[4]));
+      } catch (final InterruptedException e) {
+        throw new AssertionError(e);
+      }
+    });
+
+    buffer.close();
+    consumer.join();
+  }
+}
@@ -0,0 +1,126 @@
+package org.sirix.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.metrics.StorageMetrics;
+import org.sirix.page.RevisionRootPage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GlobalBufferManagerTest {
+
+  private static final Path FIRST_RESOURCE = Paths.get("database", "resources", "first");
+
+  private static final Path SECOND_RESOURCE = Paths.get("database", "resources", "second");
+
+  private GlobalBufferManager globalBufferManager;
+
+  private BufferManager firstBufferManager;
+
+  private BufferManager secondBufferManager;
+
+  @Before
+  public void setUp() {
+    globalBufferManager = new GlobalBufferManager(1_000_000);
+    firstBufferManager = globalBufferManager.newBufferManager(FIRST_RESOURCE, StorageMetrics.disabled());
+    secondBufferManager = globalBufferManager.newBufferManager(SECOND_RESOURCE, StorageMetrics.disabled());
+  }
+
+  @Test
+  public void testEntriesOfResourcesAreSeparated() {
+    final var firstPage = new RevisionRootPage();
+    final var secondPage = new RevisionRootPage();
+    firstBufferManager.getRevisionRootPageCache().put(1, firstPage);
+    secondBufferManager.getRevisionRootPageCache().put(1, secondPage);
+
+    assertSame(firstPage, firstBufferManager.getRevisionRootPageCache().get(1));
+    assertSame(secondPage, secondBufferManager.getRevisionRootPageCache().get(1));
+
+    firstBufferManager.clearAllCaches();
+
+    assertNull(firstBufferManager.getRevisionRootPageCache().get(1));
+    assertSame(secondPage, secondBufferManager.getRevisionRootPageCache().get(1));
+  }
+
+  @Test
+  public void testInvalidateResource() {
+    firstBufferManager.getRevisionRootPageCache().put(1, new RevisionRootPage());
+    secondBufferManager.getRevisionRootPageCache().put(1, new RevisionRootPage());
+
+    globalBufferManager.invalidate(SECOND_RESOURCE);
+
+    assertNull(secondBufferManager.getRevisionRootPageCache().get(1));
+    assertEquals(1, firstBufferManager.getRevisionRootPageCache().getAll(List.of(1, 2)).size());
+  }
+
+  @Test
+  public void testWeightDoesNotReduceChargedMemory() {
+    firstBufferManager.getRevisionRootPageCache().put(1, new RevisionRootPage());
+    final long usedBytes = globalBufferManager.getUsedBytes();
+    firstBufferManager.clearAllCaches();
+
+    globalBufferManager.setWeight(FIRST_RESOURCE, 4);
+    firstBufferManager.getRevisionRootPageCache().put(1, new RevisionRootPage());
+
+    assertEquals(4.0, globalBufferManager.getWeight(FIRST_RESOURCE), 0.0);
+    assertEquals(1.0, globalBufferManager.getWeight(SECOND_RESOURCE), 0.0);
+    assertEquals(usedBytes, globalBufferManager.getUsedBytes());
+    assertEquals(usedBytes, globalBufferManager.getUsedBytes(FIRST_RESOURCE));
+  }
+
+  @Test
+  public void testEntriesOfResourceOverItsShareAreEvictedFirst() {
+    // Ten revision root pages fit into the budget, the first resource's share is eight of them.
+    firstBufferManager.getRevisionRootPageCache().put(0, new RevisionRootPage());
+    final long pageSize = globalBufferManager.getUsedBytes();
+    firstBufferManager.clearAllCaches();
+
+    globalBufferManager = new GlobalBufferManager(10 * pageSize).setWeight(FIRST_RESOURCE, 4);
+    firstBufferManager = globalBufferManager.newBufferManager(FIRST_RESOURCE, StorageMetrics.disabled());
+    secondBufferManager = globalBufferManager.newBufferManager(SECOND_RESOURCE, StorageMetrics.disabled());
+
+    for (int revision = 0; revision < 6; revision++) {
+      firstBufferManager.getRevisionRootPageCache().put(revision, new RevisionRootPage());
+    }
+    for (int revision = 0; revision < 4; revision++) {
+      secondBufferManager.getRevisionRootPageCache().put(revision, new RevisionRootPage());
+    }
+    assertEquals(10 * pageSize, globalBufferManager.getUsedBytes());
+
+    // The second resource uses more than its share, thus its entries are evicted.
+    for (int revision = 6; revision < 8; revision++) {
+      firstBufferManager.getRevisionRootPageCache().put(revision, new RevisionRootPage());
+    }
+
+    assertEquals(8, firstBufferManager.getRevisionRootPageCache().keys().size());
+    assertEquals(2, secondBufferManager.getRevisionRootPageCache().keys().size());
+    assertEquals(8 * pageSize, globalBufferManager.getUsedBytes(FIRST_RESOURCE));
+    assertTrue(globalBufferManager.getUsedBytes() <= globalBufferManager.getMaxBytes());
+  }
+
+  @Test
+  public void testEntriesOfSingleResourceAreEvictedByWeight() {
+    firstBufferManager.getRevisionRootPageCache().put(0, new RevisionRootPage());
+    final long pageSize = globalBufferManager.getUsedBytes();
+    firstBufferManager.clearAllCaches();
+
+    globalBufferManager = new GlobalBufferManager(10 * pageSize);
+    firstBufferManager = globalBufferManager.newBufferManager(FIRST_RESOURCE, StorageMetrics.disabled());
+
+    // A single resource never uses more than its share, thus Caffeine evicts its entries.
+    for (int revision = 0; revision < 20; revision++) {
+      firstBufferManager.getRevisionRootPageCache().put(revision, new RevisionRootPage());
+    }
+
+    assertEquals(10, firstBufferManager.getRevisionRootPageCache().keys().size());
+    assertEquals(10 * pageSize, globalBufferManager.getUsedBytes(FIRST_RESOURCE));
+    assertTrue(globalBufferManager.getUsedBytes() <= globalBufferManager.getMaxBytes());
+  }
+}
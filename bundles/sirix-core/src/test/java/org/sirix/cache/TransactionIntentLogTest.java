@@ -4,20 +4,32 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.json.JsonResourceSession;
 import org.sirix.index.IndexType;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
 import org.sirix.io.bytepipe.SnappyCompressor;
 import org.sirix.io.file.FileReader;
 import org.sirix.io.file.FileWriter;
+import org.sirix.node.interfaces.DataRecord;
 import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
 import org.sirix.page.SerializationType;
 import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.settings.Constants;
 
 import java.io.FileNotFoundException;
 import java.io.RandomAccessFile;
+import java.util.StringJoiner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TransactionIntentLogTest {
   @Before
@@ -72,8 +84,97 @@ public class TransactionIntentLogTest {
       trxIntentLog.put(firstPageReference, firstPageContainer);
       trxIntentLog.put(secondPageReference, secondPageContainer);
 
+      // The first page has been spilled to the persistent cache.
+      assertEquals(1, trxIntentLog.getSpillCount());
+
       assertEquals(firstPageContainer, trxIntentLog.get(firstPageReference, pageReadOnlyTrx));
       assertEquals(secondPageContainer, trxIntentLog.get(secondPageReference, pageReadOnlyTrx));
     }
   }
+
+  @Test
+  public void testModifiedRecordsAreCached() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      storeArray(manager);
+
+      try (final var wtx = manager.beginNodeTrx()) {
+        final var pageTrx = wtx.getPageWtx();
+
+        final DataRecord record = pageTrx.prepareRecordForModification(5, IndexType.DOCUMENT, -1);
+        assertSame(record, pageTrx.prepareRecordForModification(5, IndexType.DOCUMENT, -1));
+        assertSame(record, pageTrx.getRecord(5, IndexType.DOCUMENT, -1));
+
+        // Removed records are evicted.
+        pageTrx.removeRecord(5, IndexType.DOCUMENT, -1);
+        assertNull(pageTrx.getRecord(5, IndexType.DOCUMENT, -1));
+
+        // The cached records are dropped on rollback.
+        wtx.rollback();
+        final DataRecord committedRecord = wtx.getPageWtx().getRecord(5, IndexType.DOCUMENT, -1);
+        assertNotNull(committedRecord);
+        assertNotSame(record, committedRecord);
+      }
+    }
+  }
+
+  @Test
+  public void testModificationsAreKeptOncePagesHaveBeenSpilled() {
+    final var resource = "spilledResource";
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    // Keeps a single record page of the document index in memory.
+    database.createResource(ResourceConfiguration.newBuilder(resource).intentLogCapacity(1).build());
+
+    try (final var manager = database.beginResourceSession(resource)) {
+      storeArray(manager);
+
+      try (final var wtx = manager.beginNodeTrx()) {
+        final var pageTrx = wtx.getPageWtx();
+        final var log = pageTrx.getLog();
+
+        // Caches the record and the page container of the first record page.
+        final DataRecord record = pageTrx.prepareRecordForModification(5, IndexType.DOCUMENT, -1);
+
+        // Adding the containers of the second and third record page spills the first one.
+        final long spillCount = log.getSpillCount();
+        pageTrx.prepareRecordForModification(Constants.NDP_NODE_COUNT + 6, IndexType.DOCUMENT, -1);
+        pageTrx.prepareRecordForModification(2L * Constants.NDP_NODE_COUNT + 6, IndexType.DOCUMENT, -1);
+        assertTrue(log.getSpillCount() > spillCount);
+
+        // The record is read from the spilled page instead of the stale instance.
+        assertNotSame(record, pageTrx.prepareRecordForModification(5, IndexType.DOCUMENT, -1));
+
+        // Modifies a cached record, a record of a cached page container and a record of a spilled page.
+        wtx.moveTo(5);
+        wtx.setNumberValue(42);
+        wtx.moveTo(6);
+        wtx.setNumberValue(43);
+        wtx.moveTo(Constants.NDP_NODE_COUNT + 6);
+        wtx.setNumberValue(44);
+        wtx.commit();
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        rtx.moveTo(5);
+        assertEquals(42, rtx.getNumberValue().intValue());
+        rtx.moveTo(6);
+        assertEquals(43, rtx.getNumberValue().intValue());
+        rtx.moveTo(Constants.NDP_NODE_COUNT + 6);
+        assertEquals(44, rtx.getNumberValue().intValue());
+      }
+    }
+  }
+
+  /**
+   * Store an array, whose members span three record pages.
+   */
+  private static void storeArray(final JsonResourceSession manager) {
+    try (final var wtx = manager.beginNodeTrx()) {
+      final var members = new StringJoiner(",", "[", "]");
+      for (int i = 0; i < 2 * Constants.NDP_NODE_COUNT + 100; i++) {
+        members.add(String.valueOf(i));
+      }
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(members.toString()));
+    }
+  }
 }
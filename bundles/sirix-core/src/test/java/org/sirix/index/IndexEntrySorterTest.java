@@ -0,0 +1,106 @@
+package org.sirix.index;
+
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.xdm.Type;
+import org.junit.jupiter.api.Test;
+import org.sirix.index.redblacktree.keyvalue.CASValue;
+import org.sirix.index.redblacktree.keyvalue.NodeReferences;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class IndexEntrySorterTest {
+
+  @Test
+  public void testSortInMemory() {
+    try (final var sorter = new IndexEntrySorter<>(IndexEntrySorter.longKeys())) {
+      sorter.add(5L, 1);
+      sorter.add(3L, 2);
+      sorter.add(5L, 3);
+      sorter.add(1L, 4);
+
+      final var entries = toList(sorter);
+      assertEquals(List.of(1L, 3L, 5L), entries.stream().map(Map.Entry::getKey).toList());
+      assertEquals(Set.of(1L, 3L), entries.get(2).getValue().getNodeKeys());
+    }
+  }
+
+  @Test
+  public void testSortWithSpilledRuns() {
+    try (final var sorter = new IndexEntrySorter<>(IndexEntrySorter.longKeys(), 7)) {
+      for (long nodeKey = 0; nodeKey < 100; nodeKey++) {
+        sorter.add((nodeKey * 37) % 10, nodeKey);
+      }
+
+      final var entries = toList(sorter);
+      assertEquals(10, entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        assertEquals(i, (long) entries.get(i).getKey());
+        assertEquals(10, entries.get(i).getValue().getNodeKeys().size());
+      }
+
+      // Can be iterated again.
+      assertEquals(10, toList(sorter).size());
+    }
+  }
+
+  @Test
+  public void testSpillNames() {
+    try (final var sorter = new IndexEntrySorter<>(IndexEntrySorter.qnmKeys(), 2)) {
+      sorter.add(new QNm("foo"), 1);
+      sorter.add(new QNm("bar"), 2);
+      sorter.add(new QNm("foo"), 3);
+      sorter.add(new QNm("baz"), 4);
+      sorter.add(new QNm("bar"), 5);
+
+      final var entries = toList(sorter);
+      assertEquals(List.of("bar", "baz", "foo"), entries.stream().map(entry -> entry.getKey().getLocalName()).toList());
+      assertEquals(Set.of(1L, 3L), entries.get(2).getValue().getNodeKeys());
+    }
+  }
+
+  @Test
+  public void testSpillKeepsNullNamespaceAndPrefix() {
+    try (final var sorter = new IndexEntrySorter<>(IndexEntrySorter.qnmKeys(), 1)) {
+      sorter.add(new QNm(null, null, "foo"), 1);
+      sorter.add(new QNm(null, null, "bar"), 2);
+
+      final var entries = toList(sorter);
+      assertEquals(2, entries.size());
+      for (final var entry : entries) {
+        assertNull(entry.getKey().getNamespaceURI());
+        assertNull(entry.getKey().getPrefix());
+      }
+    }
+  }
+
+  @Test
+  public void testSpillCASValues() {
+    try (final var sorter = new IndexEntrySorter<>(IndexEntrySorter.casValueKeys(Type.STR), 1)) {
+      sorter.add(new CASValue(new Str("b"), Type.STR, 2), 1);
+      sorter.add(new CASValue(new Str("a"), Type.STR, 2), 2);
+      sorter.add(new CASValue(new Str("z"), Type.STR, 1), 3);
+      sorter.add(new CASValue(new Str("a"), Type.STR, 2), 4);
+
+      final var entries = toList(sorter);
+      assertEquals(3, entries.size());
+      assertEquals(1, entries.get(0).getKey().getPathNodeKey());
+      assertEquals("z", entries.get(0).getKey().getAtomicValue().stringValue());
+      assertEquals(2, entries.get(1).getKey().getPathNodeKey());
+      assertEquals("a", entries.get(1).getKey().getAtomicValue().stringValue());
+      assertEquals(Set.of(2L, 4L), entries.get(1).getValue().getNodeKeys());
+    }
+  }
+
+  private static <K extends Comparable<? super K>> List<Map.Entry<K, NodeReferences>> toList(
+      final IndexEntrySorter<K> sorter) {
+    final var entries = new ArrayList<Map.Entry<K, NodeReferences>>();
+    sorter.sortedEntries().forEachRemaining(entries::add);
+    return entries;
+  }
+}
@@ -9,6 +9,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
+import org.sirix.access.trx.node.json.objectvalue.NumberValue;
 import org.sirix.index.path.json.JsonPCRCollector;
 import org.sirix.index.redblacktree.RBTreeReader;
 import org.sirix.index.redblacktree.keyvalue.CASValue;
@@ -82,6 +83,145 @@ public final class JsonRedBlackTreeIntegrationTest {
     }
   }
 
+  @Test
+  public void testCASIndexStatisticsAreMaintainedAtCommit() {
+    final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var trx = manager.beginNodeTrx()) {
+      final var indexController = manager.getWtxIndexController(trx.getRevisionNumber());
+      final var pathToA = parse("/[]/a", PathParser.Type.JSON);
+      final var indexDef =
+          IndexDefs.createCASIdxDef(false, Type.DBL, Collections.singleton(pathToA), 0, IndexDef.DbType.JSON);
+      indexController.createIndexes(Set.of(indexDef), trx);
+
+      trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[{\"a\":1},{\"a\":2},{\"a\":2}]"));
+      trx.commit();
+
+      final long pcr = trx.getPathSummary().getPCRsForPath(pathToA, false).iterator().next();
+
+      // The index has been created by the transaction, thus the statistics are built from its changes.
+      final var firstStatistics = manager.getCASIndexStatistics().getIfPresent(1, indexDef.getID());
+      assertNotNull(firstStatistics);
+      assertEquals(3, firstStatistics.getEntryCount(pcr));
+
+      trx.moveTo(2);
+      trx.remove();
+      trx.commit();
+
+      // The statistics of the second revision are derived from the first revision without a scan.
+      final var secondStatistics = manager.getCASIndexStatistics().getIfPresent(2, indexDef.getID());
+      assertNotNull(secondStatistics);
+      assertEquals(2, secondStatistics.getEntryCount(pcr));
+      assertEquals(3, firstStatistics.getEntryCount(pcr));
+    }
+  }
+
+  @Test
+  public void testTemporalIndexReaderKeepsUnchangedEntriesValid() {
+    final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      final var indexDef = IndexDefs.createCASIdxDef(false,
+                                                     Type.DBL,
+                                                     Collections.singleton(parse("/[]/a", PathParser.Type.JSON)),
+                                                     0,
+                                                     IndexDef.DbType.JSON);
+
+      try (final var trx = manager.beginNodeTrx()) {
+        manager.getWtxIndexController(trx.getRevisionNumber()).createIndexes(Set.of(indexDef), trx);
+        trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[{\"a\":1},{\"a\":2}]"));
+        trx.commit();
+
+        // Doesn't change the index.
+        trx.moveTo(1);
+        trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"b\":1}"));
+        trx.commit();
+
+        trx.moveTo(1);
+        trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"a\":3}"));
+        trx.commit();
+      }
+
+      final var runs = new ArrayList<String>();
+      TemporalIndexReader.openIndex(manager, indexDef, 1, 3, rtx -> null)
+                         .forEachRemaining(entry -> runs.add(entry.fromRevision() + "-" + entry.toRevision()));
+      Collections.sort(runs);
+
+      assertEquals(List.of("1-3", "1-3", "3-3"), runs);
+    }
+  }
+
+  @Test
+  public void testCommitOfEmptyIndexWritesIndexTree() {
+    final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      try (final var trx = manager.beginNodeTrx()) {
+        trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("[{\"a\":1}]"));
+      }
+
+      // No object has a "b" field, thus the index is empty and the commit doesn't change anything else.
+      final var indexDef = IndexDefs.createCASIdxDef(false,
+                                                     Type.STR,
+                                                     Collections.singleton(parse("/[]/b", PathParser.Type.JSON)),
+                                                     0,
+                                                     IndexDef.DbType.JSON);
+
+      try (final var trx = manager.beginNodeTrx()) {
+        manager.getWtxIndexController(trx.getRevisionNumber()).createIndexes(Set.of(indexDef), trx);
+        trx.commit();
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx(2)) {
+        final var indexController = manager.getRtxIndexController(2);
+        final var index = indexController.openCASIndex(rtx.getPageTrx(),
+                                                       indexDef,
+                                                       indexController.createCASFilter(Set.of("/[]/b"),
+                                                                                       new Str("x"),
+                                                                                       SearchMode.EQUAL,
+                                                                                       new JsonPCRCollector(rtx)));
+        assertFalse(index.hasNext());
+      }
+
+      try (final var trx = manager.beginNodeTrx()) {
+        trx.moveTo(1);
+        trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"b\":\"x\"}"));
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx(3)) {
+        final var indexController = manager.getRtxIndexController(3);
+        final var index = indexController.openCASIndex(rtx.getPageTrx(),
+                                                       indexDef,
+                                                       indexController.createCASFilter(Set.of("/[]/b"),
+                                                                                       new Str("x"),
+                                                                                       SearchMode.EQUAL,
+                                                                                       new JsonPCRCollector(rtx)));
+        assertTrue(index.hasNext());
+        assertEquals(1, index.next().getNodeKeys().size());
+      }
+    }
+  }
+
+  @Test
+  public void testCommitOfIndexedResourceStartsNewIndexGeneration() {
+    final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var trx = manager.beginNodeTrx()) {
+      final var indexController = manager.getWtxIndexController(trx.getRevisionNumber());
+      indexController.createIndexes(Set.of(IndexDefs.createNameIdxDef(0, IndexDef.DbType.JSON)), trx);
+      trx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"foo\":1}"));
+
+      final var resourcePath = manager.getResourceConfig().getResource();
+      final long generation = Indexes.getGeneration(resourcePath);
+      final long generationOfOtherResource = Indexes.getGeneration(resourcePath.resolveSibling("other"));
+      trx.moveToDocumentRoot();
+      trx.moveToFirstChild();
+      trx.insertObjectRecordAsFirstChild("bar", new NumberValue(2));
+      trx.commit();
+
+      assertTrue(Indexes.getGeneration(resourcePath) > generation);
+      assertEquals(generationOfOtherResource, Indexes.getGeneration(resourcePath.resolveSibling("other")));
+    }
+  }
+
   @Test
   public void testCreateNameIndexWhileListeningAndNameIndexOnDemand() {
     final var jsonPath = JSON.resolve("abc-location-stations.json");
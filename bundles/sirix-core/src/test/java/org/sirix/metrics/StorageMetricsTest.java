@@ -0,0 +1,121 @@
+package org.sirix.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceSession;
+import org.sirix.utils.JsonDocumentCreator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the {@link StorageMetrics} and the {@link SimpleMetricsRegistry}.
+ */
+public final class StorageMetricsTest {
+
+  @BeforeEach
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testHistogram() {
+    final var registry = new SimpleMetricsRegistry();
+    final var histogram = registry.histogram("latency", "resource", "shredded");
+
+    assertSame(histogram, registry.histogram("latency", "resource", "shredded"));
+    assertEquals(0, histogram.getValueAtPercentile(0.5));
+
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(5050, histogram.getSum());
+    assertEquals(100, histogram.getMax());
+    assertEquals(50.5, histogram.getMean());
+    assertEquals(63, histogram.getValueAtPercentile(0.5));
+    assertEquals(100, histogram.getValueAtPercentile(1));
+    assertTrue(registry.getHistograms().containsKey("latency{resource=shredded}"));
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    assertSame(MetricsRegistry.noOp(), database.getMetricsRegistry());
+
+    try (final JsonResourceSession session = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      assertFalse(session.getStorageMetrics().isEnabled());
+    }
+  }
+
+  @Test
+  public void testRecordsCommitsAndReads() {
+    final var registry = new SimpleMetricsRegistry();
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile()).setMetricsRegistry(registry);
+
+    try (final JsonResourceSession session = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      assertTrue(session.getStorageMetrics().isEnabled());
+      assertSame(registry, session.getStorageMetrics().getRegistry());
+
+      try (final JsonNodeTrx wtx = session.beginNodeTrx()) {
+        JsonDocumentCreator.create(wtx);
+        wtx.commit();
+      }
+
+      try (final var rtx = session.beginNodeReadOnlyTrx()) {
+        rtx.moveToDocumentRoot();
+        assertTrue(rtx.moveToFirstChild());
+      }
+    }
+
+    final var commits = registry.getHistograms()
+                                .get("sirix.commit.nanos{database=" + database.getName() + ",resource="
+                                         + JsonTestHelper.RESOURCE + "}");
+    assertNotNull(commits);
+    assertEquals(1, commits.getCount());
+
+    final long pageReads = registry.getHistograms()
+                                   .entrySet()
+                                   .stream()
+                                   .filter(entry -> entry.getKey().startsWith("sirix.page.read.nanos"))
+                                   .mapToLong(entry -> entry.getValue().getCount())
+                                   .sum();
+    assertTrue(pageReads > 0);
+
+    final long cacheAccesses = registry.getCounters()
+                                       .entrySet()
+                                       .stream()
+                                       .filter(entry -> entry.getKey().startsWith("sirix.cache."))
+                                       .mapToLong(entry -> entry.getValue().getCount())
+                                       .sum();
+    assertTrue(cacheAccesses > 0);
+
+    database.setMetricsRegistry(MetricsRegistry.noOp());
+  }
+
+  @Test
+  public void testResourcesOfDifferentDatabasesAreTaggedSeparately() {
+    final var registry = new SimpleMetricsRegistry();
+    final var first = new StorageMetrics("first", JsonTestHelper.RESOURCE, null, null).bind(registry);
+    final var second = new StorageMetrics("second", JsonTestHelper.RESOURCE, null, null).bind(registry);
+
+    first.startCommit().end(1, 0);
+    first.startCommit().end(2, 0);
+    second.startCommit().end(1, 0);
+
+    final var histograms = registry.getHistograms();
+    assertEquals(2, histograms.get("sirix.commit.nanos{database=first,resource=" + JsonTestHelper.RESOURCE + "}")
+                              .getCount());
+    assertEquals(1, histograms.get("sirix.commit.nanos{database=second,resource=" + JsonTestHelper.RESOURCE + "}")
+                              .getCount());
+  }
+}
@@ -0,0 +1,95 @@
+package org.sirix.page;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.sirix.page.interfaces.PageFragmentKey;
+import org.sirix.settings.Constants;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SlotSummaryTest {
+
+  @Test
+  public void testBitsCoverAllSlotsOfAPage() {
+    assertEquals(1L, SlotSummary.bitOf(0));
+    assertEquals(1L, SlotSummary.bitOf(SlotSummary.SLOTS_PER_BIT - 1));
+    assertEquals(2L, SlotSummary.bitOf(SlotSummary.SLOTS_PER_BIT));
+    assertEquals(Long.MIN_VALUE, SlotSummary.bitOf(Constants.NDP_NODE_COUNT - 1));
+    assertEquals(SlotSummary.bitOf(5), SlotSummary.bitOf(Constants.NDP_NODE_COUNT * 7L + 5));
+  }
+
+  @Test
+  public void testMayContain() {
+    final long summary = SlotSummary.bitOf(3) | SlotSummary.bitOf(500);
+
+    assertTrue(SlotSummary.mayContain(summary, 3));
+    assertTrue(SlotSummary.mayContain(summary, 500));
+    assertTrue(SlotSummary.mayContain(summary, Constants.NDP_NODE_COUNT + 4));
+    assertFalse(SlotSummary.mayContain(summary, 100));
+    assertFalse(SlotSummary.mayContain(0L, 3));
+    assertTrue(SlotSummary.mayContain(SlotSummary.ALL_SLOTS, 100));
+  }
+
+  @Test
+  public void testUnknownSummaryOfPageFragmentKey() {
+    assertEquals(SlotSummary.ALL_SLOTS, new PageFragmentKeyImpl(1, 200).slotSummary());
+  }
+
+  @Test
+  public void testSlotSummariesAreSerialized() {
+    final var reference = new PageReference();
+    reference.setKey(300);
+    reference.setPageFragments(List.of(new PageFragmentKeyImpl(2, 200, SlotSummary.bitOf(3)),
+                                       new PageFragmentKeyImpl(1, 100, SlotSummary.bitOf(500))));
+
+    final Bytes<ByteBuffer> data = Bytes.elasticByteBuffer();
+    SerializationType.DATA.serializeReferencesPage4(data, List.of(reference), List.of((short) 0));
+
+    final List<PageFragmentKey> pageFragments =
+        SerializationType.DATA.deserializeReferencesPage4(data).getReferences().get(0).getPageFragments();
+    assertEquals(2, pageFragments.size());
+    assertEquals(new PageFragmentKeyImpl(2, 200, SlotSummary.bitOf(3)), pageFragments.get(0));
+    assertEquals(new PageFragmentKeyImpl(1, 100, SlotSummary.bitOf(500)), pageFragments.get(1));
+  }
+
+  @Test
+  public void testReferencesWithoutSlotSummariesAreReadAsContainingAllSlots() {
+    // A reference with a single page fragment as written before slot summaries have been introduced.
+    final Bytes<ByteBuffer> data = Bytes.elasticByteBuffer();
+    data.writeByte((byte) 1);
+    data.writeByte((byte) 1);
+    data.writeInt(1);
+    data.writeLong(100);
+    data.writeLong(300);
+    data.writeInt(-1);
+    data.writeShort((short) 0);
+
+    final var reference = SerializationType.DATA.deserializeReferencesPage4(data).getReferences().get(0);
+    assertEquals(300, reference.getKey());
+    assertEquals(List.of(new PageFragmentKeyImpl(1, 100, SlotSummary.ALL_SLOTS)), reference.getPageFragments());
+  }
+
+  @Test
+  public void testReferencesWithManyPageFragmentsWithoutSlotSummariesAreRead() {
+    // A reference with more than 127 page fragments as written before slot summaries have been introduced.
+    final int numberOfPageFragments = 130;
+    final Bytes<ByteBuffer> data = Bytes.elasticByteBuffer();
+    data.writeByte((byte) 1);
+    data.writeByte((byte) numberOfPageFragments);
+    for (int revision = numberOfPageFragments; revision > 0; revision--) {
+      data.writeInt(revision);
+      data.writeLong(revision * 100L);
+    }
+    data.writeLong(300);
+    data.writeInt(-1);
+    data.writeShort((short) 0);
+
+    final var reference = SerializationType.DATA.deserializeReferencesPage4(data).getReferences().get(0);
+    assertEquals(300, reference.getKey());
+    assertEquals(numberOfPageFragments, reference.getPageFragments().size());
+    assertEquals(new PageFragmentKeyImpl(1, 100, SlotSummary.ALL_SLOTS), reference.getPageFragments().get(129));
+  }
+}
@@ -2,6 +2,7 @@ package org.sirix.service.json.serialize;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -88,6 +89,42 @@ public final class JsonSerializerTest {
     }
   }
 
+  @Test
+  public void testJsonDocumentAsUtf8Bytes() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE)) {
+      final var outputStream = new ByteArrayOutputStream();
+      try (final var out = new Utf8OutputBuffer(outputStream)) {
+        final var serializer = JsonSerializer.newBuilder(manager, out).build();
+        serializer.call();
+      }
+      assertEquals(JsonDocumentCreator.JSON, outputStream.toString(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testEscapedStringValuesAsUtf8Bytes() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.beginResourceSession(JsonTestHelper.RESOURCE);
+         final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(
+          "{\"foo\":[\"a \\\"quoted\\\" / value\\n\",\"\\u00e4\\u0085\\u2001\\u4e2d\\ud83d\\ude00 and a rather long tail\"]}"));
+      wtx.commit();
+
+      final var writer = new StringWriter();
+      new JsonSerializer.Builder(manager, writer).build().call();
+
+      final var outputStream = new ByteArrayOutputStream();
+      try (final var out = new Utf8OutputBuffer(outputStream, 8)) {
+        JsonSerializer.newBuilder(manager, out).build().call();
+      }
+
+      assertEquals(writer.toString(), outputStream.toString(StandardCharsets.UTF_8));
+    }
+  }
+
   @Test
   public void testMultipleRevisionsJsonDocument() throws IOException {
     JsonTestHelper.createTestDocument();
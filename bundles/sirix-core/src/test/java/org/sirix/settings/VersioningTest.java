@@ -22,6 +22,7 @@
 package org.sirix.settings;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
@@ -86,6 +87,16 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testIncremental3() throws SirixException {
+    database.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(VersioningType.INCREMENTAL)
+                                                                 .hashKind(HashType.NONE)
+                                                                 .maxNumberOfRevisionsToRestore(4)
+                                                                 .build());
+    test3();
+  }
+
   @Test
   public void testDifferential() throws SirixException {
     database.createResource(
@@ -166,6 +177,16 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testSlidingSnapshot3() throws SirixException {
+    database.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(VersioningType.SLIDING_SNAPSHOT)
+                                                                 .hashKind(HashType.NONE)
+                                                                 .maxNumberOfRevisionsToRestore(4)
+                                                                 .build());
+    test3();
+  }
+
   /**
    * Test revisioning.
    *
@@ -283,6 +304,42 @@ public class VersioningTest {
     }
   }
 
+  /**
+   * Test single record lookups in page fragments of different revisions.
+   *
+   * @throws SirixException if anything in Sirix fails
+   */
+  public void test3() throws SirixException {
+    try (final XmlResourceSession manager = database.beginResourceSession(XmlTestHelper.RESOURCE)) {
+      try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        for (int i = 0; i < 200; i++) {
+          wtx.insertElementAsFirstChild(new QNm("foo"));
+        }
+        wtx.commit();
+        for (int revision = 2; revision <= 4; revision++) {
+          wtx.moveTo(revision * 40);
+          wtx.setName(new QNm("foo" + revision));
+          wtx.commit();
+        }
+      }
+      for (int revision = 2; revision <= 4; revision++) {
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+          assertTrue(rtx.moveTo(revision * 40));
+          assertEquals(new QNm("foo" + revision), rtx.getName());
+        }
+      }
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertTrue(rtx.moveTo(7));
+        assertEquals(new QNm("foo"), rtx.getName());
+        assertFalse(rtx.moveTo(500));
+      }
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(2)) {
+        assertTrue(rtx.moveTo(120));
+        assertEquals(new QNm("foo"), rtx.getName());
+      }
+    }
+  }
+
   /**
    * Set the second {@link QNm} in the first node page.
    *
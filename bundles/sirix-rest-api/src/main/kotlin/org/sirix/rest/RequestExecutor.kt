@@ -0,0 +1,205 @@
+package org.sirix.rest
+
+import io.netty.handler.codec.http.HttpResponseStatus
+import io.vertx.core.Promise
+import io.vertx.core.json.JsonObject
+import io.vertx.ext.web.handler.HttpException
+import io.vertx.kotlin.coroutines.await
+import kotlinx.coroutines.TimeoutCancellationException
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.withTimeout
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Executes the (blocking) storage work of requests on virtual threads instead of the small Vert.x worker pool.
+ * Requests are divided into classes, each with its own concurrency limit and timeout, such that cheap point
+ * reads don't queue behind long-running queries or updates. Requests, which exceed their concurrency limit,
+ * wait without occupying a thread.
+ *
+ * Once a request has timed out, the client gets a `504` response and the request is marked as cancelled. Its
+ * evaluation is stopped the next time it checks for cancellation via [checkNotCancelled], for instance when
+ * the next result item is serialized. Threads are never interrupted, as interrupting a thread, which reads
+ * from a file channel, closes the channel. Updates are never timed out, as they can't be stopped reliably
+ * before they are committed.
+ */
+object RequestExecutor {
+    /**
+     * The classes of requests.
+     */
+    enum class RequestClass(val defaultMaxConcurrency: Int, val isTimedOut: Boolean) {
+        /** Reads of (parts of) a resource and of metadata. */
+        READ(1024, true),
+
+        /** XQuery queries and diffs. */
+        QUERY(Runtime.getRuntime().availableProcessors() * 2, true),
+
+        /**
+         * Modifications of resources. They are never timed out, as an update might still be committed after the
+         * client has got a `504` response.
+         */
+        UPDATE(64, false);
+
+        val configKey: String = name.lowercase()
+    }
+
+    private class Limits(val maxConcurrency: Int, val timeoutMillis: Long) {
+        val semaphore = Semaphore(maxConcurrency)
+        val waiting = AtomicLong()
+        val running = AtomicLong()
+        val completed = LongAdder()
+        val failed = LongAdder()
+        val timedOut = LongAdder()
+        val totalQueueTimeNanos = LongAdder()
+        val maxQueueTimeNanos = AtomicLong()
+    }
+
+    private class Task {
+        @Volatile
+        var cancelled = false
+    }
+
+    private val currentTask = ThreadLocal<Task>()
+
+    private val executor: ExecutorService = try {
+        Executors.newVirtualThreadPerTaskExecutor()
+    } catch (e: UnsupportedOperationException) {
+        // Virtual threads are a preview feature, which hasn't been enabled.
+        Executors.newCachedThreadPool()
+    }
+
+    @Volatile
+    private var limits: Map<RequestClass, Limits> =
+        RequestClass.values().associateWith { Limits(it.defaultMaxConcurrency, 0L) }
+
+    /**
+     * Configure the concurrency limits (`executor.<class>.maxConcurrency`) and timeouts in milliseconds
+     * (`executor.<class>.timeoutMillis`, `0` means no timeout) of the request classes. The timeout of updates is
+     * ignored.
+     *
+     * All verticle instances share the executor, thus the limits are only replaced, if they differ from the
+     * current ones. Otherwise, the requests, which are running or waiting, would not be accounted for anymore.
+     */
+    @Synchronized
+    fun configure(config: JsonObject) {
+        val settings = RequestClass.values().associateWith {
+            Pair(
+                config.getInteger("executor.${it.configKey}.maxConcurrency", it.defaultMaxConcurrency),
+                if (it.isTimedOut) config.getLong("executor.${it.configKey}.timeoutMillis", 0) else 0L
+            )
+        }
+
+        if (settings == limits.mapValues { (_, limits) -> Pair(limits.maxConcurrency, limits.timeoutMillis) }) {
+            return
+        }
+
+        limits = settings.mapValues { (_, setting) -> Limits(setting.first, setting.second) }
+    }
+
+    /**
+     * Execute blocking code on a virtual thread, just like `Context.executeBlocking`. The promise is completed
+     * with `null`, if the handler doesn't complete it.
+     */
+    suspend fun <T> executeBlocking(requestClass: RequestClass, handler: (Promise<T>) -> Unit): T? {
+        val limits = limits.getValue(requestClass)
+
+        if (limits.timeoutMillis <= 0) {
+            return execute(limits, Task(), handler)
+        }
+
+        val task = Task()
+
+        try {
+            return withTimeout(limits.timeoutMillis) {
+                execute(limits, task, handler)
+            }
+        } catch (e: TimeoutCancellationException) {
+            task.cancelled = true
+            limits.timedOut.increment()
+            throw HttpException(
+                HttpResponseStatus.GATEWAY_TIMEOUT.code(),
+                "Request didn't complete within ${limits.timeoutMillis} ms."
+            )
+        }
+    }
+
+    private suspend fun <T> execute(limits: Limits, task: Task, handler: (Promise<T>) -> Unit): T? {
+        val queuedAt = System.nanoTime()
+
+        limits.waiting.incrementAndGet()
+        try {
+            limits.semaphore.acquire()
+        } finally {
+            limits.waiting.decrementAndGet()
+        }
+
+        val queueTime = System.nanoTime() - queuedAt
+        limits.totalQueueTimeNanos.add(queueTime)
+        limits.maxQueueTimeNanos.accumulateAndGet(queueTime) { max, time -> maxOf(max, time) }
+
+        val promise = Promise.promise<T>()
+
+        try {
+            executor.execute {
+                currentTask.set(task)
+                limits.running.incrementAndGet()
+                try {
+                    handler(promise)
+                    promise.tryComplete()
+                    limits.completed.increment()
+                } catch (e: Throwable) {
+                    promise.tryFail(e)
+                    limits.failed.increment()
+                } finally {
+                    limits.running.decrementAndGet()
+                    currentTask.remove()
+                    limits.semaphore.release()
+                }
+            }
+        } catch (e: Exception) {
+            limits.semaphore.release()
+            throw e
+        }
+
+        return promise.future().await()
+    }
+
+    /**
+     * Throws a [CancellationException], if the request, which is executed by the current thread, has timed out.
+     */
+    fun checkNotCancelled() {
+        if (currentTask.get()?.cancelled == true) {
+            throw CancellationException("Request has been cancelled, as it timed out.")
+        }
+    }
+
+    /**
+     * Get the statistics of all request classes.
+     */
+    val statistics: JsonObject
+        get() {
+            val statistics = JsonObject()
+            for ((requestClass, limits) in limits) {
+                val completed = limits.completed.sum() + limits.failed.sum()
+                statistics.put(
+                    requestClass.configKey, JsonObject()
+                        .put("maxConcurrency", limits.maxConcurrency)
+                        .put("timeoutMillis", limits.timeoutMillis)
+                        .put("waiting", limits.waiting.get())
+                        .put("running", limits.running.get())
+                        .put("completed", limits.completed.sum())
+                        .put("failed", limits.failed.sum())
+                        .put("timedOut", limits.timedOut.sum())
+                        .put(
+                            "averageQueueTimeMicros",
+                            if (completed == 0L) 0L else limits.totalQueueTimeNanos.sum() / completed / 1_000
+                        )
+                        .put("maxQueueTimeMicros", limits.maxQueueTimeNanos.get() / 1_000)
+                )
+            }
+            return statistics
+        }
+}
@@ -26,7 +26,10 @@ import io.vertx.ext.auth.oauth2.providers.KeycloakAuth
 import io.vertx.ext.web.handler.HttpException
 import kotlinx.coroutines.launch
 import org.apache.http.HttpStatus
+import org.sirix.access.Databases
+import org.sirix.cache.GlobalBufferManager
 import org.sirix.rest.crud.*
+import org.sirix.rest.crud.json.JsonBatchUpdate
 import org.sirix.rest.crud.json.JsonCreate
 import org.sirix.rest.crud.json.JsonHead
 import org.sirix.rest.crud.json.JsonUpdate
@@ -47,6 +50,15 @@ class SirixVerticle : CoroutineVerticle() {
     private val location = Paths.get(userHome, "sirix-data")
 
     override suspend fun start() {
+        RequestExecutor.configure(config)
+
+        // One memory budget for the caches of all resources.
+        config.getLong("cache.maxBytes")?.let { maxBytes ->
+            if (Databases.getGlobalBufferManager() == null) {
+                Databases.setGlobalBufferManager(GlobalBufferManager(maxBytes))
+            }
+        }
+
         val router = createRouter()
 
         // Start an HTTP/2 server
@@ -200,6 +212,35 @@ class SirixVerticle : CoroutineVerticle() {
             DeleteHandler(location, authz).handle(it)
         }
 
+        get("/query-result-cache/statistics").produces("application/json").coroutineHandler {
+            Auth(keycloak, authz, AuthRole.VIEW).handle(it)
+            it.next()
+        }.coroutineHandler {
+            val statistics = QueryResults.cache.statistics
+
+            it.response().setStatusCode(200)
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(
+                    JsonObject()
+                        .put("hitCount", statistics.hitCount())
+                        .put("missCount", statistics.missCount())
+                        .put("bypassCount", statistics.bypassCount())
+                        .put("evictionCount", statistics.evictionCount())
+                        .put("entryCount", statistics.entryCount())
+                        .put("sizeInBytes", statistics.sizeInBytes())
+                        .encode()
+                )
+        }
+
+        get("/executor/statistics").produces("application/json").coroutineHandler {
+            Auth(keycloak, authz, AuthRole.VIEW).handle(it)
+            it.next()
+        }.coroutineHandler {
+            it.response().setStatusCode(200)
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(RequestExecutor.statistics.encode())
+        }
+
         // "/:database"
         post("/:database").consumes("multipart/form-data").coroutineHandler {
             Auth(keycloak, authz, AuthRole.CREATE).handle(it)
@@ -317,6 +358,15 @@ class SirixVerticle : CoroutineVerticle() {
         }.coroutineHandler {
             DiffHandler(location).handle(it)
         }
+        post("/:database/:resource/batch")
+            .consumes("application/json")
+            .produces("application/json")
+            .coroutineHandler {
+                Auth(keycloak, authz, AuthRole.MODIFY).handle(it)
+                it.next()
+            }.handler(BodyHandler.create()).coroutineHandler {
+                JsonBatchUpdate(location, config.getLong("update.coalesceWindowMillis", 10)).handle(it)
+            }
         get("/:database/:resource/pathSummary").produces("application/json").coroutineHandler {
             Auth(keycloak, authz, AuthRole.VIEW).handle(it)
             it.next()
@@ -402,6 +452,17 @@ class SirixVerticle : CoroutineVerticle() {
     }
 
     private fun response(response: HttpServerResponse, statusCode: Int, failureMessage: String?) {
+        if (response.ended() || response.closed()) {
+            return
+        }
+
+        if (response.headWritten()) {
+            // A streamed result has partly been sent, so the status can't be changed anymore. Reset the connection,
+            // such that the client doesn't mistake the truncated result for a complete one.
+            response.reset()
+            return
+        }
+
         response.setStatusCode(statusCode).end("Failure calling the RESTful API: $failureMessage")
     }
 
@@ -0,0 +1,19 @@
+package org.sirix.rest
+
+import io.vertx.core.buffer.Buffer
+import java.io.OutputStream
+
+/**
+ * An [OutputStream] appending all written bytes to a Vert.x [Buffer], such that serializers can
+ * write bytes, which are sent as is. The whole response is buffered in memory, thus flushing doesn't
+ * apply any backpressure. Use [VertxResponseOutputStream] to stream a response instead.
+ */
+class VertxBufferOutputStream(val buffer: Buffer = Buffer.buffer()) : OutputStream() {
+    override fun write(b: Int) {
+        buffer.appendByte(b.toByte())
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        buffer.appendBytes(b, off, len)
+    }
+}
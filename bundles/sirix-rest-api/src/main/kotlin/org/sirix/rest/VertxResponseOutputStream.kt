@@ -0,0 +1,93 @@
+package org.sirix.rest
+
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.http.HttpServerResponse
+import java.io.IOException
+import java.io.OutputStream
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * An [OutputStream] writing all bytes as chunks to a (chunked) HTTP response. It must be used from a worker
+ * thread, as it blocks while the write queue of the response is full, such that a slow client applies
+ * backpressure to the serializer and memory stays bounded.
+ */
+class VertxResponseOutputStream(private val response: HttpServerResponse) : OutputStream() {
+    @Volatile
+    private var aborted = false
+
+    /**
+     * Discard all bytes written from now on, for instance buffered bytes, which are flushed when a failed
+     * serialization is closed.
+     */
+    fun abort() {
+        aborted = true
+    }
+
+    override fun write(b: Int) {
+        write(byteArrayOf(b.toByte()), 0, 1)
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        if (len == 0 || aborted) {
+            return
+        }
+
+        if (response.closed()) {
+            throw connectionClosed()
+        }
+
+        RequestExecutor.checkNotCancelled()
+
+        response.write(Buffer.buffer(b.copyOfRange(off, off + len)))
+
+        if (response.writeQueueFull()) {
+            awaitDrain()
+        }
+    }
+
+    private fun awaitDrain() {
+        val drained = CompletableFuture<Unit>()
+
+        response.drainHandler { drained.complete(Unit) }
+        response.closeHandler { drained.completeExceptionally(connectionClosed()) }
+
+        // The connection might have been closed or the queue drained before the handlers have been set.
+        if (response.closed()) {
+            drained.completeExceptionally(connectionClosed())
+        } else if (!response.writeQueueFull()) {
+            drained.complete(Unit)
+        }
+
+        try {
+            while (true) {
+                try {
+                    drained.get(DRAIN_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)
+                    return
+                } catch (e: TimeoutException) {
+                    // Don't stay parked, once the request timed out or the client went away unnoticed.
+                    RequestExecutor.checkNotCancelled()
+                    if (response.closed()) {
+                        throw connectionClosed()
+                    }
+                }
+            }
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        } finally {
+            response.drainHandler(null)
+            response.closeHandler(null)
+        }
+    }
+
+    private fun connectionClosed() = IOException("Connection has been closed by the client.")
+
+    companion object {
+        /**
+         * Interval in which a writer waiting for the write queue to drain checks if its request has been cancelled.
+         */
+        private const val DRAIN_POLL_INTERVAL_MILLIS = 100L
+    }
+}
@@ -17,6 +17,7 @@ import org.sirix.access.User
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.Database
 import org.sirix.api.ResourceSession
+import org.sirix.xquery.QueryResultCache
 import java.math.BigInteger
 import java.nio.file.Files
 import java.nio.file.Path
@@ -36,6 +37,8 @@ abstract class AbstractDeleteHandler(protected val location: Path) {
                     }
             }
 
+            QueryResultCache.getShared().clear()
+
             promise.complete()
         }.await()
 
@@ -93,6 +96,7 @@ abstract class AbstractDeleteHandler(protected val location: Path) {
     private suspend fun removeDatabase(dbFile: Path?, dispatcher: CoroutineDispatcher) {
         withContext(dispatcher) {
             Databases.removeDatabase(dbFile)
+            QueryResultCache.getShared().invalidate(dbFile!!.fileName.toString())
         }
     }
 
@@ -102,6 +106,7 @@ abstract class AbstractDeleteHandler(protected val location: Path) {
     ) {
         withContext(dispatcher) {
             database.removeResource(resPathName)
+            QueryResultCache.getShared().invalidate(database.name, resPathName!!)
         }
     }
 
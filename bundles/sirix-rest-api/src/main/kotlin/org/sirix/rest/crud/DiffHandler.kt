@@ -5,7 +5,6 @@ import com.google.gson.JsonObject
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.DatabaseType
 import org.sirix.access.Databases.*
 import org.sirix.access.DatabasesInternals
@@ -13,6 +12,7 @@ import org.sirix.access.ResourceConfiguration
 import org.sirix.api.Database
 import org.sirix.api.json.JsonNodeReadOnlyTrx
 import org.sirix.api.json.JsonResourceSession
+import org.sirix.rest.RequestExecutor
 import org.sirix.service.json.BasicJsonDiff
 import org.sirix.utils.LogWrapper
 import org.slf4j.LoggerFactory
@@ -27,7 +27,6 @@ private val logger = LogWrapper(LoggerFactory.getLogger(DiffHandler::class.java)
 
 class DiffHandler(private val location: Path) {
     suspend fun handle(ctx: RoutingContext): Route {
-        val context = ctx.vertx().orCreateContext
         val databaseName = ctx.pathParam("database")
         val resourceName = ctx.pathParam("resource")
 
@@ -39,7 +38,7 @@ class DiffHandler(private val location: Path) {
         
         val database = openDatabase(databaseName)
 
-        val diff = context.executeBlocking<String> { resultPromise ->
+        val diff = RequestExecutor.executeBlocking<String>(RequestExecutor.RequestClass.QUERY) { resultPromise ->
             var diffString: String? = null
             database.use {
                 val resourceManager = database.beginResourceSession(resourceName)
@@ -96,7 +95,7 @@ class DiffHandler(private val location: Path) {
             }
 
             resultPromise.complete(diffString)
-        }.await()
+        }
 
         logger.debug("Open databases after: ${DatabasesInternals.getOpenDatabases()}")
 
@@ -8,10 +8,10 @@ import io.vertx.ext.auth.authorization.AuthorizationProvider
 import io.vertx.ext.auth.oauth2.OAuth2Auth
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.api.Database
 import org.sirix.api.json.JsonResourceSession
+import org.sirix.rest.RequestExecutor
 import org.sirix.rest.crud.json.JsonGet
 import org.sirix.rest.crud.xml.XmlGet
 import org.sirix.service.json.serialize.StringValue
@@ -148,7 +148,7 @@ class GetHandler(
     }
 
     private suspend fun listDatabases(ctx: RoutingContext, context: Context) {
-        context.executeBlocking { _: Promise<Unit> ->
+        RequestExecutor.executeBlocking(RequestExecutor.RequestClass.READ) { _: Promise<Unit> ->
             val databases = Files.list(location)
 
             val buffer = StringBuilder()
@@ -190,7 +190,7 @@ class GetHandler(
             ctx.response().setStatusCode(200)
                 .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
                 .end(content)
-        }.await()
+        }
     }
 
     private fun emitResourcesOfDatabase(
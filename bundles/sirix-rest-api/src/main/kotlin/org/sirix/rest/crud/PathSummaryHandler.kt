@@ -3,17 +3,16 @@ package org.sirix.rest.crud
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.DatabaseType
 import org.sirix.access.Databases.*
 import org.sirix.api.Database
 import org.sirix.axis.DescendantAxis
+import org.sirix.rest.RequestExecutor
 import java.nio.charset.StandardCharsets
 import java.nio.file.Path
 
 class PathSummaryHandler(private val location: Path) {
     suspend fun handle(ctx: RoutingContext): Route {
-        val context = ctx.vertx().orCreateContext
         val databaseName = ctx.pathParam("database")
         val resourceName = ctx.pathParam("resource")
 
@@ -23,7 +22,7 @@ class PathSummaryHandler(private val location: Path) {
                 DatabaseType.XML -> openXmlDatabase(location.resolve(databaseName))
             }
 
-        context.executeBlocking<String> {
+        RequestExecutor.executeBlocking<String>(RequestExecutor.RequestClass.READ) {
             val buffer = StringBuilder()
             database.use {
                 val manager = database.beginResourceSession(resourceName)
@@ -73,7 +72,7 @@ class PathSummaryHandler(private val location: Path) {
                 .putHeader(HttpHeaders.CONTENT_LENGTH, content.toByteArray(StandardCharsets.UTF_8).size.toString())
             res.write(content)
             res.end()
-        }.await()
+        }
 
         return ctx.currentRoute()
     }
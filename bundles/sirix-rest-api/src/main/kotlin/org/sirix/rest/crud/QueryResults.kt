@@ -0,0 +1,133 @@
+package org.sirix.rest.crud
+
+import io.netty.handler.codec.http.HttpResponseStatus
+import io.vertx.core.http.HttpHeaders
+import io.vertx.core.json.JsonObject
+import io.vertx.ext.auth.User
+import io.vertx.ext.auth.authorization.AuthorizationProvider
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization
+import io.vertx.ext.web.RoutingContext
+import io.vertx.ext.web.handler.HttpException
+import io.vertx.kotlin.coroutines.await
+import org.sirix.rest.AuthRole
+import org.sirix.rest.VertxResponseOutputStream
+import org.sirix.xquery.QueryResultCache
+import java.io.Closeable
+import java.io.OutputStream
+
+/**
+ * Delivery of query results: caching of results, which are evaluated on a fixed revision of a resource, and
+ * streaming of large results.
+ */
+class QueryResults {
+    companion object {
+        val cache: QueryResultCache = QueryResultCache.getShared()
+
+        /**
+         * Determines if the result should be streamed to the client (using chunked transfer encoding) while it's
+         * serialized instead of being sent once it's completely serialized.
+         */
+        fun isStreamed(ctx: RoutingContext, jsonBody: JsonObject?): Boolean {
+            val stream = ctx.queryParam("stream").getOrNull(0) ?: jsonBody?.getValue("stream")?.toString()
+            return stream?.toBoolean() ?: false
+        }
+
+        /**
+         * Serialize a result, while it's sent to the client in chunks. The status and the headers are sent with the
+         * first chunk, thus a failure before is reported with its status by the failure handler and the buffered
+         * output is discarded. Once the first chunk has been sent, the status can't be changed anymore, so the
+         * connection is reset on failures (by the failure handler, if the request has timed out), such that the
+         * client doesn't mistake the truncated result for a complete one.
+         *
+         * Must be called from a worker thread, the response is ended by the caller.
+         */
+        fun <T : Closeable> stream(
+            ctx: RoutingContext, contentType: String, buffer: (OutputStream) -> T, serialize: (T) -> Unit
+        ) {
+            val response = ctx.response()
+            response.setStatusCode(200)
+                .putHeader(HttpHeaders.CONTENT_TYPE, contentType)
+                .setChunked(true)
+
+            val responseOut = VertxResponseOutputStream(response)
+            val out = buffer(responseOut)
+
+            try {
+                serialize(out)
+            } catch (e: Throwable) {
+                responseOut.abort()
+
+                try {
+                    out.close()
+                } catch (closeFailure: Exception) {
+                    e.addSuppressed(closeFailure)
+                }
+
+                if (response.headWritten() && !response.ended()) {
+                    response.reset()
+                }
+
+                throw e
+            }
+
+            out.close()
+        }
+
+        /**
+         * Get the key of the cached result of a query or `null`, if the result must not be cached, that is
+         * if neither a revision nor a revision timestamp is given (the most recent revision is queried) or if
+         * the query isn't cacheable. Streamed results are never cached, as they might be huge.
+         */
+        fun cacheKey(
+            ctx: RoutingContext, jsonBody: JsonObject?, databaseName: String, resourceName: String, revision: String?,
+            revisionTimestamp: String?, revisionNumber: IntArray, nodeId: String?, query: String,
+            contentType: String, startResultSeqIndex: Long?, endResultSeqIndex: Long?
+        ): QueryResultCache.Key? {
+            if ((revision == null && revisionTimestamp == null) || isStreamed(ctx, jsonBody)
+                || !QueryResultCache.isCacheable(query)
+            ) {
+                cache.recordBypass()
+                return null
+            }
+
+            // The user is part of the key, as the permissions to access other databases are checked during evaluation
+            // and before a cached result is returned.
+            val user = SirixDBUser.create(ctx)
+
+            return QueryResultCache.Key(
+                databaseName,
+                resourceName,
+                revisionNumber[0],
+                nodeId?.toLong() ?: -1,
+                query,
+                "$contentType|$startResultSeqIndex|$endResultSeqIndex|${user.id}"
+            )
+        }
+
+        /**
+         * Checks that the user is allowed to view all databases a cacheable query opens. It must be called before a
+         * cached result is returned, as the query isn't evaluated, which otherwise checks the permissions.
+         */
+        suspend fun checkPermissions(user: User, authz: AuthorizationProvider, query: String) {
+            val databases = QueryResultCache.getDatabases(query)
+
+            if (databases.isEmpty()) {
+                return
+            }
+
+            authz.getAuthorizations(user).await()
+
+            for (database in databases) {
+                val isAuthorized = PermissionBasedAuthorization.create(AuthRole.VIEW.databaseRole(database)).match(user)
+
+                if (!isAuthorized && !RoleBasedAuthorization.create(AuthRole.VIEW.keycloakRole()).match(user)) {
+                    throw HttpException(
+                        HttpResponseStatus.UNAUTHORIZED.code(),
+                        IllegalStateException("User is not allowed to ${AuthRole.VIEW} the database $database")
+                    )
+                }
+            }
+        }
+    }
+}
@@ -1,59 +1,109 @@
-package org.sirix.rest.crud
-
-import io.vertx.ext.auth.User
-import io.vertx.ext.auth.authorization.AuthorizationProvider
-import io.vertx.ext.auth.oauth2.OAuth2Auth
-import org.brackit.xquery.util.serialize.Serializer
-import org.brackit.xquery.xdm.Item
-import org.sirix.xquery.SirixCompileChain
-import org.sirix.xquery.SirixQueryContext
-
-class QuerySerializer {
-    companion object {
-        fun serializePaginated(
-            sirixCompileChain: SirixCompileChain,
-            query: String,
-            queryCtx: SirixQueryContext,
-            startResultSeqIndex: Long,
-            endResultSeqIndex: Long?,
-            keycloak: OAuth2Auth,
-            authz: AuthorizationProvider,
-            user: User,
-            serializer: Serializer,
-            serialize: (Serializer, Item?) -> Unit
-        ) {
-            serializer.use {
-                val sequence =
-                    PermissionCheckingXQuery(sirixCompileChain, query, keycloak, user, authz).execute(queryCtx)
-
-                if (sequence != null) {
-                    val itemIterator = sequence.iterate()
-
-                    for (i in 0 until startResultSeqIndex) {
-                        itemIterator.next()
-                    }
-
-                    if (endResultSeqIndex == null) {
-                        while (true) {
-                            val item = itemIterator.next()
-
-                            if (item == null)
-                                break
-                            else
-                                serialize(serializer, item)
-                        }
-                    } else {
-                        for (i in startResultSeqIndex..endResultSeqIndex) {
-                            val item = itemIterator.next()
-
-                            if (item == null)
-                                break
-                            else
-                                serialize(serializer, item)
-                        }
-                    }
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+package org.sirix.rest.crud
+
+import io.vertx.ext.auth.User
+import io.vertx.ext.auth.authorization.AuthorizationProvider
+import io.vertx.ext.auth.oauth2.OAuth2Auth
+import org.brackit.xquery.sequence.BaseIter
+import org.brackit.xquery.sequence.LazySequence
+import org.brackit.xquery.util.serialize.Serializer
+import org.brackit.xquery.xdm.Item
+import org.brackit.xquery.xdm.Iter
+import org.brackit.xquery.xdm.Sequence
+import org.sirix.rest.RequestExecutor
+import org.sirix.xquery.SirixCompileChain
+import org.sirix.xquery.SirixQueryContext
+
+class QuerySerializer {
+    companion object {
+        fun serialize(
+            sirixCompileChain: SirixCompileChain,
+            query: String,
+            queryCtx: SirixQueryContext,
+            keycloak: OAuth2Auth,
+            authz: AuthorizationProvider,
+            user: User,
+            serializer: Serializer
+        ) {
+            serializer.use {
+                val sequence =
+                    PermissionCheckingXQuery(sirixCompileChain, query, keycloak, user, authz).execute(queryCtx)
+
+                if (sequence == null || sequence is Item) {
+                    serializer.serialize(sequence)
+                } else {
+                    serializer.serialize(CancellationCheckingSequence(sequence))
+                }
+            }
+        }
+
+        fun serializePaginated(
+            sirixCompileChain: SirixCompileChain,
+            query: String,
+            queryCtx: SirixQueryContext,
+            startResultSeqIndex: Long,
+            endResultSeqIndex: Long?,
+            keycloak: OAuth2Auth,
+            authz: AuthorizationProvider,
+            user: User,
+            serializer: Serializer,
+            serialize: (Serializer, Item?) -> Unit
+        ) {
+            serializer.use {
+                val sequence =
+                    PermissionCheckingXQuery(sirixCompileChain, query, keycloak, user, authz).execute(queryCtx)
+
+                if (sequence != null) {
+                    val itemIterator = sequence.iterate()
+
+                    for (i in 0 until startResultSeqIndex) {
+                        RequestExecutor.checkNotCancelled()
+                        itemIterator.next()
+                    }
+
+                    if (endResultSeqIndex == null) {
+                        while (true) {
+                            RequestExecutor.checkNotCancelled()
+                            val item = itemIterator.next()
+
+                            if (item == null)
+                                break
+                            else
+                                serialize(serializer, item)
+                        }
+                    } else {
+                        for (i in startResultSeqIndex..endResultSeqIndex) {
+                            RequestExecutor.checkNotCancelled()
+                            val item = itemIterator.next()
+
+                            if (item == null)
+                                break
+                            else
+                                serialize(serializer, item)
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Checks for cancellation of the request before each item of the sequence is retrieved, such that a query, which
+ * has timed out, is stopped while its result is serialized.
+ */
+private class CancellationCheckingSequence(private val sequence: Sequence) : LazySequence() {
+    override fun iterate(): Iter {
+        val iter = sequence.iterate()
+
+        return object : BaseIter() {
+            override fun next(): Item? {
+                RequestExecutor.checkNotCancelled()
+                return iter.next()
+            }
+
+            override fun close() {
+                iter.close()
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.sirix.rest.crud.json
+
+import io.vertx.core.json.Json
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import org.sirix.access.trx.node.json.objectvalue.*
+import org.sirix.api.json.JsonNodeTrx
+import org.sirix.node.NodeKind
+import org.sirix.service.json.shredder.JsonShredder
+
+/**
+ * A single operation of a batch update, addressed by the node ID of its target node. If the resource stores
+ * hashes, the hash of the target node (as returned in the `ETag` header) must be given, too.
+ */
+sealed class JsonBatchOperation(val nodeId: Long?, val hash: String?) {
+    /**
+     * Inserts [data] relative to the target node (or the first child of the document root, if no node ID is given).
+     */
+    class Insert(nodeId: Long?, hash: String?, private val insertionMode: JsonInsertionMode, private val data: Any?) :
+        JsonBatchOperation(nodeId, hash) {
+        override fun apply(wtx: JsonNodeTrx): Long {
+            moveToTarget(wtx)
+            insertionMode.insert(wtx, createReader(data))
+            return wtx.nodeKey
+        }
+    }
+
+    /**
+     * Replaces the target node with [data]. String, number and boolean values are updated in place if the type
+     * doesn't change, object record values and array elements are replaced.
+     */
+    class Replace(nodeId: Long, hash: String?, private val data: Any?) : JsonBatchOperation(nodeId, hash) {
+        override fun apply(wtx: JsonNodeTrx): Long {
+            moveToTarget(wtx)
+
+            when {
+                (wtx.kind == NodeKind.STRING_VALUE || wtx.kind == NodeKind.OBJECT_STRING_VALUE) && data is String -> {
+                    wtx.setStringValue(data)
+                    return wtx.nodeKey
+                }
+                (wtx.kind == NodeKind.NUMBER_VALUE || wtx.kind == NodeKind.OBJECT_NUMBER_VALUE) && data is Number -> {
+                    wtx.setNumberValue(data)
+                    return wtx.nodeKey
+                }
+                (wtx.kind == NodeKind.BOOLEAN_VALUE || wtx.kind == NodeKind.OBJECT_BOOLEAN_VALUE) && data is Boolean -> {
+                    wtx.setBooleanValue(data)
+                    return wtx.nodeKey
+                }
+                (wtx.kind == NodeKind.NULL_VALUE || wtx.kind == NodeKind.OBJECT_NULL_VALUE) && data == null -> {
+                    return wtx.nodeKey
+                }
+            }
+
+            if (wtx.kind != NodeKind.OBJECT_KEY && wtx.parentKind == NodeKind.OBJECT_KEY) {
+                wtx.moveToParent()
+            }
+
+            if (wtx.kind == NodeKind.OBJECT_KEY) {
+                return replaceObjectRecordValue(wtx)
+            }
+
+            if (wtx.parentKind != NodeKind.ARRAY) {
+                throw IllegalArgumentException("Node with ID ${wtx.nodeKey} can't be replaced.")
+            }
+
+            val oldNodeKey = wtx.nodeKey
+            JsonInsertionMode.ASRIGHTSIBLING.insert(wtx, createReader(data))
+            val newNodeKey = wtx.nodeKey
+            wtx.moveTo(oldNodeKey)
+            wtx.remove()
+            return newNodeKey
+        }
+
+        private fun replaceObjectRecordValue(wtx: JsonNodeTrx): Long {
+            val objectKeyNodeKey = wtx.nodeKey
+
+            wtx.replaceObjectRecordValue(
+                when (data) {
+                    is JsonObject -> ObjectValue()
+                    is JsonArray -> ArrayValue()
+                    is String -> StringValue(data)
+                    is Number -> NumberValue(data)
+                    is Boolean -> BooleanValue(data)
+                    null -> NullValue()
+                    else -> throw IllegalArgumentException("Unsupported value: $data")
+                }
+            )
+
+            wtx.moveTo(objectKeyNodeKey)
+            wtx.moveToFirstChild()
+            val valueNodeKey = wtx.nodeKey
+
+            if ((data is JsonObject && !data.isEmpty) || (data is JsonArray && !data.isEmpty)) {
+                wtx.insertSubtreeAsFirstChild(
+                    createReader(data),
+                    JsonNodeTrx.Commit.NO,
+                    JsonNodeTrx.CheckParentNode.YES,
+                    JsonNodeTrx.SkipRootToken.YES
+                )
+            }
+
+            return valueNodeKey
+        }
+    }
+
+    /**
+     * Removes the target node. The target node of an object record value is the whole record.
+     */
+    class Remove(nodeId: Long, hash: String?) : JsonBatchOperation(nodeId, hash) {
+        override fun apply(wtx: JsonNodeTrx): Long? {
+            moveToTarget(wtx)
+
+            if (wtx.parentKind == NodeKind.OBJECT_KEY) {
+                wtx.moveToParent()
+            }
+
+            wtx.remove()
+            return null
+        }
+    }
+
+    /**
+     * Apply the operation without committing.
+     *
+     * @return the node key of the inserted or replaced node or `null`, if the node has been removed
+     */
+    abstract fun apply(wtx: JsonNodeTrx): Long?
+
+    /**
+     * Move the transaction to the target node.
+     */
+    fun moveToTarget(wtx: JsonNodeTrx) {
+        if (nodeId == null) {
+            wtx.moveToDocumentRoot()
+        } else if (!wtx.moveTo(nodeId)) {
+            throw IllegalArgumentException("Node with ID $nodeId doesn't exist.")
+        }
+
+        if (wtx.isDocumentRoot && wtx.hasFirstChild()) {
+            wtx.moveToFirstChild()
+        }
+    }
+
+    companion object {
+        /**
+         * Parse the operations of a batch, for instance
+         * `[{"op": "insert", "nodeId": 3, "hash": "...", "insert": "asFirstChild", "data": {"foo": "bar"}},
+         * {"op": "replace", "nodeId": 7, "hash": "...", "data": 42}, {"op": "remove", "nodeId": 9, "hash": "..."}]`.
+         */
+        fun parse(operations: JsonArray): List<JsonBatchOperation> {
+            return operations.map { operation ->
+                if (operation !is JsonObject) {
+                    throw IllegalArgumentException("Operation must be a JSON object: $operation")
+                }
+
+                val nodeId = operation.getLong("nodeId")
+                val hash = operation.getValue("hash")?.toString()
+
+                when (operation.getString("op")) {
+                    "insert" -> {
+                        val insertionMode = operation.getString("insert")
+                            ?: throw IllegalArgumentException("Insertion mode must be given.")
+                        Insert(nodeId, hash, JsonInsertionMode.getInsertionModeByName(insertionMode), data(operation))
+                    }
+                    "replace" -> Replace(nodeId(nodeId), hash, data(operation))
+                    "remove" -> Remove(nodeId(nodeId), hash)
+                    else -> throw IllegalArgumentException("Unknown operation: ${operation.getString("op")}")
+                }
+            }
+        }
+
+        private fun nodeId(nodeId: Long?) = nodeId ?: throw IllegalArgumentException("Node ID must be given.")
+
+        private fun data(operation: JsonObject): Any? {
+            if (!operation.containsKey("data")) {
+                throw IllegalArgumentException("Data must be given.")
+            }
+            return operation.getValue("data")
+        }
+
+        private fun createReader(data: Any?) = JsonShredder.createStringReader(Json.encode(data))
+    }
+}
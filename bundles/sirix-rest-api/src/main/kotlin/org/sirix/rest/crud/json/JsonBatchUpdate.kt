@@ -0,0 +1,161 @@
+package org.sirix.rest.crud.json
+
+import io.vertx.core.Promise
+import io.vertx.core.http.HttpHeaders
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import io.vertx.ext.web.Route
+import io.vertx.ext.web.RoutingContext
+import org.sirix.access.Databases
+import org.sirix.access.User
+import org.sirix.access.trx.node.HashType
+import org.sirix.api.json.JsonNodeTrx
+import org.sirix.rest.RequestExecutor
+import org.sirix.rest.crud.Revisions
+import org.sirix.rest.crud.SirixDBUser
+import java.math.BigInteger
+import java.nio.file.Path
+import java.time.Instant
+
+/**
+ * Applies a batch of insert, replace and remove operations (see [JsonBatchOperation]) to a resource in one
+ * transaction with a single commit. If `coalesce=true` is given, batches of concurrent requests to the same
+ * resource are merged into one revision (see [JsonUpdateCoalescer]).
+ *
+ * The response contains the revision number and the node ID and hash of the inserted or replaced node of each
+ * operation.
+ */
+class JsonBatchUpdate(private val location: Path, private val coalesceWindowMillis: Long) {
+    suspend fun handle(ctx: RoutingContext): Route {
+        val databaseName = ctx.pathParam("database")
+        val resource = ctx.pathParam("resource")
+
+        if (databaseName == null || resource == null) {
+            throw IllegalArgumentException("Database name and resource name not given.")
+        }
+
+        val operations = JsonBatchOperation.parse(
+            ctx.bodyAsJsonArray ?: throw IllegalArgumentException("Operations must be given as a JSON array.")
+        )
+
+        val commitMessage = ctx.queryParam("commitMessage").getOrNull(0)
+        val commitTimestampAsString = ctx.queryParam("commitTimestamp").getOrNull(0)
+        val commitTimestamp = if (commitTimestampAsString == null) {
+            null
+        } else {
+            Revisions.parseRevisionTimestamp(commitTimestampAsString).toInstant()
+        }
+        val coalesce = ctx.queryParam("coalesce").getOrNull(0)?.toBoolean() ?: false
+
+        val dbFile = location.resolve(databaseName)
+        val sirixDBUser = SirixDBUser.create(ctx)
+
+        // Batches with their own commit message or timestamp need their own revision.
+        val result = if (coalesce && coalesceWindowMillis > 0 && commitMessage == null && commitTimestamp == null) {
+            JsonUpdateCoalescer.submit(dbFile, resource, sirixDBUser, operations, coalesceWindowMillis)
+        } else {
+            RequestExecutor.executeBlocking(RequestExecutor.RequestClass.UPDATE) { promise: Promise<JsonObject> ->
+                promise.complete(
+                    applyBatches(dbFile, resource, sirixDBUser, listOf(operations), commitMessage, commitTimestamp)
+                        .single()
+                        .getOrThrow()
+                )
+            }!!
+        }
+
+        ctx.response()
+            .setStatusCode(200)
+            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+            .end(result.encode())
+
+        return ctx.currentRoute()
+    }
+
+    companion object {
+        /**
+         * Apply batches in the given order in one transaction and commit once. If a batch fails, the transaction
+         * is rolled back and the batches are applied and committed one by one, such that only the failing batches
+         * fail.
+         *
+         * @return the result or failure of each batch
+         */
+        fun applyBatches(
+            dbFile: Path, resource: String, user: User, batches: List<List<JsonBatchOperation>>,
+            commitMessage: String?, commitTimestamp: Instant?
+        ): List<Result<JsonObject>> {
+            val database = Databases.openJsonDatabase(dbFile, user)
+
+            database.use {
+                val manager = database.beginResourceSession(resource)
+
+                manager.use {
+                    val hashType = manager.resourceConfig.hashType
+                    val wtx = manager.beginNodeTrx()
+
+                    wtx.use {
+                        try {
+                            val revision = wtx.revisionNumber
+                            val nodeKeys = batches.map { apply(wtx, hashType, it) }
+                            wtx.commit(commitMessage, commitTimestamp)
+                            return nodeKeys.map { Result.success(result(wtx, hashType, revision, it)) }
+                        } catch (e: Exception) {
+                            wtx.rollback()
+
+                            if (batches.size == 1) {
+                                return listOf(Result.failure(e))
+                            }
+                        }
+
+                        return batches.map { operations ->
+                            try {
+                                val revision = wtx.revisionNumber
+                                val nodeKeys = apply(wtx, hashType, operations)
+                                wtx.commit(commitMessage, commitTimestamp)
+                                Result.success(result(wtx, hashType, revision, nodeKeys))
+                            } catch (e: Exception) {
+                                wtx.rollback()
+                                Result.failure(e)
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private fun apply(wtx: JsonNodeTrx, hashType: HashType, operations: List<JsonBatchOperation>): List<Long?> {
+            // The hashes refer to the state before the batch is applied.
+            if (hashType != HashType.NONE) {
+                for (operation in operations) {
+                    operation.moveToTarget(wtx)
+
+                    if (!wtx.isDocumentRoot) {
+                        val hashCode = operation.hash
+                            ?: throw IllegalStateException("Hash code is missing for node ${wtx.nodeKey}.")
+
+                        if (wtx.hash != BigInteger(hashCode)) {
+                            throw IllegalArgumentException("Someone might have changed the resource in the meantime.")
+                        }
+                    }
+                }
+            }
+
+            return operations.map { it.apply(wtx) }
+        }
+
+        private fun result(wtx: JsonNodeTrx, hashType: HashType, revision: Int, nodeKeys: List<Long?>): JsonObject {
+            val nodes = JsonArray()
+
+            for (nodeKey in nodeKeys) {
+                if (nodeKey == null || !wtx.moveTo(nodeKey)) {
+                    nodes.addNull()
+                } else if (hashType == HashType.NONE) {
+                    nodes.add(JsonObject().put("nodeId", nodeKey))
+                } else {
+                    nodes.add(JsonObject().put("nodeId", nodeKey).put("hash", wtx.hash.toString()))
+                }
+            }
+
+            return JsonObject().put("revision", revision).put("nodes", nodes)
+        }
+    }
+}
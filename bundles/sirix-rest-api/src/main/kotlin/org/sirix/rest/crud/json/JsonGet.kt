@@ -2,6 +2,7 @@ package org.sirix.rest.crud.json
 
 import io.vertx.core.Context
 import io.vertx.core.Promise
+import io.vertx.core.buffer.Buffer
 import io.vertx.core.http.HttpHeaders
 import io.vertx.core.json.JsonObject
 import io.vertx.ext.auth.User
@@ -9,22 +10,23 @@ import io.vertx.ext.auth.authorization.AuthorizationProvider
 import io.vertx.ext.auth.oauth2.OAuth2Auth
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.api.Database
 import org.sirix.api.json.JsonResourceSession
-import org.sirix.rest.crud.PermissionCheckingXQuery
+import org.sirix.rest.RequestExecutor
+import org.sirix.rest.VertxBufferOutputStream
 import org.sirix.rest.crud.QuerySerializer
+import org.sirix.rest.crud.QueryResults
 import org.sirix.rest.crud.Revisions
 import org.sirix.rest.crud.xml.XmlSessionDBStore
 import org.sirix.service.json.serialize.JsonRecordSerializer
 import org.sirix.service.json.serialize.JsonSerializer
+import org.sirix.service.json.serialize.Utf8OutputBuffer
 import org.sirix.xquery.JsonDBSerializer
 import org.sirix.xquery.SirixCompileChain
 import org.sirix.xquery.SirixQueryContext
 import org.sirix.xquery.json.*
 import org.sirix.xquery.node.BasicXmlDBStore
-import java.io.StringWriter
 import java.nio.file.Path
 
 class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, private val authz: AuthorizationProvider) {
@@ -55,7 +57,7 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
 
         val nodeId: String? = ctx.queryParam("nodeId").getOrNull(0)
 
-        var body: String?
+        var body: Buffer?
 
         val database = Databases.openJsonDatabase(location.resolve(databaseName))
 
@@ -67,7 +69,7 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
                     queryResource(
                         databaseName, database, revision, revisionTimestamp, manager, ctx, nodeId, query,
                         vertxContext, user, jsonBody
-                    )
+                    )?.let { Buffer.buffer(it) }
                 } else {
                     val revisions: IntArray =
                         Revisions.getRevisionsToSerialize(
@@ -100,7 +102,34 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
             val startResultSeqIndex = ctx.queryParam("startResultSeqIndex").getOrElse(0) { null }
             val endResultSeqIndex = ctx.queryParam("endResultSeqIndex").getOrElse(0) { null }
 
-            return xquery(
+            val cacheKey = if (databaseName == null) null else QueryResults.cacheKey(
+                ctx,
+                jsonBody,
+                databaseName,
+                ctx.pathParam("resource"),
+                revision,
+                revisionTimestamp,
+                revisionNumber,
+                nodeId,
+                query,
+                "application/json",
+                startResultSeqIndex?.toLong(),
+                endResultSeqIndex?.toLong()
+            )
+
+            if (cacheKey != null) {
+                QueryResults.checkPermissions(user, authz, query)
+
+                val cachedResult = QueryResults.cache.get(cacheKey)
+
+                if (cachedResult != null) {
+                    ctx.response().setStatusCode(200)
+                        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    return cachedResult
+                }
+            }
+
+            val result = xquery(
                 manager,
                 dbCollection,
                 nodeId,
@@ -113,6 +142,12 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
                 endResultSeqIndex?.toLong(),
                 jsonBody
             )
+
+            if (cacheKey != null && result != null) {
+                QueryResults.cache.put(cacheKey, result)
+            }
+
+            return result
         }
     }
 
@@ -123,7 +158,7 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
         revisionNumber: IntArray?, query: String, routingContext: RoutingContext, vertxContext: Context,
         user: User, startResultSeqIndex: Long?, endResultSeqIndex: Long?, jsonBody: JsonObject?
     ): String? {
-        return vertxContext.executeBlocking { promise: Promise<String> ->
+        return RequestExecutor.executeBlocking(RequestExecutor.RequestClass.QUERY) { promise: Promise<String> ->
             // Initialize queryResource context and store.
             val jsonDBStore = JsonSessionDBStore(routingContext, BasicJsonDBStore.newBuilder().build(), user, authz)
             val xmlDBStore = XmlSessionDBStore(routingContext, BasicXmlDBStore.newBuilder().build(), user, authz)
@@ -204,7 +239,8 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
                             query,
                             queryCtx,
                             endResultSeqIndex,
-                            routingContext
+                            routingContext,
+                            jsonBody
                         )
                     }
                 } else {
@@ -215,13 +251,14 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
                         query,
                         queryCtx,
                         endResultSeqIndex,
-                        routingContext
+                        routingContext,
+                        jsonBody
                     )
                 }
             }
 
             promise.complete(body)
-        }.await()
+        }
     }
 
     private fun query(
@@ -231,8 +268,27 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
         query: String,
         queryCtx: SirixQueryContext,
         endResultSeqIndex: Long?,
-        routingContext: RoutingContext
-    ): String {
+        routingContext: RoutingContext,
+        jsonBody: JsonObject?
+    ): String? {
+        if (QueryResults.isStreamed(routingContext, jsonBody)) {
+            // Send the result in chunks while it's serialized, the response is ended by the caller.
+            QueryResults.stream(routingContext, "application/json", { Utf8OutputBuffer(it) }) { out ->
+                executeQueryAndSerialize(
+                    routingContext,
+                    xmlDBStore,
+                    jsonDBStore,
+                    out,
+                    startResultSeqIndex,
+                    query,
+                    queryCtx,
+                    endResultSeqIndex
+                )
+            }
+
+            return null
+        }
+
         val out = StringBuilder()
 
         executeQueryAndSerialize(
@@ -258,7 +314,7 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
         routingContext: RoutingContext,
         xmlDBStore: XmlSessionDBStore,
         jsonDBStore: JsonSessionDBStore,
-        out: StringBuilder,
+        out: Appendable,
         startResultSeqIndex: Long?,
         query: String,
         queryCtx: SirixQueryContext,
@@ -266,14 +322,15 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
     ) {
         SirixCompileChain.createWithNodeAndJsonStore(xmlDBStore, jsonDBStore).use { sirixCompileChain ->
             if (startResultSeqIndex == null) {
-                val serializer = JsonDBSerializer(out, false)
-                PermissionCheckingXQuery(
+                QuerySerializer.serialize(
                     sirixCompileChain,
                     query,
+                    queryCtx,
                     keycloak,
+                    authz,
                     routingContext.get("user"),
-                    authz
-                ).prettyPrint().serialize(queryCtx, serializer)
+                    JsonDBSerializer(out, false)
+                )
             } else {
                 QuerySerializer.serializePaginated(
                     sirixCompileChain,
@@ -294,15 +351,17 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
         manager: JsonResourceSession, revisions: IntArray, nodeId: Long?,
         ctx: RoutingContext,
         vertxContext: Context
-    ): String {
-        val serializedString = vertxContext.executeBlocking { promise: Promise<String> ->
+    ): Buffer {
+        val serializedResource = RequestExecutor.executeBlocking(RequestExecutor.RequestClass.READ) { promise: Promise<Buffer> ->
             val nextTopLevelNodes = ctx.queryParam("nextTopLevelNodes").getOrNull(0)?.toInt()
             val lastTopLevelNodeKey = ctx.queryParam("lastTopLevelNodeKey").getOrNull(0)?.toLong()
 
             val numberOfNodes = ctx.queryParam("numberOfNodes").getOrNull(0)?.toLong()
             val maxChildren = ctx.queryParam("maxChildren").getOrNull(0)?.toLong()
 
-            val out = StringWriter()
+            // Write UTF-8 bytes straight into the response buffer, which holds the whole response.
+            val outputStream = VertxBufferOutputStream()
+            val out = Utf8OutputBuffer(outputStream)
 
             val withMetaData: String? = ctx.queryParam("withMetaData").getOrNull(0)
             val maxLevel: String? = ctx.queryParam("maxLevel").getOrNull(0)
@@ -339,10 +398,11 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
 
                 val serializer = serializerBuilder.build()
 
-                promise.complete(JsonSerializeHelper().serialize(serializer, out, ctx, manager, revisions, nodeId))
+                out.use { JsonSerializeHelper().serialize(serializer, ctx, manager, revisions, nodeId) }
+                promise.complete(outputStream.buffer)
             } else {
                 val serializerBuilder =
-                    JsonRecordSerializer.newBuilder(manager, nextTopLevelNodes, out).revisions(revisions)
+                    JsonRecordSerializer.Builder(manager, nextTopLevelNodes, out).revisions(revisions)
 
                 nodeId?.let { serializerBuilder.startNodeKey(nodeId) }
 
@@ -376,13 +436,14 @@ class JsonGet(private val location: Path, private val keycloak: OAuth2Auth, priv
 
                 val serializer = serializerBuilder.build()
 
-                promise.complete(JsonSerializeHelper().serialize(serializer, out, ctx, manager, revisions, nodeId))
+                out.use { JsonSerializeHelper().serialize(serializer, ctx, manager, revisions, nodeId) }
+                promise.complete(outputStream.buffer)
             }
-        }.await()
+        }
 
         ctx.response().setStatusCode(200)
             .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
 
-        return serializedString!!
+        return serializedResource!!
     }
 }
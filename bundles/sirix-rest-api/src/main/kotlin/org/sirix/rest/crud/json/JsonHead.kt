@@ -3,10 +3,10 @@ package org.sirix.rest.crud.json
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.json.JsonResourceSession
+import org.sirix.rest.RequestExecutor
 import java.nio.file.Path
 import java.time.LocalDateTime
 import java.time.ZoneId
@@ -20,9 +20,9 @@ class JsonHead(private val location: Path) {
             throw IllegalArgumentException("Database name and resource name must be given.")
         }
 
-        ctx.vertx().executeBlocking<Unit> {
+        RequestExecutor.executeBlocking<Unit>(RequestExecutor.RequestClass.READ) {
             head(databaseName, ctx, resource)
-        }.await()
+        }
 
         return ctx.currentRoute()
     }
@@ -16,17 +16,25 @@ class JsonSerializeHelper {
         revisions: IntArray,
         nodeId: Long?,
     ): String {
-        serializer.call()
+        serialize(serializer, ctx, manager, revisions, nodeId)
+
+        return out.toString()
+    }
 
-        val body = out.toString()
+    fun serialize(
+        serializer: Callable<*>,
+        ctx: RoutingContext,
+        manager: JsonResourceSession,
+        revisions: IntArray,
+        nodeId: Long?,
+    ) {
+        serializer.call()
 
         if (manager.resourceConfig.hashType == HashType.NONE) {
             writeResponseWithoutHashValue(ctx)
         } else {
             writeResponseWithHashValue(manager, revisions[0], ctx, nodeId)
         }
-
-        return body
     }
 
     private fun writeResponseWithoutHashValue(ctx: RoutingContext) {
@@ -6,11 +6,11 @@ import io.vertx.core.Promise
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.access.trx.node.json.objectvalue.*
 import org.sirix.api.json.JsonNodeTrx
+import org.sirix.rest.RequestExecutor
 import org.sirix.rest.crud.Revisions
 import org.sirix.rest.crud.SirixDBUser
 import org.sirix.rest.crud.json.JsonInsertionMode.Companion.getInsertionModeByName
@@ -21,198 +21,104 @@ import java.io.IOException
 import java.io.StringWriter
 import java.math.BigInteger
 import java.nio.file.Path
-import java.time.Instant
 import java.util.*
 
 @Suppress("unused")
 enum class JsonInsertionMode {
     ASFIRSTCHILD {
-        override fun insertSubtree(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertSubtree(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertSubtreeAsFirstChild(jsonReader, JsonNodeTrx.Commit.NO)
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertString(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertString(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertStringValueAsFirstChild(jsonReader.nextString())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNumber(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNumber(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertNumberValueAsFirstChild(JsonNumber.stringToNumber(jsonReader.nextString()))
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNull(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNull(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             jsonReader.nextNull()
             wtx.insertNullValueAsFirstChild()
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertBoolean(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertBoolean(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertBooleanValueAsFirstChild(jsonReader.nextBoolean())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertObjectRecord(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertObjectRecord(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertObjectRecordAsFirstChild(jsonReader.nextName(), getObjectRecordValue(jsonReader))
-            wtx.commit(commitMessage, commitTimestamp)
         }
     },
     ASRIGHTSIBLING {
-        override fun insertSubtree(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertSubtree(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertSubtreeAsRightSibling(jsonReader, JsonNodeTrx.Commit.NO)
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertString(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertString(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertStringValueAsRightSibling(jsonReader.nextString())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNumber(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNumber(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertNumberValueAsRightSibling(JsonNumber.stringToNumber(jsonReader.nextString()))
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNull(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNull(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             jsonReader.nextNull()
             wtx.insertNullValueAsRightSibling()
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertBoolean(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertBoolean(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertBooleanValueAsRightSibling(jsonReader.nextBoolean())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertObjectRecord(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertObjectRecord(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertObjectRecordAsRightSibling(jsonReader.nextName(), getObjectRecordValue(jsonReader))
-            wtx.commit(commitMessage, commitTimestamp)
         }
     },
     ASLEFTSIBLING {
-        override fun insertSubtree(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertSubtree(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertSubtreeAsLeftSibling(jsonReader, JsonNodeTrx.Commit.NO)
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertString(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertString(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertStringValueAsLeftSibling(jsonReader.nextString())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNumber(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNumber(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertNumberValueAsLeftSibling(JsonNumber.stringToNumber(jsonReader.nextString()))
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertNull(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertNull(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             jsonReader.nextNull()
             wtx.insertNullValueAsLeftSibling()
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertBoolean(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertBoolean(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertBooleanValueAsLeftSibling(jsonReader.nextBoolean())
-            wtx.commit(commitMessage, commitTimestamp)
         }
 
-        override fun insertObjectRecord(
-            wtx: JsonNodeTrx,
-            jsonReader: JsonReader,
-            commitMessage: String?,
-            commitTimestamp: Instant?
-        ) {
+        override fun insertObjectRecord(wtx: JsonNodeTrx, jsonReader: JsonReader) {
             wtx.insertObjectRecordAsLeftSibling(jsonReader.nextName(), getObjectRecordValue(jsonReader))
-            wtx.commit(commitMessage, commitTimestamp)
         }
     };
 
+    /**
+     * Insert the JSON fragment, which is read by the given reader, without committing.
+     */
+    fun insert(wtx: JsonNodeTrx, jsonReader: JsonReader) {
+        when (jsonReader.peek()) {
+            JsonToken.BEGIN_ARRAY, JsonToken.BEGIN_OBJECT -> insertSubtree(wtx, jsonReader)
+            JsonToken.STRING -> insertString(wtx, jsonReader)
+            JsonToken.NULL -> insertNull(wtx, jsonReader)
+            JsonToken.NUMBER -> insertNumber(wtx, jsonReader)
+            JsonToken.BOOLEAN -> insertBoolean(wtx, jsonReader)
+            JsonToken.NAME -> insertObjectRecord(wtx, jsonReader)
+            else -> throw IllegalStateException()
+        }
+    }
+
     @Throws(IOException::class)
     fun getObjectRecordValue(jsonReader: JsonReader): ObjectRecordValue<*> {
         val value: ObjectRecordValue<*> = when (jsonReader.peek()) {
@@ -246,42 +152,17 @@ enum class JsonInsertionMode {
         return value
     }
 
-    abstract fun insertSubtree(
-        wtx: JsonNodeTrx,
-        jsonReader: JsonReader,
-        commitMessage: String?,
-        commitTimestamp: Instant?
-    )
-
-    abstract fun insertString(
-        wtx: JsonNodeTrx,
-        jsonReader: JsonReader,
-        commitMessage: String?,
-        commitTimestamp: Instant?
-    )
-
-    abstract fun insertNumber(
-        wtx: JsonNodeTrx,
-        jsonReader: JsonReader,
-        commitMessage: String?,
-        commitTimestamp: Instant?
-    )
-
-    abstract fun insertNull(wtx: JsonNodeTrx, jsonReader: JsonReader, commitMessage: String?, commitTimestamp: Instant?)
-
-    abstract fun insertBoolean(
-        wtx: JsonNodeTrx,
-        jsonReader: JsonReader,
-        commitMessage: String?,
-        commitTimestamp: Instant?
-    )
-
-    abstract fun insertObjectRecord(
-        wtx: JsonNodeTrx,
-        jsonReader: JsonReader,
-        commitMessage: String?,
-        commitTimestamp: Instant?
-    )
+    abstract fun insertSubtree(wtx: JsonNodeTrx, jsonReader: JsonReader)
+
+    abstract fun insertString(wtx: JsonNodeTrx, jsonReader: JsonReader)
+
+    abstract fun insertNumber(wtx: JsonNodeTrx, jsonReader: JsonReader)
+
+    abstract fun insertNull(wtx: JsonNodeTrx, jsonReader: JsonReader)
+
+    abstract fun insertBoolean(wtx: JsonNodeTrx, jsonReader: JsonReader)
+
+    abstract fun insertObjectRecord(wtx: JsonNodeTrx, jsonReader: JsonReader)
 
     companion object {
         fun getInsertionModeByName(name: String) = valueOf(name.uppercase(Locale.getDefault()))
@@ -311,9 +192,7 @@ class JsonUpdate(private val location: Path) {
         databaseName: String, resPathName: String, nodeId: Long?, insertionModeAsString: String?,
         resFileToStore: String, ctx: RoutingContext
     ) {
-        val vertxContext = ctx.vertx().orCreateContext
-
-        vertxContext.executeBlocking { promise: Promise<Nothing> ->
+        RequestExecutor.executeBlocking(RequestExecutor.RequestClass.UPDATE) { promise: Promise<Nothing> ->
             val sirixDBUser = SirixDBUser.create(ctx)
             val dbFile = location.resolve(databaseName)
 
@@ -359,19 +238,8 @@ class JsonUpdate(private val location: Path) {
 
                         val insertionModeByName = getInsertionModeByName(insertionModeAsString)
 
-                        @Suppress("unused")
-                        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY && jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
-                            when (jsonReader.peek()) {
-                                JsonToken.STRING -> insertionModeByName.insertString(wtx, jsonReader, commitMessage, commitTimestamp)
-                                JsonToken.NULL -> insertionModeByName.insertNull(wtx, jsonReader, commitMessage, commitTimestamp)
-                                JsonToken.NUMBER -> insertionModeByName.insertNumber(wtx, jsonReader, commitMessage, commitTimestamp)
-                                JsonToken.BOOLEAN -> insertionModeByName.insertBoolean(wtx, jsonReader, commitMessage, commitTimestamp)
-                                JsonToken.NAME -> insertionModeByName.insertObjectRecord(wtx, jsonReader, commitMessage, commitTimestamp)
-                                else -> throw IllegalStateException()
-                            }
-                        } else {
-                            insertionModeByName.insertSubtree(wtx, jsonReader, commitMessage, commitTimestamp)
-                        }
+                        insertionModeByName.insert(wtx, jsonReader)
+                        wtx.commit(commitMessage, commitTimestamp)
 
                         if (nodeId != null) {
                             wtx.moveTo(nodeId)
@@ -416,6 +284,6 @@ class JsonUpdate(private val location: Path) {
             }
 
             promise.complete(null)
-        }.await()
+        }
     }
 }
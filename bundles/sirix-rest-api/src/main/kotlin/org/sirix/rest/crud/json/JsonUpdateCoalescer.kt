@@ -0,0 +1,77 @@
+package org.sirix.rest.crud.json
+
+import io.vertx.core.Promise
+import io.vertx.core.json.JsonObject
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import org.sirix.access.User
+import org.sirix.rest.RequestExecutor
+import java.nio.file.Path
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Merges batch updates of concurrent requests to the same resource into a single revision. The first request
+ * opens a group and waits for the coalescing window, such that further requests can join it. Afterwards the
+ * batches of the group are applied in the order in which they arrived and committed once (see
+ * [JsonBatchUpdate.applyBatches]). Only batches of the same user are merged, as the user is the author of the
+ * revision.
+ */
+object JsonUpdateCoalescer {
+    private data class GroupKey(val dbFile: Path, val resource: String, val userId: UUID?)
+
+    private class PendingBatch(val operations: List<JsonBatchOperation>) {
+        val result = CompletableDeferred<JsonObject>()
+    }
+
+    private val groups = ConcurrentHashMap<GroupKey, MutableList<PendingBatch>>()
+
+    /**
+     * Submit a batch and wait until the revision, which contains it, has been committed.
+     *
+     * @return the result of the batch
+     */
+    suspend fun submit(
+        dbFile: Path, resource: String, user: User, operations: List<JsonBatchOperation>, windowMillis: Long
+    ): JsonObject {
+        val key = GroupKey(dbFile, resource, user.id)
+        val batch = PendingBatch(operations)
+        var isLeader = false
+
+        groups.compute(key) { _, batches ->
+            (batches ?: mutableListOf<PendingBatch>().also { isLeader = true }).apply { add(batch) }
+        }
+
+        if (isLeader) {
+            try {
+                delay(windowMillis)
+            } catch (e: CancellationException) {
+                groups.remove(key)!!.forEach { it.result.completeExceptionally(e) }
+                throw e
+            }
+
+            // No batch can join the group once it has been removed.
+            val batches = groups.remove(key)!!
+
+            try {
+                val results = RequestExecutor.executeBlocking(RequestExecutor.RequestClass.UPDATE) {
+                        promise: Promise<List<Result<JsonObject>>> ->
+                    promise.complete(
+                        JsonBatchUpdate.applyBatches(
+                            dbFile, resource, user, batches.map { it.operations }, null, null
+                        )
+                    )
+                }!!
+
+                batches.zip(results).forEach { (pendingBatch, result) ->
+                    result.fold({ pendingBatch.result.complete(it) }, { pendingBatch.result.completeExceptionally(it) })
+                }
+            } catch (e: Throwable) {
+                batches.forEach { it.result.completeExceptionally(e) }
+            }
+        }
+
+        return batch.result.await()
+    }
+}
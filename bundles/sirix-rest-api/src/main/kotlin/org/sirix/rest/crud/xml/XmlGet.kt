@@ -9,14 +9,14 @@ import io.vertx.ext.auth.authorization.AuthorizationProvider
 import io.vertx.ext.auth.oauth2.OAuth2Auth
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import io.vertx.kotlin.coroutines.dispatcher
 import kotlinx.coroutines.withContext
 import org.sirix.access.Databases
 import org.sirix.api.Database
 import org.sirix.api.xml.XmlResourceSession
-import org.sirix.rest.crud.PermissionCheckingXQuery
+import org.sirix.rest.RequestExecutor
 import org.sirix.rest.crud.QuerySerializer
+import org.sirix.rest.crud.QueryResults
 import org.sirix.rest.crud.Revisions
 import org.sirix.rest.crud.json.JsonSessionDBStore
 import org.sirix.service.xml.serialize.XmlSerializer
@@ -27,7 +27,9 @@ import org.sirix.xquery.json.BasicJsonDBStore
 import org.sirix.xquery.node.BasicXmlDBStore
 import org.sirix.xquery.node.XmlDBCollection
 import org.sirix.xquery.node.XmlDBNode
+import java.io.BufferedOutputStream
 import java.io.ByteArrayOutputStream
+import java.io.OutputStream
 import java.io.PrintStream
 import java.nio.file.Path
 
@@ -105,7 +107,34 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
             val startResultSeqIndex = ctx.queryParam("startResultSeqIndex").getOrElse(0) { null }
             val endResultSeqIndex = ctx.queryParam("endResultSeqIndex").getOrElse(0) { null }
 
-            return xquery(
+            val cacheKey = if (databaseName == null) null else QueryResults.cacheKey(
+                ctx,
+                jsonBody,
+                databaseName,
+                ctx.pathParam("resource"),
+                revision,
+                revisionTimestamp,
+                revisionNumber,
+                nodeId,
+                query,
+                "application/xml",
+                startResultSeqIndex?.toLong(),
+                endResultSeqIndex?.toLong()
+            )
+
+            if (cacheKey != null) {
+                QueryResults.checkPermissions(user, authz, query)
+
+                val cachedResult = QueryResults.cache.get(cacheKey)
+
+                if (cachedResult != null) {
+                    ctx.response().setStatusCode(200)
+                        .putHeader(HttpHeaders.CONTENT_TYPE, "application/xml")
+                    return cachedResult
+                }
+            }
+
+            val result = xquery(
                 manager,
                 dbCollection,
                 nodeId,
@@ -118,6 +147,12 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
                 endResultSeqIndex?.toLong(),
                 jsonBody
             )
+
+            if (cacheKey != null && result != null) {
+                QueryResults.cache.put(cacheKey, result)
+            }
+
+            return result
         }
     }
 
@@ -128,7 +163,7 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
         revisionNumber: IntArray?, query: String, routingContext: RoutingContext, vertxContext: Context,
         user: User, startResultSeqIndex: Long?, endResultSeqIndex: Long?, jsonBody: JsonObject?
     ): String? {
-        return vertxContext.executeBlocking { promise: Promise<String> ->
+        return RequestExecutor.executeBlocking(RequestExecutor.RequestClass.QUERY) { promise: Promise<String> ->
             // Initialize queryResource context and store.
             val jsonDBStore = JsonSessionDBStore(routingContext, BasicJsonDBStore.newBuilder().build(), user, authz)
             val xmlDBStore = XmlSessionDBStore(routingContext, BasicXmlDBStore.newBuilder().build(), user, authz)
@@ -177,7 +212,8 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
                             query,
                             queryCtx,
                             endResultSeqIndex,
-                            routingContext
+                            routingContext,
+                            jsonBody
                         )
                     }
 
@@ -189,13 +225,14 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
                         query,
                         queryCtx,
                         endResultSeqIndex,
-                        routingContext
+                        routingContext,
+                        jsonBody
                     )
                 }
             }
 
             promise.complete(body)
-        }.await()
+        }
     }
 
     private fun query(
@@ -205,8 +242,27 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
         query: String,
         queryCtx: SirixQueryContext,
         endResultSeqIndex: Long?,
-        routingContext: RoutingContext
-    ): String {
+        routingContext: RoutingContext,
+        jsonBody: JsonObject?
+    ): String? {
+        if (QueryResults.isStreamed(routingContext, jsonBody)) {
+            // Send the result in chunks while it's serialized, the response is ended by the caller.
+            QueryResults.stream(routingContext, "application/xml", { BufferedOutputStream(it, 1 shl 16) }) { out ->
+                executeQueryAndSerialize(
+                    routingContext,
+                    xmlDBStore,
+                    jsonDBStore,
+                    out,
+                    startResultSeqIndex,
+                    query,
+                    queryCtx,
+                    endResultSeqIndex
+                )
+            }
+
+            return null
+        }
+
         val out = ByteArrayOutputStream()
 
         executeQueryAndSerialize(
@@ -223,7 +279,7 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
         val body = out.toString()
 
         routingContext.response().setStatusCode(200)
-            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+            .putHeader(HttpHeaders.CONTENT_TYPE, "application/xml")
 
         return body
     }
@@ -232,40 +288,42 @@ class XmlGet(private val location: Path, private val keycloak: OAuth2Auth, priva
         routingContext: RoutingContext,
         xmlDBStore: XmlSessionDBStore,
         jsonDBStore: JsonSessionDBStore,
-        out: ByteArrayOutputStream,
+        out: OutputStream,
         startResultSeqIndex: Long?,
         query: String,
         queryCtx: SirixQueryContext,
         endResultSeqIndex: Long?
     ) {
-        PrintStream(out).use { printStream ->
-            SirixCompileChain.createWithNodeAndJsonStore(xmlDBStore, jsonDBStore).use { sirixCompileChain ->
-                if (startResultSeqIndex == null) {
-                    PermissionCheckingXQuery(
-                        sirixCompileChain,
-                        query,
-                        keycloak,
-                        routingContext.get("user"),
-                        authz
-                    ).prettyPrint().serialize(
-                        queryCtx,
-                        XmlDBSerializer(printStream, true, true)
-                    )
-                } else {
-                    QuerySerializer.serializePaginated(
-                        sirixCompileChain,
-                        query,
-                        queryCtx,
-                        startResultSeqIndex,
-                        endResultSeqIndex,
-                        keycloak,
-                        authz,
-                        routingContext.get("user"),
-                        XmlDBSerializer(printStream, true, true),
-                    ) { serializer, startItem -> serializer.serialize(startItem) }
-                }
+        // The stream isn't closed, as buffered output of a streamed result must not be sent, if the evaluation fails.
+        val printStream = PrintStream(out)
+
+        SirixCompileChain.createWithNodeAndJsonStore(xmlDBStore, jsonDBStore).use { sirixCompileChain ->
+            if (startResultSeqIndex == null) {
+                QuerySerializer.serialize(
+                    sirixCompileChain,
+                    query,
+                    queryCtx,
+                    keycloak,
+                    authz,
+                    routingContext.get("user"),
+                    XmlDBSerializer(printStream, true, true)
+                )
+            } else {
+                QuerySerializer.serializePaginated(
+                    sirixCompileChain,
+                    query,
+                    queryCtx,
+                    startResultSeqIndex,
+                    endResultSeqIndex,
+                    keycloak,
+                    authz,
+                    routingContext.get("user"),
+                    XmlDBSerializer(printStream, true, true),
+                ) { serializer, startItem -> serializer.serialize(startItem) }
             }
         }
+
+        printStream.flush()
     }
 
     private fun serializeResource(
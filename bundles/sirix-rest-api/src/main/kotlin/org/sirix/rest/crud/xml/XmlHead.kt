@@ -3,11 +3,11 @@ package org.sirix.rest.crud.xml
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.xml.XmlNodeReadOnlyTrx
 import org.sirix.api.xml.XmlResourceSession
+import org.sirix.rest.RequestExecutor
 import java.nio.file.Path
 import java.time.LocalDateTime
 import java.time.ZoneId
@@ -21,9 +21,9 @@ class XmlHead(private val location: Path) {
             throw IllegalStateException("Database name and resource name must be given.")
         }
 
-        ctx.vertx().executeBlocking<Unit> {
+        RequestExecutor.executeBlocking<Unit>(RequestExecutor.RequestClass.READ) {
             head(databaseName, ctx, resource)
-        }.await()
+        }
 
         return ctx.currentRoute()
     }
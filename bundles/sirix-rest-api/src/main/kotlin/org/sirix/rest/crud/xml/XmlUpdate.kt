@@ -4,10 +4,10 @@ import io.vertx.core.Promise
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
-import io.vertx.kotlin.coroutines.await
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.xml.XmlNodeTrx
+import org.sirix.rest.RequestExecutor
 import org.sirix.rest.crud.Revisions
 import org.sirix.rest.crud.SirixDBUser
 import org.sirix.service.xml.serialize.XmlSerializer
@@ -86,9 +86,7 @@ class XmlUpdate(private val location: Path) {
         databaseName: String, resPathName: String, nodeId: Long?, insertionMode: String?,
         resFileToStore: String, ctx: RoutingContext
     ) {
-        val vertxContext = ctx.vertx().orCreateContext
-
-        vertxContext.executeBlocking { promise: Promise<Nothing> ->
+        RequestExecutor.executeBlocking(RequestExecutor.RequestClass.UPDATE) { promise: Promise<Nothing> ->
             val sirixDBUser = SirixDBUser.create(ctx)
             val dbFile = location.resolve(databaseName)
 
@@ -170,6 +168,6 @@ class XmlUpdate(private val location: Path) {
             }
 
             promise.complete(null)
-        }.await()
+        }
     }
 }
@@ -0,0 +1,93 @@
+package org.sirix.rest
+
+import io.vertx.core.json.JsonObject
+import io.vertx.ext.web.handler.HttpException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@DisplayName("Request executor test")
+class RequestExecutorTest {
+    private val config = JsonObject()
+        .put("executor.query.timeoutMillis", 50L)
+        .put("executor.update.timeoutMillis", 50L)
+
+    @AfterEach
+    fun resetConfiguration() {
+        RequestExecutor.configure(JsonObject())
+    }
+
+    @Test
+    @DisplayName("Testing that queries are timed out and cancelled, but updates aren't")
+    fun testUpdatesAreNotTimedOut() {
+        RequestExecutor.configure(config)
+
+        val queryCancelled = CompletableFuture<Boolean>()
+
+        val failure = assertThrows(HttpException::class.java) {
+            runBlocking {
+                RequestExecutor.executeBlocking<Unit>(RequestExecutor.RequestClass.QUERY) {
+                    Thread.sleep(200)
+                    queryCancelled.complete(runCatching { RequestExecutor.checkNotCancelled() }
+                        .exceptionOrNull() is CancellationException)
+                }
+            }
+        }
+
+        assertEquals(504, failure.statusCode)
+        assertTrue(queryCancelled.get(5, TimeUnit.SECONDS))
+
+        val result = runBlocking {
+            RequestExecutor.executeBlocking<String>(RequestExecutor.RequestClass.UPDATE) { promise ->
+                Thread.sleep(200)
+                RequestExecutor.checkNotCancelled()
+                promise.complete("committed")
+            }
+        }
+
+        assertEquals("committed", result)
+        assertEquals(0L, statistics("update").getLong("timeoutMillis"))
+        assertEquals(0L, statistics("update").getLong("timedOut"))
+    }
+
+    @Test
+    @DisplayName("Testing that configuring the executor again with the same settings keeps its state")
+    fun testSameConfigurationIsOnlyAppliedOnce() {
+        RequestExecutor.configure(config)
+
+        val started = CountDownLatch(1)
+        val finish = CountDownLatch(1)
+
+        runBlocking {
+            val read = async(Dispatchers.Default) {
+                RequestExecutor.executeBlocking<Unit>(RequestExecutor.RequestClass.READ) {
+                    started.countDown()
+                    finish.await()
+                }
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS))
+
+            // Another verticle instance is started.
+            RequestExecutor.configure(config)
+
+            assertEquals(1L, statistics("read").getLong("running"))
+
+            finish.countDown()
+            read.await()
+        }
+    }
+
+    private fun statistics(requestClass: String): JsonObject =
+        RequestExecutor.statistics.getJsonObject(requestClass)
+}
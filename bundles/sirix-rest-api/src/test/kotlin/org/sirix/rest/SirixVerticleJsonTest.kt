@@ -1,10 +1,12 @@
 package org.sirix.rest
 
 import io.vertx.core.DeploymentOptions
+import io.vertx.core.Future
 import io.vertx.core.Vertx
 import io.vertx.core.buffer.Buffer
 import io.vertx.core.http.HttpHeaders
 import io.vertx.core.json.JsonObject
+import io.vertx.ext.web.client.HttpResponse
 import io.vertx.ext.web.client.WebClient
 import io.vertx.ext.web.client.WebClientOptions
 import io.vertx.junit5.Timeout
@@ -16,10 +18,13 @@ import io.vertx.kotlin.coroutines.await
 import io.vertx.kotlin.coroutines.dispatcher
 import kotlinx.coroutines.GlobalScope
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import org.junit.jupiter.api.*
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.extension.ExtendWith
 import org.skyscreamer.jsonassert.JSONAssert
 import java.time.LocalDateTime
@@ -42,6 +47,7 @@ class SirixVerticleJsonTest {
     fun setup(vertx: Vertx, testContext: VertxTestContext) {
         val options = DeploymentOptions().setConfig(
             JsonObject().put("port", 9443)
+                .put("update.coalesceWindowMillis", 200)
                 .put("client.secret", "78a294c4-0492-4e44-a35f-7eb9cab0d831") // "64aaf9b2-9ea1-43cd-bcb6-87d2f430aaa2"
                 .put("keycloak.url", "http://localhost:8080/auth/realms/sirixdb")
         )
@@ -1326,6 +1332,177 @@ class SirixVerticleJsonTest {
         }
     }
 
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing a streamed query, which fails before the result is sent")
+    fun testStreamedQueryFailingBeforeResultIsSent(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                val credentials = json {
+                    obj(
+                        "username" to "admin",
+                        "password" to "admin"
+                    )
+                }
+
+                val response = client.postAbs("$server/token").sendJson(credentials).await()
+
+                testContext.verify {
+                    assertEquals(200, response.statusCode())
+                }
+
+                val user = response.bodyAsJsonObject()
+                accessToken = user.getString("access_token")
+
+                var httpResponse = client.putAbs("$server$serverPath").putHeader(
+                    HttpHeaders.AUTHORIZATION
+                        .toString(), "Bearer $accessToken"
+                ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+                    .putHeader(HttpHeaders.ACCEPT.toString(), "application/json")
+                    .sendBuffer(Buffer.buffer("[1,2,3]")).await()
+
+                testContext.verify {
+                    assertEquals(200, httpResponse.statusCode())
+                }
+
+                httpResponse = client.getAbs("$server$serverPath")
+                    .addQueryParam("query", "(1, error())")
+                    .addQueryParam("stream", "true")
+                    .putHeader(
+                        HttpHeaders.AUTHORIZATION
+                            .toString(), "Bearer $accessToken"
+                    ).putHeader(HttpHeaders.ACCEPT.toString(), "application/json").send().await()
+
+                testContext.verify {
+                    assertEquals(500, httpResponse.statusCode())
+                    assertFalse(httpResponse.bodyAsString().startsWith("{\"rest\""))
+                    testContext.completeNow()
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 20, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing a streamed query, which fails after the first chunk has been sent")
+    fun testStreamedQueryFailingAfterFirstChunk(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                val credentials = json {
+                    obj(
+                        "username" to "admin",
+                        "password" to "admin"
+                    )
+                }
+
+                val response = client.postAbs("$server/token").sendJson(credentials).await()
+
+                testContext.verify {
+                    assertEquals(200, response.statusCode())
+                }
+
+                val user = response.bodyAsJsonObject()
+                accessToken = user.getString("access_token")
+
+                val httpResponse = client.putAbs("$server$serverPath").putHeader(
+                    HttpHeaders.AUTHORIZATION
+                        .toString(), "Bearer $accessToken"
+                ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+                    .putHeader(HttpHeaders.ACCEPT.toString(), "application/json")
+                    .sendBuffer(Buffer.buffer("[1,2,3]")).await()
+
+                testContext.verify {
+                    assertEquals(200, httpResponse.statusCode())
+                }
+
+                // The result exceeds the buffer, thus the first chunks are sent, before the evaluation fails.
+                val queryResponse = runCatching {
+                    client.getAbs("$server$serverPath")
+                        .addQueryParam("query", "for \$i in 1 to 200000 return if (\$i eq 200000) then error() else \$i")
+                        .addQueryParam("stream", "true")
+                        .putHeader(
+                            HttpHeaders.AUTHORIZATION
+                                .toString(), "Bearer $accessToken"
+                        ).putHeader(HttpHeaders.ACCEPT.toString(), "application/json").send().await()
+                }
+
+                // The client must never get the truncated result as a complete response.
+                testContext.verify {
+                    assertTrue(queryResponse.isFailure || queryResponse.getOrThrow().statusCode() != 200)
+                    testContext.completeNow()
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 20, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing that a slow query, which isn't paginated or streamed, is stopped once it has timed out")
+    fun testUnpaginatedQueryIsStoppedOnTimeout(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                val credentials = json {
+                    obj(
+                        "username" to "admin",
+                        "password" to "admin"
+                    )
+                }
+
+                val response = client.postAbs("$server/token").sendJson(credentials).await()
+
+                testContext.verify {
+                    assertEquals(200, response.statusCode())
+                }
+
+                val user = response.bodyAsJsonObject()
+                accessToken = user.getString("access_token")
+
+                val httpResponse = client.putAbs("$server$serverPath").putHeader(
+                    HttpHeaders.AUTHORIZATION
+                        .toString(), "Bearer $accessToken"
+                ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+                    .putHeader(HttpHeaders.ACCEPT.toString(), "application/json")
+                    .sendBuffer(Buffer.buffer("[1,2,3]")).await()
+
+                testContext.verify {
+                    assertEquals(200, httpResponse.statusCode())
+                }
+
+                RequestExecutor.configure(JsonObject().put("executor.query.timeoutMillis", 200L))
+
+                try {
+                    val queryResponse = client.getAbs("$server$serverPath")
+                        .addQueryParam("query", "for \$i in 1 to 100000000 return \$i")
+                        .putHeader(
+                            HttpHeaders.AUTHORIZATION
+                                .toString(), "Bearer $accessToken"
+                        ).putHeader(HttpHeaders.ACCEPT.toString(), "application/json").send().await()
+
+                    testContext.verify {
+                        assertEquals(504, queryResponse.statusCode())
+                    }
+
+                    // The query is stopped with the next serialized item, thus it releases its permit shortly after.
+                    var running = 1L
+                    for (i in 0 until 50) {
+                        running = RequestExecutor.statistics.getJsonObject("query").getLong("running")
+                        if (running == 0L) {
+                            break
+                        }
+                        delay(100)
+                    }
+
+                    testContext.verify {
+                        assertEquals(0L, running)
+                        testContext.completeNow()
+                    }
+                } finally {
+                    RequestExecutor.configure(JsonObject())
+                }
+            }
+        }
+    }
+
     @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
     @DisplayName("Testing the deletion of a resource")
     @RepeatedTest(3)
@@ -1953,6 +2130,185 @@ class SirixVerticleJsonTest {
         }
     }
 
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing a batch update, which is committed as one revision")
+    fun testBatchUpdate(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                createBatchResource(testContext)
+
+                val response = postBatch(
+                    """
+                    [{"op":"insert","nodeId":3,"insert":"asFirstChild","data":0},
+                     {"op":"replace","nodeId":8,"data":"qux"},
+                     {"op":"remove","nodeId":6}]
+                    """.trimIndent(), false
+                ).await()
+
+                testContext.verify {
+                    assertEquals(200, response.statusCode())
+                    val result = response.bodyAsJsonObject()
+                    assertEquals(2, result.getInteger("revision"))
+                    assertEquals(3, result.getJsonArray("nodes").size())
+                    assertEquals(8L, result.getJsonArray("nodes").getJsonObject(1).getLong("nodeId"))
+                    assertTrue(result.getJsonArray("nodes").hasNull(2))
+                }
+
+                assertBatchResource(testContext, """{"foo":[0,1,2],"bar":"qux"}""")
+
+                testContext.completeNow()
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing a batch update with a failing operation, which is rolled back")
+    fun testBatchUpdateWithFailingOperation(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                createBatchResource(testContext)
+
+                val response = postBatch(
+                    """
+                    [{"op":"insert","nodeId":3,"insert":"asFirstChild","data":0},
+                     {"op":"remove","nodeId":1000}]
+                    """.trimIndent(), false
+                ).await()
+
+                testContext.verify {
+                    assertEquals(500, response.statusCode())
+                }
+
+                // The insertion of the first operation isn't committed.
+                assertBatchResource(testContext, """{"foo":[1,2,3],"bar":"baz"}""")
+
+                testContext.completeNow()
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing coalesced batch updates, which are committed as one revision")
+    fun testCoalescedBatchUpdates(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                createBatchResource(testContext)
+
+                // Both requests are sent within the coalescing window.
+                val first = postBatch("""[{"op":"insert","nodeId":3,"insert":"asFirstChild","data":0}]""", true)
+                val second = postBatch("""[{"op":"replace","nodeId":8,"data":"qux"}]""", true)
+
+                val firstResponse = first.await()
+                val secondResponse = second.await()
+
+                testContext.verify {
+                    assertEquals(200, firstResponse.statusCode())
+                    assertEquals(200, secondResponse.statusCode())
+                    assertEquals(2, firstResponse.bodyAsJsonObject().getInteger("revision"))
+                    assertEquals(2, secondResponse.bodyAsJsonObject().getInteger("revision"))
+                }
+
+                assertBatchResource(testContext, """{"foo":[0,1,2,3],"bar":"qux"}""")
+
+                val historyResponse = client.getAbs("$server$serverPath/history").putHeader(
+                    HttpHeaders.AUTHORIZATION
+                        .toString(), "Bearer $accessToken"
+                ).putHeader(HttpHeaders.ACCEPT.toString(), "application/json").send().await()
+
+                testContext.verify {
+                    assertEquals(200, historyResponse.statusCode())
+                    assertEquals(2, historyResponse.bodyAsJsonObject().getJsonArray("history").size())
+                    testContext.completeNow()
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing coalesced batch updates, which are committed one by one, as one of them fails")
+    fun testCoalescedBatchUpdatesFallback(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                createBatchResource(testContext)
+
+                val failing = postBatch("""[{"op":"remove","nodeId":1000}]""", true)
+                val succeeding = postBatch("""[{"op":"replace","nodeId":8,"data":"qux"}]""", true)
+
+                val failingResponse = failing.await()
+                val succeedingResponse = succeeding.await()
+
+                testContext.verify {
+                    assertEquals(500, failingResponse.statusCode())
+                    assertEquals(200, succeedingResponse.statusCode())
+                    assertEquals(2, succeedingResponse.bodyAsJsonObject().getInteger("revision"))
+                }
+
+                assertBatchResource(testContext, """{"foo":[1,2,3],"bar":"qux"}""")
+
+                testContext.completeNow()
+            }
+        }
+    }
+
+    /**
+     * Create the resource `{"foo":[1,2,3],"bar":"baz"}`, whose array has node ID 3, whose numbers have the node IDs
+     * 4 to 6 and whose string has node ID 8.
+     */
+    private suspend fun createBatchResource(testContext: VertxTestContext) {
+        val credentials = json {
+            obj(
+                "username" to "admin",
+                "password" to "admin"
+            )
+        }
+
+        val response = client.postAbs("$server/token").sendJson(credentials).await()
+
+        testContext.verify {
+            assertEquals(200, response.statusCode())
+        }
+
+        val user = response.bodyAsJsonObject()
+        accessToken = user.getString("access_token")
+
+        val httpResponse = client.putAbs("$server$serverPath").putHeader(
+            HttpHeaders.AUTHORIZATION
+                .toString(), "Bearer $accessToken"
+        ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+            .putHeader(HttpHeaders.ACCEPT.toString(), "application/json")
+            .sendBuffer(Buffer.buffer("""{"foo":[1,2,3],"bar":"baz"}""")).await()
+
+        testContext.verify {
+            assertEquals(200, httpResponse.statusCode())
+        }
+    }
+
+    private fun postBatch(batch: String, coalesce: Boolean): Future<HttpResponse<Buffer>> =
+        client.postAbs("$server$serverPath/batch")
+            .addQueryParam("coalesce", coalesce.toString())
+            .putHeader(
+                HttpHeaders.AUTHORIZATION
+                    .toString(), "Bearer $accessToken"
+            ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+            .putHeader(HttpHeaders.ACCEPT.toString(), "application/json")
+            .sendBuffer(Buffer.buffer(batch))
+
+    private suspend fun assertBatchResource(testContext: VertxTestContext, expectedJson: String) {
+        val response = client.getAbs("$server$serverPath").putHeader(
+            HttpHeaders.AUTHORIZATION
+                .toString(), "Bearer $accessToken"
+        ).putHeader(HttpHeaders.ACCEPT.toString(), "application/json").send().await()
+
+        testContext.verify {
+            assertEquals(200, response.statusCode())
+            JSONAssert.assertEquals(expectedJson, response.bodyAsString(), true)
+        }
+    }
+
     private suspend fun VertxTestContext.verifyCoroutine(block: suspend () -> Unit) = coroutineScope {
         launch(coroutineContext) {
             try {
@@ -1054,6 +1054,64 @@ class SirixVerticleXmlTest {
         }
     }
 
+    @Test
+    @Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Testing the content type of streamed and not streamed query results")
+    fun testXQueryContentType(vertx: Vertx, testContext: VertxTestContext) {
+        GlobalScope.launch(vertx.dispatcher()) {
+            testContext.verifyCoroutine {
+                val credentials = json {
+                    obj(
+                        "username" to "admin",
+                        "password" to "admin"
+                    )
+                }
+
+                val response = client.postAbs("$server/token").sendJson(credentials).await()
+
+                testContext.verify {
+                    assertEquals(200, response.statusCode())
+                }
+
+                val user = response.bodyAsJsonObject()
+                accessToken = user.getString("access_token")
+
+                var httpResponse = client.putAbs("$server$serverPath").putHeader(
+                    HttpHeaders.AUTHORIZATION
+                        .toString(), "Bearer $accessToken"
+                ).putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/xml")
+                    .putHeader(HttpHeaders.ACCEPT.toString(), "application/xml")
+                    .sendBuffer(Buffer.buffer("<xml><foo/><bar/></xml>")).await()
+
+                testContext.verify {
+                    assertEquals(200, httpResponse.statusCode())
+                }
+
+                for (stream in listOf("false", "true")) {
+                    // The first request with a revision is evaluated, the second one is answered from the cache.
+                    for (revision in listOf(null, "1", "1")) {
+                        val request = client.getAbs("$server$serverPath")
+                            .addQueryParam("query", "/xml/foo")
+                            .addQueryParam("stream", stream)
+                        revision?.let { request.addQueryParam("revision", it) }
+
+                        httpResponse = request.putHeader(
+                            HttpHeaders.AUTHORIZATION
+                                .toString(), "Bearer $accessToken"
+                        ).putHeader(HttpHeaders.ACCEPT.toString(), "application/xml").send().await()
+
+                        testContext.verify {
+                            assertEquals(200, httpResponse.statusCode())
+                            assertEquals("application/xml", httpResponse.getHeader(HttpHeaders.CONTENT_TYPE.toString()))
+                        }
+                    }
+                }
+
+                testContext.completeNow()
+            }
+        }
+    }
+
     private suspend fun VertxTestContext.verifyCoroutine(block: suspend () -> Unit) = coroutineScope {
         launch(coroutineContext) {
             try {
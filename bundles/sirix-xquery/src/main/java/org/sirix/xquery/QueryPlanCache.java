@@ -0,0 +1,333 @@
+package org.sirix.xquery;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.module.Module;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sirix.index.Indexes;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches compiled (parsed, optimized and translated) queries, such that short queries, which are
+ * issued repeatedly, don't have to be compiled again. As the optimizer rewrites path expressions to
+ * index scans, depending on the index definitions and the index statistics of the queried resources,
+ * the optimizer registers each resource it consults via {@link #referenceResource(Path)}. A cached
+ * query is invalidated as soon as a new generation of one of these resources has been started (see
+ * {@link Indexes#getGeneration(Path)}), that is once the resource has been committed or removed.
+ *
+ * <p>The compiled expressions aren't immutable and may keep state during evaluation, thus a
+ * compiled query is checked out of a small pool of idle compiled queries per query and must be
+ * {@link Lease#release() released} once it has been evaluated, such that it's never evaluated
+ * concurrently.
+ */
+public final class QueryPlanCache {
+
+  /**
+   * System property to set the maximum number of cached queries of the shared cache.
+   */
+  public static final String MAXIMUM_SIZE_PROPERTY = "org.sirix.xquery.planCacheSize";
+
+  /**
+   * Default maximum number of cached queries of the shared cache.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+  /**
+   * Maximum number of idle compiled modules per query.
+   */
+  static final int MAXIMUM_IDLE_MODULES = 8;
+
+  /**
+   * The shared instance.
+   */
+  private static final QueryPlanCache SHARED =
+      new QueryPlanCache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+
+  /**
+   * The generations of the resources referenced by the query, which is compiled by the current
+   * thread, if any.
+   */
+  private static final ThreadLocal<Map<Path, Long>> REFERENCED_RESOURCES = new ThreadLocal<>();
+
+  /**
+   * Compiles a query.
+   */
+  @FunctionalInterface
+  public interface Compiler {
+    /**
+     * Compile a query.
+     *
+     * @return the compiled module
+     * @throws QueryException if the query can't be compiled
+     */
+    Module compile() throws QueryException;
+  }
+
+  /**
+   * Key of a compiled query.
+   *
+   * @param query     the normalized query text
+   * @param signature everything else, which changes the compiled query (for instance if index
+   *                  rewriting is enabled, the location of the queried stores and the declared
+   *                  external variables)
+   */
+  private record Key(String query, String signature) {
+  }
+
+  /**
+   * The compiled modules of a query.
+   *
+   * @param resourceGenerations the generations of the resources referenced while compiling
+   * @param idleModules         the compiled modules, which currently aren't evaluated
+   * @param idleModuleCount     the number of idle modules
+   */
+  private record Plans(Map<Path, Long> resourceGenerations, Queue<Module> idleModules,
+      AtomicInteger idleModuleCount) {
+    Plans(final Map<Path, Long> resourceGenerations) {
+      this(Map.copyOf(resourceGenerations), new ConcurrentLinkedQueue<>(), new AtomicInteger());
+    }
+
+    boolean isValid() {
+      for (final Map.Entry<Path, Long> resourceGeneration : resourceGenerations.entrySet()) {
+        if (Indexes.getGeneration(resourceGeneration.getKey()) != resourceGeneration.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Nullable Module poll() {
+      final Module module = idleModules.poll();
+      if (module != null) {
+        idleModuleCount.decrementAndGet();
+      }
+      return module;
+    }
+
+    void offer(final Module module) {
+      if (idleModuleCount.incrementAndGet() <= MAXIMUM_IDLE_MODULES) {
+        idleModules.offer(module);
+      } else {
+        idleModuleCount.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * A compiled query, which has been checked out of the cache.
+   */
+  public final class Lease {
+    private final Key key;
+
+    private final Plans plans;
+
+    private final Module module;
+
+    private Lease(final Key key, final Plans plans, final Module module) {
+      this.key = key;
+      this.plans = plans;
+      this.module = module;
+    }
+
+    /**
+     * Get the compiled query.
+     *
+     * @return the compiled module
+     */
+    public Module getModule() {
+      return module;
+    }
+
+    /**
+     * Return the compiled query to the cache, once it has been evaluated. It must not be used
+     * afterwards.
+     */
+    public void release() {
+      if (plans.isValid() && modules.getIfPresent(key) == plans) {
+        plans.offer(module);
+      }
+    }
+  }
+
+  /**
+   * The compiled queries.
+   */
+  private final Cache<Key, Plans> modules;
+
+  /**
+   * Number of lookups, which returned a compiled query.
+   */
+  private final LongAdder hitCount;
+
+  /**
+   * Number of lookups, which required compiling the query.
+   */
+  private final LongAdder missCount;
+
+  /**
+   * Constructor.
+   *
+   * @param maximumSize the maximum number of cached queries
+   */
+  public QueryPlanCache(final int maximumSize) {
+    checkArgument(maximumSize >= 0, "maximumSize must be >= 0!");
+    modules = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    hitCount = new LongAdder();
+    missCount = new LongAdder();
+  }
+
+  /**
+   * Get the shared instance, whose maximum size is set by the {@link #MAXIMUM_SIZE_PROPERTY} system
+   * property.
+   *
+   * @return the shared instance
+   */
+  public static QueryPlanCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Registers a resource, the optimizer consults while compiling a query (for instance to look up its
+   * index definitions or statistics), such that the compiled query is invalidated once a new
+   * generation of the resource starts. Must be called before the resource is consulted.
+   *
+   * @param resourcePath the path of the resource
+   */
+  public static void referenceResource(final Path resourcePath) {
+    final Map<Path, Long> referencedResources = REFERENCED_RESOURCES.get();
+    if (referencedResources != null) {
+      referencedResources.putIfAbsent(resourcePath, Indexes.getGeneration(resourcePath));
+    }
+  }
+
+  /**
+   * Check out an idle compiled query, or compile it and cache it, if none is idle. The compiled query
+   * must be {@link Lease#release() released} once it has been evaluated.
+   *
+   * @param query     the query text
+   * @param signature everything else, which changes the compiled query
+   * @param compiler  compiles the query
+   * @return the compiled query
+   * @throws QueryException if the query can't be compiled
+   */
+  public Lease checkOut(final String query, final String signature, final Compiler compiler) throws QueryException {
+    checkNotNull(query);
+    checkNotNull(signature);
+    checkNotNull(compiler);
+
+    final var key = new Key(normalize(query), signature);
+    final Plans cachedPlans = modules.getIfPresent(key);
+
+    if (cachedPlans != null) {
+      if (cachedPlans.isValid()) {
+        final Module module = cachedPlans.poll();
+        if (module != null) {
+          hitCount.increment();
+          return new Lease(key, cachedPlans, module);
+        }
+      } else {
+        modules.asMap().remove(key, cachedPlans);
+      }
+    }
+
+    missCount.increment();
+    final Map<Path, Long> previouslyReferencedResources = REFERENCED_RESOURCES.get();
+    final var referencedResources = new HashMap<Path, Long>();
+    REFERENCED_RESOURCES.set(referencedResources);
+    final Module module;
+    try {
+      module = compiler.compile();
+    } finally {
+      if (previouslyReferencedResources == null) {
+        REFERENCED_RESOURCES.remove();
+      } else {
+        REFERENCED_RESOURCES.set(previouslyReferencedResources);
+      }
+    }
+
+    // Queries compiled concurrently against the same generations share the pool.
+    final var compiledPlans = new Plans(referencedResources);
+    final Plans plans = modules.asMap().compute(key, (unused, currentPlans) ->
+        currentPlans != null && currentPlans.isValid()
+            && currentPlans.resourceGenerations().equals(compiledPlans.resourceGenerations())
+            ? currentPlans
+            : compiledPlans);
+    return new Lease(key, plans, module);
+  }
+
+  /**
+   * Remove all compiled queries.
+   */
+  public void clear() {
+    modules.invalidateAll();
+  }
+
+  /**
+   * Get the number of lookups, which returned a compiled query.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Get the number of lookups, which required compiling the query.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Normalizes a query, such that queries, which only differ in insignificant whitespace, share the
+   * compiled query. Whitespace in string literals and in direct constructors is significant, thus
+   * queries which might contain direct constructors are only trimmed.
+   *
+   * @param query the query text
+   * @return the normalized query text
+   */
+  static String normalize(final String query) {
+    final String trimmed = query.strip();
+
+    for (int i = 0, length = trimmed.length() - 1; i < length; i++) {
+      if (trimmed.charAt(i) == '<' && Character.isLetter(trimmed.charAt(i + 1))) {
+        return trimmed;
+      }
+    }
+
+    final var normalized = new StringBuilder(trimmed.length());
+    char quote = 0;
+    boolean whitespace = false;
+    for (int i = 0; i < trimmed.length(); i++) {
+      final char c = trimmed.charAt(i);
+      if (quote == 0 && Character.isWhitespace(c)) {
+        whitespace = true;
+        continue;
+      }
+      if (whitespace) {
+        normalized.append(' ');
+        whitespace = false;
+      }
+      if (quote == 0 && (c == '"' || c == '\'')) {
+        quote = c;
+      } else if (c == quote) {
+        quote = 0;
+      }
+      normalized.append(c);
+    }
+    return normalized.toString();
+  }
+}
@@ -0,0 +1,333 @@
+package org.sirix.xquery;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches serialized query results. As committed revisions are immutable, the result of a query,
+ * which is evaluated on a fixed revision of a resource, never changes. Queries, which update a
+ * resource or address the most recent revision of a resource (which may change with every commit),
+ * must never be cached, which is checked by {@link #isCacheable(String)}. As a cached result is
+ * returned without evaluating the query, the permissions to view the databases opened by the query
+ * (see {@link #getDatabases(String)}) have to be checked before.
+ *
+ * <p>The cache is bounded by the approximate size of the cached results in bytes.</p>
+ */
+public final class QueryResultCache {
+
+  /**
+   * System property to set the maximum size of the shared cache in bytes.
+   */
+  public static final String MAXIMUM_SIZE_PROPERTY = "org.sirix.xquery.resultCacheSize";
+
+  /**
+   * Default maximum size of the shared cache in bytes (64 MiB).
+   */
+  public static final long DEFAULT_MAXIMUM_SIZE = 64L << 20;
+
+  /**
+   * Update expressions and side-effecting or non-deterministic functions.
+   */
+  private static final Pattern NOT_CACHEABLE = Pattern.compile(
+      "\\b(?:insert|delete|replace|rename|append)\\s+(?:json|nodes?|value|into)\\b"
+          + "|\\b(?:store|load|commit|rollback|revert-to|create-[\\w-]+|drop-[\\w-]+|current-[\\w-]+|most-recent-[\\w-]+)\\s*\\(");
+
+  /**
+   * Functions, which navigate to revisions after the revision of their argument, thus even the
+   * result of a query on a fixed revision might change with every commit.
+   */
+  private static final Pattern LATER_REVISIONS = Pattern.compile(
+      "(?<!\\bfn):(?:all-times|future|last|last-existing|next|item-history|open-revisions)\\s*\\(");
+
+  /**
+   * Functions, which open a resource. Without a revision (or point in time) argument the most
+   * recent revision is opened.
+   */
+  private static final Pattern OPEN_RESOURCE = Pattern.compile("\\b(?:doc|open|collection)\\s*\\(");
+
+  /**
+   * Number of arguments of {@code doc} and {@code open}, if a revision is addressed.
+   */
+  private static final int ARGUMENTS_WITH_REVISION = 3;
+
+  /**
+   * The shared instance.
+   */
+  private static final QueryResultCache SHARED =
+      new QueryResultCache(Long.getLong(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+
+  /**
+   * Key of a cached result.
+   *
+   * @param database       the name of the database
+   * @param resource       the name of the resource
+   * @param revision       the revision number of the resource
+   * @param contextNodeKey the node key of the context item, or {@code -1}, if the default context
+   *                       item is used
+   * @param query          the query text
+   * @param variant        everything else, which changes the serialized result (for instance the
+   *                       content type, the window of result items or the user)
+   */
+  public record Key(String database, String resource, int revision, long contextNodeKey, String query,
+      String variant) {
+    public Key {
+      checkNotNull(database);
+      checkNotNull(resource);
+      checkArgument(revision >= 0, "revision must be >= 0!");
+      checkNotNull(query);
+      checkNotNull(variant);
+    }
+
+    private int weight() {
+      return 2 * (database.length() + resource.length() + query.length() + variant.length()) + 64;
+    }
+  }
+
+  /**
+   * Cache statistics.
+   *
+   * @param hitCount      the number of lookups, which returned a cached result
+   * @param missCount     the number of lookups, which didn't return a cached result
+   * @param bypassCount   the number of queries, which haven't been cached
+   * @param evictionCount the number of evicted results
+   * @param entryCount    the approximate number of cached results
+   * @param sizeInBytes   the approximate size of the cached results in bytes
+   */
+  public record Statistics(long hitCount, long missCount, long bypassCount, long evictionCount, long entryCount,
+      long sizeInBytes) {
+  }
+
+  /**
+   * The cached results.
+   */
+  private final Cache<Key, String> results;
+
+  /**
+   * Number of queries, which haven't been cached.
+   */
+  private final LongAdder bypassCount;
+
+  /**
+   * Constructor.
+   *
+   * @param maximumSizeInBytes the maximum approximate size of the cached results in bytes
+   */
+  public QueryResultCache(final long maximumSizeInBytes) {
+    checkArgument(maximumSizeInBytes >= 0, "maximumSizeInBytes must be >= 0!");
+    results = Caffeine.newBuilder()
+                      .maximumWeight(maximumSizeInBytes)
+                      .weigher((Key key, String result) -> key.weight() + 2 * result.length())
+                      .recordStats()
+                      .build();
+    bypassCount = new LongAdder();
+  }
+
+  /**
+   * Get the shared instance, whose maximum size is set by the {@link #MAXIMUM_SIZE_PROPERTY} system
+   * property.
+   *
+   * @return the shared instance
+   */
+  public static QueryResultCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Determines if the result of a query, which is evaluated on a fixed revision, may be cached,
+   * that is if the query neither updates a resource, nor opens the most recent revision of a
+   * resource or a database, whose name isn't a string literal, nor navigates to later revisions.
+   * The check is conservative, such that some cacheable queries are rejected.
+   *
+   * @param query the query text
+   * @return {@code true}, if the result may be cached, {@code false} otherwise
+   */
+  public static boolean isCacheable(final String query) {
+    checkNotNull(query);
+    if (NOT_CACHEABLE.matcher(query).find() || LATER_REVISIONS.matcher(query).find()) {
+      return false;
+    }
+    final var matcher = OPEN_RESOURCE.matcher(query);
+    while (matcher.find()) {
+      if (query.startsWith("collection", matcher.start())
+          || numberOfArguments(query, matcher.end()) < ARGUMENTS_WITH_REVISION
+          || firstStringLiteralArgument(query, matcher.end()) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the names of the databases, which are opened by a cacheable query.
+   *
+   * @param query the query text, for which {@link #isCacheable(String)} returns {@code true}
+   * @return the names of the databases
+   */
+  public static Set<String> getDatabases(final String query) {
+    checkNotNull(query);
+    final var databases = new HashSet<String>();
+    final var matcher = OPEN_RESOURCE.matcher(query);
+    while (matcher.find()) {
+      final String database = firstStringLiteralArgument(query, matcher.end());
+      if (database != null) {
+        databases.add(database);
+      }
+    }
+    return databases;
+  }
+
+  /**
+   * Get the first argument of a function call, if it's a string literal.
+   *
+   * @param query the query text
+   * @param start the index after the opening parenthesis
+   * @return the value of the string literal or {@code null}, if the first argument isn't a string
+   *     literal
+   */
+  private static @Nullable String firstStringLiteralArgument(final String query, final int start) {
+    int i = start;
+    while (i < query.length() && Character.isWhitespace(query.charAt(i))) {
+      i++;
+    }
+    if (i == query.length() || (query.charAt(i) != '"' && query.charAt(i) != '\'')) {
+      return null;
+    }
+    final int end = query.indexOf(query.charAt(i), i + 1);
+    if (end == -1) {
+      return null;
+    }
+    int next = end + 1;
+    while (next < query.length() && Character.isWhitespace(query.charAt(next))) {
+      next++;
+    }
+    if (next == query.length() || (query.charAt(next) != ',' && query.charAt(next) != ')')) {
+      return null;
+    }
+    return query.substring(i + 1, end);
+  }
+
+  /**
+   * Counts the arguments of a function call.
+   *
+   * @param query the query text
+   * @param start the index after the opening parenthesis
+   * @return the number of arguments
+   */
+  private static int numberOfArguments(final String query, final int start) {
+    int depth = 0;
+    int arguments = 0;
+    char quote = 0;
+    for (int i = start; i < query.length(); i++) {
+      final char c = query.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+      if (!Character.isWhitespace(c) && arguments == 0 && c != ')') {
+        arguments = 1;
+      }
+      switch (c) {
+        case '"', '\'' -> quote = c;
+        case '(', '[', '{' -> depth++;
+        case ']', '}' -> depth--;
+        case ')' -> {
+          if (depth == 0) {
+            return arguments;
+          }
+          depth--;
+        }
+        case ',' -> {
+          if (depth == 0) {
+            arguments++;
+          }
+        }
+        default -> {
+        }
+      }
+    }
+    return arguments;
+  }
+
+  /**
+   * Get a cached result.
+   *
+   * @param key the key
+   * @return the cached result or {@code null}, if no result is cached
+   */
+  public @Nullable String get(final Key key) {
+    return results.getIfPresent(checkNotNull(key));
+  }
+
+  /**
+   * Cache a result.
+   *
+   * @param key    the key
+   * @param result the serialized result
+   */
+  public void put(final Key key, final String result) {
+    results.put(checkNotNull(key), checkNotNull(result));
+  }
+
+  /**
+   * Record that a query hasn't been cached.
+   */
+  public void recordBypass() {
+    bypassCount.increment();
+  }
+
+  /**
+   * Remove all cached results of a database, for instance if it has been removed.
+   *
+   * @param database the name of the database
+   */
+  public void invalidate(final String database) {
+    checkNotNull(database);
+    results.asMap().keySet().removeIf(key -> key.database().equals(database));
+  }
+
+  /**
+   * Remove all cached results of a resource, for instance if it has been removed.
+   *
+   * @param database the name of the database
+   * @param resource the name of the resource
+   */
+  public void invalidate(final String database, final String resource) {
+    checkNotNull(database);
+    checkNotNull(resource);
+    results.asMap().keySet().removeIf(key -> key.database().equals(database) && key.resource().equals(resource));
+  }
+
+  /**
+   * Remove all cached results.
+   */
+  public void clear() {
+    results.invalidateAll();
+  }
+
+  /**
+   * Get the cache statistics.
+   *
+   * @return the statistics
+   */
+  public Statistics getStatistics() {
+    final var stats = results.stats();
+    final long size = results.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    return new Statistics(stats.hitCount(),
+                          stats.missCount(),
+                          bypassCount.sum(),
+                          stats.evictionCount(),
+                          results.estimatedSize(),
+                          size);
+  }
+}
@@ -1,11 +1,17 @@
 package org.sirix.xquery;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.brackit.xquery.QueryException;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.atomic.Str;
 import org.brackit.xquery.compiler.CompileChain;
 import org.brackit.xquery.compiler.optimizer.Optimizer;
 import org.brackit.xquery.compiler.translator.Translator;
+import org.brackit.xquery.module.Module;
 import org.brackit.xquery.util.Cfg;
 import org.sirix.xquery.compiler.optimizer.SirixOptimizer;
 import org.sirix.xquery.compiler.translator.SirixTranslator;
@@ -26,6 +32,8 @@ import org.sirix.xquery.node.XmlDBStore;
 public final class SirixCompileChain extends CompileChain implements AutoCloseable {
   public static final boolean OPTIMIZE = Cfg.asBool("org.sirix.xquery.optimize.indexrewrite", true);
 
+  public static final boolean CACHE_PLANS = Cfg.asBool("org.sirix.xquery.cacheplans", true);
+
   static {
     // define function namespaces and functions in these namespaces
     SDBFun.register();
@@ -33,12 +41,19 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
     JNFun.register();
   }
 
+  /** Declaration of an external variable with an optional type in the prolog of a query. */
+  private static final Pattern EXTERNAL_VARIABLE =
+      Pattern.compile("declare\\s+(?:%\\S+\\s+)*variable\\s+\\$(\\S+?)(?:\\s+as\\s+(.+?))?\\s+external");
+
   /** The XML node store. */
   private final XmlDBStore nodeStore;
 
   /** The JSON item store. */
   private final JsonDBStore jsonItemStore;
 
+  /** The compiled queries checked out of the {@link QueryPlanCache}. */
+  private final List<QueryPlanCache.Lease> leases = new ArrayList<>();
+
   public static SirixCompileChain create() {
     return new SirixCompileChain(null, null);
   }
@@ -71,6 +86,64 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
         : jsonItemStore;
   }
 
+  /**
+   * Compiles a query or checks out the compiled query from the {@link QueryPlanCache}, if it has been
+   * compiled before and none of the resources the optimizer has consulted have been committed or
+   * removed in the meantime. The compiled query is returned to the cache once this chain is closed,
+   * thus it must not be used afterwards. Library modules are never cached, as they are registered
+   * with the module resolver of this chain while compiling.
+   */
+  @Override
+  public Module compile(final String query) throws QueryException {
+    if (!CACHE_PLANS || query.contains("module namespace")) {
+      return super.compile(query);
+    }
+    final QueryPlanCache.Lease lease =
+        QueryPlanCache.getShared().checkOut(query, getSignature(query), () -> super.compile(query));
+    leases.add(lease);
+    return lease.getModule();
+  }
+
+  /**
+   * Get everything besides the query text, which changes the compiled query: if index rewriting is
+   * enabled, the stores the optimizer looks up the queried resources in and the declared external
+   * variables with their types.
+   */
+  private String getSignature(final String query) {
+    return "optimize=" + OPTIMIZE + ";xml=" + getStoreSignature(nodeStore) + ";json="
+        + getStoreSignature(jsonItemStore) + ";external=" + getExternalVariables(query);
+  }
+
+  private static String getStoreSignature(final Object store) {
+    if (store instanceof BasicJsonDBStore basicJsonDBStore) {
+      return basicJsonDBStore.getLocation().toAbsolutePath().normalize().toString();
+    }
+    if (store instanceof BasicXmlDBStore basicXmlDBStore) {
+      return basicXmlDBStore.getLocation().toAbsolutePath().normalize().toString();
+    }
+    // Unknown stores might look up resources anywhere, thus their compiled queries aren't shared.
+    return store.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(store));
+  }
+
+  /**
+   * Get the external variables declared in the prolog of a query.
+   *
+   * @param query the query text
+   * @return the names and types of the external variables in declaration order
+   */
+  static String getExternalVariables(final String query) {
+    final var externalVariables = new StringBuilder();
+    final Matcher matcher = EXTERNAL_VARIABLE.matcher(query);
+    while (matcher.find()) {
+      if (!externalVariables.isEmpty()) {
+        externalVariables.append(',');
+      }
+      final String type = matcher.group(2);
+      externalVariables.append(matcher.group(1)).append(" as ").append(type == null ? "item()*" : type.strip());
+    }
+    return externalVariables.toString();
+  }
+
   @Override
   protected Translator getTranslator(Map<QNm, Str> options) {
     return new SirixTranslator(options);
@@ -86,6 +159,8 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
 
   @Override
   public void close() {
+    leases.forEach(QueryPlanCache.Lease::release);
+    leases.clear();
     nodeStore.close();
     jsonItemStore.close();
   }
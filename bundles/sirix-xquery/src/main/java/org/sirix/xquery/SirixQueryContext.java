@@ -308,6 +308,15 @@ public final class SirixQueryContext implements QueryContext, AutoCloseable {
     return commitMessage;
   }
 
+  /**
+   * Get the cache of serialized query results, which are evaluated on fixed revisions.
+   *
+   * @return the shared query result cache
+   */
+  public QueryResultCache getResultCache() {
+    return QueryResultCache.getShared();
+  }
+
   @Override
   public void close() {
     xmlStore.close();
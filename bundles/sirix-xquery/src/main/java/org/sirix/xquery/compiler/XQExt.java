@@ -8,7 +8,7 @@ import org.brackit.xquery.compiler.XQ;
  */
 public final class XQExt {
 
-  private static final int OFFSET = XQ.allocate(3);
+  private static final int OFFSET = XQ.allocate(7);
 
   public static final int MultiStepExpr = OFFSET;
 
@@ -16,7 +16,16 @@ public final class XQExt {
 
   public static final int ParentExpr = OFFSET + 2;
 
-  public static final String NAMES[] = new String[] {"MultiStepExpr", "IndexExpr", "ParentExpr"};
+  public static final int IndexIntersectExpr = OFFSET + 3;
+
+  public static final int ParallelFilterExpr = OFFSET + 4;
+
+  public static final int ParallelContextItemExpr = OFFSET + 5;
+
+  public static final int IndexAggregateExpr = OFFSET + 6;
+
+  public static final String NAMES[] = new String[] {"MultiStepExpr", "IndexExpr", "ParentExpr", "IndexIntersectExpr", "ParallelFilterExpr",
+      "ParallelContextItemExpr", "IndexAggregateExpr"};
 
   public static Object toName(int key) {
     return NAMES[key - OFFSET];
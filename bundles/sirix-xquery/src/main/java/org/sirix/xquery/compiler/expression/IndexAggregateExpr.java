@@ -0,0 +1,72 @@
+package org.sirix.xquery.compiler.expression;
+
+import org.brackit.xquery.ErrorCode;
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.Tuple;
+import org.brackit.xquery.atomic.Bool;
+import org.brackit.xquery.atomic.Int64;
+import org.brackit.xquery.xdm.Expr;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Sequence;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates {@code fn:count}, {@code fn:exists} or {@code fn:empty} of an {@link IndexExpr} from the
+ * index entries only, without reading the referenced nodes. Falls back to the original function
+ * call, if the referenced nodes have to be checked.
+ */
+public final class IndexAggregateExpr implements Expr {
+
+  private final String function;
+
+  private final IndexExpr indexExpr;
+
+  private final Expr fallback;
+
+  /**
+   * Constructor.
+   *
+   * @param function  the local name of the function, either {@code count}, {@code exists} or
+   *                  {@code empty}
+   * @param indexExpr the index expression, which is the argument of the function
+   * @param fallback  the original function call
+   */
+  public IndexAggregateExpr(final String function, final IndexExpr indexExpr, final Expr fallback) {
+    this.function = requireNonNull(function);
+    this.indexExpr = requireNonNull(indexExpr);
+    this.fallback = requireNonNull(fallback);
+  }
+
+  @Override
+  public Sequence evaluate(QueryContext ctx, Tuple tuple) throws QueryException {
+    return evaluateToItem(ctx, tuple);
+  }
+
+  @Override
+  public Item evaluateToItem(QueryContext ctx, Tuple tuple) throws QueryException {
+    final long count = indexExpr.count(ctx, "count".equals(function) ? Long.MAX_VALUE : 1);
+
+    if (count == -1) {
+      return fallback.evaluateToItem(ctx, tuple);
+    }
+
+    return switch (function) {
+      case "count" -> new Int64(count);
+      case "exists" -> count != 0 ? Bool.TRUE : Bool.FALSE;
+      case "empty" -> count == 0 ? Bool.TRUE : Bool.FALSE;
+      default -> throw new QueryException(ErrorCode.BIT_DYN_INT_ERROR, "Function " + function + " not supported.");
+    };
+  }
+
+  @Override
+  public boolean isUpdating() {
+    return false;
+  }
+
+  @Override
+  public boolean isVacuous() {
+    return false;
+  }
+}
@@ -13,7 +13,9 @@ import org.brackit.xquery.util.path.Path;
 import org.brackit.xquery.xdm.Expr;
 import org.brackit.xquery.xdm.Item;
 import org.brackit.xquery.xdm.Sequence;
+import org.sirix.access.trx.node.IndexController;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.api.json.JsonResourceSession;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexType;
@@ -78,99 +80,33 @@ public final class IndexExpr implements Expr {
         (Deque<QueryPathSegment>) properties.get("pathSegmentNamesToArrayIndexes");
 
     for (final Map.Entry<IndexDef, List<Path<QNm>>> entrySet : indexDefsToPaths.entrySet()) {
-      final var pathStrings = entrySet.getValue().stream().map(Path::toString).collect(toSet());
+      final Iterator<NodeReferences> nodeReferencesIterator = openIndex(indexController, rtx, indexType, entrySet);
 
       switch (indexType) {
-        case PATH -> {
-          final Iterator<NodeReferences> nodeReferencesIterator = indexController.openPathIndex(rtx.getPageTrx(),
-                                                                                                entrySet.getKey(),
-                                                                                                indexController.createPathFilter(
-                                                                                                    pathStrings,
-                                                                                                    rtx));
-
+        case PATH -> checkIfIndexNodeIsApplicable(manager,
+                                                  rtx,
+                                                  pathSegmentNamesToArrayIndexes,
+                                                  nodeReferencesIterator,
+                                                  nodeKeys,
+                                                  false);
+        case CAS -> {
           checkIfIndexNodeIsApplicable(manager,
                                        rtx,
                                        pathSegmentNamesToArrayIndexes,
                                        nodeReferencesIterator,
                                        nodeKeys,
                                        false);
-        }
-        case CAS -> {
-          final var atomic = (Atomic) properties.get("atomic");
-          final var comparisonType = (String) properties.get("comparator");
-          final Atomic atomicUpperBound = (Atomic) properties.get("upperBoundAtomic");
-          final String comparisonUpperBound = (String) properties.get("upperBoundComparator");
-
-          if (atomicUpperBound != null && comparisonUpperBound != null) {
-            final SearchMode searchMode = getSearchMode(comparisonType);
-            final SearchMode searchModeUpperBound = getSearchMode(comparisonUpperBound);
-
-            if ((searchMode != SearchMode.GREATER && searchMode != SearchMode.GREATER_OR_EQUAL) || (
-                searchModeUpperBound != SearchMode.LOWER && searchModeUpperBound != SearchMode.LOWER_OR_EQUAL)) {
-              throw new QueryException(JNFun.ERR_INVALID_ARGUMENT, new QNm("Search mode not supported."));
-            }
-
-            final var casFilter = new CASFilterRange(new HashSet<>(entrySet.getValue()),
-                                                     atomic,
-                                                     atomicUpperBound,
-                                                     searchMode == SearchMode.GREATER_OR_EQUAL,
-                                                     searchModeUpperBound == SearchMode.LOWER_OR_EQUAL,
-                                                     new JsonPCRCollector(rtx));
-
-            final Iterator<NodeReferences> nodeReferencesIterator =
-                indexController.openCASIndex(rtx.getPageTrx(), entrySet.getKey(), casFilter);
-
-            checkIfIndexNodeIsApplicable(manager,
-                                         rtx,
-                                         pathSegmentNamesToArrayIndexes,
-                                         nodeReferencesIterator,
-                                         nodeKeys,
-                                         false);
-
-            indexTypeToNodeKeys.put(entrySet.getKey(), nodeKeys);
-
-            nodeKeys = new ArrayList<>();
-          } else {
-            final SearchMode searchMode = getSearchMode(comparisonType);
-
-            final var casFilter =
-                new CASFilter(new HashSet<>(entrySet.getValue()), atomic, searchMode, new JsonPCRCollector(rtx));
-
-            final Iterator<NodeReferences> nodeReferencesIterator =
-                indexController.openCASIndex(rtx.getPageTrx(), entrySet.getKey(), casFilter);
-
-            checkIfIndexNodeIsApplicable(manager,
-                                         rtx,
-                                         pathSegmentNamesToArrayIndexes,
-                                         nodeReferencesIterator,
-                                         nodeKeys,
-                                         false);
-
-            indexTypeToNodeKeys.put(entrySet.getKey(), nodeKeys);
 
-            nodeKeys = new ArrayList<>();
-          }
-        }
-        case NAME -> {
-          final Iterator<NodeReferences> nodeReferencesIterator = indexController.openNameIndex(rtx.getPageTrx(),
-                                                                                                entrySet.getKey(),
-                                                                                                new NameFilter(Set.of(
-                                                                                                    entrySet.getValue()
-                                                                                                            .get(
-                                                                                                                entrySet.getValue()
-                                                                                                                        .size()
-                                                                                                                    - 1)
-                                                                                                            .tail()),
-                                                                                                               Set.of()));
-
-          checkIfIndexNodeIsApplicable(manager,
-                                       rtx,
-                                       pathSegmentNamesToArrayIndexes,
-                                       nodeReferencesIterator,
-                                       nodeKeys,
-                                       true);
+          indexTypeToNodeKeys.put(entrySet.getKey(), nodeKeys);
 
+          nodeKeys = new ArrayList<>();
         }
+        case NAME -> checkIfIndexNodeIsApplicable(manager,
+                                                  rtx,
+                                                  pathSegmentNamesToArrayIndexes,
+                                                  nodeReferencesIterator,
+                                                  nodeKeys,
+                                                  true);
         default -> throw new IllegalStateException("Index type " + indexType + " not known");
       }
     }
@@ -237,6 +173,101 @@ public final class IndexExpr implements Expr {
     return new ItemSequence(sequence.toArray(new Item[0]));
   }
 
+  /**
+   * Count the items this expression evaluates to directly from the index entries, that is without
+   * reading the referenced nodes, if possible. That's the case, if the index entries don't have to
+   * be checked against array indexes or field names of the query path.
+   *
+   * @param ctx   the query context
+   * @param limit the number of items, after which counting stops
+   * @return the number of items (at most {@code limit}) or {@code -1}, if the referenced nodes have to
+   *     be read
+   */
+  public long count(final QueryContext ctx, final long limit) {
+    final var indexType = (IndexType) properties.get("indexType");
+    final var pathSegmentNamesToArrayIndexes =
+        (Deque<QueryPathSegment>) properties.get("pathSegmentNamesToArrayIndexes");
+
+    if (indexType == IndexType.NAME || getNumberOfArrayIndexes(pathSegmentNamesToArrayIndexes) != 0) {
+      return -1;
+    }
+
+    final var jsonItemStore = ((SirixQueryContext) ctx).getJsonItemStore();
+    final var database = jsonItemStore.lookup(databaseName).getDatabase();
+    final var manager = database.beginResourceSession(resourceName);
+    final var indexController = revision == -1
+        ? manager.getRtxIndexController(manager.getMostRecentRevisionNumber())
+        : manager.getRtxIndexController(revision);
+
+    long count = 0;
+
+    try (final JsonNodeReadOnlyTrx rtx = revision == -1
+        ? manager.beginNodeReadOnlyTrx()
+        : manager.beginNodeReadOnlyTrx(revision)) {
+      for (final Map.Entry<IndexDef, List<Path<QNm>>> entrySet : indexDefsToPaths.entrySet()) {
+        final Iterator<NodeReferences> nodeReferencesIterator = openIndex(indexController, rtx, indexType, entrySet);
+
+        // Each entry references distinct nodes, each of which yields one item.
+        while (count < limit && nodeReferencesIterator.hasNext()) {
+          count += nodeReferencesIterator.next().getNodeKeys().size();
+        }
+      }
+    }
+
+    return Math.min(count, limit);
+  }
+
+  private Iterator<NodeReferences> openIndex(final IndexController<JsonNodeReadOnlyTrx, JsonNodeTrx> indexController,
+      final JsonNodeReadOnlyTrx rtx, final IndexType indexType, final Map.Entry<IndexDef, List<Path<QNm>>> entrySet) {
+    return switch (indexType) {
+      case PATH -> {
+        final var pathStrings = entrySet.getValue().stream().map(Path::toString).collect(toSet());
+        yield indexController.openPathIndex(rtx.getPageTrx(),
+                                            entrySet.getKey(),
+                                            indexController.createPathFilter(pathStrings, rtx));
+      }
+      case CAS -> {
+        final var atomic = (Atomic) properties.get("atomic");
+        final var comparisonType = (String) properties.get("comparator");
+        final Atomic atomicUpperBound = (Atomic) properties.get("upperBoundAtomic");
+        final String comparisonUpperBound = (String) properties.get("upperBoundComparator");
+
+        if (atomicUpperBound != null && comparisonUpperBound != null) {
+          final SearchMode searchMode = getSearchMode(comparisonType);
+          final SearchMode searchModeUpperBound = getSearchMode(comparisonUpperBound);
+
+          if ((searchMode != SearchMode.GREATER && searchMode != SearchMode.GREATER_OR_EQUAL) || (
+              searchModeUpperBound != SearchMode.LOWER && searchModeUpperBound != SearchMode.LOWER_OR_EQUAL)) {
+            throw new QueryException(JNFun.ERR_INVALID_ARGUMENT, new QNm("Search mode not supported."));
+          }
+
+          final var casFilter = new CASFilterRange(new HashSet<>(entrySet.getValue()),
+                                                   atomic,
+                                                   atomicUpperBound,
+                                                   searchMode == SearchMode.GREATER_OR_EQUAL,
+                                                   searchModeUpperBound == SearchMode.LOWER_OR_EQUAL,
+                                                   new JsonPCRCollector(rtx));
+
+          yield indexController.openCASIndex(rtx.getPageTrx(), entrySet.getKey(), casFilter);
+        }
+
+        final SearchMode searchMode = getSearchMode(comparisonType);
+
+        final var casFilter =
+            new CASFilter(new HashSet<>(entrySet.getValue()), atomic, searchMode, new JsonPCRCollector(rtx));
+
+        yield indexController.openCASIndex(rtx.getPageTrx(), entrySet.getKey(), casFilter);
+      }
+      case NAME -> {
+        final var paths = entrySet.getValue();
+        yield indexController.openNameIndex(rtx.getPageTrx(),
+                                            entrySet.getKey(),
+                                            new NameFilter(Set.of(paths.get(paths.size() - 1).tail()), Set.of()));
+      }
+      default -> throw new IllegalStateException("Index type " + indexType + " not known");
+    };
+  }
+
   private SearchMode getSearchMode(String comparisonType) {
     final SearchMode searchMode = switch (comparisonType) {
       case "ValueCompGT", "GeneralCompGT" -> SearchMode.GREATER;
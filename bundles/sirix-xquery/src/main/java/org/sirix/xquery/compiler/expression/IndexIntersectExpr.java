@@ -0,0 +1,90 @@
+package org.sirix.xquery.compiler.expression;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.Tuple;
+import org.brackit.xquery.sequence.ItemSequence;
+import org.brackit.xquery.util.ExprUtil;
+import org.brackit.xquery.xdm.Expr;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Iter;
+import org.brackit.xquery.xdm.Sequence;
+import org.sirix.xquery.json.JsonDBItem;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Intersects the results of two index expressions, which evaluate the conjuncts of a predicate on
+ * the same items. Items are identified by their node keys.
+ */
+public final class IndexIntersectExpr implements Expr {
+
+  private final Expr first;
+
+  private final Expr second;
+
+  public IndexIntersectExpr(final Expr first, final Expr second) {
+    this.first = requireNonNull(first);
+    this.second = requireNonNull(second);
+  }
+
+  @Override
+  public Sequence evaluate(QueryContext ctx, Tuple tuple) throws QueryException {
+    final Sequence firstSequence = first.evaluate(ctx, tuple);
+
+    if (firstSequence == null) {
+      return null;
+    }
+
+    final Sequence secondSequence = second.evaluate(ctx, tuple);
+
+    if (secondSequence == null) {
+      return null;
+    }
+
+    final Set<Object> secondIdentities = new HashSet<>();
+    try (final Iter iter = secondSequence.iterate()) {
+      for (Item item = iter.next(); item != null; item = iter.next()) {
+        secondIdentities.add(identity(item));
+      }
+    }
+
+    final var items = new ArrayList<Item>();
+    try (final Iter iter = firstSequence.iterate()) {
+      for (Item item = iter.next(); item != null; item = iter.next()) {
+        if (secondIdentities.contains(identity(item))) {
+          items.add(item);
+        }
+      }
+    }
+
+    if (items.isEmpty()) {
+      return null;
+    }
+
+    return new ItemSequence(items.toArray(new Item[0]));
+  }
+
+  private static Object identity(final Item item) {
+    return item instanceof JsonDBItem jsonDBItem ? jsonDBItem.getNodeKey() : item;
+  }
+
+  @Override
+  public Item evaluateToItem(QueryContext ctx, Tuple tuple) throws QueryException {
+    return ExprUtil.asItem(evaluate(ctx, tuple));
+  }
+
+  @Override
+  public boolean isUpdating() {
+    return first.isUpdating() || second.isUpdating();
+  }
+
+  @Override
+  public boolean isVacuous() {
+    return false;
+  }
+}
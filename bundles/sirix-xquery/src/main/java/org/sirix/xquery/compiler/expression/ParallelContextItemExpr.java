@@ -0,0 +1,49 @@
+package org.sirix.xquery.compiler.expression;
+
+import org.brackit.xquery.ErrorCode;
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.Tuple;
+import org.brackit.xquery.xdm.Expr;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Sequence;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The context item of a predicate, which is evaluated by a {@link ParallelFilterExpr}.
+ */
+public final class ParallelContextItemExpr implements Expr {
+
+  private final ParallelFilterExpr.ContextItem contextItem;
+
+  public ParallelContextItemExpr(final ParallelFilterExpr.ContextItem contextItem) {
+    this.contextItem = requireNonNull(contextItem);
+  }
+
+  @Override
+  public Sequence evaluate(QueryContext ctx, Tuple tuple) throws QueryException {
+    return evaluateToItem(ctx, tuple);
+  }
+
+  @Override
+  public Item evaluateToItem(QueryContext ctx, Tuple tuple) throws QueryException {
+    final Item item = contextItem.get();
+
+    if (item == null) {
+      throw new QueryException(ErrorCode.BIT_DYN_INT_ERROR, "Context item of the parallel filter is not bound.");
+    }
+
+    return item;
+  }
+
+  @Override
+  public boolean isUpdating() {
+    return false;
+  }
+
+  @Override
+  public boolean isVacuous() {
+    return false;
+  }
+}
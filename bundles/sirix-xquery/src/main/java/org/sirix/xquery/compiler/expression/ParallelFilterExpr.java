@@ -0,0 +1,362 @@
+package org.sirix.xquery.compiler.expression;
+
+import org.brackit.xquery.ErrorCode;
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.Tuple;
+import org.brackit.xquery.sequence.ItemSequence;
+import org.brackit.xquery.util.Cfg;
+import org.brackit.xquery.util.ExprUtil;
+import org.brackit.xquery.xdm.Expr;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Iter;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.json.Array;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.xquery.json.AbstractJsonDBArray;
+import org.sirix.xquery.json.JsonDBCollection;
+import org.sirix.xquery.json.JsonDBItem;
+import org.sirix.xquery.json.JsonItemFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates a filter expression with a boolean predicate in parallel, if its input is large:
+ *
+ * <ul>
+ *   <li>the members of a stored JSON array ({@code $array[][predicate]}) are split into chunks of
+ *   consecutive members, which are evaluated by worker threads, each with its own read-only
+ *   transaction on the revision of the array,</li>
+ *   <li>the items of a sequence from several resources or revisions (for instance
+ *   {@code jn:collection(...)} or {@code jn:open-revisions(...)}) are partitioned by their
+ *   transaction, as each transaction may only be used by one thread at a time.</li>
+ * </ul>
+ *
+ * <p>The result is in the order of the input. Small inputs are filtered in the calling thread.
+ * The context item of the predicate is bound per thread (see {@link ContextItem}).
+ */
+public final class ParallelFilterExpr implements Expr {
+
+  /**
+   * The minimum number of array members, which are evaluated in parallel.
+   */
+  public static final int THRESHOLD = Cfg.asInt("org.sirix.xquery.parallel.threshold", 10_000);
+
+  /**
+   * The number of worker threads.
+   */
+  private static final int THREADS =
+      Cfg.asInt("org.sirix.xquery.parallel.threads", Runtime.getRuntime().availableProcessors());
+
+  /**
+   * The number of array members a worker evaluates at once.
+   */
+  private static final int CHUNK_SIZE = 1_024;
+
+  private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, runnable -> {
+    final var thread = new Thread(runnable, "sirix-parallel-filter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The context item of the predicate, which is bound per thread.
+   */
+  public static final class ContextItem {
+    private final ThreadLocal<Item> item = new ThreadLocal<>();
+
+    Item get() {
+      return item.get();
+    }
+
+    void set(final Item item) {
+      this.item.set(item);
+    }
+
+    void remove() {
+      item.remove();
+    }
+  }
+
+  private final Expr source;
+
+  private final Expr array;
+
+  private final Expr predicate;
+
+  private final ContextItem contextItem;
+
+  private final JsonItemFactory itemFactory;
+
+  /**
+   * Constructor.
+   *
+   * @param source      the input of the filter
+   * @param array       the array, if the input are the members of an array, {@code null} otherwise
+   * @param predicate   the predicate, which refers to the context item by {@link ParallelContextItemExpr}
+   * @param contextItem the context item of the predicate
+   */
+  public ParallelFilterExpr(final Expr source, final Expr array, final Expr predicate,
+      final ContextItem contextItem) {
+    this.source = requireNonNull(source);
+    this.array = array;
+    this.predicate = requireNonNull(predicate);
+    this.contextItem = requireNonNull(contextItem);
+    this.itemFactory = new JsonItemFactory();
+  }
+
+  @Override
+  public Sequence evaluate(QueryContext ctx, Tuple tuple) throws QueryException {
+    final Sequence arraySequence = array == null ? null : array.evaluate(ctx, tuple);
+
+    if (arraySequence instanceof AbstractJsonDBArray<?> jsonDBArray && jsonDBArray.len() >= THRESHOLD) {
+      return toSequence(filterArray(ctx, tuple, jsonDBArray));
+    }
+
+    final var items = new ArrayList<Item>();
+
+    if (arraySequence instanceof Array evaluatedArray) {
+      // The members of the already evaluated array, instead of evaluating it once more by the source.
+      for (final Sequence member : evaluatedArray.values()) {
+        addItems(items, member);
+      }
+    } else {
+      addItems(items, source.evaluate(ctx, tuple));
+    }
+
+    return toSequence(filterItems(ctx, tuple, items));
+  }
+
+  private static void addItems(final List<Item> items, final Sequence sequence) {
+    if (sequence == null) {
+      return;
+    }
+
+    try (final Iter iter = sequence.iterate()) {
+      for (Item item = iter.next(); item != null; item = iter.next()) {
+        items.add(item);
+      }
+    }
+  }
+
+  private static Sequence toSequence(final List<Item> items) {
+    if (items.isEmpty()) {
+      return null;
+    }
+
+    return new ItemSequence(items.toArray(new Item[0]));
+  }
+
+  private boolean matches(final QueryContext ctx, final Tuple tuple, final Item item) {
+    contextItem.set(item);
+
+    try {
+      final Item result = predicate.evaluateToItem(ctx, tuple);
+      return result != null && result.booleanValue();
+    } finally {
+      contextItem.remove();
+    }
+  }
+
+  private List<Item> filterItems(final QueryContext ctx, final Tuple tuple, final List<Item> items) {
+    final var itemsPerTrx = new IdentityHashMap<JsonNodeReadOnlyTrx, List<Integer>>();
+
+    for (int i = 0, size = items.size(); i < size; i++) {
+      if (!(items.get(i) instanceof JsonDBItem jsonDBItem)) {
+        itemsPerTrx.clear();
+        break;
+      }
+
+      itemsPerTrx.computeIfAbsent(jsonDBItem.getTrx(), unused -> new ArrayList<>()).add(i);
+    }
+
+    final var result = new ArrayList<Item>();
+
+    if (itemsPerTrx.size() < 2) {
+      for (final Item item : items) {
+        if (matches(ctx, tuple, item)) {
+          result.add(item);
+        }
+      }
+
+      return result;
+    }
+
+    final var matching = new boolean[items.size()];
+    final var futures = new ArrayList<Future<Void>>(itemsPerTrx.size());
+    final var aborted = new AtomicBoolean();
+
+    try {
+      for (final List<Integer> indexes : itemsPerTrx.values()) {
+        futures.add(POOL.submit(() -> {
+          for (final int index : indexes) {
+            if (aborted.get()) {
+              break;
+            }
+            matching[index] = matches(ctx, tuple, items.get(index));
+          }
+          return null;
+        }));
+      }
+
+      for (final Future<Void> future : futures) {
+        get(future);
+      }
+    } finally {
+      // The transactions of the items must not be used by a worker anymore, once this method returns.
+      abortAndAwait(futures, aborted);
+    }
+
+    for (int i = 0; i < matching.length; i++) {
+      if (matching[i]) {
+        result.add(items.get(i));
+      }
+    }
+
+    return result;
+  }
+
+  private List<Item> filterArray(final QueryContext ctx, final Tuple tuple, final AbstractJsonDBArray<?> jsonDBArray) {
+    final var rtx = jsonDBArray.getTrx();
+    final var resourceSession = rtx.getResourceSession();
+    final int revision = rtx.getRevisionNumber();
+    final var collection = jsonDBArray.getCollection();
+
+    final var trxs = new ArrayBlockingQueue<JsonNodeReadOnlyTrx>(THREADS);
+    final var futures = new ArrayList<Future<long[]>>();
+    final var aborted = new AtomicBoolean();
+
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        trxs.add(resourceSession.beginNodeReadOnlyTrx(revision));
+      }
+
+      // Only the node keys of the members are read here, their subtrees are read by the workers.
+      rtx.moveTo(jsonDBArray.getNodeKey());
+
+      if (rtx.moveToFirstChild()) {
+        var nodeKeys = new long[CHUNK_SIZE];
+        int size = 0;
+
+        do {
+          nodeKeys[size++] = rtx.getNodeKey();
+
+          if (size == CHUNK_SIZE) {
+            futures.add(submitChunk(ctx, tuple, collection, trxs, nodeKeys, size, aborted));
+            nodeKeys = new long[CHUNK_SIZE];
+            size = 0;
+          }
+        } while (rtx.moveToRightSibling());
+
+        if (size > 0) {
+          futures.add(submitChunk(ctx, tuple, collection, trxs, nodeKeys, size, aborted));
+        }
+      }
+
+      final var result = new ArrayList<Item>();
+
+      for (final Future<long[]> future : futures) {
+        for (final long nodeKey : get(future)) {
+          rtx.moveTo(nodeKey);
+          result.add(itemFactory.getSequence(rtx, collection));
+        }
+      }
+
+      return result;
+    } finally {
+      // All workers have returned their transactions afterwards.
+      abortAndAwait(futures, aborted);
+      trxs.forEach(JsonNodeReadOnlyTrx::close);
+    }
+  }
+
+  private Future<long[]> submitChunk(final QueryContext ctx, final Tuple tuple, final JsonDBCollection collection,
+      final BlockingQueue<JsonNodeReadOnlyTrx> trxs, final long[] nodeKeys, final int size,
+      final AtomicBoolean aborted) {
+    return POOL.submit(() -> {
+      final var trx = trxs.take();
+
+      try {
+        final var matchingNodeKeys = new long[size];
+        int count = 0;
+
+        for (int i = 0; i < size && !aborted.get(); i++) {
+          trx.moveTo(nodeKeys[i]);
+
+          if (matches(ctx, tuple, itemFactory.getSequence(trx, collection))) {
+            matchingNodeKeys[count++] = nodeKeys[i];
+          }
+        }
+
+        return Arrays.copyOf(matchingNodeKeys, count);
+      } finally {
+        trxs.add(trx);
+      }
+    });
+  }
+
+  private static <T> T get(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryException(e, ErrorCode.BIT_DYN_INT_ERROR, "Interrupted while filtering in parallel.");
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new QueryException(e.getCause(), ErrorCode.BIT_DYN_INT_ERROR, "Filtering in parallel failed: %s",
+                               e.getCause());
+    }
+  }
+
+  private static void abortAndAwait(final List<? extends Future<?>> futures, final AtomicBoolean aborted) {
+    aborted.set(true);
+    boolean interrupted = false;
+
+    for (final Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        } catch (final ExecutionException | CancellationException e) {
+          break;
+        }
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public Item evaluateToItem(QueryContext ctx, Tuple tuple) throws QueryException {
+    return ExprUtil.asItem(evaluate(ctx, tuple));
+  }
+
+  @Override
+  public boolean isUpdating() {
+    return false;
+  }
+
+  @Override
+  public boolean isVacuous() {
+    return false;
+  }
+}
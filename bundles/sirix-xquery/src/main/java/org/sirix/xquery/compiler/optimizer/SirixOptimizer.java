@@ -10,7 +10,9 @@ import org.brackit.xquery.compiler.optimizer.Stage;
 import org.brackit.xquery.compiler.optimizer.TopDownOptimizer;
 import org.brackit.xquery.module.StaticContext;
 import org.sirix.xquery.compiler.optimizer.walker.json.JsonCASStep;
+import org.sirix.xquery.compiler.optimizer.walker.json.JsonIndexAggregateStep;
 import org.sirix.xquery.compiler.optimizer.walker.json.JsonObjectKeyNameStep;
+import org.sirix.xquery.compiler.optimizer.walker.json.JsonParallelFilterStep;
 import org.sirix.xquery.compiler.optimizer.walker.json.JsonPathStep;
 import org.sirix.xquery.json.JsonDBStore;
 import org.sirix.xquery.node.XmlDBStore;
@@ -38,6 +40,12 @@ public final class SirixOptimizer extends TopDownOptimizer {
       ast = new JsonCASStep(jsonItemStore).walk(ast);
       ast = new JsonPathStep(jsonItemStore).walk(ast);
       ast = new JsonObjectKeyNameStep(jsonItemStore).walk(ast);
+      ast = new JsonIndexAggregateStep().walk(ast);
+
+      // Filters, which have not been rewritten to index scans, are evaluated in parallel.
+      if (JsonParallelFilterStep.PARALLEL) {
+        ast = new JsonParallelFilterStep().walk(ast);
+      }
 
       return ast;
     }
@@ -16,6 +16,7 @@ import org.sirix.api.json.JsonResourceSession;
 import org.sirix.index.IndexDef;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.NodeKind;
+import org.sirix.xquery.QueryPlanCache;
 import org.sirix.xquery.compiler.XQExt;
 import org.sirix.xquery.json.JsonDBStore;
 
@@ -70,6 +71,9 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
          final var pathSummary = revisionData.revision() == -1
              ? resMgr.openPathSummary()
              : resMgr.openPathSummary(revisionData.revision())) {
+      // The rewritten query depends on the index definitions and statistics of the resource.
+      QueryPlanCache.referenceResource(resMgr.getResourceConfig().getResource());
+
       if (rtx.getDescendantCount() < MIN_NODE_NUMBER) {
         return astNode;
       }
@@ -85,6 +89,9 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
                                                            ? NodeKind.ARRAY
                                                            : NodeKind.OBJECT_KEY);
 
+      // all path node keys with the right most field, regardless of the rest of the path
+      final var pathNodeKeysWithName = List.copyOf(pathNodeKeys);
+
       var pathNodeKeysToRemove = pathNodeKeys.stream()
                                              .filter(pathNodeKey -> Paths.isPathNodeNotAQueryResult(
                                                  pathSegmentNamesToArrayIndexes,
@@ -104,6 +111,7 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
       }
 
       final var foundIndexDefsToPaths = new HashMap<IndexDef, List<Path<QNm>>>();
+      final var foundIndexDefsToPathNodeKeys = new HashMap<IndexDef, List<Integer>>();
       final var foundIndexDefsToPredicateLevels = new HashMap<IndexDef, Integer>();
 
       final var predicateSegmentNames = toPredicateSegmentNames(predicateSegmentNamesToArrayIndexes);
@@ -120,15 +128,34 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
                                                       pathSummary,
                                                       pathNodeKeys,
                                                       foundIndexDefsToPaths,
+                                                      foundIndexDefsToPathNodeKeys,
                                                       foundIndexDefsToPredicateLevels);
 
       if (!notFound) {
-        return replaceFoundAST(astNode,
-                               revisionData,
-                               foundIndexDefsToPaths,
-                               foundIndexDefsToPredicateLevels,
-                               pathSegmentNamesToArrayIndexes,
-                               predicateLeafNode);
+        final double indexEntries =
+            estimateIndexEntries(rtx, pathSummary, foundIndexDefsToPathNodeKeys, pathNodeKeysWithName);
+
+        if (IndexCostModel.COST_BASED
+            && IndexCostModel.indexCost(foundIndexDefsToPaths.size(), indexEntries) >= IndexCostModel.scanCost(
+            pathSummary,
+            pathNodeKeys,
+            predicateNode != null)) {
+          return null;
+        }
+
+        final var indexExpr = replaceFoundAST(astNode,
+                                              revisionData,
+                                              foundIndexDefsToPaths,
+                                              foundIndexDefsToPredicateLevels,
+                                              pathSegmentNamesToArrayIndexes,
+                                              predicateLeafNode);
+
+        if (indexExpr != null) {
+          indexExpr.setProperty("estimatedEntries", indexEntries);
+          indexExpr.setProperty("estimatedFields", IndexCostModel.averageFieldCount(pathSummary, pathNodeKeys));
+        }
+
+        return indexExpr;
       }
     }
 
@@ -231,7 +258,8 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
 
   private boolean findIndexDefsForPathNodeKeys(AST predicateNode, Type type, Deque<String> predicateSegmentNames,
       RevisionData revisionData, JsonResourceSession resMgr, PathSummaryReader pathSummary, List<Integer> pathNodeKeys,
-      Map<IndexDef, List<Path<QNm>>> foundIndexDefsToPaths, Map<IndexDef, Integer> foundIndexDefsToPredicateLevels) {
+      Map<IndexDef, List<Path<QNm>>> foundIndexDefsToPaths, Map<IndexDef, List<Integer>> foundIndexDefsToPathNodeKeys,
+      Map<IndexDef, Integer> foundIndexDefsToPredicateLevels) {
     boolean notFound = false;
 
     for (final int pathNodeKey : pathNodeKeys) {
@@ -256,6 +284,7 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
       }
 
       foundIndexDefsToPaths.computeIfAbsent(indexDef.get(), (unused) -> new ArrayList<>()).add(pathToFoundNode);
+      foundIndexDefsToPathNodeKeys.computeIfAbsent(indexDef.get(), (unused) -> new ArrayList<>()).add(pathNodeKey);
     }
 
     return notFound;
@@ -288,6 +317,23 @@ abstract class AbstractJsonPathWalker extends ScopeWalker {
     return newChildNode.getType() == XQExt.IndexExpr;
   }
 
+  /**
+   * Estimate the number of entries (node references) the index scans return.
+   *
+   * @param rtx                     the read-only transaction on the queried revision
+   * @param pathSummary             the path summary of the queried revision
+   * @param indexDefsToPathNodeKeys the found index definitions and the path node keys they are used for
+   * @param pathNodeKeysWithName    the path node keys of all paths, whose right most field is queried
+   * @return the estimated number of entries
+   */
+  double estimateIndexEntries(JsonNodeReadOnlyTrx rtx, PathSummaryReader pathSummary,
+      Map<IndexDef, List<Integer>> indexDefsToPathNodeKeys, List<Integer> pathNodeKeysWithName) {
+    return indexDefsToPathNodeKeys.values()
+                                  .stream()
+                                  .mapToLong(pathNodeKeys -> IndexCostModel.pathCardinality(pathSummary, pathNodeKeys))
+                                  .sum();
+  }
+
   abstract int getPredicateLevel(Path<QNm> pathToFoundNode, Deque<String> predicateSegmentNames);
 
   abstract AST replaceFoundAST(AST astNode, RevisionData revisionData, Map<IndexDef, List<Path<QNm>>> foundIndexDefs,
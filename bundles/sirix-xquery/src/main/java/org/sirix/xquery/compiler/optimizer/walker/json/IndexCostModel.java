@@ -0,0 +1,153 @@
+package org.sirix.xquery.compiler.optimizer.walker.json;
+
+import org.brackit.xquery.util.Cfg;
+import org.sirix.index.path.summary.PathSummaryReader;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * A simple cost model to decide between evaluating a path expression by navigating the stored tree
+ * (a scan) and rewriting it to an index scan, and between a single index and the intersection of
+ * two indexes for conjunctive predicates. Costs are measured in node visits during a scan.
+ *
+ * <p>The number of nodes a scan visits is taken from the path summary, which counts the nodes of
+ * each path (maintained during each commit). The number of entries an index scan returns is
+ * estimated by the walkers, based on the path summary or on CAS index statistics.
+ */
+final class IndexCostModel {
+
+  /**
+   * If {@code false}, an index is used whenever one is applicable.
+   */
+  static final boolean COST_BASED = Cfg.asBool("org.sirix.xquery.optimize.costbased", true);
+
+  /**
+   * Cost of visiting a node during a scan.
+   */
+  static final double SCAN_NODE_COST = 1.0;
+
+  /**
+   * Additional cost of evaluating a predicate on a node during a scan or on an index result.
+   */
+  static final double PREDICATE_COST = 2.0;
+
+  /**
+   * Cost of fetching a node referenced by an index entry and navigating to the result node, which
+   * means random instead of sequential page accesses.
+   */
+  static final double INDEX_ENTRY_COST = 4.0;
+
+  /**
+   * Fixed cost of opening an index (searching the start entry).
+   */
+  static final double INDEX_LOOKUP_COST = 64.0;
+
+  /**
+   * Cost of probing a node key of an index result in a hash set during an intersection.
+   */
+  static final double INTERSECTION_PROBE_COST = 0.25;
+
+  private IndexCostModel() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Get the number of nodes of the given paths.
+   *
+   * @param pathSummary  the path summary
+   * @param pathNodeKeys the path node keys
+   * @return the number of nodes
+   */
+  static long pathCardinality(final PathSummaryReader pathSummary, final Collection<Integer> pathNodeKeys) {
+    long cardinality = 0;
+    for (final int pathNodeKey : pathNodeKeys) {
+      final var pathNode = pathSummary.getPathNodeForPathNodeKey(pathNodeKey);
+      if (pathNode != null) {
+        cardinality += pathNode.getReferences();
+      }
+    }
+    return cardinality;
+  }
+
+  /**
+   * Estimate the number of fields of the objects, which contain the given paths, that is the average
+   * number of child paths of their parent paths.
+   *
+   * @param pathSummary  the path summary
+   * @param pathNodeKeys the path node keys
+   * @return the estimated number of fields
+   */
+  static double averageFieldCount(final PathSummaryReader pathSummary, final Collection<Integer> pathNodeKeys) {
+    long fields = 0;
+    int paths = 0;
+    for (final int pathNodeKey : pathNodeKeys) {
+      final var pathNode = pathSummary.getPathNodeForPathNodeKey(pathNodeKey);
+      if (pathNode != null && pathSummary.moveTo(pathNode.getParentKey())) {
+        fields += pathSummary.getChildCount();
+        paths++;
+      }
+    }
+    return paths == 0 ? 1 : (double) fields / paths;
+  }
+
+  /**
+   * Estimate the cost of evaluating a path expression, which ends in the given paths, by navigating
+   * the tree. All nodes on the paths from the root to the given paths are visited.
+   *
+   * @param pathSummary   the path summary
+   * @param pathNodeKeys  the path node keys of the last step
+   * @param withPredicate {@code true}, if a predicate is evaluated on each node of the last step
+   * @return the estimated cost
+   */
+  static double scanCost(final PathSummaryReader pathSummary, final Collection<Integer> pathNodeKeys,
+      final boolean withPredicate) {
+    final var visitedPathNodeKeys = new HashSet<Long>();
+    long visitedNodes = 0;
+
+    for (final int pathNodeKey : pathNodeKeys) {
+      var pathNode = pathSummary.getPathNodeForPathNodeKey(pathNodeKey);
+
+      while (pathNode != null && pathNode.getNodeKey() != 0 && visitedPathNodeKeys.add(pathNode.getNodeKey())) {
+        visitedNodes += pathNode.getReferences();
+        pathNode = pathSummary.getPathNodeForPathNodeKey(pathNode.getParentKey());
+      }
+    }
+
+    final double predicateCost = withPredicate ? PREDICATE_COST * pathCardinality(pathSummary, pathNodeKeys) : 0;
+
+    return SCAN_NODE_COST * visitedNodes + predicateCost;
+  }
+
+  /**
+   * Estimate the cost of an index scan.
+   *
+   * @param numberOfIndexes the number of index definitions scanned
+   * @param entries         the estimated number of index entries (node references) returned
+   * @return the estimated cost
+   */
+  static double indexCost(final int numberOfIndexes, final double entries) {
+    return INDEX_LOOKUP_COST * numberOfIndexes + INDEX_ENTRY_COST * entries;
+  }
+
+  /**
+   * Determines if intersecting the results of two index scans is cheaper than using the more
+   * selective index and evaluating the other predicate on its results. Evaluating the predicate
+   * means searching the field in each result object, thus the intersection pays off for wide
+   * objects and indexes of similar selectivity.
+   *
+   * @param firstEntries  the estimated number of entries of the first index scan
+   * @param secondEntries the estimated number of entries of the second index scan
+   * @param fields        the estimated number of fields of the objects the predicates are evaluated on
+   * @return {@code true}, if the intersection is cheaper
+   */
+  static boolean isIntersectionCheaper(final double firstEntries, final double secondEntries, final double fields) {
+    final double intersectionCost = indexCost(2, firstEntries + secondEntries)
+        + INTERSECTION_PROBE_COST * (firstEntries + secondEntries);
+    final double minEntries = Math.min(firstEntries, secondEntries);
+    final double residualCost =
+        indexCost(1, minEntries) + (PREDICATE_COST + SCAN_NODE_COST * fields / 2) * minEntries;
+
+    return intersectionCost < residualCost;
+  }
+}
@@ -12,6 +12,8 @@ import org.sirix.access.trx.node.IndexController;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.index.IndexDef;
+import org.sirix.index.cas.CASIndexStatistics;
+import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.xquery.compiler.XQExt;
 import org.sirix.xquery.json.JsonDBStore;
 
@@ -19,7 +21,7 @@ import java.util.*;
 
 public final class JsonCASStep extends AbstractJsonPathWalker {
 
-  private final ComparatorData comparatorData;
+  private ComparatorData comparatorData;
 
   private Deque<QueryPathSegment> pathSegmentNamesToArrayIndexes;
 
@@ -196,7 +198,22 @@ public final class JsonCASStep extends AbstractJsonPathWalker {
 
     final var predicateChildAstNode = predicateAstNode.getChild(0);
 
+    // bounds of a previous filter expression must not leak into this one
+    comparatorData = new ComparatorData();
+
     if (predicateChildAstNode.getType() == XQ.AndExpr) {
+      final var firstConjunct = predicateChildAstNode.getChild(0);
+      final var secondConjunct = predicateChildAstNode.getChild(1);
+
+      if (firstConjunct.getChildCount() != 3 || secondConjunct.getChildCount() != 3) {
+        return astNode;
+      }
+
+      // comparisons of different paths are no range query
+      if (!isSamePath(firstConjunct.getChild(1), secondConjunct.getChild(1))) {
+        return processConjunction(astNode, firstConjunct, secondConjunct);
+      }
+
       processPredicateChildAstNode(astNode, leftChild, predicateChildAstNode.getChild(0), true, false);
 
       final var comparator = comparatorData.getComparator();
@@ -221,6 +238,146 @@ public final class JsonCASStep extends AbstractJsonPathWalker {
     return processPredicateChildAstNode(astNode, leftChild, predicateChildAstNode, false, true);
   }
 
+  private static boolean isSamePath(AST first, AST second) {
+    if (first.getType() != second.getType() || !Objects.equals(first.getStringValue(), second.getStringValue())
+        || first.getChildCount() != second.getChildCount()) {
+      return false;
+    }
+
+    for (int i = 0, length = first.getChildCount(); i < length; i++) {
+      if (!isSamePath(first.getChild(i), second.getChild(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Rewrite a filter expression, whose predicate is a conjunction of comparisons of different paths.
+   * Either both conjuncts are evaluated with an index and the results are intersected, or the more
+   * selective conjunct is evaluated with an index and the other conjunct is evaluated on its result.
+   */
+  private AST processConjunction(AST astNode, AST firstConjunct, AST secondConjunct) {
+    final var firstIndexExpr = rewriteConjunct(astNode, firstConjunct);
+    final var secondIndexExpr = rewriteConjunct(astNode, secondConjunct);
+
+    if (firstIndexExpr == null && secondIndexExpr == null) {
+      return astNode;
+    }
+
+    final AST replacement;
+
+    if (firstIndexExpr != null && secondIndexExpr != null && (!IndexCostModel.COST_BASED
+        || IndexCostModel.isIntersectionCheaper(estimatedEntries(firstIndexExpr),
+                                                estimatedEntries(secondIndexExpr),
+                                                (double) firstIndexExpr.getProperty("estimatedFields")))) {
+      replacement = new AST(XQExt.IndexIntersectExpr, XQExt.toName(XQExt.IndexIntersectExpr));
+      replacement.addChild(firstIndexExpr);
+      replacement.addChild(secondIndexExpr);
+    } else {
+      final boolean useFirst = secondIndexExpr == null || (firstIndexExpr != null
+          && estimatedEntries(firstIndexExpr) <= estimatedEntries(secondIndexExpr));
+      final var predicate = new AST(XQ.Predicate);
+      predicate.addChild((useFirst ? secondConjunct : firstConjunct).copyTree());
+      replacement = new AST(XQ.FilterExpr);
+      replacement.addChild(useFirst ? firstIndexExpr : secondIndexExpr);
+      replacement.addChild(predicate);
+    }
+
+    astNode.getParent().replaceChild(astNode.getChildIndex(), replacement);
+
+    return replacement;
+  }
+
+  private static double estimatedEntries(AST indexExpr) {
+    return (double) indexExpr.getProperty("estimatedEntries");
+  }
+
+  /**
+   * Try to rewrite a copy of the filter expression, which only has the given conjunct as its
+   * predicate, to an index expression.
+   *
+   * @return the index expression or {@code null}, if no index is applicable
+   */
+  private AST rewriteConjunct(AST filterExpr, AST conjunct) {
+    final var filterExprCopy = filterExpr.copyTree();
+    final var predicate = filterExprCopy.getChild(1);
+    predicate.replaceChild(0, conjunct.copyTree());
+
+    final var holder = new AST(XQ.SequenceExpr);
+    holder.addChild(filterExprCopy);
+
+    comparatorData = new ComparatorData();
+    processPredicateChildAstNode(filterExprCopy, filterExprCopy.getChild(0), predicate.getChild(0), false, true);
+
+    final var rewrittenAstNode = holder.getChild(0);
+    return rewrittenAstNode.getType() == XQExt.IndexExpr ? rewrittenAstNode : null;
+  }
+
+  @Override
+  double estimateIndexEntries(JsonNodeReadOnlyTrx rtx, PathSummaryReader pathSummary,
+      Map<IndexDef, List<Integer>> indexDefsToPathNodeKeys, List<Integer> pathNodeKeysWithName) {
+    Atomic lower = null;
+    boolean lowerInclusive = false;
+    Atomic upper = null;
+    boolean upperInclusive = false;
+
+    final var comparator = comparatorData.getComparator();
+
+    if (comparator == null) {
+      return super.estimateIndexEntries(rtx, pathSummary, indexDefsToPathNodeKeys, pathNodeKeysWithName);
+    }
+
+    switch (comparator) {
+      case "ValueCompEQ", "GeneralCompEQ" -> {
+        lower = comparatorData.getAtomic();
+        lowerInclusive = true;
+        upper = lower;
+        upperInclusive = true;
+      }
+      case "ValueCompGT", "GeneralCompGT" -> lower = comparatorData.getAtomic();
+      case "ValueCompGE", "GeneralCompGE" -> {
+        lower = comparatorData.getAtomic();
+        lowerInclusive = true;
+      }
+      case "ValueCompLT", "GeneralCompLT" -> upper = comparatorData.getAtomic();
+      case "ValueCompLE", "GeneralCompLE" -> {
+        upper = comparatorData.getAtomic();
+        upperInclusive = true;
+      }
+      default -> {
+        return super.estimateIndexEntries(rtx, pathSummary, indexDefsToPathNodeKeys, pathNodeKeysWithName);
+      }
+    }
+
+    final var upperBoundComparator = comparatorData.getUpperBoundComparator();
+
+    if (upperBoundComparator != null) {
+      switch (upperBoundComparator) {
+        case "ValueCompLT", "GeneralCompLT" -> upper = comparatorData.getUpperBoundAtomic();
+        case "ValueCompLE", "GeneralCompLE" -> {
+          upper = comparatorData.getUpperBoundAtomic();
+          upperInclusive = true;
+        }
+        default -> {
+        }
+      }
+    }
+
+    double entries = 0;
+
+    for (final var indexDefToPathNodeKeys : indexDefsToPathNodeKeys.entrySet()) {
+      final var statistics = CASIndexStatistics.get(rtx.getPageTrx(), indexDefToPathNodeKeys.getKey());
+
+      for (final int pathNodeKey : indexDefToPathNodeKeys.getValue()) {
+        entries += statistics.estimateEntries(pathNodeKey, lower, lowerInclusive, upper, upperInclusive);
+      }
+    }
+
+    return entries;
+  }
+
   private AST processPredicateChildAstNode(AST astNode, AST leftChild, AST predicateChildAstNode,
       boolean firstInAndComparison, boolean noAndComparison) {
     if (predicateChildAstNode.getChildCount() != 3) {
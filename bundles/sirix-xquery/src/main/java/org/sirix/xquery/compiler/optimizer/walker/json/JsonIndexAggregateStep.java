@@ -0,0 +1,44 @@
+package org.sirix.xquery.compiler.optimizer.walker.json;
+
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.walker.topdown.ScopeWalker;
+import org.sirix.xquery.compiler.XQExt;
+import org.sirix.xquery.compiler.expression.IndexAggregateExpr;
+
+import java.util.Set;
+
+/**
+ * Rewrites {@code fn:count}, {@code fn:exists} and {@code fn:empty} of an index scan to
+ * {@link IndexAggregateExpr}s, which are answered from the index entries without reading the
+ * referenced nodes.
+ */
+public final class JsonIndexAggregateStep extends ScopeWalker {
+
+  private static final String FN_NSURI = "http://www.w3.org/2005/xpath-functions";
+
+  private static final Set<String> FUNCTIONS = Set.of("count", "exists", "empty");
+
+  @Override
+  protected AST visit(AST astNode) {
+    if (astNode.getType() != XQ.FunctionCall || astNode.getChildCount() != 1
+        || astNode.getChild(0).getType() != XQExt.IndexExpr || !(astNode.getValue() instanceof QNm name)
+        || !FN_NSURI.equals(name.getNamespaceURI()) || !FUNCTIONS.contains(name.getLocalName())) {
+      return astNode;
+    }
+
+    // The function call is kept as the fallback of an already rewritten expression.
+    if (astNode.getParent().getType() == XQExt.IndexAggregateExpr) {
+      return astNode;
+    }
+
+    final var indexAggregateExpr = new AST(XQExt.IndexAggregateExpr, XQExt.toName(XQExt.IndexAggregateExpr));
+    indexAggregateExpr.setProperty("function", name.getLocalName());
+    indexAggregateExpr.addChild(astNode.copyTree());
+
+    astNode.getParent().replaceChild(astNode.getChildIndex(), indexAggregateExpr);
+
+    return indexAggregateExpr;
+  }
+}
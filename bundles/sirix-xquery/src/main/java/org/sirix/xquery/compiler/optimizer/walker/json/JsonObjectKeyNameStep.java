@@ -10,6 +10,7 @@ import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexType;
+import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.xquery.compiler.XQExt;
 import org.sirix.xquery.json.JsonDBStore;
 
@@ -44,6 +45,13 @@ public class JsonObjectKeyNameStep extends AbstractJsonPathWalker {
     return replaceNode;
   }
 
+  @Override
+  double estimateIndexEntries(JsonNodeReadOnlyTrx rtx, PathSummaryReader pathSummary,
+      Map<IndexDef, List<Integer>> indexDefsToPathNodeKeys, List<Integer> pathNodeKeysWithName) {
+    // The name index returns the nodes of all paths with the name, which are filtered afterwards.
+    return IndexCostModel.pathCardinality(pathSummary, pathNodeKeysWithName);
+  }
+
   @Override
   Optional<IndexDef> findIndex(Path<QNm> pathToFoundNode,
       IndexController<JsonNodeReadOnlyTrx, JsonNodeTrx> indexController, Type type) {
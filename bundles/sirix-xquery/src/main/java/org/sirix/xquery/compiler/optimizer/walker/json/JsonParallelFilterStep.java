@@ -0,0 +1,135 @@
+package org.sirix.xquery.compiler.optimizer.walker.json;
+
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.walker.topdown.ScopeWalker;
+import org.brackit.xquery.function.json.JSONFun;
+import org.brackit.xquery.util.Cfg;
+import org.sirix.xquery.compiler.XQExt;
+import org.sirix.xquery.compiler.expression.ParallelFilterExpr;
+import org.sirix.xquery.function.jn.io.OpenRevisions;
+
+/**
+ * Rewrites filter expressions over the members of arrays ({@code $array[][predicate]}) and over
+ * collections or revisions ({@code jn:collection(...)[predicate]}) to {@link ParallelFilterExpr}s,
+ * which evaluate the predicate in parallel for large inputs.
+ *
+ * <p>Only predicates are rewritten, which are safe to evaluate concurrently: comparisons of paths
+ * starting at the context item with literals, combined with {@code and} and {@code or}. Variable
+ * references and function calls might refer to items, which share a transaction with other items,
+ * and are not rewritten.
+ */
+public final class JsonParallelFilterStep extends ScopeWalker {
+
+  /**
+   * Rewrite filter expressions for parallel evaluation or not.
+   */
+  public static final boolean PARALLEL = Cfg.asBool("org.sirix.xquery.parallel", true);
+
+  private static final QNm COLLECTION = new QNm(JSONFun.JSON_NSURI, JSONFun.JSON_PREFIX, "collection");
+
+  @Override
+  protected AST visit(AST astNode) {
+    if (astNode.getType() != XQ.FilterExpr || astNode.getChildCount() != 2
+        || astNode.getChild(1).getType() != XQ.Predicate || astNode.getChild(1).getChildCount() != 1) {
+      return astNode;
+    }
+
+    final var source = astNode.getChild(0);
+    final var predicate = astNode.getChild(1).getChild(0);
+    final boolean isArrayValues = isArrayValues(source);
+
+    if (!(isArrayValues || isCollection(source)) || !isBooleanPredicate(predicate)
+        || !isSafeToEvaluateConcurrently(predicate)) {
+      return astNode;
+    }
+
+    final var contextItem = new ParallelFilterExpr.ContextItem();
+    final var parallelPredicate = predicate.copyTree();
+    bindContextItem(parallelPredicate, contextItem);
+
+    final var parallelFilterExpr = new AST(XQExt.ParallelFilterExpr, XQExt.toName(XQExt.ParallelFilterExpr));
+    parallelFilterExpr.setProperty("contextItem", contextItem);
+    parallelFilterExpr.addChild(source.copyTree());
+    parallelFilterExpr.addChild(parallelPredicate);
+
+    if (isArrayValues) {
+      parallelFilterExpr.addChild(source.getChild(0).copyTree());
+    }
+
+    astNode.getParent().replaceChild(astNode.getChildIndex(), parallelFilterExpr);
+
+    return parallelFilterExpr;
+  }
+
+  private static boolean isArrayValues(AST source) {
+    if (source.getType() != XQ.ArrayAccess || source.getChildCount() != 2) {
+      return false;
+    }
+
+    final var array = source.getChild(0);
+    final var index = source.getChild(1);
+
+    return index.getType() == XQ.SequenceExpr && index.getChildCount() == 0 && (array.getType() == XQ.DerefExpr
+        || array.getType() == XQ.ArrayAccess || array.getType() == XQ.FunctionCall
+        || array.getType() == XQ.VariableRef);
+  }
+
+  private static boolean isCollection(AST source) {
+    return source.getType() == XQ.FunctionCall && (COLLECTION.equals(source.getValue())
+        || OpenRevisions.OPEN_REVISIONS.equals(source.getValue()));
+  }
+
+  private static boolean isBooleanPredicate(AST predicate) {
+    return predicate.getType() == XQ.ComparisonExpr || predicate.getType() == XQ.AndExpr
+        || predicate.getType() == XQ.OrExpr;
+  }
+
+  private static boolean isSafeToEvaluateConcurrently(AST node) {
+    switch (node.getType()) {
+      case XQ.AndExpr, XQ.OrExpr -> {
+        for (int i = 0, length = node.getChildCount(); i < length; i++) {
+          if (!isBooleanPredicate(node.getChild(i)) || !isSafeToEvaluateConcurrently(node.getChild(i))) {
+            return false;
+          }
+        }
+        return true;
+      }
+      case XQ.ComparisonExpr -> {
+        // the first child is the comparison operator
+        return node.getChildCount() == 3 && isSafeToEvaluateConcurrently(node.getChild(1))
+            && isSafeToEvaluateConcurrently(node.getChild(2));
+      }
+      case XQ.DerefExpr, XQ.ArrayAccess -> {
+        return node.getChildCount() == 2 && isSafeToEvaluateConcurrently(node.getChild(0)) && isLiteral(node.getChild(1));
+      }
+      case XQ.ContextItemExpr -> {
+        return true;
+      }
+      default -> {
+        return isLiteral(node);
+      }
+    }
+  }
+
+  private static boolean isLiteral(AST node) {
+    return node.getChildCount() == 0 && node.getValue() instanceof Atomic;
+  }
+
+  private static void bindContextItem(AST node, ParallelFilterExpr.ContextItem contextItem) {
+    for (int i = 0, length = node.getChildCount(); i < length; i++) {
+      final var child = node.getChild(i);
+
+      if (child.getType() == XQ.ContextItemExpr) {
+        final var contextItemExpr =
+            new AST(XQExt.ParallelContextItemExpr, XQExt.toName(XQExt.ParallelContextItemExpr));
+        contextItemExpr.setProperty("contextItem", contextItem);
+        node.replaceChild(i, contextItemExpr);
+      } else {
+        bindContextItem(child, contextItem);
+      }
+    }
+  }
+}
@@ -28,7 +28,11 @@ import org.sirix.exception.SirixException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.service.xml.xpath.expr.UnionAxis;
 import org.sirix.xquery.compiler.XQExt;
+import org.sirix.xquery.compiler.expression.IndexAggregateExpr;
 import org.sirix.xquery.compiler.expression.IndexExpr;
+import org.sirix.xquery.compiler.expression.IndexIntersectExpr;
+import org.sirix.xquery.compiler.expression.ParallelContextItemExpr;
+import org.sirix.xquery.compiler.expression.ParallelFilterExpr;
 import org.sirix.xquery.node.XmlDBNode;
 import org.sirix.xquery.stream.node.SirixNodeStream;
 import org.sirix.xquery.stream.node.TemporalSirixNodeStream;
@@ -64,6 +68,14 @@ public final class SirixTranslator extends TopDownTranslator {
   protected Expr anyExpr(AST node) throws QueryException {
     if (node.getType() == XQExt.IndexExpr) {
       return indexExpr(node);
+    } else if (node.getType() == XQExt.IndexIntersectExpr) {
+      return indexIntersectExpr(node);
+    } else if (node.getType() == XQExt.IndexAggregateExpr) {
+      return indexAggregateExpr(node);
+    } else if (node.getType() == XQExt.ParallelFilterExpr) {
+      return parallelFilterExpr(node);
+    } else if (node.getType() == XQExt.ParallelContextItemExpr) {
+      return new ParallelContextItemExpr((ParallelFilterExpr.ContextItem) node.getProperty("contextItem"));
     } else if (node.getType() == XQ.DerefDescendantExpr) {
       return derefDescendantExpr(node);
     }
@@ -80,6 +92,27 @@ public final class SirixTranslator extends TopDownTranslator {
     return new IndexExpr(node.getProperties());
   }
 
+  private Expr indexAggregateExpr(AST node) throws QueryException {
+    final AST functionCall = node.getChild(0);
+    return new IndexAggregateExpr((String) node.getProperty("function"),
+                                  (IndexExpr) indexExpr(functionCall.getChild(0)),
+                                  expr(functionCall, true));
+  }
+
+  private Expr indexIntersectExpr(AST node) throws QueryException {
+    return new IndexIntersectExpr(expr(node.getChild(0), true), expr(node.getChild(1), true));
+  }
+
+  private Expr parallelFilterExpr(AST node) throws QueryException {
+    final Expr source = expr(node.getChild(0), true);
+    final Expr predicate = expr(node.getChild(1), true);
+    final Expr array = node.getChildCount() == 3 ? expr(node.getChild(2), true) : null;
+    return new ParallelFilterExpr(source,
+                                  array,
+                                  predicate,
+                                  (ParallelFilterExpr.ContextItem) node.getProperty("contextItem"));
+  }
+
   @Override
   protected Accessor axis(final AST node) {
     if (!OPTIMIZE) {
@@ -16,9 +16,12 @@ import org.sirix.xquery.function.jn.index.find.FindCASIndex;
 import org.sirix.xquery.function.jn.index.find.FindNameIndex;
 import org.sirix.xquery.function.jn.index.find.FindPathIndex;
 import org.sirix.xquery.function.jn.index.scan.ScanCASIndex;
+import org.sirix.xquery.function.jn.index.scan.ScanCASIndexKeys;
 import org.sirix.xquery.function.jn.index.scan.ScanCASIndexRange;
 import org.sirix.xquery.function.jn.index.scan.ScanNameIndex;
 import org.sirix.xquery.function.jn.index.scan.ScanPathIndex;
+import org.sirix.xquery.function.jn.index.scan.ScanTemporalCASIndex;
+import org.sirix.xquery.function.jn.index.scan.ScanTemporalPathIndex;
 import org.sirix.xquery.function.jn.io.*;
 import org.sirix.xquery.function.jn.temporal.*;
 import org.sirix.xquery.function.jn.trx.SelectJsonItem;
@@ -229,7 +232,10 @@ public final class JNFun {
     Functions.predefine(new ScanPathIndex());
     Functions.predefine(new ScanCASIndex());
     Functions.predefine(new ScanCASIndexRange());
+    Functions.predefine(new ScanCASIndexKeys());
     Functions.predefine(new ScanNameIndex());
+    Functions.predefine(new ScanTemporalPathIndex());
+    Functions.predefine(new ScanTemporalCASIndex());
 
     // diff
     Functions.predefine(new Diff(DIFF,
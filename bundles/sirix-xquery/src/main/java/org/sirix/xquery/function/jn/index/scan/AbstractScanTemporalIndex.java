@@ -0,0 +1,112 @@
+package org.sirix.xquery.function.jn.index.scan;
+
+import org.brackit.xquery.atomic.DTD;
+import org.brackit.xquery.atomic.DateTime;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.function.AbstractFunction;
+import org.brackit.xquery.sequence.ItemSequence;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.Signature;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.index.Filter;
+import org.sirix.index.IndexDef;
+import org.sirix.index.TemporalIndexReader;
+import org.sirix.xquery.json.JsonDBItem;
+import org.sirix.xquery.json.JsonItemFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base class of the functions, which scan an index in all revisions between two points in time.
+ * Each matching node is returned once, in the first revision in which it matches.
+ */
+public abstract class AbstractScanTemporalIndex extends AbstractFunction {
+
+  private static final JsonItemFactory itemFactory = new JsonItemFactory();
+
+  public AbstractScanTemporalIndex(QNm name, Signature signature, boolean isBuiltIn) {
+    super(name, signature, isBuiltIn);
+  }
+
+  /**
+   * Get the matching nodes.
+   *
+   * @param doc          the document
+   * @param indexDef     the index definition
+   * @param start        the start of the time range
+   * @param end          the end of the time range
+   * @param createFilter creates the filter of the index entries of a revision, given a read-only
+   *                     transaction on the revision (for resolving paths), or returns {@code null} if all
+   *                     entries match
+   * @return the matching nodes
+   */
+  protected Sequence getSequence(final JsonDBItem doc, final IndexDef indexDef, final DateTime start,
+      final DateTime end, final Function<JsonNodeReadOnlyTrx, Filter> createFilter) {
+    final var resourceSession = doc.getTrx().getResourceSession();
+    final var resourceName = resourceSession.getResourceConfig().getResource().getFileName().toString();
+    final var collection = doc.getCollection();
+
+    final JsonDBItem startDoc = collection.getDocument(resourceName, toInstant(start));
+    final JsonDBItem endDoc = collection.getDocument(resourceName, toInstant(end));
+
+    if (endDoc == null) {
+      return null;
+    }
+
+    final int fromRevision = startDoc == null ? 1 : startDoc.getTrx().getRevisionNumber();
+    final int toRevision = endDoc.getTrx().getRevisionNumber();
+
+    if (fromRevision > toRevision) {
+      return null;
+    }
+
+    final var entries = TemporalIndexReader.openIndex(resourceSession, indexDef, fromRevision, toRevision, createFilter);
+
+    // Entries are returned once they aren't valid anymore, thus the first revision of a node is only
+    // known once all entries have been read.
+    final var nodeKeyToFirstRevision = new HashMap<Long, Integer>();
+
+    while (entries.hasNext()) {
+      final var entry = entries.next();
+
+      for (final long nodeKey : entry.nodeReferences().getNodeKeys()) {
+        nodeKeyToFirstRevision.merge(nodeKey, entry.fromRevision(), Math::min);
+      }
+    }
+
+    if (nodeKeyToFirstRevision.isEmpty()) {
+      return null;
+    }
+
+    final var revisionToDoc = new HashMap<Integer, JsonDBItem>();
+    final List<Item> items = new ArrayList<>(nodeKeyToFirstRevision.size());
+
+    nodeKeyToFirstRevision.entrySet()
+                          .stream()
+                          .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                          .forEach(nodeKeyAndRevision -> {
+                            final var rtx = revisionToDoc.computeIfAbsent(nodeKeyAndRevision.getValue(),
+                                                                          revision -> collection.getDocument(
+                                                                              resourceName,
+                                                                              revision)).getTrx();
+                            rtx.moveTo(nodeKeyAndRevision.getKey());
+                            items.add(itemFactory.getSequence(rtx, collection));
+                          });
+
+    return new ItemSequence(items.toArray(new Item[0]));
+  }
+
+  private static Instant toInstant(final DateTime dateTime) {
+    final var millis = dateTime.subtract(new DateTime("1970-01-01T00:00:00-00:00"))
+                               .divide(new DTD(false, (byte) 0, (byte) 0, (byte) 0, 1000))
+                               .longValue();
+
+    return Instant.ofEpochMilli(millis);
+  }
+}
@@ -0,0 +1,106 @@
+package org.sirix.xquery.function.jn.index.scan;
+
+import com.google.common.collect.ImmutableSet;
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.expr.Cast;
+import org.brackit.xquery.function.AbstractFunction;
+import org.brackit.xquery.function.json.JSONFun;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.sequence.ItemSequence;
+import org.brackit.xquery.util.annotation.FunctionAnnotation;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.Signature;
+import org.brackit.xquery.xdm.type.AtomicType;
+import org.brackit.xquery.xdm.type.Cardinality;
+import org.brackit.xquery.xdm.type.SequenceType;
+import org.sirix.access.trx.node.json.JsonIndexController;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.index.AtomicUtil;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.cas.CASFilter;
+import org.sirix.index.path.json.JsonPCRCollector;
+import org.sirix.xquery.function.FunUtil;
+import org.sirix.xquery.function.sdb.SDBFun;
+import org.sirix.xquery.json.JsonDBItem;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Scan the CAS-index for matching keys. In contrast to {@link ScanCASIndex} only the distinct
+ * indexed values are returned and the nodes, which reference them, are not read.
+ */
+@FunctionAnnotation(description = "Scans the given CAS index for matching keys (the distinct indexed values).",
+    parameters = { "$doc", "$idx-no", "$key", "$search-mode", "$paths" })
+public final class ScanCASIndexKeys extends AbstractFunction {
+
+  public final static QNm DEFAULT_NAME = new QNm(JSONFun.JSON_NSURI, JSONFun.JSON_PREFIX, "scan-cas-index-keys");
+
+  public ScanCASIndexKeys() {
+    super(DEFAULT_NAME,
+          new Signature(new SequenceType(AtomicType.ANA, Cardinality.ZeroOrMany),
+                        SequenceType.JSON_ITEM,
+                        new SequenceType(AtomicType.INR, Cardinality.One),
+                        new SequenceType(AtomicType.ANA, Cardinality.ZeroOrOne),
+                        new SequenceType(AtomicType.INR, Cardinality.One),
+                        new SequenceType(AtomicType.STR, Cardinality.ZeroOrOne)),
+          true);
+  }
+
+  @Override
+  public Sequence execute(final StaticContext sctx, final QueryContext ctx, final Sequence[] args) {
+    final JsonDBItem doc = (JsonDBItem) args[0];
+    final JsonNodeReadOnlyTrx rtx = doc.getTrx();
+    final JsonIndexController controller = rtx.getResourceSession().getRtxIndexController(rtx.getRevisionNumber());
+
+    final int idx = FunUtil.getInt(args, 1, "$idx-no", -1, null, true);
+
+    final IndexDef indexDef = controller.getIndexes().getIndexDef(idx, IndexType.CAS);
+
+    if (indexDef == null) {
+      throw new QueryException(SDBFun.ERR_INDEX_NOT_FOUND,
+                               "Index no %s for collection %s and document %s not found.",
+                               idx,
+                               doc.getCollection().getName(),
+                               rtx.getResourceSession().getResourceConfig().getResource().getFileName().toString());
+    }
+
+    final Atomic key = args[2] == null ? null : Cast.cast(sctx, (Atomic) args[2], indexDef.getContentType(), true);
+    final int searchMode = FunUtil.getInt(args, 3, "$search-mode", 0, new int[] { -2, -1, 0, 1, 2 }, true);
+
+    final SearchMode mode = switch (searchMode) {
+      case -2 -> SearchMode.LOWER;
+      case -1 -> SearchMode.LOWER_OR_EQUAL;
+      case 1 -> SearchMode.GREATER;
+      case 2 -> SearchMode.GREATER_OR_EQUAL;
+      default -> SearchMode.EQUAL;
+    };
+
+    final String paths = FunUtil.getString(args, 4, "$paths", null, null, false);
+    final CASFilter filter = (paths != null)
+        ? controller.createCASFilter(Set.of(paths.split(";")), key, mode, new JsonPCRCollector(rtx))
+        : controller.createCASFilter(ImmutableSet.of(), key, mode, new JsonPCRCollector(rtx));
+
+    // The keys are sorted per path, the same value might be indexed for several paths.
+    final var keys = new LinkedHashSet<Atomic>();
+    controller.openCASIndexKeys(rtx.getPageTrx(), indexDef, filter)
+              .forEachRemaining(casValue -> {
+                final Atomic value = casValue.getAtomicValue();
+                if (value != null) {
+                  keys.add(AtomicUtil.toType(value, casValue.getType()));
+                }
+              });
+
+    if (keys.isEmpty()) {
+      return null;
+    }
+
+    return new ItemSequence(keys.toArray(new Item[0]));
+  }
+}
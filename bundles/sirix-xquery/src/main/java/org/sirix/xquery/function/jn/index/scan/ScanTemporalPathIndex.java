@@ -0,0 +1,72 @@
+package org.sirix.xquery.function.jn.index.scan;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.DateTime;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.function.json.JSONFun;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.util.annotation.FunctionAnnotation;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.Signature;
+import org.brackit.xquery.xdm.type.AnyJsonItemType;
+import org.brackit.xquery.xdm.type.AtomicType;
+import org.brackit.xquery.xdm.type.Cardinality;
+import org.brackit.xquery.xdm.type.SequenceType;
+import org.sirix.access.trx.node.json.JsonIndexController;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexType;
+import org.sirix.xquery.function.FunUtil;
+import org.sirix.xquery.function.sdb.SDBFun;
+import org.sirix.xquery.json.JsonDBItem;
+
+import java.util.Set;
+
+/**
+ * Scan the path index for nodes, which existed at any time between two points in time.
+ */
+@FunctionAnnotation(description = "Scans the given path index for nodes, which matched in any revision between the start and end point in time.",
+    parameters = { "$doc", "$idx-no", "$paths", "$start", "$end" })
+public final class ScanTemporalPathIndex extends AbstractScanTemporalIndex {
+
+  public final static QNm DEFAULT_NAME = new QNm(JSONFun.JSON_NSURI, JSONFun.JSON_PREFIX, "scan-temporal-path-index");
+
+  public ScanTemporalPathIndex() {
+    super(DEFAULT_NAME,
+          new Signature(new SequenceType(AnyJsonItemType.ANY_JSON_ITEM, Cardinality.ZeroOrMany),
+                        SequenceType.JSON_ITEM,
+                        new SequenceType(AtomicType.INR, Cardinality.One),
+                        new SequenceType(AtomicType.STR, Cardinality.ZeroOrOne),
+                        new SequenceType(AtomicType.DATI, Cardinality.One),
+                        new SequenceType(AtomicType.DATI, Cardinality.One)),
+          true);
+  }
+
+  @Override
+  public Sequence execute(final StaticContext sctx, final QueryContext ctx, final Sequence[] args) {
+    final JsonDBItem doc = (JsonDBItem) args[0];
+    final JsonNodeReadOnlyTrx rtx = doc.getTrx();
+    final JsonIndexController controller = rtx.getResourceSession().getRtxIndexController(rtx.getRevisionNumber());
+
+    final int idx = FunUtil.getInt(args, 1, "$idx-no", -1, null, true);
+    final IndexDef indexDef = controller.getIndexes().getIndexDef(idx, IndexType.PATH);
+
+    if (indexDef == null) {
+      throw new QueryException(SDBFun.ERR_INDEX_NOT_FOUND,
+                               "Index no %s for collection %s and document %s not found.",
+                               idx,
+                               doc.getCollection().getName(),
+                               rtx.getResourceSession().getResourceConfig().getResource().getFileName().toString());
+    }
+
+    final String paths = FunUtil.getString(args, 2, "$paths", null, null, false);
+
+    return getSequence(doc, indexDef, (DateTime) args[3], (DateTime) args[4], revisionRtx -> {
+      final JsonIndexController revisionController =
+          revisionRtx.getResourceSession().getRtxIndexController(revisionRtx.getRevisionNumber());
+
+      return paths != null ? revisionController.createPathFilter(Set.of(paths.split(";")), revisionRtx) : null;
+    });
+  }
+}
@@ -0,0 +1,84 @@
+package org.sirix.xquery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public final class JsonIndexAggregateTest extends AbstractJsonTest {
+
+  private static final String STORE_QUERY = """
+        jn:store('mycol.jn','mydoc.jn','[{"key":1},{"key":2},{"key":2},{"key":3},{"value":4}]')
+      """;
+
+  private static final String INDEX_QUERY = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $stats := jn:create-cas-index($doc, 'xs:integer', '/[]/key')
+        return {"revision": sdb:commit($doc)}
+      """;
+
+  @Before
+  public void setUp() {
+    super.setUp();
+  }
+
+  @After
+  public void tearDown() {
+    super.tearDown();
+  }
+
+  @Test
+  public void testCountFromCASIndex() throws IOException {
+    final String query = "count(jn:doc('mycol.jn','mydoc.jn')[][$$.key gt 1])";
+    test(STORE_QUERY, INDEX_QUERY, query, "3");
+  }
+
+  @Test
+  public void testExistsFromCASIndex() throws IOException {
+    final String query = "exists(jn:doc('mycol.jn','mydoc.jn')[][$$.key gt 3])";
+    test(STORE_QUERY, INDEX_QUERY, query, "false");
+  }
+
+  @Test
+  public void testScanCASIndexKeys() throws IOException {
+    final String query = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $casIndexNumber := jn:find-cas-index($doc, 'xs:integer', '/[]/key')
+        return jn:scan-cas-index-keys($doc, $casIndexNumber, 1, 2, ())
+        """.strip();
+    test(STORE_QUERY, INDEX_QUERY, query, "1 2 3");
+  }
+
+  @Test
+  public void testScanCASIndexKeysOfPath() throws IOException {
+    final String query = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $idx := jn:find-cas-index($doc, 'xs:integer', '/[]/key')
+        return {
+          "eq": [jn:scan-cas-index-keys($doc, $idx, 2, 0, '/[]/key')],
+          "gt": [jn:scan-cas-index-keys($doc, $idx, 2, 1, '/[]/key')],
+          "ge": [jn:scan-cas-index-keys($doc, $idx, 2, 2, '/[]/key')],
+          "lt": [jn:scan-cas-index-keys($doc, $idx, 3, -2, '/[]/key')],
+          "none": [jn:scan-cas-index-keys($doc, $idx, 4, 0, '/[]/key')]
+        }
+        """.strip();
+    test(STORE_QUERY, INDEX_QUERY, query, "{\"eq\":[2],\"gt\":[3],\"ge\":[2,3],\"lt\":[1,2],\"none\":[]}");
+  }
+
+  @Test
+  public void testScanCASIndexKeysOfPathInKeyOrder() throws IOException {
+    final String storeQuery = """
+        jn:store('mycol.jn','mydoc.jn',concat('[', string-join(for $i in 1 to 50 return concat('{"key":', 51 - $i, '}'), ','), ']'))
+        """;
+    final String query = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $idx := jn:find-cas-index($doc, 'xs:integer', '/[]/key')
+        return {
+          "gt": [jn:scan-cas-index-keys($doc, $idx, 45, 1, '/[]/key')],
+          "le": [jn:scan-cas-index-keys($doc, $idx, 5, -1, '/[]/key')]
+        }
+        """.strip();
+    test(storeQuery, INDEX_QUERY, query, "{\"gt\":[46,47,48,49,50],\"le\":[1,2,3,4,5]}");
+  }
+}
@@ -1286,4 +1286,24 @@ public final class JsonIntegrationTest extends AbstractJsonTest {
          findAndScanPathIndexQuery,
          Files.readString(JSON_RESOURCE_PATH.resolve("testCreateAndScanCASIndex3").resolve("expectedOutput")));
   }
+
+  @Test
+  public void testScanTemporalCASIndex() throws IOException {
+    final String storeQuery = "jn:store('mycol.jn','mydoc.jn','{\"key\":\"a\",\"other\":\"a\"}')";
+    final String indexQuery = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $stats := jn:create-cas-index($doc,'xs:string','/key')
+        return {"revision": sdb:commit($doc)}
+        """.strip();
+    final String updateQuery = "replace json value of jn:doc('mycol.jn','mydoc.jn').key with \"b\"";
+    final String scanQuery = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $casIndexNumber := jn:find-cas-index($doc, 'xs:string', '/key')
+        return (
+          count(jn:scan-cas-index($doc, $casIndexNumber, 'a', 0, ())),
+          jn:scan-temporal-cas-index($doc, $casIndexNumber, 'a', 0, (), xs:dateTime('1970-01-01T00:00:00Z'), xs:dateTime('2100-01-01T00:00:00Z'))
+        )
+        """.strip();
+    test(storeQuery, indexQuery, updateQuery, scanQuery, "0 a");
+  }
 }
@@ -0,0 +1,68 @@
+package org.sirix.xquery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.xquery.compiler.expression.ParallelFilterExpr;
+
+import java.io.IOException;
+
+public final class JsonParallelFilterTest extends AbstractJsonTest {
+
+  private static final String STORE_QUERY = """
+        jn:store('mycol.jn','mydoc.jn',concat('[', string-join(for $i in 1 to %d return concat('{"id":', $i, '}'), ','), ']'))
+      """.formatted(ParallelFilterExpr.THRESHOLD + 100);
+
+  @Before
+  public void setUp() {
+    super.setUp();
+  }
+
+  @After
+  public void tearDown() {
+    super.tearDown();
+  }
+
+  @Test
+  public void testFilterArrayMembersInParallelKeepsOrder() throws IOException {
+    final int size = ParallelFilterExpr.THRESHOLD + 100;
+    final String query = "jn:doc('mycol.jn','mydoc.jn')[][$$.id gt %d]".formatted(size - 3);
+    final String assertion = "{\"id\":%d} {\"id\":%d} {\"id\":%d}".formatted(size - 2, size - 1, size);
+    test(STORE_QUERY, query, assertion);
+  }
+
+  @Test
+  public void testCountWithConjunctivePredicate() throws IOException {
+    final String query = "count(jn:doc('mycol.jn','mydoc.jn')[][$$.id ge 100 and $$.id lt 200])";
+    test(STORE_QUERY, query, "100");
+  }
+
+  @Test
+  public void testFilterSmallArray() throws IOException {
+    final String storeQuery = "jn:store('mycol.jn','mydoc.jn','[{\"id\":1},{\"id\":2},{\"id\":3}]')";
+    test(storeQuery, "jn:doc('mycol.jn','mydoc.jn')[][$$.id ge 2]", "{\"id\":2} {\"id\":3}");
+  }
+
+  @Test
+  public void testFilterCollectionPartitionedByResource() throws IOException {
+    final String storeQuery = "jn:store('mycol.jn',(),('{\"id\":1}','{\"id\":2}','{\"id\":3}','{\"id\":4}'))";
+    final String query = """
+          let $objects := jn:collection('mycol.jn')[$$.id ne 2]
+          return {"count": count($objects), "sum": sum($objects.id)}
+        """;
+    test(storeQuery, query, "{\"count\":3,\"sum\":8}");
+  }
+
+  @Test
+  public void testFilterOpenRevisionsPartitionedByRevision() throws IOException {
+    final String storeQuery = "jn:store('mycol.jn','mydoc.jn','{\"id\":1}')";
+    final String firstUpdateQuery = "replace json value of jn:doc('mycol.jn','mydoc.jn').id with 2";
+    final String secondUpdateQuery = "replace json value of jn:doc('mycol.jn','mydoc.jn').id with 3";
+    final String query = """
+          jn:open-revisions('mycol.jn','mydoc.jn',
+                            sdb:timestamp(jn:doc('mycol.jn','mydoc.jn',1)),
+                            sdb:timestamp(jn:doc('mycol.jn','mydoc.jn',3)))[$$.id ge 2]
+        """;
+    test(storeQuery, firstUpdateQuery, secondUpdateQuery, query, "{\"id\":2} {\"id\":3}");
+  }
+}
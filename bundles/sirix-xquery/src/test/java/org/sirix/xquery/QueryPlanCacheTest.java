@@ -0,0 +1,165 @@
+package org.sirix.xquery;
+
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.atomic.Int32;
+import org.brackit.xquery.atomic.IntNumeric;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.CompileChain;
+import org.brackit.xquery.module.Module;
+import org.brackit.xquery.operator.TupleImpl;
+import org.junit.jupiter.api.Test;
+import org.sirix.index.Indexes;
+import org.sirix.xquery.json.BasicJsonDBStore;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class QueryPlanCacheTest {
+
+  @Test
+  public void testCompiledQueryIsReused() {
+    final Module module;
+    try (final var chain = SirixCompileChain.create()) {
+      module = chain.compile("for $i in (1, 2, 3) return $i * 2");
+    }
+    try (final var chain = SirixCompileChain.create()) {
+      assertSame(module, chain.compile("  for $i in (1,  2, 3)\n return $i * 2 "));
+    }
+  }
+
+  @Test
+  public void testCompiledQueryIsNotReusedBeforeRelease() {
+    try (final var chain = SirixCompileChain.create()) {
+      final var module = chain.compile("for $i in (4, 5, 6) return $i * 2");
+      assertNotSame(module, chain.compile("for $i in (4, 5, 6) return $i * 2"));
+    }
+  }
+
+  @Test
+  public void testCompiledQueryIsInvalidatedIfReferencedResourceChanges() {
+    final var cache = new QueryPlanCache(10);
+    final Path resource = Paths.get("database", "resource").toAbsolutePath();
+    final Path otherResource = Paths.get("database", "otherResource").toAbsolutePath();
+    final QueryPlanCache.Compiler compiler = () -> {
+      QueryPlanCache.referenceResource(resource);
+      return new CompileChain().compile("count((1, 2, 3))");
+    };
+
+    var lease = cache.checkOut("count((1, 2, 3))", "", compiler);
+    final Module module = lease.getModule();
+    lease.release();
+
+    Indexes.incrementGeneration(otherResource);
+    lease = cache.checkOut("count((1, 2, 3))", "", compiler);
+    assertSame(module, lease.getModule());
+    lease.release();
+
+    Indexes.incrementGeneration(resource);
+    lease = cache.checkOut("count((1, 2, 3))", "", compiler);
+    assertNotSame(module, lease.getModule());
+    lease.release();
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testCompiledQueryIsNotSharedBetweenStores() {
+    final Path location = Paths.get(System.getProperty("java.io.tmpdir"), "sirix-plan-cache", "first");
+    final Path otherLocation = Paths.get(System.getProperty("java.io.tmpdir"), "sirix-plan-cache", "second");
+    final String query = "for $i in (7, 8, 9) return $i * 2";
+
+    final Module module;
+    try (final var chain =
+             SirixCompileChain.createWithJsonStore(BasicJsonDBStore.newBuilder().location(location).build())) {
+      module = chain.compile(query);
+    }
+    try (final var chain =
+             SirixCompileChain.createWithJsonStore(BasicJsonDBStore.newBuilder().location(otherLocation).build())) {
+      assertNotSame(module, chain.compile(query));
+    }
+    try (final var chain =
+             SirixCompileChain.createWithJsonStore(BasicJsonDBStore.newBuilder().location(location).build())) {
+      assertSame(module, chain.compile(query));
+    }
+  }
+
+  @Test
+  public void testCompiledQueryIsEvaluatedWithEachBinding() {
+    final String query = "declare variable $x as xs:integer external; $x + 1";
+    final QNm x = new QNm("x");
+
+    try (final var chain = SirixCompileChain.create()) {
+      final var ctx = new QueryContext();
+      ctx.bind(x, new Int32(1));
+      assertEquals(2, ((IntNumeric) new XQuery(chain, query).evaluate(ctx)).intValue());
+    }
+    final long hitCount = QueryPlanCache.getShared().getHitCount();
+    try (final var chain = SirixCompileChain.create()) {
+      final var xquery = new XQuery(chain, query);
+      assertEquals(hitCount + 1, QueryPlanCache.getShared().getHitCount());
+      final var ctx = new QueryContext();
+      ctx.bind(x, new Int32(41));
+      assertEquals(42, ((IntNumeric) xquery.evaluate(ctx)).intValue());
+    }
+  }
+
+  @Test
+  public void testExternalVariables() {
+    assertEquals("x as xs:integer,y as item()*",
+                 SirixCompileChain.getExternalVariables(
+                     "declare variable $x as xs:integer external; declare variable $y external; $x"));
+    assertEquals("", SirixCompileChain.getExternalVariables("declare variable $x := 1; $x"));
+  }
+
+  @Test
+  public void testCompiledQueryIsNotEvaluatedConcurrently() throws Exception {
+    final String query = "sum(for $i in (1, 2, 3) return $i * 3)";
+    final int threads = 4;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final var barrier = new CyclicBarrier(threads);
+      final Set<Module> modulesInUse = Collections.newSetFromMap(new ConcurrentHashMap<>());
+      final var futures = new ArrayList<Future<?>>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await();
+          for (int j = 0; j < 100; j++) {
+            try (final var chain = SirixCompileChain.create()) {
+              final Module module = chain.compile(query);
+              assertTrue(modulesInUse.add(module), "A compiled query has been checked out twice.");
+              final var result = (IntNumeric) module.getBody().evaluate(new QueryContext(), new TupleImpl());
+              assertEquals(18, result.intValue());
+              modulesInUse.remove(module);
+            }
+          }
+          return null;
+        }));
+      }
+
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testNormalize() {
+    assertEquals("for $i in .[] return $i", QueryPlanCache.normalize(" for  $i\tin .[]\n return $i "));
+    assertEquals("concat(\"a  b\", ' c ')", QueryPlanCache.normalize("concat(\"a  b\",   ' c ')"));
+    assertEquals("<a>  b </a>", QueryPlanCache.normalize(" <a>  b </a> "));
+  }
+}
@@ -0,0 +1,99 @@
+package org.sirix.xquery;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class QueryResultCacheTest {
+
+  @Test
+  public void testGetAndPut() {
+    final var cache = new QueryResultCache(1 << 20);
+    final var key = new QueryResultCache.Key("db", "res", 3, -1, "count(.)", "");
+
+    assertNull(cache.get(key));
+    cache.put(key, "42");
+    assertEquals("42", cache.get(key));
+    assertNull(cache.get(new QueryResultCache.Key("db", "res", 4, -1, "count(.)", "")));
+
+    final var statistics = cache.getStatistics();
+    assertEquals(1, statistics.hitCount());
+    assertEquals(2, statistics.missCount());
+    assertEquals(1, statistics.entryCount());
+  }
+
+  @Test
+  public void testInvalidate() {
+    final var cache = new QueryResultCache(1 << 20);
+    final var first = new QueryResultCache.Key("db", "res1", 1, -1, ".", "");
+    final var second = new QueryResultCache.Key("db", "res2", 1, -1, ".", "");
+    cache.put(first, "1");
+    cache.put(second, "2");
+
+    cache.invalidate("db", "res1");
+    assertNull(cache.get(first));
+    assertEquals("2", cache.get(second));
+
+    cache.invalidate("db");
+    assertNull(cache.get(second));
+  }
+
+  @Test
+  public void testUpdatingQueriesAreNotCacheable() {
+    assertFalse(QueryResultCache.isCacheable("insert json {\"foo\": 1} into ."));
+    assertFalse(QueryResultCache.isCacheable("delete json .[0]"));
+    assertFalse(QueryResultCache.isCacheable("replace json value of .foo with 2"));
+    assertFalse(QueryResultCache.isCacheable("rename json .foo as \"bar\""));
+    assertFalse(QueryResultCache.isCacheable("jn:store('db','res','[]')"));
+    assertFalse(QueryResultCache.isCacheable("sdb:commit(.)"));
+    assertFalse(QueryResultCache.isCacheable("jn:create-cas-index(., 'xs:string', '/foo')"));
+  }
+
+  @Test
+  public void testQueriesOfMostRecentRevisionsAreNotCacheable() {
+    assertFalse(QueryResultCache.isCacheable("jn:doc('db','res')"));
+    assertFalse(QueryResultCache.isCacheable("jn:doc( 'db' , 'res' )=>foo"));
+    assertFalse(QueryResultCache.isCacheable("jn:collection('db')"));
+    assertFalse(QueryResultCache.isCacheable("sdb:most-recent-revision(.)"));
+    assertFalse(QueryResultCache.isCacheable("current-dateTime()"));
+  }
+
+  @Test
+  public void testQueriesOfLaterRevisionsAreNotCacheable() {
+    assertFalse(QueryResultCache.isCacheable("jn:all-times(jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable("jn:future(jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable("jn:last(jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable("jn:last-existing(jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable("jn:next (jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable("sdb:item-history(jn:doc('db','res',1))"));
+    assertFalse(QueryResultCache.isCacheable(
+        "jn:open-revisions('db','res',xs:dateTime('2019-04-13T16:24:27Z'),xs:dateTime('2019-04-14T16:24:27Z'))"));
+    assertTrue(QueryResultCache.isCacheable("jn:previous(jn:doc('db','res',2))"));
+    assertTrue(QueryResultCache.isCacheable("jn:doc('db','res',1).foo[fn:last()]"));
+  }
+
+  @Test
+  public void testQueriesOfDatabasesWithComputedNamesAreNotCacheable() {
+    assertFalse(QueryResultCache.isCacheable("let $db := 'db' return jn:doc($db,'res',1)"));
+    assertFalse(QueryResultCache.isCacheable("jn:doc(concat('d','b'),'res',1)"));
+  }
+
+  @Test
+  public void testGetDatabases() {
+    assertEquals(Set.of(), QueryResultCache.getDatabases(".[0]"));
+    assertEquals(Set.of("db", "d,b"),
+                 QueryResultCache.getDatabases(
+                     "(jn:doc('db','res',1), jn:open( \"d,b\" ,'res',xs:dateTime('2019-04-13T16:24:27Z')))"));
+  }
+
+  @Test
+  public void testQueriesOfFixedRevisionsAreCacheable() {
+    assertTrue(QueryResultCache.isCacheable("for $i in .[] where $i.price > 10 return $i"));
+    assertTrue(QueryResultCache.isCacheable("jn:doc('db','res',5)"));
+    assertTrue(QueryResultCache.isCacheable("jn:open('db','res',xs:dateTime('2019-04-13T16:24:27Z'))"));
+    assertTrue(QueryResultCache.isCacheable("jn:doc('d,b','res', (1))"));
+    assertTrue(QueryResultCache.isCacheable("sdb:revision(.)"));
+  }
+}
@@ -0,0 +1,208 @@
+package org.sirix.xquery.compiler.optimizer.walker.json;
+
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.CompileChain;
+import org.brackit.xquery.compiler.optimizer.Optimizer;
+import org.brackit.xquery.compiler.translator.Translator;
+import org.brackit.xquery.module.StaticContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.xquery.AbstractJsonTest;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.SirixQueryContext;
+import org.sirix.xquery.compiler.XQExt;
+import org.sirix.xquery.compiler.optimizer.SirixOptimizer;
+import org.sirix.xquery.compiler.translator.SirixTranslator;
+import org.sirix.xquery.json.BasicJsonDBStore;
+import org.sirix.xquery.json.JsonDBStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the cost based choice between scans, single index scans and intersections of index scans.
+ * Each of the 200 objects has an {@code id}, the fields {@code a} (4 distinct values) and {@code b}
+ * (5 distinct values) and 18 more fields.
+ */
+public final class JsonCASStepTest extends AbstractJsonTest {
+
+  private static final int NUMBER_OF_OBJECTS = 200;
+
+  private static final String INDEX_QUERY = """
+        let $doc := jn:doc('mycol.jn','mydoc.jn')
+        let $id := jn:create-cas-index($doc, 'xs:integer', '/[]/id')
+        let $a := jn:create-cas-index($doc, 'xs:integer', '/[]/a')
+        let $b := jn:create-cas-index($doc, 'xs:integer', '/[]/b')
+        return {"revision": sdb:commit($doc)}
+      """;
+
+  /**
+   * The optimized AST of the last query.
+   */
+  private AST plan;
+
+  @Before
+  public void setUp() {
+    super.setUp();
+    query("jn:store('mycol.jn','mydoc.jn','" + createObjects() + "')");
+    query(INDEX_QUERY);
+  }
+
+  @After
+  public void tearDown() {
+    super.tearDown();
+  }
+
+  private static String createObjects() {
+    final var objects = new StringJoiner(",", "[", "]");
+    for (int i = 0; i < NUMBER_OF_OBJECTS; i++) {
+      final var object = new StringJoiner(",", "{", "}");
+      object.add("\"id\":" + i).add("\"a\":" + i % 4).add("\"b\":" + i % 5);
+      for (int field = 0; field < 18; field++) {
+        object.add("\"f" + field + "\":" + field);
+      }
+      objects.add(object.toString());
+    }
+    return objects.toString();
+  }
+
+  @Test
+  public void testIndexCostModel() {
+    assertEquals(IndexCostModel.INDEX_LOOKUP_COST * 2 + IndexCostModel.INDEX_ENTRY_COST * 10,
+                 IndexCostModel.indexCost(2, 10),
+                 0.0);
+
+    // Indexes of similar selectivity on wide objects.
+    assertTrue(IndexCostModel.isIntersectionCheaper(50, 40, 21));
+
+    // One index is much more selective or the objects are narrow.
+    assertFalse(IndexCostModel.isIntersectionCheaper(1, 40, 21));
+    assertFalse(IndexCostModel.isIntersectionCheaper(50, 40, 2));
+  }
+
+  @Test
+  public void testConjunctionOfSimilarlySelectivePredicatesIsIntersected() throws IOException {
+    final String result = evaluate("count(jn:doc('mycol.jn','mydoc.jn')[][$$.a eq 1 and $$.b eq 1])");
+
+    assertTrue(contains(plan, XQExt.IndexIntersectExpr));
+    // Objects with an id of 1 modulo 20.
+    assertEquals("10", result);
+  }
+
+  @Test
+  public void testConjunctionWithSelectivePredicateUsesSingleIndex() throws IOException {
+    final String result = evaluate("jn:doc('mycol.jn','mydoc.jn')[][$$.id eq 7 and $$.b eq 2].id");
+
+    assertFalse(contains(plan, XQExt.IndexIntersectExpr));
+    assertTrue(contains(plan, XQExt.IndexExpr));
+    assertEquals("7", result);
+  }
+
+  @Test
+  public void testConjunctionWithoutMatchingObject() throws IOException {
+    final String result = evaluate("jn:doc('mycol.jn','mydoc.jn')[][$$.id eq 7 and $$.b eq 3].id");
+
+    assertTrue(contains(plan, XQExt.IndexExpr));
+    assertEquals("", result);
+  }
+
+  @Test
+  public void testUnselectivePredicateIsEvaluatedByScan() throws IOException {
+    final String result = evaluate("count(jn:doc('mycol.jn','mydoc.jn')[][$$.a ge 0])");
+
+    assertFalse(contains(plan, XQExt.IndexExpr));
+    assertEquals(String.valueOf(NUMBER_OF_OBJECTS), result);
+  }
+
+  @Test
+  public void testSelectivePredicateUsesIndex() throws IOException {
+    final String result = evaluate("count(jn:doc('mycol.jn','mydoc.jn')[][$$.a eq 3])");
+
+    assertTrue(contains(plan, XQExt.IndexExpr));
+    assertEquals(String.valueOf(NUMBER_OF_OBJECTS / 4), result);
+  }
+
+  @Test
+  public void testEstimatesFollowUpdates() throws IOException {
+    // Afterwards almost all objects have the same id, thus the id index isn't selective anymore.
+    query("""
+              for $object in jn:doc('mycol.jn','mydoc.jn')[]
+              where $object.id gt 1
+              return replace json value of $object.id with 1
+            """);
+
+    final String result = evaluate("count(jn:doc('mycol.jn','mydoc.jn')[][$$.id eq 1])");
+
+    assertFalse(contains(plan, XQExt.IndexExpr));
+    assertEquals(String.valueOf(NUMBER_OF_OBJECTS - 1), result);
+  }
+
+  private String evaluate(final String query) throws IOException {
+    try (final BasicJsonDBStore store = BasicJsonDBStore.newBuilder()
+                                                        .location(JsonTestHelper.PATHS.PATH1.getFile())
+                                                        .build();
+         final SirixQueryContext ctx = SirixQueryContext.createWithJsonStore(store);
+         final var out = new ByteArrayOutputStream();
+         final var printWriter = new PrintWriter(out)) {
+      new XQuery(new PlanRecordingCompileChain(store), query).serialize(ctx, printWriter);
+      printWriter.flush();
+      return out.toString();
+    }
+  }
+
+  private static boolean contains(final AST ast, final int type) {
+    if (ast.getType() == type) {
+      return true;
+    }
+    for (int i = 0; i < ast.getChildCount(); i++) {
+      if (contains(ast.getChild(i), type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compiles queries just like {@link SirixCompileChain}, but records the optimized AST and never
+   * uses cached plans.
+   */
+  private final class PlanRecordingCompileChain extends CompileChain {
+    private final JsonDBStore store;
+
+    PlanRecordingCompileChain(final JsonDBStore store) {
+      // Registers the functions.
+      SirixCompileChain.create().close();
+      this.store = store;
+    }
+
+    @Override
+    protected Translator getTranslator(final Map<QNm, Str> options) {
+      return new SirixTranslator(options);
+    }
+
+    @Override
+    protected Optimizer getOptimizer(final Map<QNm, Str> options) {
+      final var optimizer = new SirixOptimizer(options, null, store);
+      return new Optimizer() {
+        @Override
+        public AST optimize(final StaticContext sctx, final AST ast) throws QueryException {
+          plan = optimizer.optimize(sctx, ast);
+          return plan;
+        }
+      };
+    }
+  }
+}